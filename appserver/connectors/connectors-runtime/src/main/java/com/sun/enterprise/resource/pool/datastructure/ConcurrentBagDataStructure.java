@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+import com.sun.logging.LogDomains;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Lock-free datastructure for pool, inspired by the "concurrent bag" design.
+ * <p>
+ * Every resource lives in a slot whose state is claimed by a CAS operation, so
+ * {@link #getResource()} and {@link #returnResource(ResourceHandle)} never block.
+ * Each thread remembers the slots it returned recently and tries them first,
+ * which keeps threads on "their" connections and avoids collisions on the shared list.
+ * The shared list is copy-on-write, it changes only when the pool grows or shrinks.
+ */
+public class ConcurrentBagDataStructure implements DataStructure {
+
+    private static final Logger LOG = LogDomains.getLogger(ConcurrentBagDataStructure.class, LogDomains.RSR_LOGGER);
+
+    /** Maximal count of recently returned slots remembered by a single thread. */
+    private static final int MAX_THREAD_LOCAL_SLOTS = 16;
+
+    private final CopyOnWriteArrayList<Slot> slots = new CopyOnWriteArrayList<>();
+    private final ConcurrentHashMap<ResourceHandle, Slot> slotsByResource = new ConcurrentHashMap<>();
+    private final ThreadLocal<List<WeakReference<Slot>>> recentlyReturned = ThreadLocal
+        .withInitial(() -> new ArrayList<>(MAX_THREAD_LOCAL_SLOTS));
+
+    /**
+     * May be temporarily higher than the real count of free slots, never lower.
+     * Used to skip the scan when the pool is exhausted.
+     */
+    private final AtomicInteger freeCount = new AtomicInteger();
+    private final DataStructureSemaphore availableResources;
+    private final ResourceHandler handler;
+
+    private volatile int maxSize;
+
+    public ConcurrentBagDataStructure(String parameters, int maxSize, ResourceHandler handler) {
+        this.availableResources = new DataStructureSemaphore(maxSize);
+        this.handler = handler;
+        this.maxSize = maxSize;
+
+        LOG.log(Level.FINEST, "pool.datastructure.concurrentbagds.init");
+    }
+
+    @Override
+    public int addResource(ResourceAllocator allocator, int count) throws PoolingException {
+        int numResAdded = 0;
+        for (int i = 0; i < count; i++) {
+            if (!availableResources.tryAcquire()) {
+                break;
+            }
+
+            ResourceHandle resource;
+            try {
+                resource = handler.createResource(allocator);
+            } catch (Exception e) {
+                availableResources.release();
+                throw new PoolingException(e.getMessage(), e);
+            }
+
+            Slot slot = new Slot(resource);
+            slotsByResource.put(resource, slot);
+            freeCount.incrementAndGet();
+            slots.add(slot);
+            numResAdded++;
+        }
+        return numResAdded;
+    }
+
+    @Override
+    public ResourceHandle getResource() {
+        List<WeakReference<Slot>> recent = recentlyReturned.get();
+        for (int i = recent.size() - 1; i >= 0; i--) {
+            Slot slot = recent.remove(i).get();
+            if (slot != null && slot.claim()) {
+                freeCount.decrementAndGet();
+                return slot.resource;
+            }
+        }
+
+        if (freeCount.get() <= 0) {
+            return null;
+        }
+
+        Object[] snapshot = slots.toArray();
+        int length = snapshot.length;
+        if (length == 0) {
+            return null;
+        }
+
+        // Threads start on different positions so they don't fight for the same slot.
+        int start = ThreadLocalRandom.current().nextInt(length);
+        for (int i = 0; i < length; i++) {
+            Slot slot = (Slot) snapshot[(start + i) % length];
+            if (slot.claim()) {
+                freeCount.decrementAndGet();
+                return slot.resource;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void removeResource(ResourceHandle resource) {
+        Slot slot = slotsByResource.remove(resource);
+        if (slot == null) {
+            return;
+        }
+
+        if (slot.state.getAndSet(Slot.STATE_REMOVED) == Slot.STATE_FREE) {
+            freeCount.decrementAndGet();
+        }
+        slots.remove(slot);
+        availableResources.release();
+        handler.deleteResource(resource);
+    }
+
+    @Override
+    public void returnResource(ResourceHandle resource) {
+        Slot slot = slotsByResource.get(resource);
+        if (slot == null) {
+            return;
+        }
+
+        // Increment first, so concurrent getResource never sees less free slots than available.
+        freeCount.incrementAndGet();
+        if (!slot.state.compareAndSet(Slot.STATE_IN_USE, Slot.STATE_FREE)) {
+            freeCount.decrementAndGet();
+            return;
+        }
+
+        List<WeakReference<Slot>> recent = recentlyReturned.get();
+        if (recent.size() >= MAX_THREAD_LOCAL_SLOTS) {
+            recent.remove(0);
+        }
+        recent.add(new WeakReference<>(slot));
+    }
+
+    @Override
+    public int getFreeListSize() {
+        int freeListSize = 0;
+        for (Slot slot : slots) {
+            if (slot.state.get() == Slot.STATE_FREE) {
+                freeListSize++;
+            }
+        }
+        return freeListSize;
+    }
+
+    @Override
+    public void removeAll() {
+        for (Slot slot : slots) {
+            removeResource(slot.resource);
+        }
+    }
+
+    @Override
+    public int getResourcesSize() {
+        return slots.size();
+    }
+
+    @Override
+    public synchronized void setMaxSize(int newMaxSize) {
+        int permits = newMaxSize - maxSize;
+
+        switch (Integer.signum(permits)) {
+            case 1:
+                availableResources.release(permits);
+                break;
+            case -1:
+                availableResources.reducePermits(Math.abs(permits));
+                break;
+            default:
+                return;
+        }
+
+        this.maxSize = newMaxSize;
+    }
+
+    @Override
+    public List<ResourceHandle> getAllResources() {
+        List<ResourceHandle> allResources = new ArrayList<>(slots.size());
+        for (Slot slot : slots) {
+            allResources.add(slot.resource);
+        }
+        return allResources;
+    }
+
+    /**
+     * Holder of the resource and its state, the state is changed only by CAS operations.
+     */
+    private static final class Slot {
+
+        static final int STATE_FREE = 0;
+        static final int STATE_IN_USE = 1;
+        static final int STATE_REMOVED = -1;
+
+        final ResourceHandle resource;
+        final AtomicInteger state = new AtomicInteger(STATE_FREE);
+
+        Slot(ResourceHandle resource) {
+            this.resource = resource;
+        }
+
+        boolean claim() {
+            return state.get() == STATE_FREE && state.compareAndSet(STATE_FREE, STATE_IN_USE);
+        }
+    }
+
+    /**
+     * Semaphore whose available permits change according to the
+     * changes in max-pool-size via a reconfiguration.
+     */
+    private static final class DataStructureSemaphore extends Semaphore {
+
+        public DataStructureSemaphore(int permits) {
+            super(permits);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -47,7 +47,7 @@ import org.jvnet.hk2.config.types.PropertyBag;
 @Configured
 public interface EjbContainer extends ConfigBeanProxy, PropertyBag, ConfigExtension {
 
-    String PATTERN_VICTIM_SELECTION_POLICY = "(nru|fifo|lru)";
+    String PATTERN_VICTIM_SELECTION_POLICY = "(nru|fifo|lru|tinylfu)";
 
     int DEFAULT_THREAD_CORE_POOL_SIZE = 16;
     int DEFAULT_THREAD_MAX_POOL_SIZE = 32;
@@ -279,6 +279,8 @@ public interface EjbContainer extends ConfigBeanProxy, PropertyBag, ConfigExtens
      * nru
      *     policy tries to pick 'not recently used' instances and is a
      *     pseudo-random selection process.
+     * tinylfu
+     *     policy picks less frequently used instances of those not accessed recently.
      *
      * @return possible object is
      *         {@link String }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -22,6 +23,7 @@ import java.beans.PropertyVetoException;
 import java.util.List;
 
 import org.glassfish.api.admin.config.PropertiesDesc;
+import org.glassfish.api.admin.config.PropertyDesc;
 import org.glassfish.quality.ToDo;
 import org.jvnet.hk2.config.Attribute;
 import org.jvnet.hk2.config.ConfigBeanProxy;
@@ -171,7 +173,14 @@ public interface EjbContainerAvailability extends ConfigBeanProxy,
         Properties as per {@link PropertyBag}
      */
     @ToDo(priority=ToDo.Priority.IMPORTANT, details="Provide PropertyDesc for legal props" )
-    @PropertiesDesc(props={})
+    @PropertiesDesc(props = {
+        @PropertyDesc(name = "sfsb-delta-checkpoint-enabled",
+        defaultValue = "false",
+        values = {"true", "false"}),
+
+        @PropertyDesc(name = "sfsb-full-checkpoint-interval", defaultValue = "10"),
+        @PropertyDesc(name = "sfsb-checkpoint-queue-size", defaultValue = "0")
+    })
     @Element
     List<Property> getProperty();
 }
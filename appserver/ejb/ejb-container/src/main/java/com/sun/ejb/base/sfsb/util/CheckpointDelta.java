@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.base.sfsb.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Difference between two serialized states of a stateful session bean.
+ * <p>
+ * The unchanged beginning and end of the state are skipped. If the rest has the same length in
+ * both states, which is usual when just primitive fields or references to the same objects were
+ * changed, it is compared by small blocks and only changed blocks are kept. Otherwise the rest is
+ * kept as a single replaced region.
+ * <p>
+ * The delta can be applied only to the state it was computed against, which is identified by
+ * its version and checksum.
+ */
+public final class CheckpointDelta {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final int BLOCK_SIZE = 32;
+
+    private final long baseVersion;
+    private final long baseChecksum;
+    private final int length;
+    private final List<Region> regions;
+
+    private CheckpointDelta(long baseVersion, long baseChecksum, int length, List<Region> regions) {
+        this.baseVersion = baseVersion;
+        this.baseChecksum = baseChecksum;
+        this.length = length;
+        this.regions = regions;
+    }
+
+    /**
+     * Computes the delta which transforms the base to the state.
+     *
+     * @param baseVersion version of the base
+     * @param base previous serialized state
+     * @param state current serialized state
+     * @return the delta
+     */
+    public static CheckpointDelta create(long baseVersion, byte[] base, byte[] state) {
+        int shorter = Math.min(base.length, state.length);
+        int prefix = 0;
+        while (prefix < shorter && base[prefix] == state[prefix]) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < shorter - prefix
+            && base[base.length - 1 - suffix] == state[state.length - 1 - suffix]) {
+            suffix++;
+        }
+
+        List<Region> regions = new ArrayList<>();
+        if (base.length == state.length) {
+            int end = state.length - suffix;
+            int regionStart = -1;
+            for (int offset = prefix; offset < end; offset += BLOCK_SIZE) {
+                int blockEnd = Math.min(offset + BLOCK_SIZE, end);
+                boolean changed = !Arrays.equals(base, offset, blockEnd, state, offset, blockEnd);
+                if (changed && regionStart < 0) {
+                    regionStart = offset;
+                } else if (!changed && regionStart >= 0) {
+                    regions.add(new Region(regionStart, offset - regionStart, Arrays.copyOfRange(state, regionStart, offset)));
+                    regionStart = -1;
+                }
+            }
+            if (regionStart >= 0) {
+                regions.add(new Region(regionStart, end - regionStart, Arrays.copyOfRange(state, regionStart, end)));
+            }
+        } else {
+            regions.add(new Region(prefix, base.length - suffix - prefix,
+                Arrays.copyOfRange(state, prefix, state.length - suffix)));
+        }
+        return new CheckpointDelta(baseVersion, checksum(base), state.length, regions);
+    }
+
+    /**
+     * @param version version of the state
+     * @param state serialized state
+     * @return true if the delta was computed against this state.
+     */
+    public boolean isBasedOn(long version, byte[] state) {
+        return version == baseVersion && checksum(state) == baseChecksum;
+    }
+
+    /**
+     * @param base the state the delta was computed against.
+     * @return the new state
+     */
+    public byte[] applyTo(byte[] base) {
+        byte[] state = new byte[length];
+        int basePosition = 0;
+        int position = 0;
+        for (Region region : regions) {
+            int unchanged = region.offset - basePosition;
+            System.arraycopy(base, basePosition, state, position, unchanged);
+            position += unchanged;
+            System.arraycopy(region.data, 0, state, position, region.data.length);
+            position += region.data.length;
+            basePosition = region.offset + region.replacedLength;
+        }
+        System.arraycopy(base, basePosition, state, position, base.length - basePosition);
+        return state;
+    }
+
+    /**
+     * @return count of changed bytes carried by this delta.
+     */
+    public int getChangedLength() {
+        int changed = 0;
+        for (Region region : regions) {
+            changed += region.data.length;
+        }
+        return changed;
+    }
+
+    public byte[] toByteArray() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 + getChangedLength() + regions.size() * 12);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeInt(FORMAT_VERSION);
+            output.writeLong(baseVersion);
+            output.writeLong(baseChecksum);
+            output.writeInt(length);
+            output.writeInt(regions.size());
+            for (Region region : regions) {
+                output.writeInt(region.offset);
+                output.writeInt(region.replacedLength);
+                output.writeInt(region.data.length);
+                output.write(region.data);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    public static CheckpointDelta fromByteArray(byte[] data) throws IOException {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(data))) {
+            int formatVersion = input.readInt();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new StreamCorruptedException("Unsupported checkpoint delta format: " + formatVersion);
+            }
+            long baseVersion = input.readLong();
+            long baseChecksum = input.readLong();
+            int length = input.readInt();
+            int count = input.readInt();
+            List<Region> regions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int offset = input.readInt();
+                int replacedLength = input.readInt();
+                byte[] regionData = new byte[input.readInt()];
+                input.readFully(regionData);
+                regions.add(new Region(offset, replacedLength, regionData));
+            }
+            return new CheckpointDelta(baseVersion, baseChecksum, length, regions);
+        }
+    }
+
+    static long checksum(byte[] state) {
+        CRC32 crc = new CRC32();
+        crc.update(state);
+        return crc.getValue();
+    }
+
+    private static final class Region {
+
+        final int offset;
+        final int replacedLength;
+        final byte[] data;
+
+        Region(int offset, int replacedLength, byte[] data) {
+            this.offset = offset;
+            this.replacedLength = replacedLength;
+            this.data = data;
+        }
+    }
+}
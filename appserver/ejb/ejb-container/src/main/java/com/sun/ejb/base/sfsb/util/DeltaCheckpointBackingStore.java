@@ -0,0 +1,444 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.base.sfsb.util;
+
+import com.sun.logging.LogDomains;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.ha.store.api.BackingStore;
+import org.glassfish.ha.store.api.BackingStoreException;
+import org.glassfish.ha.store.api.BackingStoreFactory;
+import org.glassfish.ha.store.util.SimpleMetadata;
+
+/**
+ * Backing store of stateful session beans which stores checkpoints as deltas.
+ * <p>
+ * A {@link #checkpoint(Serializable, SimpleMetadata, boolean)} stores the whole state just
+ * the first time and then every fullCheckpointInterval checkpoints, or when the delta would
+ * not be much smaller than the state. Other checkpoints store just the {@link CheckpointDelta}
+ * against the last whole state, under a companion key of the session. The last whole state
+ * of every checkpointed session is kept in memory to compute the delta.
+ * <p>
+ * The {@link #load(Serializable, String)} applies the delta if it was computed against
+ * the loaded state, so any instance of the cluster can restore the session. The
+ * {@link #save(Serializable, SimpleMetadata, boolean)} used for passivation always stores
+ * the whole state and forgets the session.
+ * <p>
+ * If the queue capacity is positive, checkpoints are stored by a background thread.
+ * A newer checkpoint of the same session replaces the queued one, callers wait while
+ * the queue is full. If the background thread fails to store a checkpoint, the next
+ * checkpoint of the session stores the whole state by the calling thread, which gets
+ * its exception.
+ */
+public class DeltaCheckpointBackingStore extends BackingStore<Serializable, SimpleMetadata> {
+
+    private static final Logger _logger = LogDomains.getLogger(DeltaCheckpointBackingStore.class,
+        LogDomains.EJB_LOGGER);
+
+    private final BackingStore<Serializable, SimpleMetadata> delegate;
+    private final UnaryOperator<Serializable> deltaKeys;
+    private final int fullCheckpointInterval;
+    private final Map<Serializable, Base> bases = new ConcurrentHashMap<>();
+    /** Sessions whose asynchronous checkpoint failed, the value is true if the session was new. */
+    private final Map<Serializable, Boolean> failedCheckpoints = new ConcurrentHashMap<>();
+    private final CheckpointQueue queue;
+
+    private final AtomicLong fullCheckpoints = new AtomicLong();
+    private final AtomicLong deltaCheckpoints = new AtomicLong();
+    private final AtomicLong failedAsyncCheckpoints = new AtomicLong();
+    private final AtomicLong storedBytes = new AtomicLong();
+
+    /**
+     * @param name name used for the thread storing asynchronous checkpoints
+     * @param delegate the store which stores the states and deltas
+     * @param deltaKeys creates the companion key for deltas of the session key
+     * @param fullCheckpointInterval count of checkpoints stored as deltas between
+     *            whole states
+     * @param queueCapacity capacity of the queue of asynchronous checkpoints, if not positive,
+     *            checkpoints are stored by the calling thread.
+     */
+    public DeltaCheckpointBackingStore(String name, BackingStore<Serializable, SimpleMetadata> delegate,
+        UnaryOperator<Serializable> deltaKeys, int fullCheckpointInterval, int queueCapacity) {
+        this.delegate = delegate;
+        this.deltaKeys = deltaKeys;
+        this.fullCheckpointInterval = fullCheckpointInterval;
+        this.queue = queueCapacity > 0 ? new CheckpointQueue(name, queueCapacity) : null;
+    }
+
+    /**
+     * Stores the checkpoint of the session, possibly as a delta against the previous one.
+     */
+    public void checkpoint(Serializable key, SimpleMetadata state, boolean isNew) throws BackingStoreException {
+        if (queue == null) {
+            store(key, state, isNew);
+            return;
+        }
+        Boolean failedWasNew = failedCheckpoints.remove(key);
+        if (failedWasNew == null) {
+            queue.add(key, state, isNew);
+            return;
+        }
+        queue.cancel(key);
+        boolean storeAsNew = isNew || failedWasNew;
+        try {
+            // No base after the failure, so the whole state is stored.
+            store(key, state, storeAsNew);
+        } catch (BackingStoreException | RuntimeException e) {
+            failedCheckpoints.put(key, storeAsNew);
+            throw e;
+        }
+    }
+
+    /**
+     * @return count of checkpoints stored as the whole state.
+     */
+    public long getFullCheckpointCount() {
+        return fullCheckpoints.get();
+    }
+
+    /**
+     * @return count of checkpoints stored as a delta.
+     */
+    public long getDeltaCheckpointCount() {
+        return deltaCheckpoints.get();
+    }
+
+    /**
+     * @return count of checkpoints the background thread failed to store.
+     */
+    public long getFailedAsyncCheckpointCount() {
+        return failedAsyncCheckpoints.get();
+    }
+
+    /**
+     * @return bytes of states and deltas stored by checkpoints.
+     */
+    public long getCheckpointBytes() {
+        return storedBytes.get();
+    }
+
+    @Override
+    public BackingStoreFactory getBackingStoreFactory() {
+        return delegate.getBackingStoreFactory();
+    }
+
+    @Override
+    public SimpleMetadata load(Serializable key, String version) throws BackingStoreException {
+        SimpleMetadata state = delegate.load(key, version);
+        bases.remove(key);
+        if (state == null || state.getState() == null) {
+            return state;
+        }
+        SimpleMetadata deltaState = delegate.load(deltaKeys.apply(key), null);
+        if (deltaState == null || deltaState.getState() == null) {
+            return state;
+        }
+        try {
+            CheckpointDelta delta = CheckpointDelta.fromByteArray(deltaState.getState());
+            if (!delta.isBasedOn(state.getVersion(), state.getState())) {
+                _logger.log(Level.FINE, "Ignoring stale checkpoint delta of {0}", key);
+                return state;
+            }
+            SimpleMetadata result = new SimpleMetadata(deltaState.getVersion(), deltaState.getLastAccessTime(),
+                deltaState.getMaxInactiveInterval(), delta.applyTo(state.getState()));
+            result.setVersion(deltaState.getVersion());
+            return result;
+        } catch (IOException e) {
+            throw new BackingStoreException("Cannot read checkpoint delta of " + key, e);
+        }
+    }
+
+    @Override
+    public String save(Serializable key, SimpleMetadata value, boolean isNew) throws BackingStoreException {
+        if (queue != null) {
+            queue.cancel(key);
+        }
+        Base base = bases.remove(key);
+        failedCheckpoints.remove(key);
+        String result = delegate.save(key, value, isNew);
+        if (base != null && base.deltaStored) {
+            delegate.remove(deltaKeys.apply(key));
+        }
+        return result;
+    }
+
+    @Override
+    public void remove(Serializable key) throws BackingStoreException {
+        if (queue != null) {
+            queue.cancel(key);
+        }
+        bases.remove(key);
+        failedCheckpoints.remove(key);
+        delegate.remove(key);
+        delegate.remove(deltaKeys.apply(key));
+    }
+
+    @Override
+    public void updateTimestamp(Serializable key, long time) throws BackingStoreException {
+        delegate.updateTimestamp(key, time);
+        Base base = bases.get(key);
+        if (base != null && base.deltaStored) {
+            delegate.updateTimestamp(deltaKeys.apply(key), time);
+        }
+    }
+
+    @Override
+    public String updateTimestamp(Serializable key, String version, Long time) throws BackingStoreException {
+        String result = delegate.updateTimestamp(key, version, time);
+        Base base = bases.get(key);
+        if (base != null && base.deltaStored) {
+            delegate.updateTimestamp(deltaKeys.apply(key), time.longValue());
+        }
+        return result;
+    }
+
+    @Override
+    public int removeExpired(long idleTime) throws BackingStoreException {
+        return delegate.removeExpired(idleTime);
+    }
+
+    @Override
+    public int removeExpired() throws BackingStoreException {
+        return delegate.removeExpired();
+    }
+
+    @Override
+    public int size() throws BackingStoreException {
+        return delegate.size();
+    }
+
+    @Override
+    public void close() throws BackingStoreException {
+        if (queue != null) {
+            queue.close();
+        }
+        bases.clear();
+        failedCheckpoints.clear();
+        delegate.close();
+    }
+
+    @Override
+    public void destroy() throws BackingStoreException {
+        if (queue != null) {
+            queue.close();
+        }
+        bases.clear();
+        failedCheckpoints.clear();
+        delegate.destroy();
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + "[delegate=" + delegate + ", fullCheckpointInterval=" + fullCheckpointInterval
+            + ", queueCapacity=" + (queue == null ? 0 : queue.capacity) + "]";
+    }
+
+    private void store(Serializable key, SimpleMetadata state, boolean isNew) throws BackingStoreException {
+        byte[] data = state.getState();
+        Base base = bases.get(key);
+        if (!isNew && base != null && base.deltaCount < fullCheckpointInterval) {
+            byte[] deltaData;
+            try {
+                deltaData = CheckpointDelta.create(base.version, base.state, data).toByteArray();
+            } catch (IOException e) {
+                throw new BackingStoreException("Cannot write checkpoint delta of " + key, e);
+            }
+            if (deltaData.length < data.length / 2) {
+                SimpleMetadata deltaState = new SimpleMetadata(state.getVersion(), state.getLastAccessTime(),
+                    state.getMaxInactiveInterval(), deltaData);
+                deltaState.setVersion(state.getVersion());
+                delegate.save(deltaKeys.apply(key), deltaState, !base.deltaStored);
+                // Otherwise the whole state could expire sooner than its delta.
+                delegate.updateTimestamp(key, state.getLastAccessTime());
+                base.deltaStored = true;
+                base.deltaCount++;
+                deltaCheckpoints.incrementAndGet();
+                storedBytes.addAndGet(deltaData.length);
+                return;
+            }
+        }
+        delegate.save(key, state, isNew);
+        // Older delta is ignored by the load, because it does not match the new version.
+        bases.put(key, new Base(data, state.getVersion(), base != null && base.deltaStored));
+        fullCheckpoints.incrementAndGet();
+        storedBytes.addAndGet(data.length);
+    }
+
+    /**
+     * The last whole state stored for the session.
+     */
+    private static final class Base {
+
+        final byte[] state;
+        final long version;
+        int deltaCount;
+        volatile boolean deltaStored;
+
+        Base(byte[] state, long version, boolean deltaStored) {
+            this.state = state;
+            this.version = version;
+            this.deltaStored = deltaStored;
+        }
+    }
+
+    private static final class PendingCheckpoint {
+
+        final SimpleMetadata state;
+        final boolean isNew;
+
+        PendingCheckpoint(SimpleMetadata state, boolean isNew) {
+            this.state = state;
+            this.isNew = isNew;
+        }
+    }
+
+    /**
+     * Bounded queue of checkpoints with at most one checkpoint per session, processed by a single
+     * thread, so checkpoints of the same session are never stored concurrently or out of order.
+     */
+    private final class CheckpointQueue {
+
+        private final int capacity;
+        private final LinkedHashMap<Serializable, PendingCheckpoint> pending = new LinkedHashMap<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        private final Condition notFull = lock.newCondition();
+        private final Condition stored = lock.newCondition();
+        private final Thread worker;
+        private Serializable storing;
+        private boolean closed;
+
+        CheckpointQueue(String name, int capacity) {
+            this.capacity = capacity;
+            this.worker = new Thread(this::work, name + "-checkpoint");
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        void add(Serializable key, SimpleMetadata state, boolean isNew) throws BackingStoreException {
+            lock.lock();
+            try {
+                while (!closed && pending.size() >= capacity && !pending.containsKey(key)) {
+                    notFull.await();
+                }
+                if (closed) {
+                    store(key, state, isNew);
+                    return;
+                }
+                PendingCheckpoint previous = pending.get(key);
+                // The replaced checkpoint was never stored, so the session may still be new.
+                pending.put(key, new PendingCheckpoint(state, isNew || previous != null && previous.isNew));
+                notEmpty.signal();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BackingStoreException("Interrupted while waiting for the checkpoint queue of " + key, e);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Drops the queued checkpoint of the session and waits until its running checkpoint
+         * is stored.
+         */
+        void cancel(Serializable key) {
+            lock.lock();
+            try {
+                if (pending.remove(key) != null) {
+                    notFull.signalAll();
+                }
+                while (key.equals(storing)) {
+                    stored.awaitUninterruptibly();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void close() {
+            lock.lock();
+            try {
+                closed = true;
+                notEmpty.signalAll();
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void work() {
+            while (true) {
+                Serializable key;
+                PendingCheckpoint checkpoint;
+                lock.lock();
+                try {
+                    while (pending.isEmpty() && !closed) {
+                        notEmpty.awaitUninterruptibly();
+                    }
+                    if (pending.isEmpty()) {
+                        return;
+                    }
+                    Iterator<Map.Entry<Serializable, PendingCheckpoint>> entries = pending.entrySet().iterator();
+                    Map.Entry<Serializable, PendingCheckpoint> entry = entries.next();
+                    entries.remove();
+                    key = entry.getKey();
+                    checkpoint = entry.getValue();
+                    storing = key;
+                    notFull.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                // Queued before the previous checkpoint of the session failed.
+                boolean isNew = checkpoint.isNew || Boolean.TRUE.equals(failedCheckpoints.remove(key));
+                try {
+                    store(key, checkpoint.state, isNew);
+                } catch (Exception e) {
+                    // The store may not have the last base, so the next checkpoint stores the whole state.
+                    bases.remove(key);
+                    failedCheckpoints.put(key, isNew);
+                    failedAsyncCheckpoints.incrementAndGet();
+                    _logger.log(Level.WARNING, "Exception during checkpointSave of " + key, e);
+                } finally {
+                    lock.lock();
+                    try {
+                        storing = null;
+                        stored.signalAll();
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -19,6 +20,8 @@ package com.sun.ejb.base.sfsb.util;
 import com.sun.ejb.spi.sfsb.util.SFSBUUIDUtil;
 import com.sun.enterprise.util.Utility;
 
+import java.io.Serializable;
+
 import org.glassfish.ha.store.util.KeyTransformer;
 
 /**
@@ -121,6 +124,19 @@ public class SimpleKeyGenerator
     }
 
 
+    /**
+     * Returns the key for additional data stored with the session. It is never equal to any
+     * session key created by this generator, because their ids are not negative.
+     *
+     * @param sessionKey the session key created by this generator
+     * @return the companion key
+     */
+    public Serializable createCompanionKey(Serializable sessionKey) {
+        SimpleSessionKey key = (SimpleSessionKey) sessionKey;
+        return new SimpleSessionKey(key.prefix, key.suffix, ~key.id);
+    }
+
+
     private void scramble(int hi, int lo) {
         byte[] hiBytes = new byte[4];
         Utility.intToBytes(hi, hiBytes, 0);
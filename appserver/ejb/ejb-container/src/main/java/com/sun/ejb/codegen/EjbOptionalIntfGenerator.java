@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,6 +17,7 @@
 
 package com.sun.ejb.codegen;
 
+import com.sun.ejb.spi.container.OptionalLocalInterfaceDispatcher;
 import com.sun.ejb.spi.container.OptionalLocalInterfaceProvider;
 import com.sun.enterprise.container.common.spi.util.IndirectlySerializable;
 import com.sun.enterprise.container.common.spi.util.SerializableObjectFactory;
@@ -25,11 +26,14 @@ import com.sun.enterprise.deployment.util.TypeUtil;
 import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.security.ProtectionDomain;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -44,7 +48,10 @@ import static org.objectweb.asm.Opcodes.ACC_ABSTRACT;
 import static org.objectweb.asm.Opcodes.ACC_INTERFACE;
 import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
 import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.AASTORE;
+import static org.objectweb.asm.Opcodes.ACONST_NULL;
 import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ANEWARRAY;
 import static org.objectweb.asm.Opcodes.ARETURN;
 import static org.objectweb.asm.Opcodes.ATHROW;
 import static org.objectweb.asm.Opcodes.CHECKCAST;
@@ -57,6 +64,7 @@ import static org.objectweb.asm.Opcodes.INVOKESTATIC;
 import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
 import static org.objectweb.asm.Opcodes.IRETURN;
 import static org.objectweb.asm.Opcodes.NEW;
+import static org.objectweb.asm.Opcodes.POP;
 import static org.objectweb.asm.Opcodes.PUTFIELD;
 import static org.objectweb.asm.Opcodes.RETURN;
 import static org.objectweb.asm.Opcodes.V11;
@@ -64,6 +72,8 @@ import static org.objectweb.asm.Opcodes.V11;
 public class EjbOptionalIntfGenerator extends BeanGeneratorBase {
 
     private static final String DELEGATE_FIELD_NAME = "__ejb31_delegate";
+    private static final String DISPATCHER_FIELD_NAME = "__ejb31_dispatcher";
+    private static final String DISPATCHER_DESC = Type.getDescriptor(OptionalLocalInterfaceDispatcher.class);
 
     private final Map<String, byte[]> classMap = new HashMap<>();
     private final ClassLoader loader;
@@ -153,7 +163,34 @@ public class EjbOptionalIntfGenerator extends BeanGeneratorBase {
         generateSubclass(superClass, subClassName, delegateClass, IndirectlySerializable.class);
     }
 
+    /**
+     * Generates the no-interface view subclass, which calls the invocation handler of the proxy
+     * set by {@link OptionalLocalInterfaceProvider#setOptionalLocalIntfProxy(Proxy)} directly
+     * as an {@link OptionalLocalInterfaceDispatcher} with the index of the business method.
+     *
+     * @param superClass the bean class
+     * @param subClassName name of the generated subclass
+     * @param delegateClass the generated no-interface view interface
+     * @return methods of the delegateClass, the index in the list is the method id passed
+     *         to the dispatcher.
+     */
+    public List<Method> generateOptionalLocalInterfaceDispatchingSubClass(Class<?> superClass, String subClassName,
+        Class<?> delegateClass) {
+        List<Method> dispatchedMethods = new ArrayList<>();
+        generateSubclass(superClass, subClassName, delegateClass, dispatchedMethods, IndirectlySerializable.class);
+        return dispatchedMethods;
+    }
+
     public void generateSubclass(Class<?> superClass, String subClassName, Class<?> delegateClass, Class<?>... interfaces) {
+        generateSubclass(superClass, subClassName, delegateClass, null, interfaces);
+    }
+
+    /**
+     * @param dispatchedMethods if not null, bean methods call the dispatcher and their
+     *            delegateClass methods are added to this list.
+     */
+    private void generateSubclass(Class<?> superClass, String subClassName, Class<?> delegateClass,
+        List<Method> dispatchedMethods, Class<?>... interfaces) {
         String subClassInternalName = subClassName.replace('.', '/');
         String fieldDesc = Type.getDescriptor(delegateClass);
 
@@ -172,10 +209,13 @@ public class EjbOptionalIntfGenerator extends BeanGeneratorBase {
         cw.visit(V11, ACC_PUBLIC, subClassInternalName, null, Type.getInternalName(superClass), interfaceNames);
 
         generateDelegateField(cw, fieldDesc);
+        if (dispatchedMethods != null) {
+            cw.visitField(ACC_PRIVATE, DISPATCHER_FIELD_NAME, DISPATCHER_DESC, null, null).visitEnd();
+        }
 
         generateConstructor(cw, superClass, true);
 
-        generateSetDelegateMethod(cw, delegateClass, subClassInternalName);
+        generateSetDelegateMethod(cw, delegateClass, subClassInternalName, dispatchedMethods != null);
 
         for (Class<?> intf : interfaces) {
             // dblevins: Don't think we need this special case.
@@ -197,7 +237,13 @@ public class EjbOptionalIntfGenerator extends BeanGeneratorBase {
 
         for (Method method : superClass.getMethods()) {
             if (qualifiedAsBeanMethod(method)) {
-                generateBeanMethod(cw, subClassInternalName, method, delegateClass);
+                Method delegateMethod = dispatchedMethods == null ? null : findMethod(delegateClass, method);
+                if (delegateMethod == null) {
+                    generateBeanMethod(cw, subClassInternalName, method, delegateClass);
+                } else {
+                    generateDispatchingBeanMethod(cw, subClassInternalName, method, dispatchedMethods.size());
+                    dispatchedMethods.add(delegateMethod);
+                }
             }
         }
 
@@ -275,6 +321,102 @@ public class EjbOptionalIntfGenerator extends BeanGeneratorBase {
         mv.visitEnd();
     }
 
+    private static Method findMethod(Class<?> delegateClass, Method method) {
+        try {
+            return delegateClass.getMethod(method.getName(), method.getParameterTypes());
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static void generateDispatchingBeanMethod(ClassVisitor cv, String subClassInternalName, Method method,
+        int methodId) {
+        String methodDesc = Type.getMethodDescriptor(method);
+
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, method.getName(), methodDesc, null, getExceptions(method));
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, subClassInternalName, DISPATCHER_FIELD_NAME, DISPATCHER_DESC);
+        mv.visitLdcInsn(methodId);
+
+        // Same as with the proxy, args are null if the method has no parameters.
+        Type[] argumentTypes = Type.getArgumentTypes(methodDesc);
+        if (argumentTypes.length == 0) {
+            mv.visitInsn(ACONST_NULL);
+        } else {
+            mv.visitLdcInsn(argumentTypes.length);
+            mv.visitTypeInsn(ANEWARRAY, "java/lang/Object");
+        }
+        int varIndex = 1;
+        for (int i = 0; i < argumentTypes.length; i++) {
+            mv.visitInsn(DUP);
+            mv.visitLdcInsn(i);
+            mv.visitVarInsn(argumentTypes[i].getOpcode(ILOAD), varIndex);
+            box(mv, argumentTypes[i]);
+            mv.visitInsn(AASTORE);
+            varIndex += argumentTypes[i].getSize();
+        }
+
+        mv.visitMethodInsn(INVOKEINTERFACE, Type.getInternalName(OptionalLocalInterfaceDispatcher.class), "invoke",
+            "(I[Ljava/lang/Object;)Ljava/lang/Object;", true);
+
+        Type returnType = Type.getReturnType(methodDesc);
+        if (returnType.getSort() == Type.VOID) {
+            mv.visitInsn(POP);
+        } else {
+            unbox(mv, returnType);
+        }
+        mv.visitInsn(returnType.getOpcode(IRETURN));
+        // dispatcher, id, array, array, index, value of two slots
+        mv.visitMaxs(7, varIndex);
+        mv.visitEnd();
+    }
+
+    private static void box(MethodVisitor mv, Type type) {
+        Type boxed = getBoxedType(type);
+        if (boxed != null) {
+            mv.visitMethodInsn(INVOKESTATIC, boxed.getInternalName(), "valueOf",
+                Type.getMethodDescriptor(boxed, type), false);
+        }
+    }
+
+    private static void unbox(MethodVisitor mv, Type type) {
+        Type boxed = getBoxedType(type);
+        if (boxed == null) {
+            mv.visitTypeInsn(CHECKCAST, type.getInternalName());
+        } else {
+            mv.visitTypeInsn(CHECKCAST, boxed.getInternalName());
+            mv.visitMethodInsn(INVOKEVIRTUAL, boxed.getInternalName(), type.getClassName() + "Value",
+                Type.getMethodDescriptor(type), false);
+        }
+    }
+
+    /**
+     * @return null if the type is not a primitive
+     */
+    private static Type getBoxedType(Type type) {
+        switch (type.getSort()) {
+            case Type.BOOLEAN:
+                return Type.getType(Boolean.class);
+            case Type.BYTE:
+                return Type.getType(Byte.class);
+            case Type.CHAR:
+                return Type.getType(Character.class);
+            case Type.SHORT:
+                return Type.getType(Short.class);
+            case Type.INT:
+                return Type.getType(Integer.class);
+            case Type.LONG:
+                return Type.getType(Long.class);
+            case Type.FLOAT:
+                return Type.getType(Float.class);
+            case Type.DOUBLE:
+                return Type.getType(Double.class);
+            default:
+                return null;
+        }
+    }
+
     private static void generateToStringBeanMethod(ClassVisitor cv, Class<?> superClass) {
         MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "toString", "()Ljava/lang/String;", null, null);
         mv.visitCode();
@@ -357,13 +499,22 @@ public class EjbOptionalIntfGenerator extends BeanGeneratorBase {
         return exceptions;
     }
 
-    private static void generateSetDelegateMethod(ClassVisitor cv, Class<?> delegateClass, String subClassInternalName) {
+    private static void generateSetDelegateMethod(ClassVisitor cv, Class<?> delegateClass, String subClassInternalName,
+        boolean dispatching) {
         MethodVisitor mv = cv.visitMethod(ACC_PUBLIC, "setOptionalLocalIntfProxy", "(Ljava/lang/reflect/Proxy;)V", null, null);
         mv.visitCode();
         mv.visitVarInsn(ALOAD, 0);
         mv.visitVarInsn(ALOAD, 1);
         mv.visitTypeInsn(CHECKCAST, Type.getInternalName(delegateClass));
         mv.visitFieldInsn(PUTFIELD, subClassInternalName, DELEGATE_FIELD_NAME, Type.getDescriptor(delegateClass));
+        if (dispatching) {
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitMethodInsn(INVOKESTATIC, Type.getInternalName(Proxy.class), "getInvocationHandler",
+                "(Ljava/lang/Object;)Ljava/lang/reflect/InvocationHandler;", false);
+            mv.visitTypeInsn(CHECKCAST, Type.getInternalName(OptionalLocalInterfaceDispatcher.class));
+            mv.visitFieldInsn(PUTFIELD, subClassInternalName, DISPATCHER_FIELD_NAME, DISPATCHER_DESC);
+        }
         mv.visitInsn(RETURN);
         mv.visitMaxs(2, 2);
         mv.visitEnd();
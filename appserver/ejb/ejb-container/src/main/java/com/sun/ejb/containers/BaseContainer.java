@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -28,6 +28,10 @@ import com.sun.ejb.codegen.EjbOptionalIntfGenerator;
 import com.sun.ejb.containers.interceptors.InterceptorManager;
 import com.sun.ejb.containers.interceptors.SystemInterceptorProxy;
 import com.sun.ejb.containers.util.MethodMap;
+import com.sun.ejb.containers.util.pool.AbstractPool;
+import com.sun.ejb.containers.util.pool.LockFreePool;
+import com.sun.ejb.containers.util.pool.NonBlockingPool;
+import com.sun.ejb.containers.util.pool.ObjectFactory;
 import com.sun.ejb.monitoring.probes.EjbCacheProbeProvider;
 import com.sun.ejb.monitoring.probes.EjbMonitoringProbeProvider;
 import com.sun.ejb.monitoring.probes.EjbTimedObjectProbeProvider;
@@ -97,6 +101,7 @@ import jakarta.transaction.Transaction;
 import jakarta.transaction.UserTransaction;
 
 import java.io.Serializable;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InaccessibleObjectException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -236,6 +241,12 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
 
     protected static final String SINGLETON_BEAN_POOL_PROP = "singleton-bean-pool";
 
+    /**
+     * Enterprise beans property selecting the {@link LockFreePool}: true for all stateless session
+     * and message-driven beans of the module, or a comma separated list of ejb names.
+     */
+    protected static final String LOCK_FREE_BEAN_POOL_PROP = "lock-free-bean-pool";
+
     protected final ClassLoader loader;
     protected Class<?> ejbClass;
     protected Class<?> sfsbSerializedClass;
@@ -411,6 +422,12 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
     // optimized method map for proxies to resolve invocation info
     private MethodMap proxyInvocationInfoMap;
 
+    // generated subclass of the no-interface view and invocation info
+    // of its methods indexed by the method ids used by the subclass
+    private Constructor<?> optionalLocalBusinessSubClassConstructor;
+    private InvocationInfo[] optionalLocalBusinessInvocationInfo;
+    private Method[] optionalLocalBusinessMethods;
+
     protected Method[] ejbIntfMethods;
     protected InvocationInfo[] ejbIntfMethodInfo;
 
@@ -897,6 +914,39 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
         return ejbDescriptor.getUniqueId();
     }
 
+    /**
+     * Creates the pool of bean instances. The {@link LockFreePool} is used if it is selected by the
+     * {@value #LOCK_FREE_BEAN_POOL_PROP} property and the singleton-bean-pool is not set,
+     * otherwise the {@link NonBlockingPool}.
+     */
+    protected AbstractPool createBeanInstancePool(String poolName, ObjectFactory factory, int steadyPoolSize,
+        int resizeQuantity, int maxPoolSize, int idleTimeoutInSeconds) {
+        EjbBundleDescriptor bundle = ejbDescriptor.getEjbBundleDescriptor();
+        boolean singletonBeanPool = Boolean.parseBoolean(bundle.getEnterpriseBeansProperty(SINGLETON_BEAN_POOL_PROP));
+        if (!singletonBeanPool && isLockFreeBeanPool(bundle.getEnterpriseBeansProperty(LOCK_FREE_BEAN_POOL_PROP))) {
+            _logger.log(Level.FINE, () -> "Using lock-free bean pool for " + ejbDescriptor.getName());
+            return new LockFreePool(getContainerId(), poolName, factory, steadyPoolSize, resizeQuantity, maxPoolSize,
+                idleTimeoutInSeconds, loader);
+        }
+        return new NonBlockingPool(getContainerId(), poolName, factory, steadyPoolSize, resizeQuantity, maxPoolSize,
+            idleTimeoutInSeconds, loader, singletonBeanPool);
+    }
+
+    private boolean isLockFreeBeanPool(String value) {
+        if (value == null) {
+            return false;
+        }
+        if (Boolean.parseBoolean(value.trim())) {
+            return true;
+        }
+        for (String ejbName : value.split(",")) {
+            if (ejbName.trim().equals(ejbDescriptor.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public final long getApplicationId() {
         return ejbDescriptor.getApplication().getUniqueId();
     }
@@ -1323,6 +1373,7 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
                 String optionalIntfName = EJBUtils.getGeneratedOptionalInterfaceName(ejbClass.getName());
                 ejbGeneratedOptionalLocalBusinessIntfClass = optIntfClassLoader.loadClass(optionalIntfName);
                 ejbOptionalLocalBusinessHomeProxyInterfaces[1] = ejbGeneratedOptionalLocalBusinessIntfClass;
+                initializeOptionalLocalBusinessSubClass();
 
                 // Portable JNDI name for no-interface view.
                 // We don't provide a glassfish-specific way of accessing the
@@ -3338,20 +3389,39 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
                 handler);
         Proxy proxy = (Proxy) Proxy.newProxyInstance(loader, new Class[] { IndirectlySerializable.class, businessIntfClass }, delegate);
 
-        String beanSubClassName = ejbGeneratedOptionalLocalBusinessIntfClass.getName() + "__Bean__";
-
-        optIntfClassLoader.generateOptionalLocalInterfaceSubClass(ejbClass, beanSubClassName, ejbGeneratedOptionalLocalBusinessIntfClass);
-
-        optIntfClassLoader.loadClass(ejbGeneratedOptionalLocalBusinessIntfClass.getName());
-
-        Class subClass = optIntfClassLoader.loadClass(beanSubClassName);
-        OptionalLocalInterfaceProvider provider = (OptionalLocalInterfaceProvider) subClass.getConstructor().newInstance();
+        OptionalLocalInterfaceProvider provider = (OptionalLocalInterfaceProvider) optionalLocalBusinessSubClassConstructor
+            .newInstance();
         provider.setOptionalLocalIntfProxy(proxy);
         localBusinessObjImpl.mapClientObject(ejbClass.getName(), provider);
 
         return localBusinessObjImpl;
     }
 
+    /**
+     * Generates the no-interface view subclass just once, client objects then
+     * share it and resolve the invocation info by the method id.
+     */
+    private void initializeOptionalLocalBusinessSubClass() throws Exception {
+        String beanSubClassName = ejbGeneratedOptionalLocalBusinessIntfClass.getName() + "__Bean__";
+        List<Method> methods = optIntfClassLoader.generateOptionalLocalInterfaceDispatchingSubClass(ejbClass,
+            beanSubClassName, ejbGeneratedOptionalLocalBusinessIntfClass);
+        InvocationInfo[] invocationInfo = new InvocationInfo[methods.size()];
+        for (int i = 0; i < invocationInfo.length; i++) {
+            invocationInfo[i] = invocationInfoMap.get(methods.get(i));
+        }
+        optionalLocalBusinessInvocationInfo = invocationInfo;
+        optionalLocalBusinessMethods = methods.toArray(Method[]::new);
+        optionalLocalBusinessSubClassConstructor = optIntfClassLoader.loadClass(beanSubClassName).getConstructor();
+    }
+
+    InvocationInfo getOptionalLocalBusinessInvocationInfo(int methodId) {
+        return optionalLocalBusinessInvocationInfo[methodId];
+    }
+
+    Method getOptionalLocalBusinessMethod(int methodId) {
+        return optionalLocalBusinessMethods[methodId];
+    }
+
     protected EJBObjectImpl instantiateEJBObjectImpl() throws Exception {
         return instantiateEJBObjectImpl(null, null);
     }
@@ -4310,6 +4380,10 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
         timerProbeNotifier.ejbTimerDeliveredEvent();
     }
 
+    void timerDeliveryStarted(long latenessMillis) {
+        timerProbeNotifier.ejbTimerDeliveryStartedEvent(latenessMillis);
+    }
+
     private static class JndiInfo {
         SimpleJndiName name;
         Object object;
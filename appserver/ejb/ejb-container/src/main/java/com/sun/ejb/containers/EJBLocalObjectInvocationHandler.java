@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -108,6 +108,25 @@ public final class EJBLocalObjectInvocationHandler extends EJBLocalObjectImpl im
 
 
     Object invoke(Class clientInterface, Method method, Object[] args) throws Throwable {
+        return invoke(clientInterface, method, null, args);
+    }
+
+
+    /**
+     * This entry point is used by the generated subclass of the no-interface view,
+     * the invocation info is resolved by the index instead of the method map lookup.
+     */
+    Object invoke(Class<?> clientInterface, int methodId, Object[] args) throws Throwable {
+        InvocationInfo invInfo = container.getOptionalLocalBusinessInvocationInfo(methodId);
+        if (invInfo == null) {
+            throw new IllegalStateException("Unknown method :" + container.getOptionalLocalBusinessMethod(methodId));
+        }
+        return invoke(clientInterface, invInfo.method, invInfo, args);
+    }
+
+
+    private Object invoke(Class<?> clientInterface, Method method, InvocationInfo resolvedInvInfo, Object[] args)
+        throws Throwable {
         ClassLoader originalClassLoader = null;
 
         // NOTE : be careful with "args" parameter.  It is null
@@ -133,7 +152,9 @@ public final class EJBLocalObjectInvocationHandler extends EJBLocalObjectImpl im
             }
 
             // Use optimized version of get that takes param count as an argument.
-            InvocationInfo invInfo = invocationInfoMap_.get(method, ((args != null) ? args.length : 0));
+            InvocationInfo invInfo = resolvedInvInfo == null
+                ? invocationInfoMap_.get(method, ((args != null) ? args.length : 0))
+                : resolvedInvInfo;
             if (invInfo == null) {
                 throw new IllegalStateException("Unknown method :" + method);
             }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,6 +17,7 @@
 
 package com.sun.ejb.containers;
 
+import com.sun.ejb.spi.container.OptionalLocalInterfaceDispatcher;
 import com.sun.enterprise.container.common.spi.util.IndirectlySerializable;
 import com.sun.enterprise.container.common.spi.util.SerializableObjectFactory;
 
@@ -31,10 +32,13 @@ import java.lang.reflect.Method;
  * All java.lang.Object methods and methods of {@link IndirectlySerializable} are handled by this
  * {@link InvocationHandler} itself while the business interface methods are delegated
  * to the delegate (which is the {@link EJBLocalObjectInvocationHandler}).
+ * The generated subclass of the no-interface view calls this class directly as
+ * an {@link OptionalLocalInterfaceDispatcher}.
  *
  * @author Mahesh Kannan
  */
-public class EJBLocalObjectInvocationHandlerDelegate implements InvocationHandler, IndirectlySerializable {
+public class EJBLocalObjectInvocationHandlerDelegate
+    implements InvocationHandler, OptionalLocalInterfaceDispatcher, IndirectlySerializable {
 
     private final Class<?> intfClass;
     private final long containerId;
@@ -62,6 +66,11 @@ public class EJBLocalObjectInvocationHandlerDelegate implements InvocationHandle
         }
     }
 
+    @Override
+    public Object invoke(int methodId, Object[] args) throws Throwable {
+        return delegate.invoke(intfClass, methodId, args);
+    }
+
     EJBLocalObjectInvocationHandler getDelegate() {
         return delegate;
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -122,6 +122,10 @@ public class EJBTimerService {
     // amount of time the container waits between timer redelivery attempts.
     private long redeliveryInterval_      = REDELIVERY_INTERVAL;
 
+    // length of the tick of the timer wheel, expirations are up to one tick late.
+    // 0 disables the timer wheel, expirations are then scheduled on the JDK timer.
+    private long timerWheelTick_          = 0;
+
     private static final String TIMER_SERVICE_DOWNTIME_FORMAT =
         "yyyy/MM/dd HH:mm:ss";
 
@@ -131,6 +135,12 @@ public class EJBTimerService {
     private static final String RESCHEDULE_FAILED_TIMER = "reschedule-failed-timer";
     private boolean rescheduleFailedTimer;
 
+    private static final String TIMER_WHEEL_TICK_PROPERTY = "timer-wheel-tick-in-millis";
+
+    // Schedules expirations of all timers known to this server instance,
+    // null if the timer-wheel-tick-in-millis property is not set.
+    private final EJBTimerWheel timerWheel_;
+
     // Flag that allows to load EJBTimerService on the 1st access and
     // distinguish between not available and not loaded
     private static volatile boolean _timerServiceVerified;
@@ -151,6 +161,9 @@ public class EJBTimerService {
         isDas = env.isDas() || env.isEmbedded();
 
         initProperties();
+
+        timerWheel_ = (timerWheelTick_ > 0) ?
+            new EJBTimerWheel("EJB Timer Wheel", timerWheelTick_, this::tasksExpired) : null;
     }
 
     protected static void setEJBTimerService(EJBTimerService es) {
@@ -253,6 +266,12 @@ public class EJBTimerService {
 
                 rescheduleFailedTimer = Boolean.valueOf(ejbt.getPropertyValue(RESCHEDULE_FAILED_TIMER));
 
+                valString = ejbt.getPropertyValue(TIMER_WHEEL_TICK_PROPERTY);
+                val = (valString != null) ? Long.parseLong(valString) : -1;
+                if( val > 0 ) {
+                    timerWheelTick_ = val;
+                }
+
                 // Load confing listener
                 ejbContainerUtil.getServices().getService(EJBTimerServiceConfigListener.class);
             }
@@ -265,7 +284,8 @@ public class EJBTimerService {
         logger.log(Level.FINE, "EJB Timer Service properties : " +
                    "min delivery interval = " + getMinimumDeliveryInterval() +
                    "\nmax redeliveries = " + maxRedeliveries_ +
-                   "\nredelivery interval = " + getRedeliveryInterval());
+                   "\nredelivery interval = " + getRedeliveryInterval() +
+                   "\ntimer wheel tick = " + timerWheelTick_);
     }
 
     synchronized void timedObjectCount() {
@@ -332,9 +352,12 @@ public class EJBTimerService {
         }
     }
 
-    private void shutdown() {
+    protected void shutdown() {
         // Set flag to prevent any new timer expirations.
         shutdown_ = true;
+        if( timerWheel_ != null ) {
+            timerWheel_.stop();
+        }
     }
 
     /**
@@ -434,7 +457,7 @@ public class EJBTimerService {
                 }
 
                 EJBTimerTask timerTask =
-                    new EJBTimerTask(timerExpiration, timerId, this);
+                    new EJBTimerTask(timerExpiration, timerId, this, timerWheel_);
                 if( logger.isLoggable(Level.FINE) ) {
                     logger.log(Level.FINE, (rescheduled ? "RE-" : "") +
                                "Scheduling " + timerState +
@@ -446,8 +469,11 @@ public class EJBTimerService {
                     timerState.scheduled(timerTask);
                 }
 
-                java.util.Timer jdkTimer = ejbContainerUtil.getTimer();
-                jdkTimer.schedule(timerTask, timerExpiration);
+                if( timerWheel_ != null ) {
+                    timerWheel_.schedule(timerTask, timerExpiration);
+                } else {
+                    ejbContainerUtil.getTimer().schedule(timerTask, timerExpiration);
+                }
             }
         } else {
 
@@ -1081,7 +1107,7 @@ public class EJBTimerService {
     /**
      * Called from timer thread.  Used to deliver ejb timeout.
      */
-    private void deliverTimeout(TimerPrimaryKey timerId) {
+    private void deliverTimeout(TimerPrimaryKey timerId, Date timeout) {
 
         if( logger.isLoggable(Level.FINE) ) {
             logger.log(Level.FINE, "EJBTimerService.deliverTimeout(): work "
@@ -1102,7 +1128,7 @@ public class EJBTimerService {
 
         //
         // Make some defensive state checks.  It's possible that the
-        // timer state changed between the time that the JDK timer task expired
+        // timer state changed between the time that the timer task expired
         // and we got called on this thread.
         //
 
@@ -1131,6 +1157,8 @@ public class EJBTimerService {
             }
         }
 
+        container.timerDeliveryStarted(System.currentTimeMillis() - timeout.getTime());
+
         try {
             agent.requestStart(RequestType.TIMER_EJB);
             container.onEnteringContainer();
@@ -1232,7 +1260,7 @@ public class EJBTimerService {
 
                     // Any necessary transactional operations would have
                     // been handled in postEjbTimeout callback.  Here, we
-                    // just schedule the JDK timer task for the next ejbTimeout
+                    // just schedule the timer task for the next ejbTimeout
 
                     Date expiration = calcNextFixedRateExpiration(timerState);
                     if (expiration != null) {
@@ -1365,14 +1393,27 @@ public class EJBTimerService {
         // Do nothing
     }
 
+    /**
+     * Called back from the EJBTimerWheel with all tasks expired in the same tick.
+     */
+    private void tasksExpired(List<EJBTimerTask> timerTasks) {
+        for (EJBTimerTask timerTask : timerTasks) {
+            try {
+                timerTask.run();
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Timer task expiration failed", e);
+            }
+        }
+    }
+
     /**
      * This method is called back from the EJBTimerTask object
-     * on the JDK Timer Thread.  Work performed in this callback
+     * on the JDK timer or timer wheel thread.  Work performed in this callback
      * should be short-lived, so do a little bookkeeping and then
      * launch a separate thread to invoke ejbTimeout, etc.
      */
 
-    void taskExpired(TimerPrimaryKey timerId) {
+    void taskExpired(TimerPrimaryKey timerId, Date timeout) {
         RuntimeTimerState timerState = getTimerState(timerId);
 
         if( timerState != null ) {
@@ -1385,7 +1426,7 @@ public class EJBTimerService {
                            "Adding work pool task for timer " + timerId);
                     }
 
-                    TaskExpiredWork work = new TaskExpiredWork(this, timerId);
+                    TaskExpiredWork work = new TaskExpiredWork(this, timerId, timeout);
                     ejbContainerUtil.addWork(work);
                 } else {
                     logger.log(Level.FINE, "Timer " + timerId +
@@ -1488,7 +1529,7 @@ public class EJBTimerService {
             TimerPrimaryKey timerId, long containerId, String ownerId,
             boolean persistent) throws Exception {
 
-        // Only proceed with JDK timer task cancellation if this timer
+        // Only proceed with timer task cancellation if this timer
         // is owned by the current server instance.
         if( context_ == null || timerOwnedByThisServer(ownerId) ) {
 
@@ -1677,7 +1718,7 @@ public class EJBTimerService {
     // this server instance*.  It is not transactionally
     // consistent.  Operations requiring those semantics should query
     // the database for TimerBean info.  Any timer for which there is an
-    // active JDK timer task must be contained within this cache.
+    // active timer task must be contained within this cache.
     //
     // Note : this class supports concurrent access.
     //
@@ -1875,17 +1916,19 @@ public class EJBTimerService {
     private static class TaskExpiredWork implements Runnable {
         private final EJBTimerService timerService_;
         private final TimerPrimaryKey timerId_;
+        private final Date timeout_;
 
         public TaskExpiredWork(EJBTimerService timerService,
-                               TimerPrimaryKey timerId) {
+                               TimerPrimaryKey timerId, Date timeout) {
             timerService_ = timerService;
             timerId_ = timerId;
+            timeout_ = timeout;
         }
 
         @Override
         public void run() {
             // Delegate to Timer Service.
-            timerService_.deliverTimeout(timerId_);
+            timerService_.deliverTimeout(timerId_, timeout_);
         }
 
     } // TaskExpiredWork
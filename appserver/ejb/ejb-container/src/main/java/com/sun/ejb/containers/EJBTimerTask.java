@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -22,27 +23,48 @@ import java.util.TimerTask;
 
 
 /*
- * JDK timer task for timer expirations.
+ * JDK timer or timer wheel task for timer expirations.
  *
  * @author Kenneth Saks
  */
 public class EJBTimerTask extends TimerTask {
 
-    private Date timeout_;
-    private TimerPrimaryKey timerId_;
-    private EJBTimerService timerService_;
+    private final Date timeout_;
+    private final TimerPrimaryKey timerId_;
+    private final EJBTimerService timerService_;
+    // null if the task is scheduled on the JDK timer.
+    private final EJBTimerWheel timerWheel_;
+
+    // Managed by the EJBTimerWheel under its lock.
+    long expirationTick;
+    int bucket = -1;
+    boolean cancelled;
+    EJBTimerTask previous;
+    EJBTimerTask next;
 
     EJBTimerTask(Date timeout, TimerPrimaryKey timerId,
-                 EJBTimerService timerService)
+                 EJBTimerService timerService, EJBTimerWheel timerWheel)
     {
         timeout_ = timeout;
         timerId_ = timerId;
         timerService_ = timerService;
+        timerWheel_ = timerWheel;
     }
 
+    @Override
     public void run() {
         // Delegate to Timer Service.
-        timerService_.taskExpired(timerId_);
+        timerService_.taskExpired(timerId_, timeout_);
+    }
+
+    /**
+     * Cancels the expiration.
+     *
+     * @return false if the task already expired or was cancelled before.
+     */
+    @Override
+    public boolean cancel() {
+        return (timerWheel_ != null) ? timerWheel_.cancel(this) : super.cancel();
     }
 
     public Date getTimeout() {
@@ -50,4 +72,3 @@ public class EJBTimerTask extends TimerTask {
     }
 
 }
-
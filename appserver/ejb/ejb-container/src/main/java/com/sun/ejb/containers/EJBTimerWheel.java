@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.ejb.containers;
+
+import com.sun.logging.LogDomains;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hierarchical timing wheel scheduling the {@link EJBTimerTask}s of the {@link EJBTimerService}.
+ * <p>
+ * Each of the {@value #LEVELS} levels has {@value #WHEEL_SIZE} buckets, a bucket of the first
+ * level covers one tick, a bucket of the next level covers the whole previous level. Adding and
+ * cancelling a task is O(1), tasks from a bucket of an upper level are moved to lower levels
+ * when the wheel reaches the bucket. Expirations are not limited, expirations farther than all
+ * levels cover just circle in the top level.
+ * <p>
+ * All tasks expiring in the same tick are passed to the handler as one batch from the worker
+ * thread, without holding any lock. The worker thread sleeps while the wheel is empty.
+ */
+class EJBTimerWheel {
+
+    private static final Logger logger = LogDomains.getLogger(EJBTimerWheel.class, LogDomains.EJB_LOGGER);
+
+    static final int LEVELS = 4;
+    static final int WHEEL_SIZE = 64;
+    private static final int BITS = Integer.numberOfTrailingZeros(WHEEL_SIZE);
+    private static final int MASK = WHEEL_SIZE - 1;
+
+    private final long tickMillis;
+    private final Consumer<List<EJBTimerTask>> handler;
+    private final EJBTimerTask[] buckets = new EJBTimerTask[LEVELS * WHEEL_SIZE];
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Thread worker;
+
+    /** The last tick processed by the worker thread, changed under the lock. */
+    private long processedTick;
+    /** Count of scheduled tasks, changed under the lock. */
+    private int size;
+    private volatile boolean stopped;
+
+    /**
+     * Creates the wheel and starts its daemon worker thread.
+     *
+     * @param threadName name of the worker thread
+     * @param tickMillis length of the tick in milliseconds, tasks expire up to one tick late.
+     * @param handler called with tasks expired in the same tick by the worker thread.
+     */
+    EJBTimerWheel(String threadName, long tickMillis, Consumer<List<EJBTimerTask>> handler) {
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("Tick must be at least 1 ms: " + tickMillis);
+        }
+        this.tickMillis = tickMillis;
+        this.handler = handler;
+        this.processedTick = System.currentTimeMillis() / tickMillis;
+        this.worker = new Thread(this::work, threadName);
+        this.worker.setDaemon(true);
+        // Context class loader is inherited, this thread lives longer than applications.
+        this.worker.setContextClassLoader(EJBTimerWheel.class.getClassLoader());
+        this.worker.start();
+    }
+
+    /**
+     * Schedules the task. The task must not be scheduled yet.
+     *
+     * @param task the task
+     * @param expiration time when the task expires. If it is in the past, the task expires
+     *            in the next tick.
+     */
+    void schedule(EJBTimerTask task, Date expiration) {
+        long expirationTick = (expiration.getTime() + tickMillis - 1) / tickMillis;
+        lock.lock();
+        try {
+            if (stopped || task.bucket >= 0 || task.cancelled) {
+                return;
+            }
+            if (size == 0) {
+                // Nothing to move between levels, so the idle worker doesn't need to iterate
+                // over all ticks since it went sleeping.
+                processedTick = Math.max(processedTick, System.currentTimeMillis() / tickMillis - 1);
+            }
+            task.expirationTick = expirationTick;
+            link(task, processedTick + 1);
+            if (size++ == 0) {
+                notEmpty.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the task from the wheel, it will not expire even if it is scheduled again.
+     *
+     * @param task the task
+     * @return true if the task was scheduled and did not expire yet.
+     */
+    boolean cancel(EJBTimerTask task) {
+        lock.lock();
+        try {
+            task.cancelled = true;
+            if (task.bucket < 0) {
+                return false;
+            }
+            unlink(task);
+            size--;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return count of scheduled tasks.
+     */
+    int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops the worker thread, remaining tasks never expire.
+     */
+    void stop() {
+        lock.lock();
+        try {
+            stopped = true;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+        worker.interrupt();
+    }
+
+    private void work() {
+        while (!stopped) {
+            final List<EJBTimerTask> expired;
+            final long sleepMillis;
+            lock.lock();
+            try {
+                while (size == 0 && !stopped) {
+                    notEmpty.awaitUninterruptibly();
+                }
+                final long now = System.currentTimeMillis();
+                final long currentTick = now / tickMillis;
+                expired = new ArrayList<>();
+                while (processedTick < currentTick) {
+                    processedTick++;
+                    advance(expired);
+                }
+                size -= expired.size();
+                sleepMillis = (processedTick + 1) * tickMillis - now;
+            } finally {
+                lock.unlock();
+            }
+
+            if (!expired.isEmpty()) {
+                if (logger.isLoggable(Level.FINE)) {
+                    logger.log(Level.FINE, "{0} timers expired in tick {1}", new Object[] {expired.size(), processedTick});
+                }
+                try {
+                    handler.accept(expired);
+                } catch (Exception e) {
+                    logger.log(Level.WARNING, "Handling of expired timers failed", e);
+                }
+            }
+            if (sleepMillis > 0) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(sleepMillis);
+                } catch (InterruptedException e) {
+                    logger.log(Level.FINE, "Interrupted, checking if the wheel was stopped.", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves tasks of the reached buckets of upper levels to lower levels and takes
+     * tasks of the reached bucket of the first level. Must be called under the lock.
+     */
+    private void advance(List<EJBTimerTask> expired) {
+        for (int level = LEVELS - 1; level > 0; level--) {
+            if ((processedTick & ((1L << (BITS * level)) - 1)) == 0) {
+                EJBTimerTask task = detach(level * WHEEL_SIZE + (int) ((processedTick >>> (BITS * level)) & MASK));
+                while (task != null) {
+                    EJBTimerTask next = task.next;
+                    task.next = null;
+                    // The bucket of the processed tick is detached below, so it is still reachable.
+                    link(task, processedTick);
+                    task = next;
+                }
+            }
+        }
+        EJBTimerTask task = detach((int) (processedTick & MASK));
+        while (task != null) {
+            EJBTimerTask next = task.next;
+            task.next = null;
+            expired.add(task);
+            task = next;
+        }
+    }
+
+    private EJBTimerTask detach(int bucket) {
+        EJBTimerTask head = buckets[bucket];
+        buckets[bucket] = null;
+        for (EJBTimerTask task = head; task != null; task = task.next) {
+            task.bucket = -1;
+            task.previous = null;
+        }
+        return head;
+    }
+
+    /**
+     * The bucket is chosen relatively to the first tick whose bucket was not detached yet.
+     *
+     * @param task the task
+     * @param firstTick the first tick which can still expire the task.
+     */
+    private void link(EJBTimerTask task, long firstTick) {
+        final long expirationTick = Math.max(task.expirationTick, firstTick);
+        final long delta = expirationTick - firstTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (BITS * (level + 1))) {
+            level++;
+        }
+        final int bucket = level * WHEEL_SIZE + (int) ((expirationTick >>> (BITS * level)) & MASK);
+        task.bucket = bucket;
+        task.previous = null;
+        task.next = buckets[bucket];
+        if (buckets[bucket] != null) {
+            buckets[bucket].previous = task;
+        }
+        buckets[bucket] = task;
+    }
+
+    private void unlink(EJBTimerTask task) {
+        if (task.previous == null) {
+            buckets[task.bucket] = task.next;
+        } else {
+            task.previous.next = task.next;
+        }
+        if (task.next != null) {
+            task.next.previous = task.previous;
+        }
+        task.previous = null;
+        task.next = null;
+        task.bucket = -1;
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -23,7 +24,6 @@ import java.util.ArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import org.glassfish.ha.store.api.BackingStore;
 import org.glassfish.ha.store.api.BackingStoreException;
 import org.glassfish.ha.store.util.SimpleMetadata;
 
@@ -62,7 +62,7 @@ public class SFSBTxCheckpointCoordinator {
             SimpleMetadata beanState = container.getSFSBBeanState(ctx);
             if (beanState != null) {
                 states.add(new StoreAndBeanState((Serializable) ctx.getInstanceKey(),
-                        container.getBackingStore(), beanState, !ctx.existsInStore()));
+                        container, beanState, !ctx.existsInStore()));
             }
         }
 
@@ -71,7 +71,7 @@ public class SFSBTxCheckpointCoordinator {
 
             try {
                 for (StoreAndBeanState st : states) {
-                    st.store.save(st.key, st.state, st.isNew);
+                    st.container.saveCheckpoint(st.key, st.state, st.isNew);
                 }
             } catch (BackingStoreException sfsbEx) {
                 _logger.log(Level.WARNING, "Exception during checkpointSave",
@@ -92,15 +92,15 @@ public class SFSBTxCheckpointCoordinator {
 
     private static final class StoreAndBeanState {
         Serializable key;
-        BackingStore<Serializable, SimpleMetadata> store;
+        StatefulSessionContainer container;
         SimpleMetadata state;
         boolean isNew;
 
         StoreAndBeanState(Serializable key,
-                          BackingStore<Serializable, SimpleMetadata> store, SimpleMetadata state,
+                          StatefulSessionContainer container, SimpleMetadata state,
                           boolean isNew) {
             this.key = key;
-            this.store = store;
+            this.container = container;
             this.state = state;
             this.isNew = isNew;
         }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -20,11 +21,13 @@ import com.sun.appserv.util.cache.CacheListener;
 import com.sun.ejb.Container;
 import com.sun.ejb.ContainerFactory;
 import com.sun.ejb.base.container.util.CacheProperties;
+import com.sun.ejb.base.sfsb.util.DeltaCheckpointBackingStore;
 import com.sun.ejb.base.sfsb.util.ScrambledKeyGenerator;
 import com.sun.ejb.base.sfsb.util.SimpleKeyGenerator;
 import com.sun.ejb.containers.util.cache.FIFOSessionCache;
 import com.sun.ejb.containers.util.cache.LruSessionCache;
 import com.sun.ejb.containers.util.cache.NRUSessionCache;
+import com.sun.ejb.containers.util.cache.TinyLfuSessionCache;
 import com.sun.ejb.containers.util.cache.UnBoundedSessionCache;
 import com.sun.enterprise.config.serverbeans.AvailabilityService;
 import com.sun.enterprise.config.serverbeans.Config;
@@ -151,6 +154,10 @@ public class StatefulContainerFactory extends BaseContainerFactory
 
     private static final Level TRACE_LEVEL = Level.FINE;
 
+    private static final String SFSB_DELTA_CHECKPOINT_ENABLED = "sfsb-delta-checkpoint-enabled";
+    private static final String SFSB_FULL_CHECKPOINT_INTERVAL = "sfsb-full-checkpoint-interval";
+    private static final String SFSB_CHECKPOINT_QUEUE_SIZE = "sfsb-checkpoint-queue-size";
+
     private EjbDescriptor            ejbDescriptor;
 
     private StatefulSessionContainer sfsbContainer;
@@ -346,6 +353,16 @@ public class StatefulContainerFactory extends BaseContainerFactory
             throw new BackingStoreException("Could not instantiate backing store for type [" +
                     persistenceStoreType + "]", ex);
         }
+
+        if (HAEnabled && ejbAvailability != null
+                && Boolean.parseBoolean(ejbAvailability.getPropertyValue(SFSB_DELTA_CHECKPOINT_ENABLED))) {
+            int fullCheckpointInterval = Integer.parseInt(
+                    ejbAvailability.getPropertyValue(SFSB_FULL_CHECKPOINT_INTERVAL, "10"));
+            int checkpointQueueSize = Integer.parseInt(
+                    ejbAvailability.getPropertyValue(SFSB_CHECKPOINT_QUEUE_SIZE, "0"));
+            this.backingStore = new DeltaCheckpointBackingStore(storeName, backingStore, keyGen::createCompanionKey,
+                    fullCheckpointInterval, checkpointQueueSize);
+        }
         _logger.log(Level.INFO, SFSB_BUILDER_INSTANTIATED_BACKING_STORE, new Object[]{backingStore, HAEnabled, conf});
     }
 
@@ -365,6 +382,10 @@ public class StatefulContainerFactory extends BaseContainerFactory
             sessionCache = new FIFOSessionCache(cacheName, sfsbContainer,
                     cacheProps.getCacheIdleTimeoutInSeconds(),
                     cacheProps.getRemovalTimeoutInSeconds());
+        } else if ("tinylfu".equalsIgnoreCase(victimPolicy)) {
+            sessionCache = new TinyLfuSessionCache(cacheName, sfsbContainer,
+                    cacheProps.getCacheIdleTimeoutInSeconds(),
+                    cacheProps.getRemovalTimeoutInSeconds());
         } else {
             sessionCache = new NRUSessionCache(cacheName, sfsbContainer,
                     cacheProps.getCacheIdleTimeoutInSeconds(),
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -24,6 +24,7 @@ import com.sun.ejb.EJBUtils;
 import com.sun.ejb.EjbInvocation;
 import com.sun.ejb.InvocationInfo;
 import com.sun.ejb.MethodLockInfo;
+import com.sun.ejb.base.sfsb.util.DeltaCheckpointBackingStore;
 import com.sun.ejb.base.stats.HAStatefulSessionStoreMonitor;
 import com.sun.ejb.base.stats.StatefulSessionStoreMonitor;
 import com.sun.ejb.containers.EJBContextImpl.BeanState;
@@ -89,9 +90,11 @@ import java.security.PrivilegedAction;
 import java.security.PrivilegedExceptionAction;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Timer;
@@ -2809,37 +2812,40 @@ public final class StatefulSessionContainer
     // CacheListener interface
     @Override
     public void trimEvent(Object primaryKey, Object context) {
-        boolean addTask = false;
+        addPassivationCandidates(Collections.singletonList((StatefulEJBContext) context));
+    }
+
+    @Override
+    public void addPassivationCandidates(List<StatefulEJBContext> contexts) {
+        int tasksToAdd;
         synchronized (asyncTaskSemaphore) {
-            containerTrimCount++;
-            passivationCandidates.add(context);
+            containerTrimCount += contexts.size();
+            passivationCandidates.addAll(contexts);
             int requiredTaskCount = (passivationCandidates.size() / passivationBatchCount);
-            addTask = (asyncTaskCount < requiredTaskCount);
+            tasksToAdd = Math.max(0, requiredTaskCount - asyncTaskCount);
 
             if (_logger.isLoggable(Level.FINE)) {
                 _logger.log(Level.FINE,
                     "qSize: " + passivationCandidates.size() + "; batchCount: " + passivationBatchCount
                         + "; asyncTaskCount: " + asyncTaskCount + "; requiredTaskCount: " + requiredTaskCount
-                        + "; ADDED TASK ==> " + addTask);
+                        + "; ADDED TASKS ==> " + tasksToAdd);
             }
 
-            if (addTask == false) {
-                return;
-            }
-            asyncTaskCount++;
-            asyncCummTaskCount++;
+            asyncTaskCount += tasksToAdd;
+            asyncCummTaskCount += tasksToAdd;
         }
 
-        try {
-            ASyncPassivator work = new ASyncPassivator();
-            ejbContainerUtilImpl.addWork(work);
-        } catch (Exception ex) {
-            synchronized (asyncTaskSemaphore) {
-                asyncTaskCount--;
+        for (int i = 0; i < tasksToAdd; i++) {
+            try {
+                ASyncPassivator work = new ASyncPassivator();
+                ejbContainerUtilImpl.addWork(work);
+            } catch (Exception ex) {
+                synchronized (asyncTaskSemaphore) {
+                    asyncTaskCount--;
+                }
+                _logger.log(Level.WARNING, ADD_CLEANUP_TASK_ERROR, ex);
             }
-            _logger.log(Level.WARNING, ADD_CLEANUP_TASK_ERROR, ex);
         }
-
     }
 
     public void setSFSBUUIDUtil(SFSBUUIDUtil util) {
@@ -2956,6 +2962,18 @@ public final class StatefulSessionContainer
     }
 
 
+    /**
+     * Stores the checkpoint, as a delta if the backing store supports it.
+     */
+    void saveCheckpoint(Serializable key, SimpleMetadata beanState, boolean isNew) throws BackingStoreException {
+        if (backingStore instanceof DeltaCheckpointBackingStore) {
+            ((DeltaCheckpointBackingStore) backingStore).checkpoint(key, beanState, isNew);
+        } else {
+            backingStore.save(key, beanState, isNew);
+        }
+    }
+
+
     private boolean checkpointEJB(SessionContextImpl sc) {
         boolean checkpointed = false;
         try {
@@ -3001,7 +3019,7 @@ public final class StatefulSessionContainer
                         SimpleMetadata beanState = new SimpleMetadata(sc.getVersion(), sc.getLastAccessTime(),
                             removalGracePeriodInSeconds * 1000L, serializedState);
                         beanState.setVersion(newCtxVersion);
-                        backingStore.save((Serializable) sc.getInstanceKey(), beanState, !sc.existsInStore());
+                        saveCheckpoint((Serializable) sc.getInstanceKey(), beanState, !sc.existsInStore());
 
                         // Now that we have successfully stored.....
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -31,6 +31,9 @@ import jakarta.ejb.EJBException;
 import jakarta.interceptor.InvocationContext;
 
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InaccessibleObjectException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -718,8 +721,13 @@ class AroundInvokeChainImpl implements InterceptorManager.InterceptorChain {
 }
 
 class AroundInvokeInterceptor {
+    private static final MethodType INTERCEPT_TYPE = MethodType.methodType(Object.class, Object.class,
+        InvocationContext.class);
+
     protected int index;
     protected Method method;
+    /** Bound once to avoid the reflective call per invocation, null if the method cannot be unreflected. */
+    protected MethodHandle methodHandle;
 
     AroundInvokeInterceptor(int index, Method method) {
         this.index = index;
@@ -746,6 +754,11 @@ class AroundInvokeInterceptor {
             throw new EJBException(e);
         }
 
+        try {
+            this.methodHandle = MethodHandles.lookup().unreflect(method).asType(INTERCEPT_TYPE);
+        } catch (IllegalAccessException | IllegalArgumentException e) {
+            this.methodHandle = null;
+        }
     }
 
     Object intercept(final InterceptorManager.AroundInvokeContext invCtx) throws Throwable {
@@ -761,10 +774,10 @@ class AroundInvokeInterceptor {
                         return method.invoke(interceptors[index], invCtx);
                     }
                 });
-            } else {
-
+            } else if (methodHandle == null) {
                 return method.invoke(interceptors[index], invCtx);
-
+            } else {
+                return (Object) methodHandle.invokeExact(interceptors[index], (InvocationContext) invCtx);
             }
         } catch (java.lang.reflect.InvocationTargetException invEx) {
             throw invEx.getCause();
@@ -803,8 +816,10 @@ class BeanAroundInvokeInterceptor extends AroundInvokeInterceptor {
                         return method.invoke(invCtx.getTarget(), invCtx);
                     }
                 });
-            } else {
+            } else if (methodHandle == null) {
                 return method.invoke(invCtx.getTarget(), invCtx);
+            } else {
+                return (Object) methodHandle.invokeExact(invCtx.getTarget(), (InvocationContext) invCtx);
             }
         } catch (java.lang.reflect.InvocationTargetException invEx) {
             throw invEx.getCause();
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -108,7 +109,7 @@ public class LruSessionCache
 
     protected boolean removeIfIdle = false;
 
-    private int numVictimsAccessed = 0;
+    protected int numVictimsAccessed = 0;
 
     protected SFSBContainerCallback     container;
     protected BackingStore<Serializable, SimpleMetadata> backingStore;
@@ -287,7 +288,7 @@ public class LruSessionCache
         }*/
         try {
             value = getStateFromStore(sessionKey, container);
-            newItem = new LruSessionCacheItem(hashCode, sessionKey, value, -1, CACHE_ITEM_LOADING);
+            newItem = createItem(hashCode, sessionKey, value, -1, CACHE_ITEM_LOADING);
             newItem.setNext( buckets[index] );
             buckets[index] = newItem;
 
@@ -573,6 +574,10 @@ public class LruSessionCache
         currentCacheState = STATE_UNDEPLOYING;
     }
 
+    protected boolean isRunning() {
+        return currentCacheState == STATE_RUNNING;
+    }
+
     /**
      * get an Iterator for the values stored in the cache
      * @returns an Iterator
@@ -804,6 +809,10 @@ public class LruSessionCache
         return new LruSessionCacheItem(hashCode, sessionKey, value, size);
     }
 
+    protected LruSessionCacheItem createItem(int hashCode, Object sessionKey, Object value, int size, byte state) {
+        return new LruSessionCacheItem(hashCode, sessionKey, value, size, state);
+    }
+
     //*Class for LruSessionCacheItem
     protected static class LruSessionCacheItem extends LruCacheItem {
 
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.ejb.containers.util.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Lossy buffer of recorded reads, so readers don't have to take the lock of the eviction policy.
+ * <p>
+ * Readers are spread to stripes by their thread id and add an element by a single CAS operation.
+ * If the stripe is full or the CAS fails, the element is dropped; the policy just misses one
+ * access. Elements are drained by a single thread holding the policy lock.
+ *
+ * @param <E> type of elements
+ */
+final class StripedReadBuffer<E> {
+
+    /** Count of elements in one stripe, power of two */
+    static final int STRIPE_SIZE = 32;
+    /** The buffer should be drained after adding so many elements to one stripe */
+    static final int DRAIN_THRESHOLD = STRIPE_SIZE / 2;
+
+    private static final int STRIPE_MASK = STRIPE_SIZE - 1;
+
+    private final Stripe<E>[] stripes;
+    private final int mask;
+
+    @SuppressWarnings("unchecked")
+    StripedReadBuffer() {
+        int count = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe<>();
+        }
+        this.mask = count - 1;
+    }
+
+    /**
+     * Records the element.
+     *
+     * @param element
+     * @return true if the buffer should be drained.
+     */
+    boolean offer(E element) {
+        Stripe<E> stripe = stripes[(int) Thread.currentThread().getId() & mask];
+        long head = stripe.readCounter;
+        long tail = stripe.writeCounter.get();
+        long size = tail - head;
+        if (size >= STRIPE_SIZE) {
+            return true;
+        }
+        if (stripe.writeCounter.compareAndSet(tail, tail + 1)) {
+            stripe.elements.lazySet((int) (tail & STRIPE_MASK), element);
+            return size + 1 >= DRAIN_THRESHOLD;
+        }
+        return false;
+    }
+
+    /**
+     * Passes all recorded elements to the consumer. Must not be called concurrently.
+     *
+     * @param consumer
+     */
+    void drainTo(Consumer<E> consumer) {
+        for (Stripe<E> stripe : stripes) {
+            long head = stripe.readCounter;
+            long tail = stripe.writeCounter.get();
+            for (; head < tail; head++) {
+                int index = (int) (head & STRIPE_MASK);
+                E element = stripe.elements.get(index);
+                if (element == null) {
+                    // The writer claimed the slot but didn't store the element yet.
+                    break;
+                }
+                stripe.elements.lazySet(index, null);
+                consumer.accept(element);
+            }
+            stripe.readCounter = head;
+        }
+    }
+
+    private static final class Stripe<E> {
+
+        private final AtomicReferenceArray<E> elements = new AtomicReferenceArray<>(STRIPE_SIZE);
+        private final AtomicLong writeCounter = new AtomicLong();
+        private volatile long readCounter;
+    }
+}
@@ -0,0 +1,473 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.ejb.containers.util.cache;
+
+import com.sun.appserv.util.cache.CacheListener;
+import com.sun.ejb.spi.container.SFSBContainerCallback;
+import com.sun.ejb.spi.container.StatefulEJBContext;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Session cache with the W-TinyLFU eviction policy.
+ * <p>
+ * New sessions enter a small LRU window (1 % of the cache). Sessions leaving the window compete
+ * with the least recently used session of the main space, and the one used less often according
+ * to the {@link FrequencySketch} is passivated. The main space is a segmented LRU: sessions
+ * accessed again are moved from the probation segment to the protected segment (80 % of the main
+ * space). So a burst of sessions used just once doesn't push out sessions used repeatedly.
+ * <p>
+ * Reads never take the policy lock, they are just recorded in a {@link StripedReadBuffer}, which
+ * is drained by the thread which gets the lock first. Adding and removing sessions takes the lock.
+ * <p>
+ * When the cache overflows, victims are selected until there is space for the whole passivation
+ * batch, and all of them are handed to the container at once.
+ */
+public class TinyLfuSessionCache extends LruSessionCache {
+
+    private static final byte NONE = 0;
+    private static final byte WINDOW = 1;
+    private static final byte PROBATION = 2;
+    private static final byte PROTECTED = 3;
+
+    private final ReentrantLock policyLock = new ReentrantLock();
+    private final StripedReadBuffer<TinyLfuCacheItem> readBuffer = new StripedReadBuffer<>();
+    private final Consumer<TinyLfuCacheItem> accessRecorder = this::onAccess;
+    private final Queue<TinyLfuCacheItem> victims = new ConcurrentLinkedQueue<>();
+
+    private final Segment window = new Segment();
+    private final Segment probation = new Segment();
+    private final Segment protectedSegment = new Segment();
+
+    private FrequencySketch sketch = new FrequencySketch(16);
+    private int windowMaxSize = 1;
+    private int protectedMaxSize;
+
+    public TinyLfuSessionCache(String cacheName, SFSBContainerCallback container, int cacheIdleTime, int removalTime) {
+        super("TinyLFU-" + cacheName, container, cacheIdleTime, removalTime);
+    }
+
+    @Override
+    public void init(int maxEntries, float loadFactor, Properties props) {
+        super.init(maxEntries, loadFactor, props);
+        policyLock.lock();
+        try {
+            windowMaxSize = Math.max(1, threshold / 100);
+            protectedMaxSize = (threshold - windowMaxSize) * 4 / 5;
+            sketch = new FrequencySketch(threshold);
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    @Override
+    protected CacheItem createItem(int hashCode, Object sessionKey, Object value, int size) {
+        return new TinyLfuCacheItem(hashCode, sessionKey, value, size);
+    }
+
+    @Override
+    protected LruSessionCacheItem createItem(int hashCode, Object sessionKey, Object value, int size, byte state) {
+        return new TinyLfuCacheItem(hashCode, sessionKey, value, size, state);
+    }
+
+    @Override
+    protected CacheItem itemAdded(CacheItem item) {
+        TinyLfuCacheItem added = (TinyLfuCacheItem) item;
+        policyLock.lock();
+        try {
+            drainReadBuffer();
+            addToWindow(added);
+        } finally {
+            policyLock.unlock();
+        }
+        // The rest of victims is taken by trimItem
+        return victims.poll();
+    }
+
+    @Override
+    protected void itemAccessed(CacheItem item) {
+        TinyLfuCacheItem accessed = (TinyLfuCacheItem) item;
+        if (accessed.segment == NONE) {
+            returnVictim(accessed);
+            return;
+        }
+        if (readBuffer.offer(accessed) && policyLock.tryLock()) {
+            try {
+                drainReadBuffer();
+            } finally {
+                policyLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    protected void itemRefreshed(CacheItem item, int oldSize) {
+        itemAccessed(item);
+    }
+
+    @Override
+    protected void itemRemoved(CacheItem item) {
+        TinyLfuCacheItem removed = (TinyLfuCacheItem) item;
+        policyLock.lock();
+        try {
+            if (removed.segment != NONE) {
+                getSegment(removed).remove(removed);
+                removed.segment = NONE;
+                listSize--;
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * Hands the item and all other selected victims to listeners.
+     */
+    @Override
+    protected void trimItem(CacheItem item) {
+        List<TinyLfuCacheItem> batch = new ArrayList<>();
+        batch.add((TinyLfuCacheItem) item);
+        for (TinyLfuCacheItem victim = victims.poll(); victim != null; victim = victims.poll()) {
+            batch.add(victim);
+        }
+        trimItems(batch);
+    }
+
+    @Override
+    public Iterator values() {
+        List<StatefulEJBContext> valueList = new ArrayList<>();
+        policyLock.lock();
+        try {
+            collectValues(protectedSegment, valueList, false);
+            collectValues(probation, valueList, false);
+            collectValues(window, valueList, false);
+        } finally {
+            policyLock.unlock();
+        }
+        return valueList.iterator();
+    }
+
+    @Override
+    public void shutdown() {
+        List<StatefulEJBContext> valueList = new ArrayList<>();
+        policyLock.lock();
+        try {
+            collectValues(protectedSegment, valueList, true);
+            collectValues(probation, valueList, true);
+            collectValues(window, valueList, true);
+        } finally {
+            policyLock.unlock();
+        }
+
+        for (StatefulEJBContext ctx : valueList) {
+            container.passivateEJB(ctx);
+        }
+    }
+
+    /**
+     * Trims sessions idle longer than the cache idle timeout. Every segment is scanned
+     * from the least recently used session until it finds a session which was used recently.
+     */
+    @Override
+    public void trimTimedoutItems(int maxTrimCount) {
+        long idleThresholdTime = System.currentTimeMillis() - cacheIdleTimeoutInSeconds * 1000L;
+        List<TinyLfuCacheItem> idleItems = new ArrayList<>();
+        policyLock.lock();
+        try {
+            drainReadBuffer();
+            collectIdleItems(window, idleThresholdTime, maxTrimCount, idleItems);
+            collectIdleItems(probation, idleThresholdTime, maxTrimCount, idleItems);
+            collectIdleItems(protectedSegment, idleThresholdTime, maxTrimCount, idleItems);
+        } finally {
+            policyLock.unlock();
+        }
+
+        if (!idleItems.isEmpty()) {
+            trimItems(idleItems);
+        }
+        if (_logger.isLoggable(Level.FINE)) {
+            _logger.log(Level.FINE,
+                "[" + cacheName + "]: TrimTimedoutBeans finished after removing " + idleItems.size() + " idle beans");
+        }
+    }
+
+    /**
+     * Must be called under the policy lock.
+     */
+    private void addToWindow(TinyLfuCacheItem item) {
+        sketch.increment(item.getHashCode());
+        window.addFirst(item, WINDOW);
+        listSize++;
+
+        List<TinyLfuCacheItem> candidates = new ArrayList<>();
+        while (window.size > windowMaxSize) {
+            TinyLfuCacheItem candidate = window.removeLast();
+            probation.addFirst(candidate, PROBATION);
+            candidates.add(candidate);
+        }
+        if (listSize <= threshold) {
+            return;
+        }
+
+        int batchSize = container == null ? 1 : Math.max(1, container.getPassivationBatchCount());
+        int targetSize = Math.max(0, threshold - batchSize + 1);
+        for (TinyLfuCacheItem candidate : candidates) {
+            if (listSize <= targetSize) {
+                return;
+            }
+            TinyLfuCacheItem victim = probation.tail;
+            if (victim == candidate || sketch.frequency(candidate.getHashCode()) <= sketch.frequency(victim.getHashCode())) {
+                evict(candidate);
+            } else {
+                evict(victim);
+            }
+        }
+        while (listSize > targetSize) {
+            TinyLfuCacheItem victim = probation.tail;
+            if (victim == null) {
+                victim = protectedSegment.tail == null ? window.tail : protectedSegment.tail;
+            }
+            evict(victim);
+        }
+    }
+
+    /**
+     * Must be called under the policy lock.
+     */
+    private void evict(TinyLfuCacheItem item) {
+        trim(item);
+        victims.add(item);
+    }
+
+    /**
+     * Must be called under the policy lock.
+     */
+    private void trim(TinyLfuCacheItem item) {
+        getSegment(item).remove(item);
+        item.setTrimmed(true);
+        // volatile write, publishes also the trimmed flag
+        item.segment = NONE;
+        listSize--;
+        trimCount++;
+    }
+
+    /**
+     * The victim was accessed before it was passivated, so it comes back to the cache.
+     */
+    private void returnVictim(TinyLfuCacheItem item) {
+        policyLock.lock();
+        try {
+            if (!item.isTrimmed() || item.segment != NONE) {
+                return;
+            }
+            item.setTrimmed(false);
+            numVictimsAccessed++;
+            addToWindow(item);
+        } finally {
+            policyLock.unlock();
+        }
+        CacheItem overflow = victims.poll();
+        if (overflow != null) {
+            trimItem(overflow);
+        }
+    }
+
+    /**
+     * Applies a recorded read, must be called under the policy lock.
+     */
+    private void onAccess(TinyLfuCacheItem item) {
+        switch (item.segment) {
+            case WINDOW:
+                window.moveToFront(item);
+                break;
+            case PROBATION:
+                probation.remove(item);
+                protectedSegment.addFirst(item, PROTECTED);
+                while (protectedSegment.size > protectedMaxSize) {
+                    probation.addFirst(protectedSegment.removeLast(), PROBATION);
+                }
+                break;
+            case PROTECTED:
+                protectedSegment.moveToFront(item);
+                break;
+            default:
+                // removed or trimmed in between
+                return;
+        }
+        sketch.increment(item.getHashCode());
+    }
+
+    private void drainReadBuffer() {
+        readBuffer.drainTo(accessRecorder);
+    }
+
+    private void trimItems(List<TinyLfuCacheItem> items) {
+        List<TinyLfuCacheItem> candidates = new ArrayList<>(items.size());
+        for (TinyLfuCacheItem item : items) {
+            if (removeIfIdle) {
+                StatefulEJBContext ctx = (StatefulEJBContext) item.getValue();
+                long idleThreshold = System.currentTimeMillis() - removalTimeoutInSeconds * 1000L;
+                if (ctx.getLastAccessTime() <= idleThreshold) {
+                    container.passivateEJB(ctx);
+                    continue;
+                }
+            }
+            candidates.add(item);
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        for (int i = 0; i < listeners.size(); i++) {
+            CacheListener listener = (CacheListener) listeners.get(i);
+            if (listener == container) {
+                List<StatefulEJBContext> contexts = new ArrayList<>(candidates.size());
+                for (TinyLfuCacheItem candidate : candidates) {
+                    contexts.add((StatefulEJBContext) candidate.getValue());
+                }
+                container.addPassivationCandidates(contexts);
+            } else {
+                for (TinyLfuCacheItem candidate : candidates) {
+                    listener.trimEvent(candidate.getKey(), candidate.getValue());
+                }
+            }
+        }
+    }
+
+    private void collectValues(Segment segment, List<StatefulEJBContext> valueList, boolean trim) {
+        for (TinyLfuCacheItem item = segment.tail; item != null; item = (TinyLfuCacheItem) item.getLPrev()) {
+            StatefulEJBContext ctx = (StatefulEJBContext) item.getValue();
+            if (ctx != null) {
+                if (trim) {
+                    item.setTrimmed(true);
+                }
+                valueList.add(ctx);
+            }
+        }
+    }
+
+    private void collectIdleItems(Segment segment, long idleThresholdTime, int maxTrimCount,
+        List<TinyLfuCacheItem> idleItems) {
+        TinyLfuCacheItem item = segment.tail;
+        while (item != null && idleItems.size() < maxTrimCount) {
+            if (!isRunning()) {
+                _logger.log(Level.FINE, "[{0}]: Exiting TrimTimedoutBeans, the cache is not running.", cacheName);
+                return;
+            }
+            TinyLfuCacheItem previous = (TinyLfuCacheItem) item.getLPrev();
+            StatefulEJBContext ctx = (StatefulEJBContext) item.getValue();
+            if (ctx != null) {
+                if (ctx.getLastAccessTime() > idleThresholdTime || !ctx.canBePassivated()) {
+                    return;
+                }
+                trim(item);
+                idleItems.add(item);
+            }
+            item = previous;
+        }
+    }
+
+    private Segment getSegment(TinyLfuCacheItem item) {
+        switch (item.segment) {
+            case WINDOW:
+                return window;
+            case PROBATION:
+                return probation;
+            case PROTECTED:
+                return protectedSegment;
+            default:
+                throw new IllegalStateException("The item is not in any segment: " + item);
+        }
+    }
+
+    /**
+     * Doubly linked list of items in the access order, guarded by the policy lock.
+     */
+    private static final class Segment {
+
+        private TinyLfuCacheItem head;
+        private TinyLfuCacheItem tail;
+        private int size;
+
+        void addFirst(TinyLfuCacheItem item, byte segment) {
+            item.segment = segment;
+            item.setLPrev(null);
+            item.setLNext(head);
+            if (head == null) {
+                tail = item;
+            } else {
+                head.setLPrev(item);
+            }
+            head = item;
+            size++;
+        }
+
+        void remove(TinyLfuCacheItem item) {
+            LruCacheItem previous = item.getLPrev();
+            LruCacheItem next = item.getLNext();
+            if (previous == null) {
+                head = (TinyLfuCacheItem) next;
+            } else {
+                previous.setLNext(next);
+            }
+            if (next == null) {
+                tail = (TinyLfuCacheItem) previous;
+            } else {
+                next.setLPrev(previous);
+            }
+            item.setLPrev(null);
+            item.setLNext(null);
+            size--;
+        }
+
+        TinyLfuCacheItem removeLast() {
+            TinyLfuCacheItem item = tail;
+            remove(item);
+            return item;
+        }
+
+        void moveToFront(TinyLfuCacheItem item) {
+            if (head != item) {
+                remove(item);
+                addFirst(item, item.segment);
+            }
+        }
+    }
+
+    protected static class TinyLfuCacheItem extends LruSessionCacheItem {
+
+        /** Segment of the policy or NONE if the item was removed or trimmed. */
+        private volatile byte segment = NONE;
+
+        protected TinyLfuCacheItem(int hashCode, Object key, Object value, int size) {
+            super(hashCode, key, value, size);
+        }
+
+        protected TinyLfuCacheItem(int hashCode, Object key, Object value, int size, byte state) {
+            super(hashCode, key, value, size, state);
+        }
+    }
+}
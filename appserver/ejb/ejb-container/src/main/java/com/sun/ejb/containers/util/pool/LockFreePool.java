@@ -0,0 +1,563 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.ejb.containers.util.pool;
+
+import com.sun.ejb.containers.EJBContextImpl;
+import com.sun.ejb.containers.EjbContainerUtilImpl;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.sun.enterprise.util.Utility.setContextClassLoader;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+/**
+ * Pool of bean instances which never blocks callers.
+ * <p>
+ * Every thread keeps the last returned instance in its own stash, so a thread serving requests
+ * of the same bean usually reuses its instance without touching any shared state. Other instances
+ * are kept in a lock-free shared stack; the most recently used instance is reused first, so idle
+ * instances sink to the bottom, where they are trimmed from.
+ * <p>
+ * Stashed instances are not counted to the max-pool-size, which limits just the shared stack,
+ * so every thread which used the pool may keep one instance more. Stashes of terminated threads
+ * and instances idle longer than the idle timeout are removed by the trimming.
+ * <p>
+ * Refilling the pool to the steady size and trimming idle instances are done by an asynchronous
+ * work, callers never wait for it.
+ * <p>
+ * Unlike {@link NonBlockingPool}, this pool doesn't support the singleton-bean-pool mode,
+ * because it would have to block callers.
+ */
+public class LockFreePool extends AbstractPool {
+
+    private final ConcurrentLinkedDeque<Object> sharedObjects = new ConcurrentLinkedDeque<>();
+    /** Count of instances in the shared stack, maintained before adding and after removing instances. */
+    private final AtomicInteger sharedCount = new AtomicInteger();
+    private final Queue<Stash> stashes = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Stash> stash = ThreadLocal.withInitial(this::createStash);
+
+    private final AtomicInteger createdCounter = new AtomicInteger();
+    private final AtomicInteger destroyedCounter = new AtomicInteger();
+    private final LongAdder successCounter = new LongAdder();
+    private final LongAdder returnedCounter = new LongAdder();
+    private final AtomicBoolean maintenanceScheduled = new AtomicBoolean();
+
+    private TimerTask poolTimerTask;
+    private boolean maintainSteadySize;
+    private volatile boolean poolClosed;
+
+
+    public LockFreePool(long beanId, String poolName, ObjectFactory factory, int steadyPoolSize, int resizeQuantity,
+        int maxPoolSize, int idleTimeoutInSeconds, ClassLoader loader) {
+        this.beanId = beanId;
+        this.poolName = poolName;
+        this.pooledObjectFactory = factory;
+        this.maxPoolSize = maxPoolSize <= 0 ? Integer.MAX_VALUE : maxPoolSize;
+        this.steadyPoolSize = Math.min(Math.max(steadyPoolSize, 0), this.maxPoolSize);
+        this.resizeQuantity = Math.max(resizeQuantity, 0);
+        this.idleTimeoutInSeconds = Math.max(idleTimeoutInSeconds, 0);
+        this.containerClassLoader = loader;
+        this.maintainSteadySize = this.steadyPoolSize > 0;
+
+        if (this.idleTimeoutInSeconds > 0 && this.resizeQuantity > 0) {
+            try {
+                this.poolTimerTask = new PoolIdleTimerTask();
+                EjbContainerUtilImpl.getInstance()
+                                    .getTimer()
+                                    .scheduleAtFixedRate(
+                                        poolTimerTask, idleTimeoutInSeconds * 1000L, idleTimeoutInSeconds * 1000L);
+
+                _logger.log(FINE, () -> "[Pool-" + poolName + "]: Added PoolIdleTimerTask...");
+            } catch (Throwable th) {
+                _logger.log(WARNING, "[Pool-" + poolName + "]: Could not add PoolIdleTimerTask. Continuing anyway...", th);
+            }
+        }
+    }
+
+    @Override
+    public Object getObject(Object param) {
+        Object pooledObject = stash.get().getAndSet(null);
+        if (pooledObject != null) {
+            successCounter.increment();
+            return pooledObject;
+        }
+
+        pooledObject = sharedObjects.pollFirst();
+        if (pooledObject != null) {
+            sharedCount.decrementAndGet();
+            successCounter.increment();
+            scheduleMaintenance(false);
+            return pooledObject;
+        }
+
+        scheduleMaintenance(false);
+        poolProbeNotifier.ejbObjectAddedEvent(beanId, appName, modName, ejbName);
+        createdCounter.incrementAndGet();
+        try {
+            return pooledObjectFactory.create(param);
+        } catch (RuntimeException th) {
+            poolProbeNotifier.ejbObjectAddFailedEvent(beanId, appName, modName, ejbName);
+            createdCounter.decrementAndGet();
+            throw th;
+        }
+    }
+
+    /**
+     * Return an object back to the pool. An object that is obtained through getObject() must always be returned back to the
+     * pool using either returnObject(obj) or through destroyObject(obj).
+     */
+    @Override
+    public void returnObject(Object object) {
+        if (poolClosed) {
+            destroyObject(object);
+            return;
+        }
+
+        returnedCounter.increment();
+        Stash localStash = stash.get();
+        if (localStash.get() == null && localStash.compareAndSet(null, object)) {
+            if (poolClosed) {
+                // close() could miss the object, unless it already took it from the stash.
+                Object stashedObject = localStash.getAndSet(null);
+                if (stashedObject != null) {
+                    destroyObject(stashedObject);
+                }
+            }
+            return;
+        }
+
+        if (sharedCount.incrementAndGet() > maxPoolSize) {
+            sharedCount.decrementAndGet();
+            destroyObject(object);
+            return;
+        }
+
+        sharedObjects.offerFirst(object);
+        if (poolClosed) {
+            // close() could miss the object.
+            destroyAll(drainSharedObjects());
+        }
+    }
+
+    /**
+     * Destroys an Object. Note that applications should not ignore the reference to the object that they got from
+     * getObject(). An object that is obtained through getObject() must always be returned back to the pool using either
+     * returnObject(obj) or through destroyObject(obj). This method tells that the object should be destroyed and cannot be
+     * reused.
+     */
+    @Override
+    public void destroyObject(Object object) {
+        poolProbeNotifier.ejbObjectDestroyedEvent(beanId, appName, modName, ejbName);
+        destroyedCounter.incrementAndGet();
+        try {
+            pooledObjectFactory.destroy(object);
+        } catch (Exception ex) {
+            _logger.log(FINE, "exception in destroyObject", ex);
+        }
+    }
+
+    /**
+     * Prepopulate the pool with objects.
+     *
+     * @param count the number of objects to be added.
+     */
+    public void prepopulate(int count) {
+        steadyPoolSize = Math.min(Math.max(count, 0), maxPoolSize);
+        maintainSteadySize = steadyPoolSize > 0;
+        if (steadyPoolSize > 0) {
+            preload(steadyPoolSize);
+        }
+    }
+
+    /**
+     * Preload the shared stack with objects, but not over the max-pool-size.
+     *
+     * @param count the number of objects to be added.
+     */
+    @Override
+    protected void preload(int count) {
+        for (int i = 0; i < count && !poolClosed; i++) {
+            if (sharedCount.incrementAndGet() > maxPoolSize) {
+                sharedCount.decrementAndGet();
+                return;
+            }
+            final Object pooledObject;
+            try {
+                pooledObject = pooledObjectFactory.create(null);
+            } catch (Exception ex) {
+                // Need not throw this exception up since we are pre-populating
+                sharedCount.decrementAndGet();
+                _logger.log(FINE, "exception in preload", ex);
+                return;
+            }
+            poolProbeNotifier.ejbObjectAddedEvent(beanId, appName, modName, ejbName);
+            createdCounter.incrementAndGet();
+            // Added to the bottom, the instances used recently stay on the top.
+            sharedObjects.offerLast(pooledObject);
+        }
+    }
+
+    /**
+     * Close the pool
+     */
+    @Override
+    public void close() {
+        poolClosed = true;
+        if (poolTimerTask != null) {
+            try {
+                poolTimerTask.cancel();
+                _logger.log(FINE, () -> "[Pool-" + poolName + "]: Cancelled pool timer task at: " + new Date());
+            } catch (Throwable th) {
+                // Can safely ignore this!!
+            }
+        }
+
+        List<Object> removeList = drainSharedObjects();
+        for (Stash threadStash : stashes) {
+            Object pooledObject = threadStash.getAndSet(null);
+            if (pooledObject != null) {
+                removeList.add(pooledObject);
+            }
+        }
+        stashes.clear();
+        _logger.log(FINE, () -> "[Pool-" + poolName + "]: Destroying " + removeList.size() + " beans from the pool...");
+
+        // Since we're calling into EJB code, we need to set context class loader
+        ClassLoader origLoader = setContextClassLoader(containerClassLoader);
+        try {
+            destroyAll(removeList);
+        } finally {
+            setContextClassLoader(origLoader);
+        }
+        _logger.log(FINE, () -> "[Pool-" + poolName + "]: Pool closed....");
+        unregisterProbeProvider();
+    }
+
+    @Override
+    protected void remove(int count) {
+        List<Object> removeList = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Object pooledObject = sharedObjects.pollFirst();
+            if (pooledObject == null) {
+                break;
+            }
+            sharedCount.decrementAndGet();
+            removeList.add(pooledObject);
+        }
+        destroyAll(removeList);
+    }
+
+    /**
+     * Removes at most resize-quantity instances idle longer than the idle timeout from the bottom
+     * of the shared stack, but keeps the steady pool size. Then removes stashes of terminated
+     * threads and stashed instances idle longer than the idle timeout.
+     */
+    @Override
+    protected void removeIdleObjects() {
+        if (idleTimeoutInSeconds <= 0 || resizeQuantity <= 0) {
+            return;
+        }
+        long allowedIdleTime = System.currentTimeMillis() - idleTimeoutInSeconds * 1000L;
+        List<Object> removeList = new ArrayList<>();
+        int victimCount = Math.min(resizeQuantity, sharedCount.get() - steadyPoolSize);
+        for (int i = 0; i < victimCount; i++) {
+            Object pooledObject = sharedObjects.pollLast();
+            if (pooledObject == null) {
+                break;
+            }
+            if (!isIdle(pooledObject, allowedIdleTime)) {
+                sharedObjects.offerLast(pooledObject);
+                break;
+            }
+            sharedCount.decrementAndGet();
+            removeList.add(pooledObject);
+        }
+
+        for (Iterator<Stash> iterator = stashes.iterator(); iterator.hasNext();) {
+            Stash threadStash = iterator.next();
+            if (threadStash.isOwnerAlive()) {
+                Object pooledObject = threadStash.get();
+                if (pooledObject != null && isIdle(pooledObject, allowedIdleTime)
+                    && threadStash.compareAndSet(pooledObject, null)) {
+                    removeList.add(pooledObject);
+                }
+            } else {
+                iterator.remove();
+                Object pooledObject = threadStash.getAndSet(null);
+                if (pooledObject != null) {
+                    removeList.add(pooledObject);
+                }
+            }
+        }
+
+        _logger.log(FINE, () -> "[Pool-" + poolName + "]: Removing " + removeList.size() + " idle beans.");
+        destroyAll(removeList);
+    }
+
+    /**
+     * Trims idle objects if requested and then adds objects to the shared stack,
+     * so it would contain at least steady pool size objects.
+     *
+     * @param trimIdleObjects true to remove idle objects first
+     */
+    protected void doResize(boolean trimIdleObjects) {
+        if (poolClosed) {
+            return;
+        }
+        // We need to set the context class loader for this (deamon) thread!!
+        ClassLoader previousClassLoader = setContextClassLoader(containerClassLoader);
+        long startTime = System.currentTimeMillis();
+        try {
+            if (trimIdleObjects) {
+                removeIdleObjects();
+            }
+            int currentSize = sharedCount.get();
+            if (maintainSteadySize && currentSize < steadyPoolSize) {
+                int populateCount = steadyPoolSize - currentSize;
+                if (resizeQuantity > 0) {
+                    // Round up to resize quantity multiples
+                    populateCount = (populateCount + resizeQuantity - 1) / resizeQuantity * resizeQuantity;
+                }
+                int preloadCount = Math.min(populateCount, maxPoolSize - currentSize);
+                _logger.log(FINE, () -> "[Pool-" + poolName + "]: Attempting to preload " + preloadCount
+                    + " beans. CurSize/MaxPoolSize: " + currentSize + "/" + maxPoolSize);
+                preload(preloadCount);
+            }
+        } catch (Throwable th) {
+            _logger.log(WARNING, "[Pool-" + poolName + "]: Exception during reSize", th);
+        } finally {
+            setContextClassLoader(previousClassLoader);
+        }
+
+        if (_logger.isLoggable(FINE)) {
+            _logger.log(FINE, "[Pool-" + poolName + "]: Resize completed at: " + new Date() + "; after reSize: "
+                + getAllAttrValues());
+            _logger.log(FINE, "[Pool-" + poolName + "]: Resize took: "
+                + ((System.currentTimeMillis() - startTime) / 1000.0) + " seconds.");
+        }
+    }
+
+    private void scheduleMaintenance(boolean trimIdleObjects) {
+        if (!trimIdleObjects && (!maintainSteadySize || sharedCount.get() >= steadyPoolSize)) {
+            return;
+        }
+        if (poolClosed || !maintenanceScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            EjbContainerUtilImpl.getInstance().addWork(new MaintenanceWork(trimIdleObjects));
+            _logger.log(FINE, () -> "[Pool-" + poolName + "]: Added MaintenanceWork...");
+        } catch (Exception ex) {
+            maintenanceScheduled.set(false);
+            _logger.log(WARNING, ex, () -> "[Pool-" + poolName + "]: Cannot perform pool resize task");
+        }
+    }
+
+    private Stash createStash() {
+        Stash threadStash = new Stash();
+        if (poolClosed) {
+            return threadStash;
+        }
+        stashes.add(threadStash);
+        if (poolClosed) {
+            // close() could already clear the stashes, returnObject destroys objects of closed pool.
+            stashes.remove(threadStash);
+        }
+        return threadStash;
+    }
+
+    private List<Object> drainSharedObjects() {
+        List<Object> removeList = new ArrayList<>();
+        Object pooledObject;
+        while ((pooledObject = sharedObjects.pollFirst()) != null) {
+            sharedCount.decrementAndGet();
+            removeList.add(pooledObject);
+        }
+        return removeList;
+    }
+
+    private void destroyAll(List<Object> removeList) {
+        for (Object pooledObject : removeList) {
+            poolProbeNotifier.ejbObjectDestroyedEvent(beanId, appName, modName, ejbName);
+            destroyedCounter.incrementAndGet();
+            try {
+                pooledObjectFactory.destroy(pooledObject);
+            } catch (Throwable th) {
+                _logger.log(FINE, "exception in destroy", th);
+            }
+        }
+    }
+
+    private static boolean isIdle(Object pooledObject, long allowedIdleTime) {
+        return !(pooledObject instanceof EJBContextImpl)
+            || ((EJBContextImpl) pooledObject).getLastTimeUsed() <= allowedIdleTime;
+    }
+
+    private int getStashedCount() {
+        int count = 0;
+        for (Stash threadStash : stashes) {
+            if (threadStash.get() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**************** For Monitoring ***********************/
+    /*******************************************************/
+
+    @Override
+    public int getCreatedCount() {
+        return createdCounter.get();
+    }
+
+    @Override
+    public int getDestroyedCount() {
+        return destroyedCounter.get();
+    }
+
+    @Override
+    public int getPoolSuccess() {
+        return successCounter.intValue();
+    }
+
+    @Override
+    public int getSize() {
+        return sharedCount.get() + getStashedCount();
+    }
+
+    @Override
+    public int getWaitCount() {
+        return 0;
+    }
+
+    @Override
+    public int getNumBeansInPool() {
+        return getSize();
+    }
+
+    @Override
+    public int getNumThreadsWaiting() {
+        return 0;
+    }
+
+    @Override
+    public int getTotalBeansCreated() {
+        return getCreatedCount();
+    }
+
+    @Override
+    public int getTotalBeansDestroyed() {
+        return getDestroyedCount();
+    }
+
+    @Override
+    public void appendStats(StringBuffer sbuf) {
+        sbuf.append("[Pool: ")
+            .append("SZ=").append(getSize()).append("; ")
+            .append("CC=").append(getCreatedCount()).append("; ")
+            .append("DC=").append(getDestroyedCount()).append("; ")
+            .append("WC=0; ")
+            .append("MSG=0");
+
+        if (configData != null) {
+            sbuf.append(configData);
+        }
+
+        sbuf.append("]");
+    }
+
+    @Override
+    public String getAllMonitoredAttrbuteValues() {
+        StringBuffer sbuf = new StringBuffer();
+        sbuf.append("createdCount=").append(getCreatedCount()).append(";")
+            .append("destroyedCount=").append(getDestroyedCount()).append(";")
+            .append("waitCount=0;")
+            .append("size=").append(getSize()).append(";")
+            .append("maxPoolSize=").append(maxPoolSize).append(";");
+        return sbuf.toString();
+    }
+
+    @Override
+    public String getAllAttrValues() {
+        StringBuffer sbuf = new StringBuffer("[Pool-" + poolName + "] ");
+        sbuf.append("CC=").append(getCreatedCount()).append("; ")
+            .append("DC=").append(getDestroyedCount()).append("; ")
+            .append("CS=").append(getSize()).append("; ")
+            .append("SS=").append(steadyPoolSize).append("; ")
+            .append("MS=").append(maxPoolSize).append(";");
+        return sbuf.toString();
+    }
+
+    /**
+     * Holder of a single instance owned by a thread. Other threads can just take the instance away
+     * when they close the pool or trim idle instances.
+     */
+    private static final class Stash extends AtomicReference<Object> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient WeakReference<Thread> owner = new WeakReference<>(Thread.currentThread());
+
+        boolean isOwnerAlive() {
+            Thread thread = owner.get();
+            return thread != null && thread.isAlive();
+        }
+    }
+
+    private class MaintenanceWork implements Runnable {
+
+        private final boolean trimIdleObjects;
+
+        MaintenanceWork(boolean trimIdleObjects) {
+            this.trimIdleObjects = trimIdleObjects;
+        }
+
+        @Override
+        public void run() {
+            try {
+                doResize(trimIdleObjects);
+            } catch (Exception ex) {
+                _logger.log(WARNING, "[Pool-" + poolName + "]: Exception during reSize", ex);
+            } finally {
+                maintenanceScheduled.set(false);
+            }
+        }
+    }
+
+    private class PoolIdleTimerTask extends TimerTask {
+
+        @Override
+        public void run() {
+            scheduleMaintenance(true);
+        }
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2009, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -22,8 +23,11 @@ import java.util.logging.Logger;
 
 import org.glassfish.external.probe.provider.StatsProviderManager;
 import org.glassfish.external.probe.provider.annotations.ProbeListener;
+import org.glassfish.external.probe.provider.annotations.ProbeParam;
 import org.glassfish.external.statistics.CountStatistic;
+import org.glassfish.external.statistics.TimeStatistic;
 import org.glassfish.external.statistics.impl.CountStatisticImpl;
+import org.glassfish.external.statistics.impl.TimeStatisticImpl;
 import org.glassfish.gmbal.AMXMetadata;
 import org.glassfish.gmbal.Description;
 import org.glassfish.gmbal.ManagedAttribute;
@@ -48,6 +52,25 @@ public class EjbTimedObjectStatsProvider {
     private CountStatisticImpl timerDeliveredStat = new CountStatisticImpl("NumTimersDelivered",
             "count", "Number of timers delivered by the system");
 
+    private TimeStatisticImpl timerLatenessStat;
+
+    // Histogram of the lateness, upper bounds of buckets are 10 ms, 100 ms, 1 s, 10 s
+    // and the last one counts deliveries even later.
+    private CountStatisticImpl timerLatenessUnder10msStat = new CountStatisticImpl("NumTimersLateUnder10ms",
+            "count", "Number of timers delivered less than 10 ms after their expiration");
+
+    private CountStatisticImpl timerLatenessUnder100msStat = new CountStatisticImpl("NumTimersLateUnder100ms",
+            "count", "Number of timers delivered 10 to 100 ms after their expiration");
+
+    private CountStatisticImpl timerLatenessUnder1sStat = new CountStatisticImpl("NumTimersLateUnder1s",
+            "count", "Number of timers delivered 100 ms to 1 s after their expiration");
+
+    private CountStatisticImpl timerLatenessUnder10sStat = new CountStatisticImpl("NumTimersLateUnder10s",
+            "count", "Number of timers delivered 1 to 10 s after their expiration");
+
+    private CountStatisticImpl timerLatenessOver10sStat = new CountStatisticImpl("NumTimersLateOver10s",
+            "count", "Number of timers delivered 10 s or more after their expiration");
+
     private static final Logger _logger = EjbContainerUtilImpl.getLogger();
 
     private String appName = null;
@@ -60,6 +83,12 @@ public class EjbTimedObjectStatsProvider {
         this.appName = appName;
         this.moduleName = moduleName;
         this.beanName = beanName;
+
+        long now = System.currentTimeMillis();
+        timerLatenessStat = new TimeStatisticImpl(0, 0, 0, 0, "TimerDeliveryLateness", "millisecond",
+                "Provides the number of timer deliveries and the time between the expiration of the timer "
+                        + "and the start of its delivery",
+                now, now);
     }
 
     public void register() {
@@ -96,6 +125,24 @@ public class EjbTimedObjectStatsProvider {
         timerDeliveredStat.increment();
     }
 
+    @ProbeListener("glassfish:ejb:timers:timerDeliveryStartedEvent")
+    public void ejbTimerDeliveryStartedEvent(@ProbeParam("latenessMillis") long latenessMillis) {
+        _logger.fine("=== timerDeliveryStartedEvent");
+        long lateness = Math.max(0, latenessMillis);
+        timerLatenessStat.incrementCount(lateness);
+        if (lateness < 10) {
+            timerLatenessUnder10msStat.increment();
+        } else if (lateness < 100) {
+            timerLatenessUnder100msStat.increment();
+        } else if (lateness < 1000) {
+            timerLatenessUnder1sStat.increment();
+        } else if (lateness < 10000) {
+            timerLatenessUnder10sStat.increment();
+        } else {
+            timerLatenessOver10sStat.increment();
+        }
+    }
+
     @ManagedAttribute(id="numtimerscreated")
     @Description( "Number of timers created in the system")
     public CountStatistic getNumTimersCreated() {
@@ -113,4 +160,41 @@ public class EjbTimedObjectStatsProvider {
     public CountStatistic getNumTimersDelivered() {
         return timerDeliveredStat;
     }
+
+    @ManagedAttribute(id="timerdeliverylateness")
+    @Description( "Provides the number of timer deliveries and the time between the expiration of the timer "
+            + "and the start of its delivery")
+    public TimeStatistic getTimerDeliveryLateness() {
+        return timerLatenessStat;
+    }
+
+    @ManagedAttribute(id="numtimerslateunder10ms")
+    @Description( "Number of timers delivered less than 10 ms after their expiration")
+    public CountStatistic getNumTimersLateUnder10ms() {
+        return timerLatenessUnder10msStat;
+    }
+
+    @ManagedAttribute(id="numtimerslateunder100ms")
+    @Description( "Number of timers delivered 10 to 100 ms after their expiration")
+    public CountStatistic getNumTimersLateUnder100ms() {
+        return timerLatenessUnder100msStat;
+    }
+
+    @ManagedAttribute(id="numtimerslateunder1s")
+    @Description( "Number of timers delivered 100 ms to 1 s after their expiration")
+    public CountStatistic getNumTimersLateUnder1s() {
+        return timerLatenessUnder1sStat;
+    }
+
+    @ManagedAttribute(id="numtimerslateunder10s")
+    @Description( "Number of timers delivered 1 to 10 s after their expiration")
+    public CountStatistic getNumTimersLateUnder10s() {
+        return timerLatenessUnder10sStat;
+    }
+
+    @ManagedAttribute(id="numtimerslateover10s")
+    @Description( "Number of timers delivered 10 s or more after their expiration")
+    public CountStatistic getNumTimersLateOver10s() {
+        return timerLatenessOver10sStat;
+    }
 }
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.ejb.spi.container;
+
+/**
+ * Target of the generated no-interface view subclass, which calls the container with
+ * the index of the business method instead of going through a dynamic proxy.
+ */
+public interface OptionalLocalInterfaceDispatcher {
+
+    /**
+     * Invokes the business method.
+     *
+     * @param methodId index of the method in the list returned when the subclass was generated.
+     * @param args method arguments, primitives are boxed.
+     * @return the return value, boxed if it is a primitive, null for void methods.
+     * @throws Throwable exception declared by the business method or an EJBException.
+     */
+    Object invoke(int methodId, Object[] args) throws Throwable;
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,6 +18,7 @@
 package com.sun.ejb.spi.container;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  *@author Mahesh Kannan
@@ -35,6 +37,13 @@ public interface SFSBContainerCallback {
 
     public boolean passivateEJB(StatefulEJBContext ctx);
 
+    /**
+     * Queues contexts trimmed from the cache at once, so they are passivated in batches.
+     *
+     * @param contexts contexts selected for passivation
+     */
+    public void addPassivationCandidates(List<StatefulEJBContext> contexts);
+
     public boolean isPassivationCapable();
 
     public byte[] serializeContext(StatefulEJBContext ctx) throws IOException;
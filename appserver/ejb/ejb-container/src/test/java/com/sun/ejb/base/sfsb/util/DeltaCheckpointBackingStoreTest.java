@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.base.sfsb.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.glassfish.ha.store.api.BackingStore;
+import org.glassfish.ha.store.api.BackingStoreException;
+import org.glassfish.ha.store.api.BackingStoreFactory;
+import org.glassfish.ha.store.util.SimpleMetadata;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DeltaCheckpointBackingStoreTest {
+
+    private static final int CHECKPOINTS = 100;
+
+    private final SimpleKeyGenerator keyGenerator = new SimpleKeyGenerator(1L);
+    private final MemoryBackingStore memoryStore = new MemoryBackingStore();
+
+    @Test
+    public void deltaRestoresChangedState() throws Exception {
+        byte[] base = new byte[1000];
+        byte[] sameLength = base.clone();
+        sameLength[10] = 1;
+        sameLength[500] = 2;
+        sameLength[999] = 3;
+        assertDelta(base, sameLength);
+
+        byte[] longer = new byte[1200];
+        longer[300] = 5;
+        assertDelta(base, longer);
+        assertDelta(longer, base);
+        assertDelta(base, new byte[0]);
+        assertDelta(base, base);
+    }
+
+    @Test
+    public void loadsLastCheckpoint() throws Exception {
+        DeltaCheckpointBackingStore store = new DeltaCheckpointBackingStore("test", memoryStore,
+            keyGenerator::createCompanionKey, 10, 0);
+        Serializable key = keyGenerator.createSessionKey();
+        Conversation conversation = new Conversation();
+        byte[] state = null;
+        for (int i = 0; i < CHECKPOINTS; i++) {
+            conversation.next();
+            state = serialize(conversation);
+            store.checkpoint(key, metadata(i + 1, state), i == 0);
+        }
+
+        SimpleMetadata loaded = store.load(key, null);
+        assertThat(loaded.getVersion(), equalTo((long) CHECKPOINTS));
+        assertThat(loaded.getState(), equalTo(state));
+        assertThat(store.getFullCheckpointCount(), equalTo((long) CHECKPOINTS / 11 + 1));
+        assertThat(store.getDeltaCheckpointCount(), equalTo(CHECKPOINTS - store.getFullCheckpointCount()));
+
+        assertThat(store.getCheckpointBytes(), lessThan((long) state.length * CHECKPOINTS / 4));
+    }
+
+    @Test
+    public void passivationIgnoresOlderDelta() throws Exception {
+        DeltaCheckpointBackingStore store = new DeltaCheckpointBackingStore("test", memoryStore,
+            keyGenerator::createCompanionKey, 10, 0);
+        Serializable key = keyGenerator.createSessionKey();
+        Conversation conversation = new Conversation();
+        store.checkpoint(key, metadata(1, serialize(conversation)), true);
+        conversation.next();
+        store.checkpoint(key, metadata(2, serialize(conversation)), false);
+        assertThat(memoryStore.size(), equalTo(2));
+
+        conversation.next();
+        byte[] passivated = serialize(conversation);
+        store.save(key, metadata(2, passivated), false);
+        assertThat(memoryStore.size(), equalTo(1));
+        assertThat(store.load(key, null).getState(), equalTo(passivated));
+
+        store.remove(key);
+        assertThat(store.load(key, null), nullValue());
+    }
+
+    @Test
+    public void asynchronousCheckpointsKeepTheLast() throws Exception {
+        DeltaCheckpointBackingStore store = new DeltaCheckpointBackingStore("test", memoryStore,
+            keyGenerator::createCompanionKey, 10, 2);
+        Serializable[] keys = new Serializable[8];
+        byte[][] states = new byte[keys.length][];
+        Conversation conversation = new Conversation();
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = keyGenerator.createSessionKey();
+        }
+        for (int i = 0; i < CHECKPOINTS; i++) {
+            conversation.next();
+            int session = i % keys.length;
+            states[session] = serialize(conversation);
+            store.checkpoint(keys[session], metadata(i + 1, states[session]), i < keys.length);
+        }
+        store.close();
+
+        for (int i = 0; i < keys.length; i++) {
+            assertThat(store.load(keys[i], null).getState(), equalTo(states[i]));
+        }
+    }
+
+    @Test
+    public void failedAsynchronousCheckpointIsFollowedByFullSynchronousCheckpoint() throws Exception {
+        DeltaCheckpointBackingStore store = new DeltaCheckpointBackingStore("test", memoryStore,
+            keyGenerator::createCompanionKey, 10, 2);
+        Serializable key = keyGenerator.createSessionKey();
+        Conversation conversation = new Conversation();
+        store.checkpoint(key, metadata(1, serialize(conversation)), true);
+        waitFor(() -> store.getFullCheckpointCount() == 1);
+
+        memoryStore.failingSaves.set(2);
+        conversation.next();
+        store.checkpoint(key, metadata(2, serialize(conversation)), false);
+        waitFor(() -> store.getFailedAsyncCheckpointCount() == 1);
+        conversation.next();
+        assertThrows(BackingStoreException.class,
+            () -> store.checkpoint(key, metadata(3, serialize(conversation)), false));
+
+        conversation.next();
+        byte[] state = serialize(conversation);
+        store.checkpoint(key, metadata(4, state), false);
+        assertThat(store.getFullCheckpointCount(), equalTo(2L));
+        assertThat(store.getDeltaCheckpointCount(), equalTo(0L));
+        store.close();
+        assertThat(store.load(key, null).getState(), equalTo(state));
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long timeout = System.currentTimeMillis() + 10_000L;
+        while (!condition.getAsBoolean()) {
+            assertThat("timeout", System.currentTimeMillis(), lessThan(timeout));
+            Thread.sleep(10L);
+        }
+    }
+
+    private static void assertDelta(byte[] base, byte[] state) throws IOException {
+        CheckpointDelta delta = CheckpointDelta.fromByteArray(CheckpointDelta.create(7L, base, state).toByteArray());
+        assertThat(delta.isBasedOn(7L, base), equalTo(true));
+        assertThat(delta.applyTo(base), equalTo(state));
+    }
+
+    static SimpleMetadata metadata(long version, byte[] state) {
+        return new SimpleMetadata(version, System.currentTimeMillis(), 60_000L, state);
+    }
+
+    static byte[] serialize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Conversational state where every method changes a counter and one of many items.
+     */
+    static final class Conversation implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Map<String, String> items = new TreeMap<>();
+        private long counter;
+
+        Conversation() {
+            for (int i = 0; i < 500; i++) {
+                items.put(String.format("item-%04d", i), String.format("value-%08d", i));
+            }
+        }
+
+        void next() {
+            counter++;
+            items.put(String.format("item-%04d", counter % items.size()), String.format("value-%08d", counter));
+        }
+    }
+
+    /**
+     * Copies the state as a replicating store would, so the cost depends on the stored size.
+     */
+    static final class MemoryBackingStore extends BackingStore<Serializable, SimpleMetadata> {
+
+        private final Map<Serializable, SimpleMetadata> entries = new ConcurrentHashMap<>();
+        /** Count of following saves which fail */
+        final AtomicInteger failingSaves = new AtomicInteger();
+
+        @Override
+        public BackingStoreFactory getBackingStoreFactory() {
+            return null;
+        }
+
+        @Override
+        public SimpleMetadata load(Serializable key, String version) {
+            return entries.get(key);
+        }
+
+        @Override
+        public String save(Serializable key, SimpleMetadata value, boolean isNew) throws BackingStoreException {
+            if (failingSaves.getAndUpdate(count -> Math.max(0, count - 1)) > 0) {
+                throw new BackingStoreException("Save of " + key + " failed");
+            }
+            byte[] state = Arrays.copyOf(value.getState(), value.getState().length);
+            entries.put(key, new SimpleMetadata(value.getVersion(), value.getLastAccessTime(), value.getMaxInactiveInterval(), state));
+            return null;
+        }
+
+        @Override
+        public void remove(Serializable key) {
+            entries.remove(key);
+        }
+
+        @Override
+        public int size() {
+            return entries.size();
+        }
+    }
+}
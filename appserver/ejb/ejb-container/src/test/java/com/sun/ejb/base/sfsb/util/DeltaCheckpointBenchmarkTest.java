@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.base.sfsb.util;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.ha.store.api.BackingStore;
+import org.glassfish.ha.store.util.SimpleMetadata;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static com.sun.ejb.base.sfsb.util.DeltaCheckpointBackingStoreTest.metadata;
+import static com.sun.ejb.base.sfsb.util.DeltaCheckpointBackingStoreTest.serialize;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Compares latency of the end-of-method checkpoint as seen by the calling thread
+ * when the whole state is stored, when the delta is stored and when the delta
+ * is stored asynchronously.
+ */
+public class DeltaCheckpointBenchmarkTest {
+
+    @Test
+    public void compareCheckpointLatency() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(200L))
+            .measurementIterations(1).measurementTime(TimeValue.milliseconds(500L))
+            .forks(1).threads(1).timeout(TimeValue.seconds(10L))
+            .mode(Mode.AverageTime).timeUnit(TimeUnit.MICROSECONDS)
+            .shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(3));
+    }
+
+
+    @Benchmark
+    public Object checkpoint(StoreState state, SessionState session) throws Exception {
+        session.conversation.next();
+        SimpleMetadata metadata = metadata(++session.version, serialize(session.conversation));
+        if (state.deltaStore == null) {
+            state.store.save(session.key, metadata, false);
+        } else {
+            state.deltaStore.checkpoint(session.key, metadata, false);
+        }
+        return metadata;
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class StoreState {
+
+        @Param({"full", "delta", "asyncDelta"})
+        public String checkpointMode;
+
+        final SimpleKeyGenerator keyGenerator = new SimpleKeyGenerator(1L);
+        BackingStore<Serializable, SimpleMetadata> store;
+        DeltaCheckpointBackingStore deltaStore;
+
+        @Setup
+        public void createStore() {
+            store = new DeltaCheckpointBackingStoreTest.MemoryBackingStore();
+            if ("delta".equals(checkpointMode)) {
+                deltaStore = new DeltaCheckpointBackingStore(checkpointMode, store, keyGenerator::createCompanionKey, 10, 0);
+            } else if ("asyncDelta".equals(checkpointMode)) {
+                deltaStore = new DeltaCheckpointBackingStore(checkpointMode, store, keyGenerator::createCompanionKey, 10, 64);
+            }
+        }
+
+        @TearDown
+        public void closeStore() throws Exception {
+            if (deltaStore != null) {
+                deltaStore.close();
+            }
+        }
+    }
+
+
+    @State(Scope.Thread)
+    public static class SessionState {
+
+        final DeltaCheckpointBackingStoreTest.Conversation conversation = new DeltaCheckpointBackingStoreTest.Conversation();
+        Serializable key;
+        long version;
+
+        @Setup
+        public void createSession(StoreState state) throws Exception {
+            key = state.keyGenerator.createSessionKey();
+            SimpleMetadata metadata = metadata(++version, serialize(conversation));
+            if (state.deltaStore == null) {
+                state.store.save(key, metadata, true);
+            } else {
+                state.deltaStore.checkpoint(key, metadata, true);
+            }
+        }
+    }
+}
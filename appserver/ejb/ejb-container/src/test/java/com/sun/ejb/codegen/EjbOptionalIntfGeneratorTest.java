@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.ejb.codegen;
+
+import com.sun.ejb.spi.container.OptionalLocalInterfaceDispatcher;
+import com.sun.ejb.spi.container.OptionalLocalInterfaceProvider;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EjbOptionalIntfGeneratorTest {
+
+    private static final ClassLoader loader = EjbOptionalIntfGeneratorTest.class.getClassLoader();
+    private static final String INTF_NAME = NoInterfaceBean.class.getName() + "__DispatchTestIntf";
+
+    private static List<Method> methods;
+    private static Class<?> intf;
+    private static Class<?> subClass;
+
+    @BeforeAll
+    public static void generate() throws Exception {
+        EjbOptionalIntfGenerator generator = new EjbOptionalIntfGenerator(loader);
+        generator.generateOptionalLocalInterface(NoInterfaceBean.class, INTF_NAME);
+        intf = generator.loadClass(INTF_NAME);
+        String subClassName = INTF_NAME + "__Bean__";
+        methods = generator.generateOptionalLocalInterfaceDispatchingSubClass(NoInterfaceBean.class, subClassName, intf);
+        subClass = generator.loadClass(subClassName);
+    }
+
+
+    @Test
+    public void methodIds() throws Exception {
+        assertThat(methods, hasSize(4));
+        for (Method method : methods) {
+            assertThat(method.getDeclaringClass(), equalTo(intf));
+        }
+    }
+
+
+    @Test
+    public void boxedArgumentsAndReturnValues() throws Exception {
+        RecordingDispatcher dispatcher = new RecordingDispatcher();
+        NoInterfaceBean bean = createBean(dispatcher);
+
+        dispatcher.returnValue = 42L;
+        assertThat(bean.add(40, 2L), equalTo(42L));
+        assertThat(dispatcher.method.getName(), equalTo("add"));
+        assertThat(dispatcher.args, arrayContaining(40, 2L));
+
+        dispatcher.returnValue = "hello world";
+        assertThat(bean.concat("hello", ' ', "world"), equalTo("hello world"));
+        assertThat(dispatcher.method.getName(), equalTo("concat"));
+        assertThat(dispatcher.args, arrayContaining("hello", ' ', "world"));
+
+        dispatcher.returnValue = true;
+        assertThat(bean.isReady(), equalTo(true));
+        assertThat(dispatcher.method.getName(), equalTo("isReady"));
+        assertThat(dispatcher.args, nullValue());
+
+        dispatcher.returnValue = null;
+        bean.reset(1.5d);
+        assertThat(dispatcher.method.getName(), equalTo("reset"));
+        assertThat(dispatcher.args, arrayContaining(1.5d));
+    }
+
+
+    @Test
+    public void exceptionFromDispatcher() throws Exception {
+        RecordingDispatcher dispatcher = new RecordingDispatcher();
+        dispatcher.exception = new IllegalStateException("Failed.");
+        NoInterfaceBean bean = createBean(dispatcher);
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> bean.reset(0d));
+        assertThat(e.getMessage(), equalTo("Failed."));
+    }
+
+
+    private static NoInterfaceBean createBean(RecordingDispatcher dispatcher) throws Exception {
+        Object bean = subClass.getConstructor().newInstance();
+        Proxy proxy = (Proxy) Proxy.newProxyInstance(loader, new Class[] {intf}, dispatcher);
+        ((OptionalLocalInterfaceProvider) bean).setOptionalLocalIntfProxy(proxy);
+        return (NoInterfaceBean) bean;
+    }
+
+    public static class NoInterfaceBean {
+
+        public long add(int first, long second) {
+            return first + second;
+        }
+
+        public String concat(String first, char separator, String second) {
+            return first + separator + second;
+        }
+
+        public boolean isReady() {
+            return false;
+        }
+
+        public void reset(double value) {
+        }
+
+        public final String notBusinessMethod() {
+            return "final";
+        }
+    }
+
+    private static class RecordingDispatcher implements InvocationHandler, OptionalLocalInterfaceDispatcher {
+
+        private Object returnValue;
+        private RuntimeException exception;
+        private Method method;
+        private Object[] args;
+
+        @Override
+        public Object invoke(int methodId, Object[] methodArgs) throws Throwable {
+            this.method = methods.get(methodId);
+            this.args = methodArgs;
+            if (exception != null) {
+                throw exception;
+            }
+            return returnValue;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method proxyMethod, Object[] methodArgs) throws Throwable {
+            throw new IllegalStateException("Proxy must not be called: " + proxyMethod);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.ejb.containers;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.anEmptyMap;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EJBTimerWheelTest {
+
+    private final Map<EJBTimerTask, Long> expired = new ConcurrentHashMap<>();
+    private EJBTimerWheel wheel;
+
+    @AfterEach
+    public void stop() {
+        if (wheel != null) {
+            wheel.stop();
+        }
+    }
+
+
+    @Test
+    public void expiresNotCancelledTasksInTime() throws Exception {
+        CountDownLatch latch = new CountDownLatch(250);
+        wheel = new EJBTimerWheel("test-wheel", 1L, tasks -> {
+            long now = System.currentTimeMillis();
+            for (EJBTimerTask task : tasks) {
+                expired.put(task, now);
+                latch.countDown();
+            }
+        });
+        long start = System.currentTimeMillis();
+        List<EJBTimerTask> tasks = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            // 1 ms tick: spans the first and the second level of the wheel.
+            EJBTimerTask task = createTask(start + 200L + i * 3);
+            tasks.add(task);
+            wheel.schedule(task, task.getTimeout());
+        }
+        for (int i = 1; i < tasks.size(); i += 2) {
+            assertTrue(tasks.get(i).cancel(), "cancel " + i);
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS), "Timers did not expire");
+        Thread.sleep(50L);
+        assertThat(expired, aMapWithSize(250));
+        assertThat(wheel.size(), equalTo(0));
+        for (int i = 0; i < tasks.size(); i++) {
+            EJBTimerTask task = tasks.get(i);
+            if (i % 2 == 0) {
+                assertThat("expired " + i, expired.get(task), greaterThanOrEqualTo(task.getTimeout().getTime()));
+            } else {
+                assertThat(expired, not(hasKey(task)));
+            }
+        }
+    }
+
+
+    @Test
+    public void expiresTasksMovedFromUpperLevels() throws Exception {
+        CountDownLatch latch = new CountDownLatch(3);
+        wheel = new EJBTimerWheel("test-wheel", 1L, tasks -> {
+            long now = System.currentTimeMillis();
+            for (EJBTimerTask task : tasks) {
+                expired.put(task, now);
+                latch.countDown();
+            }
+        });
+        long start = System.currentTimeMillis();
+        // second, third level and just after the boundary of the third level
+        EJBTimerTask second = createTask(start + 100L);
+        EJBTimerTask third = createTask(start + 4200L);
+        EJBTimerTask past = createTask(start - 1000L);
+        wheel.schedule(third, third.getTimeout());
+        wheel.schedule(second, second.getTimeout());
+        wheel.schedule(past, past.getTimeout());
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS), "Timers did not expire");
+        assertAll(
+            () -> assertThat(expired.get(past), greaterThanOrEqualTo(start)),
+            () -> assertThat(expired.get(second), greaterThanOrEqualTo(second.getTimeout().getTime())),
+            () -> assertThat(expired.get(third), greaterThanOrEqualTo(third.getTimeout().getTime()))
+        );
+    }
+
+
+    @Test
+    public void expiresTaskMovedFromUpperLevelInItsTick() throws Exception {
+        long tick = 20L;
+        List<List<EJBTimerTask>> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(2);
+        wheel = new EJBTimerWheel("test-wheel", tick, tasks -> {
+            batches.add(new ArrayList<>(tasks));
+            tasks.forEach(task -> latch.countDown());
+        });
+        // Far enough to be on the second level, exactly where the wheel moves it to the first level.
+        long boundaryTick = (System.currentTimeMillis() / tick + 2 * EJBTimerWheel.WHEEL_SIZE)
+            / EJBTimerWheel.WHEEL_SIZE * EJBTimerWheel.WHEEL_SIZE;
+        EJBTimerTask onBoundary = createTask(boundaryTick * tick);
+        EJBTimerTask afterBoundary = createTask((boundaryTick + 1) * tick);
+        wheel.schedule(afterBoundary, afterBoundary.getTimeout());
+        wheel.schedule(onBoundary, onBoundary.getTimeout());
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS), "Timers did not expire");
+        assertThat(batches, contains(List.of(onBoundary), List.of(afterBoundary)));
+    }
+
+
+    @Test
+    public void cancelledTaskIsNotScheduledAgain() throws Exception {
+        wheel = new EJBTimerWheel("test-wheel", 5L, tasks -> tasks.forEach(task -> expired.put(task, 0L)));
+        EJBTimerTask task = createTask(System.currentTimeMillis() + 20L);
+        wheel.schedule(task, task.getTimeout());
+        assertThat(wheel.size(), equalTo(1));
+        assertTrue(task.cancel());
+        assertFalse(task.cancel());
+        wheel.schedule(task, task.getTimeout());
+        assertThat(wheel.size(), equalTo(0));
+        Thread.sleep(100L);
+        assertThat(expired, anEmptyMap());
+    }
+
+
+    private EJBTimerTask createTask(long timeout) {
+        return new EJBTimerTask(new Date(timeout), new TimerPrimaryKey(Long.toString(timeout)), null, wheel);
+    }
+}
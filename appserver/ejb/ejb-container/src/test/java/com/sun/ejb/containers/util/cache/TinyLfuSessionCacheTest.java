@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.ejb.containers.util.cache;
+
+import com.sun.appserv.util.cache.CacheListener;
+import com.sun.ejb.spi.container.SFSBContainerCallback;
+import com.sun.ejb.spi.container.StatefulEJBContext;
+
+import jakarta.ejb.SessionContext;
+
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TinyLfuSessionCacheTest {
+
+    private static final int CACHE_SIZE = 100;
+    private static final int HOT_SESSIONS = 50;
+
+    @Test
+    public void keepsFrequentlyUsedSessionsDuringScan() throws Exception {
+        PassivatingContainer lruContainer = new PassivatingContainer(1);
+        LruSessionCache lru = createCache(new LruSessionCache("test", lruContainer, 0, 0), lruContainer);
+        scanAfterHotSessions(lru);
+        for (int key = 0; key < HOT_SESSIONS; key++) {
+            assertFalse(lru.contains(key), "LRU kept the session " + key + " during scan");
+        }
+
+        PassivatingContainer tinyLfuContainer = new PassivatingContainer(1);
+        TinyLfuSessionCache tinyLfu = createCache(
+            new TinyLfuSessionCache("test", tinyLfuContainer, 0, 0), tinyLfuContainer);
+        scanAfterHotSessions(tinyLfu);
+        for (int key = 0; key < HOT_SESSIONS; key++) {
+            assertTrue(tinyLfu.contains(key), "TinyLFU passivated the frequently used session " + key);
+        }
+    }
+
+    @Test
+    public void passivatesVictimsInBatches() throws Exception {
+        PassivatingContainer container = new PassivatingContainer(8);
+        TinyLfuSessionCache cache = createCache(new TinyLfuSessionCache("test", container, 0, 0), container);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, new TestContext(i));
+        }
+        assertThat(container.batchSizes, not(hasSize(0)));
+        assertThat(container.batchSizes, everyItem(equalTo(8)));
+        assertThat(cache.getEntryCount(), lessThanOrEqualTo(CACHE_SIZE + 1));
+    }
+
+    @Test
+    public void victimAccessedBeforePassivationStaysInCache() throws Exception {
+        CollectingContainer container = new CollectingContainer();
+        TinyLfuSessionCache cache = createCache(new TinyLfuSessionCache("test", container, 0, 0), container);
+        // The threshold of the cache is maxEntries + 1
+        for (int i = 0; i < CACHE_SIZE + 2; i++) {
+            cache.put(i, new TestContext(i));
+        }
+        assertThat(container.candidates, hasSize(1));
+        TestContext victim = container.candidates.get(0);
+
+        assertNotNull(cache.get(victim.key));
+        assertFalse(cache.passivateEJB(victim, victim.key), "Accessed victim was passivated");
+        assertNotNull(cache.get(victim.key));
+    }
+
+    @Test
+    public void trimsIdleSessions() throws Exception {
+        PassivatingContainer container = new PassivatingContainer(1);
+        TinyLfuSessionCache cache = createCache(new TinyLfuSessionCache("test", container, 1, 0), container);
+        for (int i = 0; i < 50; i++) {
+            TestContext ctx = new TestContext(i);
+            ctx.lastAccessTime = System.currentTimeMillis() - 10_000L;
+            cache.put(i, ctx);
+            cache.get(i);
+        }
+        for (int i = 50; i < 60; i++) {
+            cache.put(i, new TestContext(i));
+        }
+
+        cache.trimTimedoutItems(Integer.MAX_VALUE);
+        assertThat(cache.getEntryCount(), equalTo(10));
+        for (int i = 50; i < 60; i++) {
+            assertTrue(cache.contains(i), "Recently used session was trimmed: " + i);
+        }
+    }
+
+    /**
+     * Uses each of {@value #HOT_SESSIONS} sessions several times, then creates many sessions used
+     * just once.
+     */
+    private static void scanAfterHotSessions(LruSessionCache cache) {
+        for (int round = 0; round < 10; round++) {
+            for (int key = 0; key < HOT_SESSIONS; key++) {
+                if (cache.get(key) == null) {
+                    cache.put(key, new TestContext(key));
+                }
+            }
+        }
+        for (int key = 1_000; key < 1_300; key++) {
+            cache.put(key, new TestContext(key));
+        }
+    }
+
+    private static <T extends LruSessionCache> T createCache(T cache, PassivatingContainer container) {
+        cache.init(CACHE_SIZE, 1.0f, null);
+        cache.addCacheListener(container);
+        container.cache = cache;
+        return cache;
+    }
+
+    private static class PassivatingContainer implements SFSBContainerCallback, CacheListener {
+
+        final List<Integer> batchSizes = new ArrayList<>();
+        private final int batchCount;
+        LruSessionCache cache;
+
+        PassivatingContainer(int batchCount) {
+            this.batchCount = batchCount;
+        }
+
+        @Override
+        public void trimEvent(Object key, Object value) {
+            addPassivationCandidates(List.of((StatefulEJBContext) value));
+        }
+
+        @Override
+        public void addPassivationCandidates(List<StatefulEJBContext> contexts) {
+            batchSizes.add(contexts.size());
+            for (StatefulEJBContext ctx : contexts) {
+                passivateEJB(ctx);
+            }
+        }
+
+        @Override
+        public boolean passivateEJB(StatefulEJBContext ctx) {
+            try {
+                return cache.passivateEJB(ctx, ((TestContext) ctx).key);
+            } catch (NotSerializableException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public ClassLoader getClassLoader() {
+            return getClass().getClassLoader();
+        }
+
+        @Override
+        public int getPassivationBatchCount() {
+            return batchCount;
+        }
+
+        @Override
+        public void invokePeriodically(long delay, long periodicity, Runnable target) {
+        }
+
+        @Override
+        public void activateEJB(Object sessionKey, StatefulEJBContext ctx, Object cookie) {
+        }
+
+        @Override
+        public boolean isPassivationCapable() {
+            return false;
+        }
+
+        @Override
+        public byte[] serializeContext(StatefulEJBContext ctx) throws IOException {
+            throw new NotSerializableException();
+        }
+
+        @Override
+        public Object deserializeData(byte[] data) throws Exception {
+            throw new NotSerializableException();
+        }
+    }
+
+    /**
+     * Just collects candidates, so the test decides when they are passivated.
+     */
+    private static class CollectingContainer extends PassivatingContainer {
+
+        final List<TestContext> candidates = new ArrayList<>();
+
+        CollectingContainer() {
+            super(1);
+        }
+
+        @Override
+        public void addPassivationCandidates(List<StatefulEJBContext> contexts) {
+            for (StatefulEJBContext ctx : contexts) {
+                candidates.add((TestContext) ctx);
+            }
+        }
+    }
+
+    private static class TestContext implements StatefulEJBContext {
+
+        final Integer key;
+        long lastAccessTime = System.currentTimeMillis();
+
+        TestContext(Integer key) {
+            this.key = key;
+        }
+
+        @Override
+        public long getLastAccessTime() {
+            return lastAccessTime;
+        }
+
+        @Override
+        public boolean canBePassivated() {
+            return true;
+        }
+
+        @Override
+        public SessionContext getSessionContext() {
+            return null;
+        }
+
+        @Override
+        public boolean existsInStore() {
+            return false;
+        }
+
+        @Override
+        public void setExistsInStore(boolean val) {
+        }
+
+        @Override
+        public long getVersion() {
+            return 0;
+        }
+
+        @Override
+        public long incrementAndGetVersion() {
+            return 0;
+        }
+
+        @Override
+        public void setVersion(long versionInBackingStore) {
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.ejb.containers.util.pool;
+
+import com.sun.ejb.monitoring.probes.EjbPoolProbeProvider;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Compares throughput of the {@link NonBlockingPool} and the {@link LockFreePool}
+ * when many threads borrow and return bean instances.
+ */
+public class BeanPoolBenchmarkTest {
+
+    @Test
+    public void compareGetAndReturn() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(200L))
+            .measurementIterations(1).measurementTime(TimeValue.milliseconds(500L))
+            .forks(1).threads(16).timeout(TimeValue.seconds(10L))
+            .mode(Mode.Throughput).timeUnit(TimeUnit.MICROSECONDS)
+            .shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(2));
+    }
+
+
+    @Benchmark
+    public Object getAndReturn(PoolState state) {
+        Object object = state.pool.getObject(null);
+        state.pool.returnObject(object);
+        return object;
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class PoolState {
+
+        @Param({"NonBlockingPool", "LockFreePool"})
+        public String poolType;
+
+        AbstractPool pool;
+
+        @Setup
+        public void createPool() {
+            ObjectFactory factory = new ObjectFactory() {
+
+                @Override
+                public Object create(Object param) {
+                    return new Object();
+                }
+
+                @Override
+                public void destroy(Object object) {
+                }
+            };
+            ClassLoader loader = getClass().getClassLoader();
+            if ("LockFreePool".equals(poolType)) {
+                pool = new LockFreePool(1L, poolType, factory, 0, 8, 32, 0, loader);
+            } else {
+                pool = new NonBlockingPool(1L, poolType, factory, 0, 8, 32, 0, loader);
+            }
+            pool.poolProbeNotifier = new EjbPoolProbeProvider();
+        }
+
+        @TearDown
+        public void closePool() {
+            pool.close();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.ejb.containers.util.pool;
+
+import com.sun.ejb.monitoring.probes.EjbPoolProbeProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class LockFreePoolTest {
+
+    private final CountingFactory factory = new CountingFactory();
+
+    @Test
+    public void threadReusesItsInstance() {
+        LockFreePool pool = createPool(10);
+        Object first = pool.getObject(null);
+        pool.returnObject(first);
+        for (int i = 0; i < 10; i++) {
+            Object object = pool.getObject(null);
+            assertThat(object, sameInstance(first));
+            pool.returnObject(object);
+        }
+        assertThat(pool.getCreatedCount(), equalTo(1));
+        assertThat(pool.getPoolSuccess(), equalTo(10));
+        assertThat(pool.getSize(), equalTo(1));
+    }
+
+    @Test
+    public void maxPoolSizeLimitsSharedInstances() {
+        LockFreePool pool = createPool(3);
+        List<Object> objects = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            objects.add(pool.getObject(null));
+        }
+        objects.forEach(pool::returnObject);
+        // One in the stash of this thread, 3 in the shared stack.
+        assertThat(pool.getSize(), equalTo(4));
+        assertThat(pool.getCreatedCount(), equalTo(10));
+        assertThat(pool.getDestroyedCount(), equalTo(6));
+        assertThat(factory.destroyed.get(), equalTo(6));
+    }
+
+    @Test
+    public void closeDestroysStashesOfAllThreads() throws Exception {
+        LockFreePool pool = createPool(10);
+        CountDownLatch done = new CountDownLatch(4);
+        for (int i = 0; i < 4; i++) {
+            new Thread(() -> {
+                pool.returnObject(pool.getObject(null));
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        pool.returnObject(pool.getObject(null));
+        assertThat(pool.getSize(), equalTo(5));
+
+        pool.close();
+        assertThat(pool.getSize(), equalTo(0));
+        assertThat(factory.destroyed.get(), equalTo(5));
+        pool.returnObject(new Object());
+        assertThat(factory.destroyed.get(), equalTo(6));
+    }
+
+    @Test
+    public void closeConcurrentWithReturnsDestroysAllObjects() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            CountingFactory roundFactory = new CountingFactory();
+            LockFreePool pool = createPool(roundFactory, 2);
+            int threadCount = 8;
+            CyclicBarrier start = new CyclicBarrier(threadCount + 1);
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                Thread thread = new Thread(() -> {
+                    Object object = pool.getObject(null);
+                    await(start);
+                    pool.returnObject(object);
+                    // A thread without any stash yet.
+                    Thread late = new Thread(() -> pool.returnObject(pool.getObject(null)));
+                    late.start();
+                    try {
+                        late.join();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            await(start);
+            pool.close();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertThat(roundFactory.destroyed.get(), equalTo(pool.getCreatedCount()));
+            assertThat(pool.getDestroyedCount(), equalTo(pool.getCreatedCount()));
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (InterruptedException | BrokenBarrierException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private LockFreePool createPool(int maxPoolSize) {
+        return createPool(factory, maxPoolSize);
+    }
+
+    private static LockFreePool createPool(ObjectFactory factory, int maxPoolSize) {
+        LockFreePool pool = new LockFreePool(1L, "test", factory, 0, 1, maxPoolSize, 0, LockFreePoolTest.class.getClassLoader());
+        pool.poolProbeNotifier = new EjbPoolProbeProvider();
+        return pool;
+    }
+
+    private static final class CountingFactory implements ObjectFactory {
+
+        private final AtomicInteger destroyed = new AtomicInteger();
+
+        @Override
+        public Object create(Object param) {
+            return new Object();
+        }
+
+        @Override
+        public void destroy(Object object) {
+            destroyed.incrementAndGet();
+        }
+    }
+}
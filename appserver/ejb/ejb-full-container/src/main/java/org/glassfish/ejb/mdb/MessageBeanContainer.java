@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -32,6 +32,7 @@ import com.sun.ejb.containers.EJBTimerService;
 import com.sun.ejb.containers.EjbContainerUtilImpl;
 import com.sun.ejb.containers.RuntimeTimerState;
 import com.sun.ejb.containers.util.pool.AbstractPool;
+import com.sun.ejb.containers.util.pool.LockFreePool;
 import com.sun.ejb.containers.util.pool.NonBlockingPool;
 import com.sun.ejb.containers.util.pool.ObjectFactory;
 import com.sun.ejb.monitoring.stats.EjbMonitoringStatsProvider;
@@ -251,6 +252,9 @@ public final class MessageBeanContainer extends BaseContainer implements Message
         if (messageBeanPool instanceof NonBlockingPool) {
             NonBlockingPool nonBlockingPool = (NonBlockingPool) messageBeanPool;
             nonBlockingPool.prepopulate(beanPoolDescriptor.getSteadyPoolSize());
+        } else if (messageBeanPool instanceof LockFreePool) {
+            LockFreePool lockFreePool = (LockFreePool) messageBeanPool;
+            lockFreePool.prepopulate(beanPoolDescriptor.getSteadyPoolSize());
         }
 
         // Start delivery of messages to message bean instances.
@@ -357,16 +361,13 @@ public final class MessageBeanContainer extends BaseContainer implements Message
         // on message bean resources independent of the pool.
 
         messageBeanPool =
-            new NonBlockingPool(
-                getContainerId(),
+            createBeanInstancePool(
                 appEJBName_,
                 new MessageBeanContextFactory(),
                 beanPoolDescriptor.getSteadyPoolSize(),
                 beanPoolDescriptor.getPoolResizeQuantity(),
                 beanPoolDescriptor.getMaxPoolSize(),
-                beanPoolDescriptor.getPoolIdleTimeoutInSeconds(),
-                loader,
-                Boolean.parseBoolean(descriptor.getEjbBundleDescriptor().getEnterpriseBeansProperty(SINGLETON_BEAN_POOL_PROP)));
+                beanPoolDescriptor.getPoolIdleTimeoutInSeconds());
     }
 
     protected static int stringToInt(String val, String appName, Logger logger) {
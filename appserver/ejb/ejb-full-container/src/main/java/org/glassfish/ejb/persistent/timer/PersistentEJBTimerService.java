@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to Eclipse Foundation. All rights reserved.
+ * Copyright (c) 2022, 2026 Contributors to Eclipse Foundation. All rights reserved.
  * Copyright (c) 2011, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -47,6 +47,7 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -112,6 +113,17 @@ public class PersistentEJBTimerService extends EJBTimerService {
     // Possible values "redeliver" and "stop"
     private String operationOnConnectionFailure;
 
+    // Restores timers by pages of this size, each page in its own transaction
+    private static final String RESTORE_BATCH_SIZE = "timer-restore-batch-size";
+    private int restoreBatchSize = -1;
+
+    // Writes last expirations of periodic timers in the background instead of
+    // the delivery transaction
+    private static final String LAST_EXPIRATION_FLUSH_INTERVAL = "last-expiration-flush-interval-in-millis";
+    private static final int LAST_EXPIRATION_BATCH_SIZE = 100;
+    private long lastExpirationFlushInterval = -1;
+    private TimerLastExpirationWriter lastExpirationWriter;
+
     private PersistentEJBTimerService(String ejbName, boolean removeOldTimers) throws Exception {
         super();
 
@@ -122,6 +134,11 @@ public class PersistentEJBTimerService extends EJBTimerService {
 
         initProperties();
 
+        if (lastExpirationFlushInterval > 0) {
+            lastExpirationWriter = new TimerLastExpirationWriter(lastExpirationFlushInterval,
+                LAST_EXPIRATION_BATCH_SIZE, timerLocal_::updateLastExpirations);
+        }
+
         // Verify that the DataSource ref is correct and store it to check if connections can be aquired if
         // the timeout fails
         lookupTimerResource();
@@ -148,6 +165,16 @@ public class PersistentEJBTimerService extends EJBTimerService {
                     getDBReadBeforeTimeoutProperty();
 
                 operationOnConnectionFailure = ejbt.getPropertyValue(ON_CONECTION_FAILURE);
+
+                String valString = ejbt.getPropertyValue(RESTORE_BATCH_SIZE);
+                if (valString != null) {
+                    restoreBatchSize = Integer.parseInt(valString);
+                }
+
+                valString = ejbt.getPropertyValue(LAST_EXPIRATION_FLUSH_INTERVAL);
+                if (valString != null) {
+                    lastExpirationFlushInterval = Long.parseLong(valString);
+                }
             }
 
         } catch(Exception e) {
@@ -351,7 +378,7 @@ public class PersistentEJBTimerService extends EJBTimerService {
                 restoreTimers();
                 rc = true;
             } else {
-                int s = timerLocal_.findActiveTimersOwnedByThisServer().size();
+                int s = timerLocal_.countActiveTimersOwnedByThisServer();
                 if (s > 0) {
                     logger.log(Level.INFO, "[" + s + "] EJB Timers owned by this server will be restored when timeout beans are loaded");
                 } else {
@@ -361,6 +388,7 @@ public class PersistentEJBTimerService extends EJBTimerService {
             }
         } catch (Exception ex) {
             // Problem accessing timer service so disable it.
+            shutdown();
             EJBTimerService.setEJBTimerService(null);
 
             logger.log(Level.WARNING, "ejb.timer_service_init_error", ex);
@@ -377,6 +405,11 @@ public class PersistentEJBTimerService extends EJBTimerService {
             return;
         }
 
+        if (restoreBatchSize > 0) {
+            restoreTimersInBatches();
+            return;
+        }
+
         TransactionManager tm = ejbContainerUtil.getTransactionManager();
         try {
             // create a tx in which to do database access for all timers
@@ -401,6 +434,39 @@ public class PersistentEJBTimerService extends EJBTimerService {
         }
     }
 
+    /**
+     * Restores timers by pages ordered by the timer id, each page in its own transaction.
+     * The next page is selected by the last timer id of the previous page instead of an offset,
+     * so every query uses the primary key index and the persistence context holds just
+     * one page of timers.
+     */
+    private void restoreTimersInBatches() throws Exception {
+        TransactionManager tm = ejbContainerUtil.getTransactionManager();
+        String lastTimerId = "";
+        int restored = 0;
+        while (true) {
+            List<TimerState> timers;
+            tm.begin();
+            try {
+                timers = timerLocal_.findActiveTimersOwnedByThisServer(lastTimerId, restoreBatchSize);
+                _restoreTimers(new LinkedHashSet<>(timers));
+            } finally {
+                // try to commit regardless of success or failure.
+                try {
+                    tm.commit();
+                } catch(Exception e) {
+                    logger.log(Level.WARNING, "ejb.timer_service_init_error", e);
+                }
+            }
+            restored += timers.size();
+            if (timers.size() < restoreBatchSize) {
+                break;
+            }
+            lastTimerId = timers.get(timers.size() - 1).getTimerId();
+        }
+        logger.log(Level.FINE, "Restored " + restored + " timers in batches of " + restoreBatchSize);
+    }
+
     /**
      * The portion of timer migration that notifies containers about
      * automatic timers being migrated to this instance
@@ -1143,7 +1209,11 @@ public class PersistentEJBTimerService extends EJBTimerService {
     @Override
     protected void resetLastExpiration(TimerPrimaryKey timerId,
                                           RuntimeTimerState timerState) {
-        if (timerState.isPersistent()) {
+        if (timerState.isPersistent() && lastExpirationWriter != null) {
+            // Validity was already checked by isValidTimerForThisServer, the
+            // update skips timers which were migrated to another server meanwhile.
+            lastExpirationWriter.add(timerId.getTimerId(), System.currentTimeMillis());
+        } else if (timerState.isPersistent()) {
             TimerState timer = getValidTimerFromDB( timerId );
             if( null == timer ) {
                 return;
@@ -1165,6 +1235,14 @@ public class PersistentEJBTimerService extends EJBTimerService {
         }
     }
 
+    @Override
+    protected void shutdown() {
+        super.shutdown();
+        if (lastExpirationWriter != null) {
+            lastExpirationWriter.stop();
+        }
+    }
+
     /**
      * This method is called to check if the timer is still valid.
      * In the SE/EE case the timer might be cancelled by any other
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -40,6 +41,8 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -513,6 +516,20 @@ public class TimerBean implements TimerLocal {
                                 EJBTimerService.STATE_CANCELLED);
     }
 
+    public List<TimerState> findActiveTimersOwnedByThisServer(String afterTimerId, int maxResults) {
+        return findActiveTimersOwnedBy(em, getOwnerIdOfThisServer(), afterTimerId, maxResults);
+    }
+
+    static List<TimerState> findActiveTimersOwnedBy(EntityManager em, String ownerId, String afterTimerId,
+        int maxResults) {
+        Query q = em.createNamedQuery("findTimersByOwnerAndStateAfterTimerId");
+        q.setParameter(1, ownerId);
+        q.setParameter(2, EJBTimerService.STATE_ACTIVE);
+        q.setParameter(3, afterTimerId);
+        q.setMaxResults(maxResults);
+        return q.getResultList();
+    }
+
 
     //
     // Helper query methods for timer counts
@@ -642,6 +659,27 @@ public class TimerBean implements TimerLocal {
         return success;
     }
 
+    public int updateLastExpirations(Map<String, Long> lastExpirations) {
+        return updateLastExpirations(em, getOwnerIdOfThisServer(), lastExpirations);
+    }
+
+    static int updateLastExpirations(EntityManager em, String ownerId, Map<String, Long> lastExpirations) {
+        if (lastExpirations.isEmpty()) {
+            return 0;
+        }
+        // One single-row update per timer, all in the transaction of the caller.
+        // Portable JPQL, so the timer table may still be remapped by the mapping file.
+        Query q = em.createNamedQuery("updateLastExpirationOfTimerOwnedBy");
+        q.setParameter("owner", ownerId);
+        int updated = 0;
+        for (Map.Entry<String, Long> entry : lastExpirations.entrySet()) {
+            q.setParameter("timerId", entry.getKey());
+            q.setParameter("lastExpiration", entry.getValue());
+            updated += q.executeUpdate();
+        }
+        return updated;
+    }
+
     public int migrateTimers(String fromOwnerId, String toOwnerId) {
         Query q = em.createNamedQuery("updateTimersFromOwnerToNewOwner");
         q.setParameter("fromOwner", fromOwnerId);
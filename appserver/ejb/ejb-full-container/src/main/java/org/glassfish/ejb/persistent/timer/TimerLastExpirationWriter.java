@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ejb.persistent.timer;
+
+import com.sun.logging.LogDomains;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Write-behind buffer for the last expiration of periodic persistent timers.
+ * <p>
+ * Instead of updating the timer row in the transaction of every delivered timeout, the last
+ * expiration is only remembered here and a background thread writes all pending values
+ * every flush interval, up to maxBatchSize timers in a single transaction. If the timer
+ * expires again before the flush, only the newest value is written.
+ * <p>
+ * If the server crashes before the flush, the timer keeps the previous last expiration,
+ * so one missed expiration is delivered again after the restart, same as when the delivery
+ * transaction failed to commit.
+ */
+class TimerLastExpirationWriter {
+
+    private static final Logger logger = LogDomains.getLogger(TimerLastExpirationWriter.class, LogDomains.EJB_LOGGER);
+
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+    private final int maxBatchSize;
+    private final ToIntFunction<Map<String, Long>> updater;
+    private final ScheduledExecutorService flusher;
+
+    /**
+     * @param flushInterval milliseconds between flushes
+     * @param maxBatchSize maximal count of timers updated by a single call of the updater
+     * @param updater writes the last expirations (timer id to time in millis) to the database
+     *            and returns the count of updated timers.
+     */
+    TimerLastExpirationWriter(long flushInterval, int maxBatchSize, ToIntFunction<Map<String, Long>> updater) {
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.updater = updater;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "ejb-timer-last-expiration-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Remembers the last expiration of the timer to be written by the next flush.
+     */
+    void add(String timerId, long lastExpiration) {
+        pending.merge(timerId, lastExpiration, Math::max);
+    }
+
+    /**
+     * @return count of timers waiting for the flush.
+     */
+    int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Writes all pending last expirations. Values which failed to be written are kept
+     * for the next flush unless a newer value was added meanwhile.
+     */
+    void flush() {
+        while (true) {
+            Map<String, Long> batch = takeBatch();
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                int updated = updater.applyAsInt(batch);
+                if (logger.isLoggable(Level.FINE)) {
+                    logger.log(Level.FINE, "Updated last expiration of " + updated + " of " + batch.size() + " timers");
+                }
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Failed to update last expiration of " + batch.size() + " timers", e);
+                for (Map.Entry<String, Long> entry : batch.entrySet()) {
+                    pending.merge(entry.getKey(), entry.getValue(), Math::max);
+                }
+                return;
+            }
+            if (batch.size() < maxBatchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stops the background thread and writes the remaining last expirations.
+     */
+    void stop() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private Map<String, Long> takeBatch() {
+        Map<String, Long> batch = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, Long>> entries = pending.entrySet().iterator();
+        while (batch.size() < maxBatchSize && entries.hasNext()) {
+            Map.Entry<String, Long> entry = entries.next();
+            // Removes the value only if it was not changed by a concurrent expiration.
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return batch;
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -25,6 +26,8 @@ import jakarta.ejb.TimerConfig;
 
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -98,6 +101,14 @@ public interface TimerLocal {
     Set findActiveTimersOwnedBy(String owner);
     Set findCancelledTimersOwnedBy(String owner);
 
+    /**
+     * Returns one page of active timers owned by this server, ordered by the timer id.
+     *
+     * @param afterTimerId the last timer id of the previous page, empty string for the first page
+     * @param maxResults maximal size of the page
+     */
+    List<TimerState> findActiveTimersOwnedByThisServer(String afterTimerId, int maxResults);
+
 
     //
     // Queries returning counts
@@ -126,6 +137,9 @@ public interface TimerLocal {
     // Perform health check on timer database
     boolean checkStatus(String resourceJndiName, boolean checkDatabase);
 
+    // Set last expiration (in millis) of many timers owned by this server in one transaction
+    int updateLastExpirations(Map<String, Long> lastExpirations);
+
     // Migrate timers from one server instance to another via bulk update
     int migrateTimers(String fromOwnerId, String toOwnerId);
 
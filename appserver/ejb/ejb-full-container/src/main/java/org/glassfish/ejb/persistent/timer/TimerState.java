@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -101,6 +102,11 @@ import java.util.logging.Logger;
         name="findTimersByOwnerAndState",
         query="SELECT t FROM Timer t WHERE t.ownerId = ?1 AND t.state=?2"
     ),
+    @NamedQuery(
+        // Keyset pagination, next page starts after the last timer id of the previous page
+        name="findTimersByOwnerAndStateAfterTimerId",
+        query="SELECT t FROM Timer t WHERE t.ownerId = ?1 AND t.state=?2 AND t.timerId > ?3 ORDER BY t.timerId"
+    ),
     @NamedQuery(
         name="countTimersByApplication",
         query="SELECT COUNT(t) FROM Timer t WHERE t.applicationId = ?1"
@@ -135,6 +141,11 @@ import java.util.logging.Logger;
         query="UPDATE Timer t SET t.ownerId = :toOwner WHERE t.ownerId = :fromOwner"
     )
     ,
+    @NamedQuery(
+        name="updateLastExpirationOfTimerOwnedBy",
+        query="UPDATE Timer t SET t.lastExpirationRaw = :lastExpiration WHERE t.timerId = :timerId AND t.ownerId = :owner"
+    )
+    ,
     @NamedQuery(
         name="deleteTimersByContainer",
         query="DELETE FROM Timer t WHERE t.containerId = :containerId"
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ejb.persistent.timer;
+
+import com.sun.ejb.containers.EJBTimerService;
+import com.sun.ejb.containers.TimerPrimaryKey;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * Runs the timer queries of the {@link TimerBean} on the embedded Derby database.
+ */
+public class TimerBatchPersistenceTest {
+
+    private static final String OWNER = "server";
+    private static final String OTHER_OWNER = "instance1";
+
+    @TempDir
+    Path databaseDirectory;
+
+    private EntityManagerFactory emf;
+    private EntityManager em;
+
+    @BeforeEach
+    public void createTimers() throws Exception {
+        System.setProperty("derby.stream.error.file", databaseDirectory.resolve("derby.log").toString());
+        emf = Persistence.createEntityManagerFactory("__EJB__Timer__Test",
+            Map.of("jakarta.persistence.jdbc.url", "jdbc:derby:" + databaseDirectory.resolve("timers") + ";create=true"));
+        em = emf.createEntityManager();
+        em.getTransaction().begin();
+        for (int i = 0; i < 10; i++) {
+            em.persist(createTimer("timer-0" + i, OWNER));
+        }
+        // Between the timers of this server, must be skipped by both queries.
+        em.persist(createTimer("timer-03a", OTHER_OWNER));
+        TimerState cancelled = createTimer("timer-06a", OWNER);
+        cancelled.setState(EJBTimerService.STATE_CANCELLED);
+        em.persist(cancelled);
+        em.getTransaction().commit();
+        em.clear();
+    }
+
+    @AfterEach
+    public void close() {
+        if (em != null) {
+            em.close();
+        }
+        if (emf != null) {
+            emf.close();
+        }
+    }
+
+    @Test
+    public void keysetPagesOfActiveTimersOfThisServer() {
+        List<String> firstPage = findPage("", 4);
+        assertThat(firstPage, contains("timer-00", "timer-01", "timer-02", "timer-03"));
+        List<String> secondPage = findPage(firstPage.get(3), 4);
+        assertThat(secondPage, contains("timer-04", "timer-05", "timer-06", "timer-07"));
+        List<String> lastPage = findPage(secondPage.get(3), 4);
+        assertThat(lastPage, contains("timer-08", "timer-09"));
+        assertThat(findPage(lastPage.get(1), 4), empty());
+    }
+
+    @Test
+    public void updatesLastExpirationsOfTimersOfThisServer() {
+        Map<String, Long> lastExpirations = new LinkedHashMap<>();
+        lastExpirations.put("timer-01", 1_000L);
+        lastExpirations.put("timer-05", 5_000L);
+        lastExpirations.put("timer-03a", 3_000L);
+
+        em.getTransaction().begin();
+        int updated = TimerBean.updateLastExpirations(em, OWNER, lastExpirations);
+        em.getTransaction().commit();
+        em.clear();
+
+        assertAll(
+            () -> assertThat(updated, equalTo(2)),
+            () -> assertThat(getLastExpiration("timer-01"), equalTo(1_000L)),
+            () -> assertThat(getLastExpiration("timer-05"), equalTo(5_000L)),
+            () -> assertThat("timer of other server", getLastExpiration("timer-03a"), equalTo(0L)),
+            () -> assertThat("not updated timer", getLastExpiration("timer-02"), equalTo(0L))
+        );
+    }
+
+    @Test
+    public void updateOfNoTimersDoesNothing() {
+        assertThat(TimerBean.updateLastExpirations(em, OWNER, Map.of()), equalTo(0));
+    }
+
+    private List<String> findPage(String afterTimerId, int maxResults) {
+        Collection<TimerState> timers = TimerBean.findActiveTimersOwnedBy(em, OWNER, afterTimerId, maxResults);
+        List<String> timerIds = new ArrayList<>();
+        for (TimerState timer : timers) {
+            timerIds.add(timer.getTimerId());
+        }
+        return timerIds;
+    }
+
+    private long getLastExpiration(String timerId) {
+        return em.find(TimerState.class, new TimerPrimaryKey(timerId)).getLastExpirationRaw();
+    }
+
+    private static TimerState createTimer(String timerId, String ownerId) throws Exception {
+        return new TimerState(timerId, 1L, 1L, ownerId, null, new Date(), 1_000L, null, null);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2024 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -20,13 +20,16 @@ package com.sun.enterprise.security.ee.authentication.glassfish.jdbc;
 import com.sun.appserv.connectors.internal.api.ConnectorRuntime;
 import com.sun.enterprise.security.auth.digest.api.DigestAlgorithmParameter;
 import com.sun.enterprise.security.auth.digest.api.Password;
+import com.sun.enterprise.security.auth.realm.RealmsProbeProvider;
 import com.sun.enterprise.security.auth.realm.exceptions.BadRealmException;
 import com.sun.enterprise.security.auth.realm.exceptions.InvalidOperationException;
 import com.sun.enterprise.security.auth.realm.exceptions.NoSuchRealmException;
 import com.sun.enterprise.security.auth.realm.exceptions.NoSuchUserException;
 import com.sun.enterprise.security.ee.authentication.glassfish.digest.DigestRealmBase;
+import com.sun.enterprise.security.ee.authentication.glassfish.jdbc.JDBCRealmCache.CachedUser;
 import com.sun.enterprise.util.Utility;
 
+import java.io.IOException;
 import java.io.Reader;
 import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
@@ -42,11 +45,10 @@ import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
-import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 import javax.security.auth.login.LoginException;
@@ -79,6 +81,18 @@ import static java.util.logging.Level.FINEST;
  * <li>password-column : column corresponding to password in user-table
  * <li>group-name-column : column corresponding to group in group-table
  * </ul>
+ * <P>
+ * Optional properties:
+ * <ul>
+ * <li>cache-ttl-seconds : time to live of cached passwords and groups, default is 0, which disables the cache.
+ * If enabled, a changed password is accepted immediately, the original password is accepted until the cached
+ * user expires. If disabled, only groups are cached, they are refreshed by every authentication.
+ * <li>unknown-user-cache-ttl-seconds : time to live of cached users not found in the database, default is 10 seconds.
+ * Used only if the cache is enabled.
+ * <li>cache-max-size : maximal count of cached users, default is 10000.
+ * <li>single-query : if true, the password and groups are loaded by one query joining both tables,
+ * default is false.
+ * </ul>
  *
  * @see com.sun.enterprise.security.auth.login.SolarisLoginModule
  *
@@ -108,14 +122,30 @@ public final class JDBCRealm extends DigestRealmBase {
     public static final String PARAM_GROUP_NAME_COLUMN = "group-name-column";
     public static final String PARAM_GROUP_TABLE_USER_NAME_COLUMN = "group-table-user-name-column";
 
+    public static final String PARAM_CACHE_TTL = "cache-ttl-seconds";
+    public static final String PARAM_UNKNOWN_USER_CACHE_TTL = "unknown-user-cache-ttl-seconds";
+    public static final String PARAM_CACHE_MAX_SIZE = "cache-max-size";
+    public static final String PARAM_SINGLE_QUERY = "single-query";
+
+    private static final int DEFAULT_CACHE_TTL = 0;
+    private static final int DEFAULT_UNKNOWN_USER_CACHE_TTL = 10;
+    private static final int DEFAULT_CACHE_MAX_SIZE = 10_000;
+    /** Passwords are read as a character stream limited to this size */
+    private static final int MAX_PASSWORD_LENGTH = 1024;
+
     private static final char[] HEXADECIMAL = { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f' };
 
     private static final String MISSING_PROPERTY = "Missing required property {0} for {1}.";
 
-    private Map<String, Vector> groupCache;
-    private Vector<String> emptyVector;
+    private static final RealmsProbeProvider PROBE_PROVIDER = new RealmsProbeProvider();
+
+    private JDBCRealmCache cache;
+    /** Groups of users, used only if the cache is disabled. Updated by every authentication. */
+    private final Map<String, String[]> groupCache = new ConcurrentHashMap<>();
     private String passwordQuery;
     private String groupQuery;
+    /** Loads password and groups together, null if not enabled. */
+    private String userQuery;
     private MessageDigest messageDigest;
 
     private ActiveDescriptor<ConnectorRuntime> connectorRuntimeDescriptor;
@@ -146,6 +176,10 @@ public final class JDBCRealm extends DigestRealmBase {
         String groupTable = props.getProperty(PARAM_GROUP_TABLE);
         String groupNameColumn = props.getProperty(PARAM_GROUP_NAME_COLUMN);
         String groupTableUserNameColumn = props.getProperty(PARAM_GROUP_TABLE_USER_NAME_COLUMN, userNameColumn);
+        int cacheTtl = getIntProperty(props, PARAM_CACHE_TTL, DEFAULT_CACHE_TTL);
+        int unknownUserCacheTtl = getIntProperty(props, PARAM_UNKNOWN_USER_CACHE_TTL, DEFAULT_UNKNOWN_USER_CACHE_TTL);
+        int cacheMaxSize = getIntProperty(props, PARAM_CACHE_MAX_SIZE, DEFAULT_CACHE_MAX_SIZE);
+        boolean singleQuery = Boolean.parseBoolean(props.getProperty(PARAM_SINGLE_QUERY));
 
         connectorRuntimeDescriptor = (ActiveDescriptor<ConnectorRuntime>)
             getDefaultHabitat().getBestDescriptor(BuilderHelper.createContractFilter(ConnectorRuntime.class.getName()));
@@ -177,6 +211,14 @@ public final class JDBCRealm extends DigestRealmBase {
 
         groupQuery = "SELECT " + groupNameColumn + " FROM " + groupTable + " WHERE " + groupTableUserNameColumn + " = ? ";
 
+        if (singleQuery) {
+            // Outer join, so we get the password even if the user has no groups.
+            userQuery = "SELECT u." + passwordColumn + ", g." + groupNameColumn
+                + " FROM " + userTable + " u LEFT OUTER JOIN " + groupTable + " g"
+                + " ON g." + groupTableUserNameColumn + " = u." + userNameColumn
+                + " WHERE u." + userNameColumn + " = ?";
+        }
+
         if (!NONE.equalsIgnoreCase(digestAlgorithm)) {
             try {
                 messageDigest = MessageDigest.getInstance(digestAlgorithm);
@@ -210,11 +252,26 @@ public final class JDBCRealm extends DigestRealmBase {
                 PARAM_DB_USER + " = " + dbUser + ", " +
                 PARAM_DIGEST_ALGORITHM + " = " + digestAlgorithm + ", " +
                 PARAM_ENCODING + " = " + encoding + ", " +
-                PARAM_CHARSET + " = " + charset);
+                PARAM_CHARSET + " = " + charset + ", " +
+                PARAM_CACHE_TTL + " = " + cacheTtl + ", " +
+                PARAM_UNKNOWN_USER_CACHE_TTL + " = " + unknownUserCacheTtl + ", " +
+                PARAM_CACHE_MAX_SIZE + " = " + cacheMaxSize + ", " +
+                PARAM_SINGLE_QUERY + " = " + singleQuery);
         }
 
-        groupCache = new HashMap<>();
-        emptyVector = new Vector<>();
+        cache = new JDBCRealmCache(cacheTtl, unknownUserCacheTtl, cacheMaxSize);
+    }
+
+    private static int getIntProperty(Properties props, String name, int defaultValue) throws BadRealmException {
+        String value = props.getProperty(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new BadRealmException(MessageFormat.format("Invalid value {0} of the property {1}.", value, name));
+        }
     }
 
     /**
@@ -229,7 +286,7 @@ public final class JDBCRealm extends DigestRealmBase {
     }
 
     /**
-     * Returns the name of all the groups that this user belongs to. It loads the result from groupCache first. This is
+     * Returns the name of all the groups that this user belongs to. It loads the result from the cache first. This is
      * called from web path group verification, though it should not be.
      *
      * @param username Name of the user in this realm whose group listing is needed.
@@ -239,29 +296,30 @@ public final class JDBCRealm extends DigestRealmBase {
      */
     @Override
     public Enumeration getGroupNames(String username) throws InvalidOperationException, NoSuchUserException {
-        Vector vector = groupCache.get(username);
-        if (vector == null) {
-            String[] grps = findGroups(username);
-            setGroupNames(username, grps);
-            vector = groupCache.get(username);
+        if (!cache.isEnabled()) {
+            String[] groups = groupCache.get(username);
+            if (groups == null) {
+                groups = findGroups(username);
+                if (groups == null) {
+                    return Collections.emptyEnumeration();
+                }
+                groupCache.put(username, groups);
+            }
+            return Collections.enumeration(Arrays.asList(addAssignGroups(groups)));
         }
-        return vector.elements();
-    }
-
-    private void setGroupNames(String username, String[] groups) {
-        Vector<String> v = null;
-
-        if (groups == null) {
-            v = emptyVector;
-
-        } else {
-            v = new Vector<>(groups.length + 1);
-            Collections.addAll(v, groups);
+        CachedUser user = getCachedUser(username);
+        if (user != null && user.isUnknown()) {
+            return Collections.emptyEnumeration();
         }
-
-        synchronized (this) {
-            groupCache.put(username, v);
+        String[] groups = user == null ? null : user.getGroups();
+        if (groups == null) {
+            groups = findGroups(username);
+            if (groups == null) {
+                return Collections.emptyEnumeration();
+            }
+            cache.put(username, user == null ? null : user.getPassword(), groups);
         }
+        return Collections.enumeration(Arrays.asList(addAssignGroups(groups)));
     }
 
     /**
@@ -273,13 +331,39 @@ public final class JDBCRealm extends DigestRealmBase {
      *
      */
     public String[] authenticate(String username, char[] password) {
-        String[] groups = null;
-        if (isUserValid(username, password)) {
+        final char[] hashedPassword;
+        try {
+            hashedPassword = hashPassword(password);
+        } catch (Exception ex) {
+            _logger.log(Level.SEVERE, "jdbcrealm.invaliduser", username);
+            if (_logger.isLoggable(Level.FINE)) {
+                _logger.log(Level.FINE, "Cannot validate user", ex);
+            }
+            return null;
+        }
+
+        CachedUser user = getCachedUser(username);
+        if (user != null && user.isUnknown()) {
+            return null;
+        }
+        if (user == null || user.getPassword() == null || !isPasswordValid(user.getPassword(), hashedPassword)) {
+            // The password might have been changed since it was cached.
+            user = loadUser(username, hashedPassword);
+            if (user == null || user.isUnknown() || !isPasswordValid(user.getPassword(), hashedPassword)) {
+                return null;
+            }
+        }
+        String[] groups = user.getGroups();
+        if (groups == null) {
             groups = findGroups(username);
-            groups = addAssignGroups(groups);
-            setGroupNames(username, groups);
+            if (groups != null) {
+                cache.put(username, user.getPassword(), groups);
+            }
+        }
+        if (groups != null && !cache.isEnabled()) {
+            groupCache.put(username, groups);
         }
-        return groups;
+        return addAssignGroups(groups);
     }
 
     @Override
@@ -292,122 +376,145 @@ public final class JDBCRealm extends DigestRealmBase {
     }
 
     private Password getPassword(String username) {
+        CachedUser user = getCachedUser(username);
+        if (user == null || (!user.isUnknown() && user.getPassword() == null)) {
+            user = loadUser(username, null);
+        }
+        if (user == null || user.isUnknown()) {
+            return null;
+        }
+        final String pwd = new String(user.getPassword());
+        final int type = PRE_HASHED.equalsIgnoreCase(getProperty(PARAM_ENCODING)) ? Password.HASHED : Password.PLAIN_TEXT;
+        return new Password() {
 
-        Connection connection = null;
-        PreparedStatement statement = null;
-        ResultSet rs = null;
-        boolean valid = false;
+            @Override
+            public byte[] getValue() {
+                return pwd.getBytes();
+            }
 
-        try {
-            connection = getConnection();
-            statement = connection.prepareStatement(passwordQuery);
-            statement.setString(1, username);
-            rs = statement.executeQuery();
-
-            if (rs.next()) {
-                final String pwd = rs.getString(1);
-                if (!PRE_HASHED.equalsIgnoreCase(getProperty(PARAM_ENCODING))) {
-                    return new Password() {
-
-                        @Override
-                        public byte[] getValue() {
-                            return pwd.getBytes();
-                        }
-
-                        @Override
-                        public int getType() {
-                            return Password.PLAIN_TEXT;
-                        }
-                    };
-                }
-                return new Password() {
+            @Override
+            public int getType() {
+                return type;
+            }
+        };
+    }
 
-                    @Override
-                    public byte[] getValue() {
-                        return pwd.getBytes();
-                    }
+    /**
+     * @return user from the cache or null, updates the statistics if the cache is enabled.
+     */
+    private CachedUser getCachedUser(String username) {
+        if (!cache.isEnabled()) {
+            return null;
+        }
+        CachedUser user = cache.get(username);
+        if (user == null) {
+            PROBE_PROVIDER.realmCacheMissEvent(getName());
+        } else {
+            PROBE_PROVIDER.realmCacheHitEvent(getName());
+        }
+        return user;
+    }
 
-                    @Override
-                    public int getType() {
-                        return Password.HASHED;
+    /**
+     * Loads the user from the database and caches the result. Uses a single connection for all
+     * queries. Groups are loaded only if the hashed password is valid or by the single query.
+     *
+     * @param username user's identifier
+     * @param hashedPassword hashed password given by the user or null if groups should not be loaded.
+     * @return loaded user or null if the database failed.
+     */
+    private CachedUser loadUser(String username, char[] hashedPassword) {
+        try (Connection connection = getConnection()) {
+            if (userQuery != null) {
+                return loadUserBySingleQuery(connection, username);
+            }
+            final char[] storedPassword;
+            try (PreparedStatement statement = connection.prepareStatement(passwordQuery)) {
+                statement.setString(1, username);
+                try (ResultSet rs = statement.executeQuery()) {
+                    if (!rs.next()) {
+                        return cache.putUnknownUser(username);
                     }
-                };
+                    storedPassword = readPassword(rs);
+                }
+            }
+            if (hashedPassword == null || !isPasswordValid(storedPassword, hashedPassword)) {
+                return cache.put(username, storedPassword, null);
+            }
+            return cache.put(username, storedPassword, findGroups(connection, username));
+        } catch (SQLException ex) {
+            _logger.log(Level.SEVERE, "jdbcrealm.invaliduserreason", new String[] { username, ex.toString() });
+            if (_logger.isLoggable(Level.FINE)) {
+                _logger.log(Level.FINE, "Cannot validate user", ex);
             }
         } catch (Exception ex) {
             _logger.log(Level.SEVERE, "jdbcrealm.invaliduser", username);
-            _logger.log(Level.SEVERE, null, ex);
             if (_logger.isLoggable(Level.FINE)) {
                 _logger.log(Level.FINE, "Cannot validate user", ex);
             }
-        } finally {
-            close(connection, statement, rs);
         }
         return null;
+    }
 
+    private CachedUser loadUserBySingleQuery(Connection connection, String username) throws SQLException, IOException {
+        try (PreparedStatement statement = connection.prepareStatement(userQuery)) {
+            statement.setString(1, username);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (!rs.next()) {
+                    return cache.putUnknownUser(username);
+                }
+                final char[] storedPassword = readPassword(rs);
+                final List<String> groups = new ArrayList<>();
+                do {
+                    final String group = rs.getString(2);
+                    if (group != null) {
+                        groups.add(group);
+                    }
+                } while (rs.next());
+                return cache.put(username, storedPassword, groups.toArray(new String[groups.size()]));
+            }
+        }
     }
 
     /**
-     * Test if a user is valid
-     *
-     * @param user user's identifier
-     * @param password user's password
-     * @return true if valid
+     * Reads the password from the first column as a char[] with a max size of {@value #MAX_PASSWORD_LENGTH}.
      */
-    private boolean isUserValid(String user, char[] password) {
-        Connection connection = null;
-        PreparedStatement statement = null;
-        ResultSet rs = null;
-        boolean valid = false;
-
-        try {
-            char[] hpwd = hashPassword(password);
-            connection = getConnection();
-            statement = connection.prepareStatement(passwordQuery);
-            statement.setString(1, user);
-            rs = statement.executeQuery();
-            if (rs.next()) {
-                // Obtain the password as a char[] with a max size of 50
-                try (Reader reader = rs.getCharacterStream(1)) {
-                    char[] pwd = new char[1024];
-                    int noOfChars = reader.read(pwd);
-
-                    /*
-                     * Since pwd contains 1024 elements arbitrarily initialized, construct a new char[] that has the right no of char
-                     * elements to be used for equal comparison
-                     */
-                    if (noOfChars < 0) {
-                        noOfChars = 0;
-                    }
-                    char[] passwd = new char[noOfChars];
-                    System.arraycopy(pwd, 0, passwd, 0, noOfChars);
-                    if (HEX.equalsIgnoreCase(getProperty(PARAM_ENCODING))) {
-                        valid = true;
-                        // Do a case-insensitive equals
-                        for (int i = 0; i < noOfChars; i++) {
-                            if (!(Character.toLowerCase(passwd[i]) == Character.toLowerCase(hpwd[i]))) {
-                                valid = false;
-                                break;
-                            }
-                        }
-                    } else {
-                        valid = Arrays.equals(passwd, hpwd);
-                    }
-                }
+    private static char[] readPassword(ResultSet rs) throws SQLException, IOException {
+        try (Reader reader = rs.getCharacterStream(1)) {
+            if (reader == null) {
+                return new char[0];
             }
-        } catch (SQLException ex) {
-            _logger.log(Level.SEVERE, "jdbcrealm.invaliduserreason", new String[] { user, ex.toString() });
-            if (_logger.isLoggable(Level.FINE)) {
-                _logger.log(Level.FINE, "Cannot validate user", ex);
+            char[] pwd = new char[MAX_PASSWORD_LENGTH];
+            int noOfChars = 0;
+            int count;
+            while (noOfChars < pwd.length && (count = reader.read(pwd, noOfChars, pwd.length - noOfChars)) >= 0) {
+                noOfChars += count;
             }
-        } catch (Exception ex) {
-            _logger.log(Level.SEVERE, "jdbcrealm.invaliduser", user);
-            if (_logger.isLoggable(Level.FINE)) {
-                _logger.log(Level.FINE, "Cannot validate user", ex);
+            return Arrays.copyOf(pwd, noOfChars);
+        }
+    }
+
+    /**
+     * Test if a password is valid
+     *
+     * @param storedPassword password stored in the database
+     * @param hashedPassword hashed password given by the user
+     * @return true if valid
+     */
+    private boolean isPasswordValid(char[] storedPassword, char[] hashedPassword) {
+        if (!HEX.equalsIgnoreCase(getProperty(PARAM_ENCODING))) {
+            return Arrays.equals(storedPassword, hashedPassword);
+        }
+        if (storedPassword.length != hashedPassword.length) {
+            return false;
+        }
+        // Do a case-insensitive equals
+        for (int i = 0; i < storedPassword.length; i++) {
+            if (Character.toLowerCase(storedPassword[i]) != Character.toLowerCase(hashedPassword[i])) {
+                return false;
             }
-        } finally {
-            close(connection, statement, rs);
         }
-        return valid;
+        return true;
     }
 
     private char[] hashPassword(char[] password) throws CharacterCodingException {
@@ -455,52 +562,51 @@ public final class JDBCRealm extends DigestRealmBase {
      * @return array of group key
      */
     private String[] findGroups(String user) {
-        Connection connection = null;
-        PreparedStatement statement = null;
-        ResultSet rs = null;
-        try {
-            connection = getConnection();
-            statement = connection.prepareStatement(groupQuery);
-            statement.setString(1, user);
-            rs = statement.executeQuery();
-            final List<String> groups = new ArrayList<>();
-            while (rs.next()) {
-                groups.add(rs.getString(1));
-            }
-            final String[] groupArray = new String[groups.size()];
-            return groups.toArray(groupArray);
+        try (Connection connection = getConnection()) {
+            return findGroups(connection, user);
         } catch (Exception ex) {
             _logger.log(Level.SEVERE, "jdbcrealm.grouperror", user);
             if (_logger.isLoggable(Level.FINE)) {
                 _logger.log(Level.FINE, "Cannot load group", ex);
             }
             return null;
-        } finally {
-            close(connection, statement, rs);
         }
     }
 
-    private void close(Connection conn, PreparedStatement stmt, ResultSet rs) {
-        if (rs != null) {
-            try {
-                rs.close();
-            } catch (Exception ex) {
+    private String[] findGroups(Connection connection, String user) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(groupQuery)) {
+            statement.setString(1, user);
+            try (ResultSet rs = statement.executeQuery()) {
+                final List<String> groups = new ArrayList<>();
+                while (rs.next()) {
+                    groups.add(rs.getString(1));
+                }
+                final String[] groupArray = new String[groups.size()];
+                return groups.toArray(groupArray);
             }
         }
+    }
 
-        if (stmt != null) {
-            try {
-                stmt.close();
-            } catch (Exception ex) {
-            }
-        }
+    /**
+     * @return count of authentications and group requests served from the cache.
+     */
+    public long getCacheHitCount() {
+        return cache.getHitCount();
+    }
 
-        if (conn != null) {
-            try {
-                conn.close();
-            } catch (Exception ex) {
-            }
-        }
+    /**
+     * @return count of authentications and group requests which had to query the database.
+     */
+    public long getCacheMissCount() {
+        return cache.getMissCount();
+    }
+
+    /**
+     * Removes all users from the cache, so following requests will read fresh data from the database.
+     */
+    public void clearCache() {
+        cache.clear();
+        groupCache.clear();
     }
 
     /**
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.security.ee.authentication.glassfish.jdbc;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache of passwords and groups loaded by the {@link JDBCRealm}.
+ * <p>
+ * Every entry expires after its time to live. Users not found in the database are cached too,
+ * usually for a shorter time, so repeated attempts to log in as an unknown user don't reach
+ * the database.
+ * <p>
+ * When the count of entries reaches the maximal size, expired entries are removed first, then
+ * any entries until there is some free space again.
+ */
+final class JDBCRealmCache {
+
+    private final Map<String, CachedUser> users = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final long timeToLive;
+    private final long unknownUserTimeToLive;
+    private final int maxSize;
+
+    /**
+     * @param timeToLiveSeconds time to live of loaded users. If &lt; 1, the cache is disabled.
+     * @param unknownUserTimeToLiveSeconds time to live of users not found in the database.
+     *            If &lt; 1, unknown users are not cached.
+     * @param maxSize maximal count of cached users.
+     */
+    JDBCRealmCache(int timeToLiveSeconds, int unknownUserTimeToLiveSeconds, int maxSize) {
+        this.timeToLive = TimeUnit.SECONDS.toNanos(Math.max(0, timeToLiveSeconds));
+        this.unknownUserTimeToLive = TimeUnit.SECONDS.toNanos(Math.max(0, unknownUserTimeToLiveSeconds));
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    /**
+     * @return true if loaded users are cached.
+     */
+    boolean isEnabled() {
+        return timeToLive > 0;
+    }
+
+    /**
+     * @param username
+     * @return valid cached user or null
+     */
+    CachedUser get(String username) {
+        if (timeToLive == 0) {
+            return null;
+        }
+        CachedUser user = users.get(username);
+        if (user != null && user.isExpired(System.nanoTime())) {
+            users.remove(username, user);
+            user = null;
+        }
+        if (user == null) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        return user;
+    }
+
+    /**
+     * Caches the user found in the database.
+     *
+     * @param username
+     * @param password password loaded from the database, can be null if it was not loaded.
+     * @param groups groups loaded from the database, can be null if they were not loaded.
+     * @return the cached user, even if the cache is disabled.
+     */
+    CachedUser put(String username, char[] password, String[] groups) {
+        CachedUser user = new CachedUser(password, groups, false, System.nanoTime() + timeToLive);
+        if (timeToLive > 0) {
+            store(username, user);
+        }
+        return user;
+    }
+
+    /**
+     * Caches the user not found in the database.
+     *
+     * @param username
+     * @return the cached user, even if the cache is disabled.
+     */
+    CachedUser putUnknownUser(String username) {
+        CachedUser user = new CachedUser(null, null, true, System.nanoTime() + unknownUserTimeToLive);
+        if (timeToLive > 0 && unknownUserTimeToLive > 0) {
+            store(username, user);
+        }
+        return user;
+    }
+
+    /**
+     * Removes the user from the cache.
+     *
+     * @param username
+     */
+    void remove(String username) {
+        users.remove(username);
+    }
+
+    /**
+     * Removes all users from the cache.
+     */
+    void clear() {
+        users.clear();
+    }
+
+    /**
+     * @return count of requests for a user found in the cache.
+     */
+    long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return count of requests for a user not found in the cache.
+     */
+    long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return count of cached users, including expired users not removed yet.
+     */
+    int getSize() {
+        return users.size();
+    }
+
+    private void store(String username, CachedUser user) {
+        if (users.size() >= maxSize && !users.containsKey(username)) {
+            evict();
+        }
+        users.put(username, user);
+    }
+
+    private void evict() {
+        // One thread is enough, others may exceed the limit for a while.
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = System.nanoTime();
+            users.values().removeIf(user -> user.isExpired(now));
+            Iterator<CachedUser> iterator = users.values().iterator();
+            // Leaves some free space, so the next insert doesn't evict again.
+            int targetSize = maxSize - Math.max(1, maxSize / 10);
+            while (users.size() > targetSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Immutable cached result of database queries for one user.
+     */
+    static final class CachedUser {
+
+        private final char[] password;
+        private final String[] groups;
+        private final boolean unknown;
+        private final long expiration;
+
+        private CachedUser(char[] password, String[] groups, boolean unknown, long expiration) {
+            this.password = password;
+            this.groups = groups;
+            this.unknown = unknown;
+            this.expiration = expiration;
+        }
+
+        /**
+         * @return password stored in the database or null if it was not loaded.
+         */
+        char[] getPassword() {
+            return password;
+        }
+
+        /**
+         * @return groups of the user or null if they were not loaded.
+         */
+        String[] getGroups() {
+            return groups;
+        }
+
+        /**
+         * @return true if the user was not found in the database.
+         */
+        boolean isUnknown() {
+            return unknown;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiration >= 0;
+        }
+    }
+}
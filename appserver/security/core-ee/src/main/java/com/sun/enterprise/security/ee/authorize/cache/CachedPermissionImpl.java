@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -56,17 +57,13 @@ public class CachedPermissionImpl extends Object implements CachedPermission {
         return granted;
     }
 
-    // used to hold last result obtained from cache and cache epoch.
-    // epoch is used by PermissionCache to determine when result is out of date.
+    // used to hold last result obtained from cache and cache generation.
+    // generation is used by PermissionCache to determine when result is out of date.
     static class Epoch {
 
-        int epoch;
-        boolean granted;
-
-        Epoch() {
-            this.epoch = 0;
-            this.granted = false;
-        }
+        // generation shifted left by one bit, the lowest bit is the last result.
+        // a single volatile field, so concurrent readers never see a result of another generation.
+        volatile long state;
     }
 
 }
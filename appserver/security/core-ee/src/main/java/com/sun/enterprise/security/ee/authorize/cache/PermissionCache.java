@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2023, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -31,15 +31,25 @@ import java.security.Permissions;
 import java.security.Policy;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
+import java.util.Collections;
 import java.util.Enumeration;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * This class is
+ * This class caches permissions granted by the policy to the codesource in the policy context.
+ * <p>
+ * Checks don't take any lock. The loaded permissions are an immutable snapshot marked by
+ * the generation of the policy context, results of checks are cached in a concurrent map keyed
+ * by the checked permission, so by its class, name and actions.
+ * The {@link #reset()} just increments the generation of the cache, so following checks see
+ * the snapshot as out of date and reload it.
  *
  * @author Ron Monzillo
  */
@@ -50,18 +60,18 @@ public class PermissionCache extends Object {
     private static Policy policy = Policy.getPolicy();
     private static AllPermission allPermission = new AllPermission();
 
-    private Permissions cache;
+    /** Results of checks of more distinct permissions are not cached, to limit the memory. */
+    private static final int MAX_CACHED_RESULTS = 4096;
+
     private CodeSource codesource;
     private final Permission[] protoPerms;
-    private Class[] classes;
+    private Set<Class<?>> classes;
     private final String name;
     private final String pcID;
     private final Integer factoryKey;
-    private volatile int epoch;
-    private volatile boolean loading;
-    private final ReadWriteLock rwLock;
-    private final Lock rLock;
-    private final Lock wLock;
+    private final AtomicLong generation = new AtomicLong(1);
+    private final AtomicBoolean loading = new AtomicBoolean();
+    private volatile LoadedPermissions cache;
 
     /*
      * USE OF THIS CONSTRUCTOR WITH IS DISCOURAGED PLEASE USE THE Permission (object) based CONSTRUCTOR.
@@ -89,20 +99,14 @@ public class PermissionCache extends Object {
             this.codesource = codesource;
         }
         this.factoryKey = key;
-        this.cache = null;
         this.pcID = pcID;
         this.protoPerms = null;
         if (clazz != null) {
-            this.classes = new Class[] { clazz };
+            this.classes = Collections.singleton(clazz);
         } else {
             this.classes = null;
         }
         this.name = name;
-        this.epoch = 1;
-        this.loading = false;
-        this.rwLock = new ReentrantReadWriteLock(true);
-        this.rLock = rwLock.readLock();
-        this.wLock = rwLock.writeLock();
     }
 
     /*
@@ -129,88 +133,62 @@ public class PermissionCache extends Object {
             this.codesource = codesource;
         }
         this.factoryKey = key;
-        this.cache = null;
         this.pcID = pcID;
         this.protoPerms = perms;
         if (perms != null && perms.length > 0) {
-            this.classes = new Class[perms.length];
-            for (int i = 0; i < perms.length; i++) {
-                this.classes[i] = perms[i].getClass();
+            this.classes = new HashSet<>(perms.length);
+            for (Permission perm : perms) {
+                this.classes.add(perm.getClass());
             }
         } else {
             this.classes = null;
         }
         this.name = name;
-        this.epoch = 1;
-        this.loading = false;
-        this.rwLock = new ReentrantReadWriteLock(true);
-        this.rLock = rwLock.readLock();
-        this.wLock = rwLock.writeLock();
     }
 
     public Integer getFactoryKey() {
         return this.factoryKey;
     }
 
-    private boolean checkLoadedCache(Permission p, Epoch e) {
+    private boolean checkLoadedCache(LoadedPermissions loaded, Permission p, Epoch e) {
         if (e == null) {
-            return cache.implies(p);
+            return loaded.implies(p);
         }
-        if (e.epoch != epoch) {
-            e.granted = cache.implies(p);
-            e.epoch = epoch;
+        // generation in upper bits, the result in the lowest bit
+        long state = e.state;
+        if (state >>> 1 != loaded.generation) {
+            boolean granted = loaded.implies(p);
+            state = loaded.generation << 1 | (granted ? 1 : 0);
+            e.state = state;
         }
-        return e.granted;
+        return (state & 1) == 1;
     }
 
     private boolean checkCache(Permission p, Epoch e) {
-
-        // test-and-set to guard critical section
-        rLock.lock();
-        try {
-            if (loading) {
-                return false;
-            }
-            if (cache != null) {
-                // cache is loaded and readlock is held
-                // check permission and return
-                return checkLoadedCache(p, e);
-            }
-        } finally {
-            rLock.unlock();
+        long currentGeneration = generation.get();
+        LoadedPermissions loaded = cache;
+        if (loaded != null && loaded.generation == currentGeneration) {
+            return checkLoadedCache(loaded, p, e);
         }
 
-        wLock.lock();
-        if (loading) {
-            // another thread started the load
-            // release the writelock and return
-            wLock.unlock();
+        if (!loading.compareAndSet(false, true)) {
+            // another thread is loading the cache, the caller asks the policy directly.
             return false;
         }
-        if (cache != null) {
-            // another thread loaded the cache
-            // get readlock inside writelock.
-            // check permission and return
-            rLock.lock();
-            wLock.unlock();
-            try {
-                // cache is loaded and readlock is held
-                // check permission and return
-                return checkLoadedCache(p, e);
-            } finally {
-                rLock.unlock();
+        try {
+            loaded = load(p, currentGeneration);
+            if (loaded == null) {
+                return false;
             }
+            // If the generation changed during the load, the next check loads it again.
+            cache = loaded;
+        } finally {
+            loading.set(false);
         }
-        // set the load indicators so that readers will
-        // bypass the cache until it is loaded
-        // release the writelock and return
-        cache = null;
-        loading = true;
-        wLock.unlock();
-
-        // cache will be null if we proceed past this point
-        // NO LOCKS ARE HELD AT THIS POINT
+        return checkLoadedCache(loaded, p, e);
+    }
 
+    private LoadedPermissions load(Permission p, long loadedGeneration) {
         Permissions nextCache = new Permissions();
 
         boolean setPc = false;
@@ -222,7 +200,7 @@ public class PermissionCache extends Object {
             }
         } catch (Exception ex) {
             LOG.log(Level.SEVERE, "JACC: Unexpected security exception on access decision", ex);
-            return false;
+            return null;
         }
 
         PermissionCollection pc = null;
@@ -234,17 +212,20 @@ public class PermissionCache extends Object {
             pc = policy.getPermissions(this.codesource);
         } catch (Exception ex) {
             LOG.log(Level.SEVERE, "JACC: Unexpected security exception on access decision", ex);
-            return false;
+            return null;
         } finally {
             if (setPc) {
                 try {
                     setPolicyContextID(oldpcID);
                 } catch (Exception ex) {
                     LOG.log(Level.SEVERE, "JACC: Unexpected security exception on access decision", ex);
-                    return false;
+                    pc = null;
                 }
             }
         }
+        if (pc == null) {
+            return null;
+        }
 
         // force resolution of unresolved permissions
         // so that we can filter out all but the permissions
@@ -252,50 +233,24 @@ public class PermissionCache extends Object {
 
         resolvePermissions(pc, p);
 
-        Enumeration granted = pc.elements();
+        Enumeration<Permission> granted = pc.elements();
         while (granted.hasMoreElements()) {
-            Permission i = (Permission) granted.nextElement();
+            Permission i = granted.nextElement();
             if (i.equals(allPermission)) {
                 nextCache.add(i);
-            } else {
-                boolean classMatch = true;
-                if (this.classes != null) {
-                    classMatch = false;
-                    Class iClazz = i.getClass();
-                    for (Class element : this.classes) {
-                        if (element.equals(iClazz)) {
-                            classMatch = true;
-                            break;
-                        }
-                    }
-                }
-                if (classMatch) {
-                    if (this.name != null) {
-                        String iName = i.getName();
-                        if (iName != null && this.name.equals(iName)) {
-                            nextCache.add(i);
-                        }
-                    } else {
+            } else if (this.classes == null || this.classes.contains(i.getClass())) {
+                if (this.name != null) {
+                    String iName = i.getName();
+                    if (iName != null && this.name.equals(iName)) {
                         nextCache.add(i);
                     }
+                } else {
+                    nextCache.add(i);
                 }
             }
         }
-
-        // get the writelock to mark cache as loaded
-        wLock.lock();
-        cache = nextCache;
-        loading = false;
-        try {
-            // get readlock inside writelock.
-            rLock.lock();
-            wLock.unlock();
-            // cache is loaded and readlock is held
-            // check permission and return
-            return checkLoadedCache(p, e);
-        } finally {
-            rLock.unlock();
-        }
+        nextCache.setReadOnly();
+        return new LoadedPermissions(nextCache, loadedGeneration);
     }
 
     boolean checkPermission(Permission p, Epoch e) {
@@ -306,18 +261,11 @@ public class PermissionCache extends Object {
         return checkCache(p, null);
     }
 
-    public synchronized void reset() {
-        wLock.lock();
-        try {
-            if (cache != null) {
-                // since cache is non-null, we know we are NOT loading
-                // setting cache to null will force a (re)load
-                cache = null;
-                epoch = epoch + 1 == 0 ? 1 : epoch + 1;
-            }
-        } finally {
-            wLock.unlock();
-        }
+    /**
+     * Invalidates permissions cached by this cache.
+     */
+    public void reset() {
+        generation.incrementAndGet();
     }
 
     private void setPolicyContextID(final String newID) throws PrivilegedActionException {
@@ -342,4 +290,30 @@ public class PermissionCache extends Object {
             pc.implies(p);
         }
     }
+
+    /**
+     * Permissions loaded from the policy for one generation of the policy context.
+     */
+    private static final class LoadedPermissions {
+
+        private final Permissions permissions;
+        private final long generation;
+        private final ConcurrentMap<Permission, Boolean> results = new ConcurrentHashMap<>();
+
+        LoadedPermissions(Permissions permissions, long generation) {
+            this.permissions = permissions;
+            this.generation = generation;
+        }
+
+        boolean implies(Permission permission) {
+            Boolean granted = results.get(permission);
+            if (granted == null) {
+                granted = permissions.implies(permission);
+                if (results.size() < MAX_CACHED_RESULTS) {
+                    results.putIfAbsent(permission, granted);
+                }
+            }
+            return granted;
+        }
+    }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.security.ee.authentication.glassfish.jdbc;
+
+import com.sun.enterprise.security.ee.authentication.glassfish.jdbc.JDBCRealmCache.CachedUser;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JDBCRealmCacheTest {
+
+    @Test
+    public void cachesKnownAndUnknownUsers() {
+        JDBCRealmCache cache = new JDBCRealmCache(60, 60, 100);
+        assertThat(cache.get("alice"), nullValue());
+        cache.put("alice", "secret".toCharArray(), new String[] {"users"});
+        cache.putUnknownUser("mallory");
+
+        CachedUser alice = cache.get("alice");
+        assertThat(alice, notNullValue());
+        assertThat(new String(alice.getPassword()), equalTo("secret"));
+        assertThat(alice.getGroups(), arrayContaining("users"));
+        assertTrue(cache.get("mallory").isUnknown());
+        assertThat(cache.getHitCount(), equalTo(2L));
+        assertThat(cache.getMissCount(), equalTo(1L));
+
+        cache.remove("alice");
+        assertThat(cache.get("alice"), nullValue());
+    }
+
+    @Test
+    public void disabledCacheStoresNothing() {
+        JDBCRealmCache cache = new JDBCRealmCache(0, 10, 100);
+        CachedUser user = cache.put("alice", "secret".toCharArray(), null);
+        assertThat(user.getGroups(), nullValue());
+        cache.putUnknownUser("mallory");
+        assertThat(cache.get("alice"), nullValue());
+        assertThat(cache.get("mallory"), nullValue());
+        assertThat(cache.getSize(), equalTo(0));
+    }
+
+    @Test
+    public void unknownUsersAreNotCachedWithoutTimeToLive() {
+        JDBCRealmCache cache = new JDBCRealmCache(60, 0, 100);
+        assertTrue(cache.putUnknownUser("mallory").isUnknown());
+        assertThat(cache.get("mallory"), nullValue());
+    }
+
+    @Test
+    public void sizeIsLimited() {
+        JDBCRealmCache cache = new JDBCRealmCache(60, 60, 50);
+        for (int i = 0; i < 1000; i++) {
+            cache.put("user" + i, "secret".toCharArray(), new String[0]);
+            assertThat(cache.getSize(), lessThanOrEqualTo(50));
+        }
+        assertThat(cache.get("user999"), notNullValue());
+    }
+}
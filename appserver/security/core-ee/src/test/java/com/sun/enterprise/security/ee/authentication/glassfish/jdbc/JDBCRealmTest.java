@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.security.ee.authentication.glassfish.jdbc;
+
+import com.sun.appserv.connectors.internal.api.ConnectorRuntime;
+
+import java.io.PrintWriter;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.api.ServiceLocatorFactory;
+import org.glassfish.hk2.utilities.ServiceLocatorUtilities;
+import org.glassfish.internal.api.Globals;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContainingInAnyOrder;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+public class JDBCRealmTest {
+
+    private static final DerbyDataSource dataSource = new DerbyDataSource();
+    private static ServiceLocator locator;
+
+    @TempDir
+    static Path databaseDirectory;
+
+    @BeforeAll
+    public static void createLocator() throws Exception {
+        System.setProperty("derby.stream.error.file", databaseDirectory.resolve("derby.log").toString());
+        dataSource.url = "jdbc:derby:" + databaseDirectory.resolve("realm") + ";create=true";
+        ConnectorRuntime connectorRuntime = (ConnectorRuntime) Proxy.newProxyInstance(
+            JDBCRealmTest.class.getClassLoader(), new Class<?>[] {ConnectorRuntime.class}, (proxy, method, args) -> {
+                if (method.getName().equals("lookupNonTxResource")) {
+                    return dataSource;
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+        locator = ServiceLocatorFactory.getInstance().create(JDBCRealmTest.class.getSimpleName());
+        ServiceLocatorUtilities.addOneConstant(locator, connectorRuntime, null, ConnectorRuntime.class);
+        Globals.setDefaultHabitat(locator);
+    }
+
+    @AfterAll
+    public static void shutdownLocator() {
+        if (locator != null) {
+            locator.shutdown();
+        }
+    }
+
+    @BeforeEach
+    public void createTables() throws Exception {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String table : List.of("realm_groups", "realm_users")) {
+                try {
+                    statement.execute("drop table " + table);
+                } catch (SQLException e) {
+                    // Does not exist yet
+                }
+            }
+            statement.execute("create table realm_users (name varchar(50) primary key, password varchar(50))");
+            statement.execute("create table realm_groups (name varchar(50), group_name varchar(50))");
+            statement.execute("insert into realm_users values ('alice', 'secret'), ('bob', 'password')");
+            statement.execute("insert into realm_groups values ('alice', 'users'), ('alice', 'admins')");
+        }
+        dataSource.connections.set(0);
+    }
+
+    @Test
+    public void authenticatesUsers() throws Exception {
+        JDBCRealm realm = createRealm(new Properties());
+        assertThat(realm.authenticate("alice", "secret".toCharArray()), arrayContainingInAnyOrder("users", "admins"));
+        assertThat(realm.authenticate("bob", "password".toCharArray()), emptyArray());
+        assertThat(realm.authenticate("alice", "wrong".toCharArray()), nullValue());
+        assertThat(realm.authenticate("mallory", "secret".toCharArray()), nullValue());
+    }
+
+    @Test
+    public void cachesGroupsWhenCacheIsDisabled() throws Exception {
+        JDBCRealm realm = createRealm(new Properties());
+        assertThat(getGroupNames(realm, "alice"), containsInAnyOrder("users", "admins"));
+        assertThat(dataSource.connections.get(), equalTo(1));
+        assertThat(getGroupNames(realm, "alice"), containsInAnyOrder("users", "admins"));
+        assertThat(dataSource.connections.get(), equalTo(1));
+
+        // The authentication refreshes the groups
+        execute("insert into realm_groups values ('alice', 'auditors')");
+        realm.authenticate("alice", "secret".toCharArray());
+        int connections = dataSource.connections.get();
+        assertThat(getGroupNames(realm, "alice"), containsInAnyOrder("users", "admins", "auditors"));
+        assertThat(dataSource.connections.get(), equalTo(connections));
+
+        // Statistics of the disabled cache are not updated
+        assertThat(realm.getCacheHitCount(), equalTo(0L));
+        assertThat(realm.getCacheMissCount(), equalTo(0L));
+    }
+
+    @Test
+    public void loadsPasswordAndGroupsByOneConnection() throws Exception {
+        JDBCRealm realm = createRealm(new Properties());
+        assertThat(realm.authenticate("alice", "secret".toCharArray()), arrayContainingInAnyOrder("users", "admins"));
+        assertThat(dataSource.connections.get(), equalTo(1));
+        assertThat(realm.authenticate("alice", "wrong".toCharArray()), nullValue());
+        assertThat(dataSource.connections.get(), equalTo(2));
+    }
+
+    @Test
+    public void loadsUserBySingleQuery() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty(JDBCRealm.PARAM_SINGLE_QUERY, "true");
+        JDBCRealm realm = createRealm(properties);
+        assertThat(realm.authenticate("alice", "secret".toCharArray()), arrayContainingInAnyOrder("users", "admins"));
+        assertThat(realm.authenticate("bob", "password".toCharArray()), emptyArray());
+        assertThat(realm.authenticate("bob", "wrong".toCharArray()), nullValue());
+        assertThat(realm.authenticate("mallory", "secret".toCharArray()), nullValue());
+        assertThat(dataSource.connections.get(), equalTo(4));
+    }
+
+    @Test
+    public void cachedUsersDoNotQueryDatabase() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty(JDBCRealm.PARAM_CACHE_TTL, "60");
+        JDBCRealm realm = createRealm(properties);
+        assertThat(realm.authenticate("alice", "secret".toCharArray()), arrayContainingInAnyOrder("users", "admins"));
+        assertThat(realm.authenticate("alice", "secret".toCharArray()), arrayContainingInAnyOrder("users", "admins"));
+        assertThat(getGroupNames(realm, "alice"), containsInAnyOrder("users", "admins"));
+        assertThat(realm.authenticate("mallory", "secret".toCharArray()), nullValue());
+        assertThat(realm.authenticate("mallory", "secret".toCharArray()), nullValue());
+        assertThat(dataSource.connections.get(), equalTo(2));
+        assertThat(realm.getCacheHitCount(), equalTo(3L));
+        assertThat(realm.getCacheMissCount(), equalTo(2L));
+
+        // A changed password is accepted immediately
+        execute("update realm_users set password = 'changed' where name = 'alice'");
+        assertThat(realm.authenticate("alice", "changed".toCharArray()), arrayContainingInAnyOrder("users", "admins"));
+        assertThat(dataSource.connections.get(), equalTo(3));
+
+        realm.clearCache();
+        assertThat(realm.authenticate("alice", "secret".toCharArray()), nullValue());
+    }
+
+    private static JDBCRealm createRealm(Properties properties) throws Exception {
+        properties.setProperty(JDBCRealm.JAAS_CONTEXT_PARAM, "jdbcRealm");
+        properties.setProperty(JDBCRealm.PARAM_DATASOURCE_JNDI, "jdbc/realm");
+        properties.setProperty(JDBCRealm.PARAM_USER_TABLE, "realm_users");
+        properties.setProperty(JDBCRealm.PARAM_USER_NAME_COLUMN, "name");
+        properties.setProperty(JDBCRealm.PARAM_PASSWORD_COLUMN, "password");
+        properties.setProperty(JDBCRealm.PARAM_GROUP_TABLE, "realm_groups");
+        properties.setProperty(JDBCRealm.PARAM_GROUP_NAME_COLUMN, "group_name");
+        properties.setProperty(JDBCRealm.PARAM_DIGEST_ALGORITHM, JDBCRealm.NONE);
+        JDBCRealm realm = new JDBCRealm();
+        realm.init(properties);
+        return realm;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> getGroupNames(JDBCRealm realm, String username) throws Exception {
+        return Collections.list(realm.getGroupNames(username));
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(dataSource.url);
+            Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static final class DerbyDataSource implements DataSource {
+
+        final AtomicInteger connections = new AtomicInteger();
+        String url;
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            connections.incrementAndGet();
+            return DriverManager.getConnection(url);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            connections.incrementAndGet();
+            return DriverManager.getConnection(url, username, password);
+        }
+
+        @Override
+        public PrintWriter getLogWriter() {
+            return null;
+        }
+
+        @Override
+        public void setLogWriter(PrintWriter out) {
+        }
+
+        @Override
+        public void setLoginTimeout(int seconds) {
+        }
+
+        @Override
+        public int getLoginTimeout() {
+            return 0;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            throw new SQLException("Not a wrapper.");
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.security.ee.authorize.cache;
+
+import com.sun.enterprise.security.ee.authorize.cache.PermissionCacheTest.TestPolicy;
+
+import jakarta.security.jacc.EJBMethodPermission;
+import jakarta.security.jacc.WebResourcePermission;
+
+import java.security.Permission;
+import java.security.Policy;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Measures throughput of web and EJB permission checks done concurrently by many threads.
+ */
+public class PermissionCacheBenchmarkTest {
+
+    @Test
+    public void concurrentChecks() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(200L))
+            .measurementIterations(1).forks(1).measurementTime(TimeValue.milliseconds(500L))
+            .threads(Math.max(8, Runtime.getRuntime().availableProcessors() * 2)).timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .mode(Mode.Throughput).shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(3));
+    }
+
+
+    @Benchmark
+    public boolean checkWebPermission(CacheState state) {
+        return state.cache.checkPermission(state.webPermission);
+    }
+
+
+    @Benchmark
+    public boolean checkEjbPermission(CacheState state) {
+        return state.cache.checkPermission(state.ejbPermission);
+    }
+
+
+    @Benchmark
+    public boolean checkCachedPermission(CacheState state) {
+        return state.cachedPermission.checkPermission();
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class CacheState {
+
+        PermissionCache cache;
+        CachedPermission cachedPermission;
+        Permission webPermission;
+        Permission ejbPermission;
+
+        @Setup
+        public void createCache() {
+            TestPolicy policy = new TestPolicy();
+            policy.grant(new WebResourcePermission("/public/*", "GET"),
+                new EJBMethodPermission("HelloBean", "hello,Local,java.lang.String"));
+            Policy.setPolicy(policy);
+
+            webPermission = new WebResourcePermission("/public/index.html", "GET");
+            ejbPermission = new EJBMethodPermission("HelloBean", "hello", "Local", new String[] {"java.lang.String"});
+            cache = new PermissionCache(1, "benchmark", null, new Permission[] {webPermission, ejbPermission}, null);
+            cachedPermission = new CachedPermissionImpl(cache, webPermission);
+        }
+    }
+}
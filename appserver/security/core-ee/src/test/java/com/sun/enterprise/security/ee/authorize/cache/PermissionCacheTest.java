@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.security.ee.authorize.cache;
+
+import jakarta.security.jacc.EJBMethodPermission;
+import jakarta.security.jacc.WebResourcePermission;
+
+import java.security.CodeSource;
+import java.security.Permission;
+import java.security.PermissionCollection;
+import java.security.Permissions;
+import java.security.Policy;
+import java.security.ProtectionDomain;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PermissionCacheTest {
+
+    private static final TestPolicy POLICY = new TestPolicy();
+
+    private static final Permission WEB_PERMISSION = new WebResourcePermission("/public/index.html", "GET");
+    private static final Permission EJB_PERMISSION = new EJBMethodPermission("HelloBean", "hello", "Local",
+        new String[] {"java.lang.String"});
+
+    @BeforeAll
+    public static void installPolicy() {
+        // Must be set before the PermissionCache class is initialized.
+        Policy.setPolicy(POLICY);
+    }
+
+    @BeforeEach
+    public void grantDefaultPermissions() {
+        POLICY.grant(new WebResourcePermission("/public/*", "GET"),
+            new EJBMethodPermission("HelloBean", "hello,Local,java.lang.String"));
+    }
+
+    @Test
+    public void checksAndCachesPermissions() {
+        PermissionCache cache = new PermissionCache(1, "checksAndCachesPermissions", null,
+            new Permission[] {WEB_PERMISSION, EJB_PERMISSION}, null);
+        int loads = POLICY.loadCount.get();
+        assertTrue(cache.checkPermission(WEB_PERMISSION));
+        assertTrue(cache.checkPermission(EJB_PERMISSION));
+        assertFalse(cache.checkPermission(new WebResourcePermission("/private/index.html", "GET")));
+        assertFalse(cache.checkPermission(new WebResourcePermission("/public/index.html", "POST")));
+        assertThat(POLICY.loadCount.get(), equalTo(loads + 1));
+    }
+
+    @Test
+    public void filtersPermissionsByClass() {
+        PermissionCache cache = new PermissionCache(1, "filtersPermissionsByClass", null, WebResourcePermission.class,
+            null);
+        assertTrue(cache.checkPermission(WEB_PERMISSION));
+        assertFalse(cache.checkPermission(EJB_PERMISSION));
+    }
+
+    @Test
+    public void resetInvalidatesOnlyTheCache() {
+        PermissionCache webCache = new PermissionCache(1, "resetInvalidates", null, WebResourcePermission.class, null);
+        PermissionCache ejbCache = new PermissionCache(2, "resetInvalidates", null, EJBMethodPermission.class, null);
+        CachedPermissionImpl cachedWebPermission = new CachedPermissionImpl(webCache, WEB_PERMISSION);
+        assertTrue(cachedWebPermission.checkPermission());
+        assertTrue(ejbCache.checkPermission(EJB_PERMISSION));
+
+        POLICY.grant();
+        assertTrue(cachedWebPermission.checkPermission());
+        webCache.reset();
+
+        assertFalse(cachedWebPermission.checkPermission());
+        assertTrue(ejbCache.checkPermission(EJB_PERMISSION));
+        ejbCache.reset();
+        assertFalse(ejbCache.checkPermission(EJB_PERMISSION));
+    }
+
+    /**
+     * Grants configured permissions to all code sources in all policy contexts.
+     */
+    public static final class TestPolicy extends Policy {
+
+        private final List<Permission> granted = new CopyOnWriteArrayList<>();
+        final AtomicInteger loadCount = new AtomicInteger();
+
+        void grant(Permission... permissions) {
+            granted.clear();
+            granted.addAll(List.of(permissions));
+        }
+
+        @Override
+        public PermissionCollection getPermissions(CodeSource codesource) {
+            loadCount.incrementAndGet();
+            Permissions permissions = new Permissions();
+            granted.forEach(permissions::add);
+            return permissions;
+        }
+
+        @Override
+        public boolean implies(ProtectionDomain domain, Permission permission) {
+            return getPermissions((CodeSource) null).implies(permission);
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2024 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -379,7 +379,8 @@ public interface JavaEETransactionManager extends TransactionManager {
     void registerRecoveryResourceHandler(XAResource xaResource);
 
     /**
-     * Returns the value to be used to purge transaction tasks after the specified number of cancelled tasks
+     * Returns the value to be used to purge transaction tasks after the specified number of cancelled tasks.
+     * Local transaction timeouts don't need purging, cancelled timeouts are removed from the timing wheel.
      */
     int getPurgeCancelledTtransactionsAfter();
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2024 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -38,9 +38,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.Vector;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -54,11 +53,11 @@ import javax.transaction.xa.Xid;
  * delegated to jtsTx.
  *
  *
- * Time out capability is added to the local transactions. This class extends the TimerTask. When the transaction needs
- * to be timedout, this schedules with the timer. At the commit and rollback time, task will be cancelled. If the
- * transaction is timedout, run() method will be called and transaction will be marked for rollback.
+ * Time out capability is added to the local transactions. When the transaction needs to be timedout, it is scheduled
+ * with the {@link TransactionTimeoutWheel}. At the commit and rollback time, the timeout will be cancelled. If the
+ * transaction is timedout, the transaction will be marked for rollback.
  */
-public final class JavaEETransactionImpl extends TimerTask implements JavaEETransaction {
+public final class JavaEETransactionImpl implements JavaEETransaction {
 
     private static Logger _logger = LogDomains.getLogger(JavaEETransactionImpl.class, LogDomains.JTA_LOGGER);
 
@@ -69,7 +68,7 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
 
     // Local Tx ids are just numbers: they dont need to be unique across
     // processes or across multiple activations of this server process.
-    private static long txIdCounter = 1;
+    private static final AtomicLong txIdCounter = new AtomicLong(1);
 
     // Fall back to the old (wrong) behavior for the case when setRollbackOnly
     // was called before XA transaction started
@@ -99,6 +98,7 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
     // START: local transaction timeout
     private boolean timedOut = false;
     private boolean isTimerTask = false;
+    private TransactionTimeoutWheel.Timeout timeoutHandle;
     private int timeout = 0;
     // END: local transaction timeout
     private boolean imported = false;
@@ -124,17 +124,6 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
     // tx-specific ejb container info associated with this tx
     private Object containerData = null;
 
-    static private boolean isTimerInitialized = false;
-    static private Timer timer = null;
-    static private long timerTasksScheduled = 0; // Global counter
-
-    static synchronized private void initializeTimer() {
-        if (isTimerInitialized)
-            return;
-        timer = new Timer(true); // daemon
-        isTimerInitialized = true;
-    }
-
     JavaEETransactionImpl(JavaEETransactionManager javaEETM) {
         this.javaEETM = javaEETM;
         this.txId = getNewTxId();
@@ -150,10 +139,7 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
     // START: local transaction timeout
     JavaEETransactionImpl(int timeout, JavaEETransactionManager javaEETM) {
         this(javaEETM);
-        if (!isTimerInitialized)
-            initializeTimer();
-        timer.schedule(this, timeout * 1000L);
-        timerTasksScheduled++;
+        timeoutHandle = TransactionTimeoutWheel.getInstance().schedule(this::timeout, timeout * 1000L);
         isTimerTask = true;
         this.timeout = timeout;
     }
@@ -166,8 +152,8 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
     }
 
     // START: local transaction timeout
-    // TimerTask run() method implementation
-    public void run() {
+    // Executed by the TransactionTimeoutWheel
+    private void timeout() {
         timedOut = true;
         try {
             setRollbackOnly();
@@ -188,16 +174,10 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
         return isTimerTask;
     }
 
-    // Cancels the timertask and returns the timeout
+    // Cancels the timeout and returns the timeout value
     public int cancelTimerTask() {
-        cancel();
-        int mod = javaEETM.getPurgeCancelledTtransactionsAfter();
-        if (mod > 0 && timerTasksScheduled % mod == 0) {
-            int purged = timer.purge();
-            if (_logger.isLoggable(Level.FINE)) {
-                _logger.log(Level.FINE, "Purged " + purged + " timer tasks from canceled queue");
-            }
-        }
+        // The wheel removes cancelled timeouts on its next tick, no purging is needed.
+        timeoutHandle.cancel();
         return timeout;
     }
 
@@ -206,9 +186,8 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
     }
     // END: local transaction timeout
 
-    private static synchronized long getNewTxId() {
-        long newTxId = txIdCounter++;
-        return newTxId;
+    private static long getNewTxId() {
+        return txIdCounter.getAndIncrement();
     }
 
     public boolean equals(Object other) {
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.transaction;
+
+import com.sun.logging.LogDomains;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hashed timing wheel used to time out local transactions.
+ * <p>
+ * Scheduling and cancellation are O(1) and lock-free for the caller: new and cancelled
+ * timeouts are put into concurrent queues and the single worker thread moves them in or out
+ * of the wheel on its next tick. Cancelled timeouts therefore never pile up the way cancelled
+ * {@link java.util.TimerTask}s do in the {@link java.util.Timer} heap until it is purged.
+ * <p>
+ * Timeouts fire at most one tick ({@value #TICK_MILLIS} ms by default) late, which is more than enough
+ * for transaction timeouts configured in seconds.
+ */
+public final class TransactionTimeoutWheel {
+
+    private static final Logger LOG = LogDomains.getLogger(TransactionTimeoutWheel.class, LogDomains.JTA_LOGGER);
+
+    private static final long TICK_MILLIS = 100L;
+    /** 512 ticks of 100 ms cover 51.2 s in one round. */
+    private static final int WHEEL_SIZE = 512;
+    /** Limits the time spent by moving new timeouts into the wheel in a single tick. */
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickMillis;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> newTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final long startTime = System.nanoTime();
+    private final Thread worker;
+
+    private volatile long lag;
+    private long tick;
+
+    /**
+     * @param threadName name of the worker thread
+     * @param tickMillis length of the tick in milliseconds
+     * @param wheelSize count of buckets, must be a power of two.
+     */
+    TransactionTimeoutWheel(String threadName, long tickMillis, int wheelSize) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        this.tickMillis = tickMillis;
+        this.wheel = new Bucket[wheelSize];
+        this.mask = wheelSize - 1;
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new Bucket();
+        }
+        worker = new Thread(this::work, threadName);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * @return the wheel shared by all local transactions, started on first use.
+     */
+    public static TransactionTimeoutWheel getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Schedules the task to be executed by the wheel's thread after the delay.
+     *
+     * @param task the task to execute, must not block for long.
+     * @param delayMillis delay in milliseconds
+     * @return {@link Timeout} which can be cancelled.
+     */
+    public Timeout schedule(Runnable task, long delayMillis) {
+        Timeout timeout = new Timeout(task, currentTime() + delayMillis);
+        size.incrementAndGet();
+        newTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * @return count of scheduled timeouts which were not executed nor cancelled yet.
+     */
+    public int getSize() {
+        return size.get();
+    }
+
+    /**
+     * @return how many milliseconds was the last tick processed later than planned.
+     */
+    public long getLag() {
+        return lag;
+    }
+
+    private long currentTime() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
+
+    private void work() {
+        while (true) {
+            long deadline = tickMillis * (tick + 1);
+            long now = currentTime();
+            if (now < deadline) {
+                try {
+                    Thread.sleep(deadline - now);
+                } catch (InterruptedException e) {
+                    LOG.log(Level.FINE, "Ignoring interruption of the transaction timeout thread.", e);
+                }
+                continue;
+            }
+            lag = now - deadline;
+            removeCancelledTimeouts();
+            transferNewTimeouts();
+            wheel[(int) (tick & mask)].expireTimeouts(now);
+            tick++;
+        }
+    }
+
+    private void removeCancelledTimeouts() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferNewTimeouts() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout timeout = newTimeouts.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state.get() != Timeout.STATE_SCHEDULED) {
+                continue;
+            }
+            long expirationTick = timeout.deadline / tickMillis;
+            timeout.remainingRounds = (expirationTick - tick) / wheel.length;
+            // Already late timeouts go to the current bucket.
+            long targetTick = Math.max(expirationTick, tick);
+            wheel[(int) (targetTick & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * Handle of the scheduled task.
+     */
+    public final class Timeout {
+
+        private static final int STATE_SCHEDULED = 0;
+        private static final int STATE_CANCELLED = 1;
+        private static final int STATE_EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(STATE_SCHEDULED);
+
+        // Following fields are accessed just by the worker thread.
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout previous;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the timeout, so the task will not be executed.
+         *
+         * @return false if the task was already executed or cancelled.
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(STATE_SCHEDULED, STATE_CANCELLED)) {
+                return false;
+            }
+            size.decrementAndGet();
+            cancelledTimeouts.add(this);
+            return true;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(STATE_SCHEDULED, STATE_EXPIRED)) {
+                return;
+            }
+            size.decrementAndGet();
+            try {
+                task.run();
+            } catch (Exception e) {
+                LOG.log(Level.WARNING, "enterprise_distributedtx.some_excep", e);
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of timeouts, accessed just by the worker thread.
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = timeout;
+                tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.previous = tail;
+                tail = timeout;
+            }
+        }
+
+        void expireTimeouts(long now) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0 && timeout.deadline <= now) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.state.get() == Timeout.STATE_CANCELLED) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds > 0) {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.previous == null) {
+                head = timeout.next;
+            } else {
+                timeout.previous.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.previous;
+            } else {
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.previous = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+
+    private static final class InstanceHolder {
+        static final TransactionTimeoutWheel INSTANCE = new TransactionTimeoutWheel("transaction-timeout-wheel", TICK_MILLIS,
+            WHEEL_SIZE);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2009, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,6 +17,7 @@
 
 package com.sun.enterprise.transaction.monitoring;
 
+import com.sun.enterprise.transaction.TransactionTimeoutWheel;
 import com.sun.enterprise.transaction.api.JavaEETransactionManager;
 import com.sun.enterprise.transaction.api.TransactionAdminBean;
 
@@ -62,6 +63,12 @@ public class TransactionServiceStatsProvider {
 
     private StringStatisticImpl state = new StringStatisticImpl("State", "String", "Indicates if the transaction service has been frozen.");
 
+    private CountStatisticImpl timeoutWheelSize = new CountStatisticImpl("TimeoutWheelSize", "count",
+            "Provides the number of local transaction timeouts waiting in the timing wheel.");
+
+    private CountStatisticImpl timeoutWheelLag = new CountStatisticImpl("TimeoutWheelLag", "millisecond",
+            "Provides the delay of the last tick of the local transaction timing wheel.");
+
     private boolean isFrozen = false;
 
     private JavaEETransactionManager txMgr;
@@ -98,6 +105,20 @@ public class TransactionServiceStatsProvider {
         return state;
     }
 
+    @ManagedAttribute(id = "timeoutwheelsize")
+    @Description("Provides the number of local transaction timeouts waiting in the timing wheel.")
+    public CountStatistic getTimeoutWheelSize() {
+        timeoutWheelSize.setCount(TransactionTimeoutWheel.getInstance().getSize());
+        return timeoutWheelSize;
+    }
+
+    @ManagedAttribute(id = "timeoutwheellag")
+    @Description("Provides the delay of the last tick of the local transaction timing wheel.")
+    public CountStatistic getTimeoutWheelLag() {
+        timeoutWheelLag.setCount(TransactionTimeoutWheel.getInstance().getLag());
+        return timeoutWheelLag;
+    }
+
     @ManagedAttribute(id = "activeids")
     @Description("List of inflight transactions.")
     public StringStatistic getActiveIds() {
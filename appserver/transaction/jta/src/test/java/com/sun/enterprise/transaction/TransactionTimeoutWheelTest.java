@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TransactionTimeoutWheelTest {
+
+    @Test
+    public void expiredAndCancelledTimeouts() throws Exception {
+        TransactionTimeoutWheel wheel = new TransactionTimeoutWheel("test-wheel", 10L, 8);
+        CountDownLatch expired = new CountDownLatch(500);
+        AtomicInteger cancelledExecutions = new AtomicInteger();
+        List<TransactionTimeoutWheel.Timeout> toCancel = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            wheel.schedule(expired::countDown, 100L + i);
+            toCancel.add(wheel.schedule(cancelledExecutions::incrementAndGet, 200L + i));
+        }
+        assertEquals(1000, wheel.getSize());
+        for (TransactionTimeoutWheel.Timeout timeout : toCancel) {
+            assertTrue(timeout.cancel());
+        }
+
+        assertTrue(expired.await(5, TimeUnit.SECONDS));
+        Thread.sleep(1000L);
+        assertAll(
+            () -> assertEquals(0, cancelledExecutions.get()),
+            () -> assertEquals(0, wheel.getSize()),
+            () -> assertFalse(toCancel.get(0).cancel())
+        );
+    }
+
+    @Test
+    public void timeoutLongerThanOneRound() throws Exception {
+        TransactionTimeoutWheel wheel = new TransactionTimeoutWheel("test-wheel", 10L, 8);
+        CountDownLatch expired = new CountDownLatch(1);
+        long start = System.nanoTime();
+        // 8 buckets of 10 ms, the timeout needs several rounds of the wheel.
+        wheel.schedule(expired::countDown, 500L);
+        assertFalse(expired.await(400, TimeUnit.MILLISECONDS));
+        assertTrue(expired.await(5, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 500L);
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -443,6 +444,66 @@ public class AdminUtil
     }
 
 
+    /**
+     * Returns the time in nanoseconds spent by the timeout thread collecting
+     * expired transactions in its last tick.
+     */
+    public static long getTimeoutScanDuration()
+    {
+        return TimeoutManager.getLastScanDuration();
+    }
+
+    /**
+     * Returns the longest time in nanoseconds spent by the timeout thread
+     * collecting expired transactions in one tick.
+     */
+    public static long getMaxTimeoutScanDuration()
+    {
+        return TimeoutManager.getMaxScanDuration();
+    }
+
+    /**
+     * Returns the count of transactions timed out in the last tick.
+     */
+    public static int getTimedOutTransactionCountPerTick()
+    {
+        return TimeoutManager.getLastExpiredCount();
+    }
+
+    /**
+     * Returns the highest count of transactions timed out in one tick.
+     */
+    public static int getMaxTimedOutTransactionCountPerTick()
+    {
+        return TimeoutManager.getMaxExpiredCount();
+    }
+
+    /**
+     * Returns the count of all transactions timed out.
+     */
+    public static long getTimedOutTransactionCount()
+    {
+        return TimeoutManager.getExpiredCount();
+    }
+
+    /**
+     * Returns the count of in-doubt transactions whose timeout expired in the
+     * last tick of the in-doubt timeout thread.
+     */
+    public static int getInDoubtTimeoutCountPerTick()
+    {
+        return TimeoutManager.getLastInDoubtExpiredCount();
+    }
+
+    /**
+     * Returns the count of all in-doubt transactions whose timeout expired.
+     */
+    public static long getInDoubtTimeoutCount()
+    {
+        return TimeoutManager.getInDoubtExpiredCount();
+    }
+
+
     // Enumerating...
 
     /**
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 1995-1997 IBM Corp. All rights reserved.
  *
@@ -177,8 +178,9 @@ public class Configuration extends Object {
     public final static String INSTANCE_NAME = "com.sun.jts.instancename"/*#Frozen*/;
 
     /**The property is used to specify the time interval in seconds for which the timeout
-     * manager would scan for timedout transactions. A higher value would mean better
-     * performance, but at the cost of closeness to which coordinator timeout is effected.
+     * manager would scan for timedout in-doubt transactions and after which it checks again
+     * the transactions which did not complete after their timeout. Active transactions
+     * are timed out with the precision of one second regardless of this value.
      * <p>
      * The value is <em><b>com.sun.jts.timeoutInterval"</b></em>
      * <p>
@@ -187,6 +189,18 @@ public class Configuration extends Object {
      */
     public final static String TIMEOUT_INTERVAL = "com.sun.jts.timeoutInterval" ;
 
+    /**The property is used to enable the group commit of the transaction log and to specify
+     * the flush window in milliseconds. Concurrent forced log writes are then batched into
+     * a single force of the log file and the leader of the batch may wait up to the flush
+     * window for other writes when the previous batch contained more writes.
+     * <p>
+     * The value is <em><b>log-group-commit-window</b></em>
+     * <p>
+     * If the value is not specified, every forced write forces the log file separately.
+     * Zero enables the group commit without waiting for other writes.
+     */
+    public final static String LOG_GROUP_COMMIT_WINDOW = "log-group-commit-window";
+
     /**The default subdirectory in which log and repository files are stored.
      */
     public final static String JTS_SUBDIRECTORY = "jts"/*#Frozen*/;
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -22,9 +23,17 @@ import java.lang.reflect.Method;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -33,6 +42,12 @@ import javax.sql.DataSource;
 
 /** The LogDBHelper class takes care of writing the transaction logs
   *  into database.
+  * <p>
+  * If the <code>com.sun.jts.dblogging.batch.interval</code> system property is set
+  * to zero or more milliseconds, records of completed transactions are deleted in bulk
+  * by a background thread every <code>com.sun.jts.dblogging.prune.interval</code>
+  * milliseconds. If also <code>com.sun.jts.dblogging.use.nontx.connection.for.add</code>
+  * is set, records added concurrently are inserted by a single JDBC batch.
   * @author Sun Micro Systems, Inc
 */
 
@@ -63,15 +78,29 @@ class LogDBHelper {
     private static final String createTableStatement =
                  "create table txn_log_table (localtid varchar(20), servername varchar(150), instancename varchar(150), gtrid blob)";
     private static final boolean useNonTxConnectionForAddRecord = Boolean.getBoolean("com.sun.jts.dblogging.use.nontx.connection.for.add");
+    /** Negative value disables batching, zero batches just records which arrived during the previous insert. */
+    private static final long BATCH_INTERVAL = Long.getLong("com.sun.jts.dblogging.batch.interval", -1L);
+    private static final long PRUNE_INTERVAL = Long.getLong("com.sun.jts.dblogging.prune.interval", 1000L);
+    private static final int MAX_BATCH_SIZE = Integer.getInteger("com.sun.jts.dblogging.batch.maxsize", 1000);
     private static Logger _logger = LogDomains.getLogger(LogDBHelper.class, LogDomains.TRANSACTION_LOGGER);
     private static LogDBHelper _instance = new LogDBHelper();
 
+    private final long batchInterval;
+    private final boolean nonTxConnectionForAddRecord;
+    private final ScheduledExecutorService pruner;
+    private final Queue<Long> completedTIDs = new ConcurrentLinkedQueue<>();
+    private final List<PendingRecord> pendingRecords = new ArrayList<>();
+
+    // Following fields are guarded by pendingRecords.
+    private boolean inserting;
+    private int lastBatchSize;
+
     static LogDBHelper getInstance() {
         return _instance;
     }
 
     LogDBHelper() {
-        instanceName = Configuration.getPropertyValue(Configuration.INSTANCE_NAME);
+        this(BATCH_INTERVAL, PRUNE_INTERVAL, useNonTxConnectionForAddRecord);
         if (Configuration.getPropertyValue(Configuration.DB_LOG_RESOURCE) != null) {
             resName = Configuration.getPropertyValue(Configuration.DB_LOG_RESOURCE);
         }
@@ -91,6 +120,42 @@ class LogDBHelper {
             _logger.fine("LogDBHelper.resName: " + resName);
             _logger.fine("LogDBHelper.ds: " + ds);
             _logger.fine("LogDBHelper.getNonTxConnectionMethod: " + getNonTxConnectionMethod);
+            _logger.fine("LogDBHelper.batchInterval: " + batchInterval);
+            _logger.fine("LogDBHelper.nonTxConnectionForAddRecord: " + nonTxConnectionForAddRecord);
+        }
+    }
+
+    /**
+     * Creates the helper for the given data source.
+     *
+     * @param ds the data source, must provide the <code>getNonTxConnection</code> method.
+     * @param batchInterval see the <code>com.sun.jts.dblogging.batch.interval</code> property
+     * @param pruneInterval see the <code>com.sun.jts.dblogging.prune.interval</code> property
+     * @param nonTxConnectionForAddRecord see the <code>com.sun.jts.dblogging.use.nontx.connection.for.add</code>
+     *            property
+     */
+    LogDBHelper(DataSource ds, long batchInterval, long pruneInterval, boolean nonTxConnectionForAddRecord)
+        throws NoSuchMethodException {
+        this(batchInterval, pruneInterval, nonTxConnectionForAddRecord);
+        this.ds = ds;
+        getNonTxConnectionMethod = ds.getClass().getMethod("getNonTxConnection");
+        createTable();
+    }
+
+    private LogDBHelper(long batchInterval, long pruneInterval, boolean nonTxConnectionForAddRecord) {
+        instanceName = Configuration.getPropertyValue(Configuration.INSTANCE_NAME);
+        this.batchInterval = batchInterval;
+        this.nonTxConnectionForAddRecord = nonTxConnectionForAddRecord;
+        if (batchInterval < 0) {
+            pruner = null;
+        } else {
+            pruner = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "jts-db-log-pruner");
+                thread.setDaemon(true);
+                return thread;
+            });
+            pruner.scheduleWithFixedDelay(this::pruneCompletedRecords, pruneInterval, pruneInterval,
+                TimeUnit.MILLISECONDS);
         }
     }
 
@@ -124,7 +189,149 @@ class LogDBHelper {
         }
     }
 
+    /**
+     * Inserts the record. When batching is enabled, the call is blocked until the batch
+     * containing the record is executed, so the record is stored before the method returns.
+     * <p>
+     * Records are batched only when they are inserted by non-transactional connections.
+     * Otherwise the connection may be enlisted in the transaction of the caller and
+     * each record must be inserted by its own caller.
+     *
+     * @return false if the record could not be stored.
+     */
     boolean addRecord(long localTID, byte[] data) {
+        if (ds == null) {
+            return false;
+        }
+        if (batchInterval < 0 || localTID == 0 || !nonTxConnectionForAddRecord) {
+            return insertRecord(localTID, data);
+        }
+        return addRecordToBatch(new PendingRecord(localTID, data));
+    }
+
+    private boolean addRecordToBatch(PendingRecord record) {
+        // The commit must not continue before the record is stored, interruption is postponed.
+        boolean interrupted = false;
+        try {
+            List<PendingRecord> batch;
+            synchronized (pendingRecords) {
+                pendingRecords.add(record);
+                while (inserting && !record.done) {
+                    try {
+                        pendingRecords.wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                if (record.done) {
+                    return record.stored;
+                }
+                inserting = true;
+                if (lastBatchSize > 1 && batchInterval > 0) {
+                    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchInterval);
+                    long remaining;
+                    while ((remaining = deadline - System.nanoTime()) > 0 && pendingRecords.size() < MAX_BATCH_SIZE) {
+                        try {
+                            pendingRecords.wait(Math.max(1L, TimeUnit.NANOSECONDS.toMillis(remaining)));
+                        } catch (InterruptedException e) {
+                            interrupted = true;
+                        }
+                    }
+                }
+                batch = takeBatch();
+            }
+
+            // The leader inserts batches until its own record is stored.
+            while (batch != null) {
+                insertRecords(batch);
+                synchronized (pendingRecords) {
+                    for (PendingRecord pending : batch) {
+                        pending.done = true;
+                    }
+                    lastBatchSize = batch.size();
+                    if (record.done) {
+                        batch = null;
+                        inserting = false;
+                        pendingRecords.notifyAll();
+                    } else {
+                        batch = takeBatch();
+                    }
+                }
+            }
+            return record.stored;
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private List<PendingRecord> takeBatch() {
+        List<PendingRecord> head = pendingRecords.subList(0, Math.min(pendingRecords.size(), MAX_BATCH_SIZE));
+        List<PendingRecord> batch = new ArrayList<>(head);
+        head.clear();
+        return batch;
+    }
+
+    /**
+     * Inserts all records by a single JDBC batch and sets their stored flag.
+     * If the batch fails, records are inserted one by one as without batching.
+     */
+    private void insertRecords(List<PendingRecord> batch) {
+        if (batch.size() > 1 && insertBatch(batch)) {
+            for (PendingRecord record : batch) {
+                record.stored = true;
+            }
+            return;
+        }
+        for (PendingRecord record : batch) {
+            record.stored = insertRecord(record.localTID, record.data);
+        }
+    }
+
+    private boolean insertBatch(List<PendingRecord> batch) {
+        if (_logger.isLoggable(Level.FINE)) {
+            _logger.fine("LogDBHelper.insertRecords batch size: " + batch.size());
+        }
+        try (Connection conn = (Connection) getNonTxConnectionMethod.invoke(ds);
+            PreparedStatement prepStmt1 = conn.prepareStatement(insertStatement)) {
+            for (PendingRecord record : batch) {
+                prepStmt1.setString(1, Long.toString(record.localTID));
+                prepStmt1.setString(2, serverName);
+                prepStmt1.setString(3, instanceName);
+                prepStmt1.setBytes(4, record.data);
+                prepStmt1.addBatch();
+            }
+            executeBatch(conn, prepStmt1);
+            return true;
+        } catch (Throwable ex) {
+            _logger.log(Level.WARNING, "jts.exception_in_db_log_resource", ex);
+            return false;
+        }
+    }
+
+    /**
+     * Executes the batch as a single local transaction, unless the connection already
+     * has auto-commit disabled and so the caller controls the transaction.
+     */
+    private static void executeBatch(Connection conn, PreparedStatement statement) throws SQLException {
+        if (!conn.getAutoCommit()) {
+            statement.executeBatch();
+            return;
+        }
+        conn.setAutoCommit(false);
+        try {
+            statement.executeBatch();
+            conn.commit();
+        } catch (SQLException | RuntimeException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    private boolean insertRecord(long localTID, byte[] data) {
         if (ds != null) {
             if (_logger.isLoggable(Level.FINE)) {
                 _logger.fine("LogDBHelper.addRecord for localTID: " + localTID);
@@ -134,7 +341,7 @@ class LogDBHelper {
             Connection conn = null;
             PreparedStatement prepStmt1 = null;
             try {
-                if (useNonTxConnectionForAddRecord)
+                if (nonTxConnectionForAddRecord)
             conn = (Connection)(getNonTxConnectionMethod.invoke(ds, null));
                 else
                     conn = ds.getConnection();
@@ -166,8 +373,69 @@ class LogDBHelper {
         return false;
     }
 
+    /**
+     * Deletes the record of the completed transaction. When batching is enabled,
+     * the record is just queued and deleted later by the background thread,
+     * a record left in the table after a crash is harmless, the recovery
+     * uses only records of in-doubt transactions.
+     */
     boolean deleteRecord(long localTID) {
-        return deleteRecord(localTID, serverName);
+        if (pruner == null || pruner.isShutdown()) {
+            return deleteRecord(localTID, serverName);
+        }
+        if (ds == null) {
+            return false;
+        }
+        completedTIDs.add(localTID);
+        return true;
+    }
+
+    /**
+     * Stops the background thread and deletes records queued so far.
+     * Records of transactions completed later are deleted immediately.
+     */
+    void shutdown() {
+        if (pruner == null) {
+            return;
+        }
+        pruner.shutdown();
+        try {
+            if (!pruner.awaitTermination(10, TimeUnit.SECONDS)) {
+                _logger.log(Level.WARNING, "jts.db_log_pruner_timeout");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        pruneCompletedRecords();
+    }
+
+    /**
+     * Deletes records queued by {@link #deleteRecord(long)} by JDBC batches.
+     */
+    void pruneCompletedRecords() {
+        while (!completedTIDs.isEmpty()) {
+            List<Long> batch = new ArrayList<>();
+            Long localTID;
+            while (batch.size() < MAX_BATCH_SIZE && (localTID = completedTIDs.poll()) != null) {
+                batch.add(localTID);
+            }
+            if (_logger.isLoggable(Level.FINE)) {
+                _logger.fine("LogDBHelper.pruneCompletedRecords batch size: " + batch.size());
+            }
+            try (Connection conn = (Connection) getNonTxConnectionMethod.invoke(ds);
+                PreparedStatement prepStmt1 = conn.prepareStatement(deleteStatement)) {
+                for (Long completedTID : batch) {
+                    prepStmt1.setString(1, completedTID.toString());
+                    prepStmt1.setString(2, serverName);
+                    prepStmt1.addBatch();
+                }
+                executeBatch(conn, prepStmt1);
+            } catch (Exception ex) {
+                // Records stay in the table, as if the server crashed before the deletion.
+                _logger.log(Level.SEVERE, "jts.exception_in_db_log_resource", ex);
+                return;
+            }
+        }
     }
 
     boolean deleteRecord(long localTID, String serverName0) {
@@ -336,4 +604,23 @@ class LogDBHelper {
             }
         }
     }
+
+    /**
+     * Record waiting for the batch insert.
+     */
+    private static final class PendingRecord {
+
+        final long localTID;
+        final byte[] data;
+
+        // Following fields are guarded by pendingRecords.
+        boolean done;
+        // Written by the leader before done is set.
+        boolean stored;
+
+        PendingRecord(long localTID, byte[] data) {
+            this.localTID = localTID;
+            this.data = data;
+        }
+    }
 }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 1995-1997 IBM Corp. All rights reserved.
  *
@@ -80,6 +81,10 @@ class LogFile {
      */
     LogHandle handle = null;
 
+    /**Batches forced writes, null if the group commit is disabled.
+     */
+    private final LogGroupCommit groupCommit;
+
     /**LogFile constructor.
      *
      * @param LogHandle
@@ -89,13 +94,38 @@ class LogFile {
      * @see
      */
     LogFile( LogHandle handle ) {
+        this(handle, getGroupCommitWindow());
+    }
+
+    /**LogFile constructor.
+     *
+     * @param handle            The handle of the log file.
+     * @param groupCommitWindow Flush window of the group commit in milliseconds,
+     *                          negative value disables the group commit.
+     *
+     * @see
+     */
+    LogFile( LogHandle handle, long groupCommitWindow ) {
 
         // Set up the instance variables to those values passed in.
 
         this.handle = handle;
+        this.groupCommit = groupCommitWindow < 0 ? null : new LogGroupCommit(this, groupCommitWindow);
 
     }
 
+    private static long getGroupCommitWindow() {
+        String window = Configuration.getPropertyValue(Configuration.LOG_GROUP_COMMIT_WINDOW);
+        if( window == null )
+            return -1L;
+        try {
+            return Long.parseLong(window.trim());
+        } catch( NumberFormatException e ) {
+            _logger.log(Level.WARNING, "jts.invalid_group_commit_window", window);
+            return -1L;
+        }
+    }
+
     /**Writes a log record to the physical log.
      * <p>
      * Supports either a force or unforced option with force requiring an immediate
@@ -106,6 +136,9 @@ class LogFile {
      * <p>
      * Returns true if the write completed successfully and false if the write
      * did not complete.
+     * <p>
+     * If the group commit is enabled, forced records are written to the buffer
+     * and concurrent forces are batched by the {@link LogGroupCommit}.
      *
      * @param writeType   Forced/non-forced write indicator.
      * @param record      Log record data.
@@ -116,10 +149,42 @@ class LogFile {
      *
      * @see
      */
-    synchronized boolean write( int    writeType,
-                                byte[] record,
-                                int    recordType,
-                                LogLSN recordLSN ) {
+    boolean write( int    writeType,
+                   byte[] record,
+                   int    recordType,
+                   LogLSN recordLSN ) {
+
+        if( writeType != LogFile.FORCED || groupCommit == null )
+            return writeRecord(writeType,record,recordType,recordLSN);
+
+        LogGroupCommit.Batch batch;
+        synchronized( this ) {
+            writeRecord(LogFile.UNFORCED,record,recordType,recordLSN);
+            batch = groupCommit.register();
+        }
+
+        try {
+            groupCommit.awaitForce(batch);
+        } catch( LogException le ) {
+            _logger.log(Level.SEVERE,"jts.log_error",le.toString());
+            throw toInternal(le);
+        }
+
+        return true;
+    }
+
+    /**Forces all buffered records of the log to the disk.
+     *
+     * @exception LogException  The force failed.
+     */
+    synchronized void force() throws LogException {
+        handle.force();
+    }
+
+    private synchronized boolean writeRecord( int    writeType,
+                                              byte[] record,
+                                              int    recordType,
+                                              LogLSN recordLSN ) {
 
         boolean result = true;
 
@@ -133,9 +198,7 @@ class LogFile {
                 recordLSN.copy(resultLSN);
         } catch( LogException le ) {
             _logger.log(Level.SEVERE,"jts.log_error",le.toString());
-             String msg = LogFormatter.getLocalizedMessage(_logger,"jts.log_error",
-                                        new java.lang.Object[] {le.toString()});
-             throw (org.omg.CORBA.INTERNAL) (new org.omg.CORBA.INTERNAL(msg)).initCause(le);
+             throw toInternal(le);
             //if( recordLSN != null )
             //recordLSN.copy(LogLSN.NULL_LSN);
             //result = false;
@@ -144,6 +207,12 @@ class LogFile {
         return result;
     }
 
+    private static org.omg.CORBA.INTERNAL toInternal( LogException le ) {
+        String msg = LogFormatter.getLocalizedMessage(_logger,"jts.log_error",
+                                   new java.lang.Object[] {le.toString()});
+        return (org.omg.CORBA.INTERNAL) (new org.omg.CORBA.INTERNAL(msg)).initCause(le);
+    }
+
     /**Informs the log that all log records older than the one with the given LSN
      * are no longer required.
      * <p>
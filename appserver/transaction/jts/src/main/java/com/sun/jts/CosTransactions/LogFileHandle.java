@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 1995-1997 IBM Corp. All rights reserved.
  *
@@ -35,6 +36,7 @@ import com.sun.enterprise.util.i18n.StringManager;
 
 import java.io.File;
 import java.io.FileDescriptor;
+import java.io.IOException;
 import java.io.RandomAccessFile;
 
 /**This class encapsulates file I/O operations and the file handle.
@@ -114,6 +116,10 @@ class LogFileHandle {
     int bufferUpdateEnd   = -1;
     int buffPos = 0;
 
+    /**The file length at the last sync.
+     */
+    private long syncedLength = -1;
+
     static {
         dsyncProp = System.getProperty(DSYNC_PROPERTY);
         if (dsyncProp != null) {
@@ -306,7 +312,7 @@ class LogFileHandle {
                 else {
                     fhandle.write(buffer);
                     if (dsyncProp == null)
-                        fd.sync();
+                        syncFile();
                 }
             } catch( Throwable e ) {
                 int errCode = LogException.LOG_WRITE_FAILURE;
@@ -454,7 +460,7 @@ class LogFileHandle {
                 fhandle.seek(bufferUpdateStart);
                 fhandle.write(bufferData,bufferUpdateStart,bufferUpdateEnd-bufferUpdateStart);
                 if (dsyncProp == null)
-                    fd.sync();
+                    syncFile();
 
                 bufferUpdateStart = -1;
                 bufferUpdateEnd   = -1;
@@ -465,6 +471,19 @@ class LogFileHandle {
 
     }
 
+    /**Forces the file content to the storage device.
+     * <p>
+     * Extents are preallocated, so most of writes don't change the file length.
+     * Then it is enough to force just the content, without the file metadata.
+     *
+     * @exception IOException The force failed.
+     */
+    private void syncFile() throws IOException {
+        long length = fhandle.length();
+        fhandle.getChannel().force(length != syncedLength);
+        syncedLength = length;
+    }
+
     /**Reads a vector of records from the file.
      *
      * @param vector  The vector to contain the records to be read.
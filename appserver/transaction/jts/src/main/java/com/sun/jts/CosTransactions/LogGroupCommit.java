@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.jts.CosTransactions;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batches concurrent forced writes of the {@link LogFile} into a single file force.
+ * <p>
+ * Every forced record is first written to the buffer of the log and registered here.
+ * The first thread which needs its record forced becomes a leader; it forces everything
+ * registered so far, while other threads just wait until their record is covered
+ * by some force. Threads arriving during the force naturally form the next batch.
+ * <p>
+ * If the previous batch contained more records, the leader also waits up to the flush
+ * window before the force, so more concurrent commits can join the batch.
+ * A single committing thread is never delayed by the window.
+ */
+class LogGroupCommit {
+
+    private final LogFile logFile;
+    private final long flushWindowNanos;
+
+    // All following fields are guarded by this.
+    private Batch openBatch = new Batch();
+    private boolean forcing;
+    private long lastBatchSize;
+
+    /**
+     * @param logFile the log file to be forced.
+     * @param flushWindow maximal time in milliseconds the leader waits for other records.
+     */
+    LogGroupCommit(LogFile logFile, long flushWindow) {
+        this.logFile = logFile;
+        this.flushWindowNanos = TimeUnit.MILLISECONDS.toNanos(flushWindow);
+    }
+
+    /**
+     * Registers a record written to the buffer of the log.
+     * Must be called under the same lock as the write, so the record is covered
+     * by the force of the returned batch.
+     *
+     * @return the batch to be passed to {@link #awaitForce(Batch)}
+     */
+    synchronized Batch register() {
+        openBatch.size++;
+        return openBatch;
+    }
+
+    /**
+     * Blocks until the batch with the record is forced to the disk.
+     *
+     * @param batch the batch returned by {@link #register()}
+     * @exception LogException the force of the batch failed.
+     */
+    void awaitForce(Batch batch) throws LogException {
+        // The commit must not return before the record is forced, interruption is postponed.
+        boolean interrupted = false;
+        try {
+            synchronized (this) {
+                while (true) {
+                    if (batch.done) {
+                        if (batch.failure != null) {
+                            throw batch.failure;
+                        }
+                        return;
+                    }
+                    // Only the open batch can be unfinished when nobody forces.
+                    if (!forcing) {
+                        break;
+                    }
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                forcing = true;
+                if (lastBatchSize > 1 && flushWindowNanos > 0) {
+                    long deadline = System.nanoTime() + flushWindowNanos;
+                    long remaining;
+                    while ((remaining = deadline - System.nanoTime()) > 0) {
+                        try {
+                            wait(Math.max(1L, TimeUnit.NANOSECONDS.toMillis(remaining)));
+                        } catch (InterruptedException e) {
+                            interrupted = true;
+                        }
+                    }
+                }
+                openBatch = new Batch();
+            }
+
+            LogException forceFailure = null;
+            try {
+                logFile.force();
+            } catch (LogException e) {
+                forceFailure = e;
+            } catch (RuntimeException e) {
+                forceFailure = new LogException(LogException.LOG_ERROR_FORCING_LOG, 1, e.getMessage(), e);
+            }
+
+            synchronized (this) {
+                forcing = false;
+                lastBatchSize = batch.size;
+                batch.failure = forceFailure;
+                batch.done = true;
+                notifyAll();
+            }
+            if (forceFailure != null) {
+                throw forceFailure;
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Records forced together by one force of the log file.
+     * All fields are guarded by the {@link LogGroupCommit}.
+     */
+    static final class Batch {
+
+        private long size;
+        private boolean done;
+        private LogException failure;
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 1995-1997 IBM Corp. All rights reserved.
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -34,18 +34,24 @@ package com.sun.jts.CosTransactions;
 import com.sun.jts.jtsxa.XID;
 import com.sun.logging.LogDomains;
 
+import java.util.ArrayList;
 import java.util.Date;
-import java.util.Enumeration;
-import java.util.Hashtable;
-import java.util.Vector;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.omg.CosTransactions.Status;
 
 /**
- * This class records state for timing out transactions, and runs a thread
- * which performs occasional checks to time out transactions.
+ * This class records state for timing out transactions, and schedules them
+ * on timing wheels to time out transactions.
+ * <p>
+ * Active transactions are timed out by a wheel with one second ticks.
+ * In-doubt transactions use a separate wheel with a low priority thread and ticks
+ * of the {@link Configuration#TIMEOUT_INTERVAL}, so slow replay of the completion
+ * never delays rollback of timed out active transactions.
  *
  * @version 0.01
  *
@@ -75,12 +81,20 @@ class TimeoutManager {
      */
     private static boolean initialised = false;
 
-    private static Hashtable     pendingTimeouts = new Hashtable();
-    private static Hashtable     indoubtTimeouts = new Hashtable();
-    private static TimeoutThread timeoutThread = null;
-    private static boolean       timeoutActive = false;
-    private static boolean       quiescing = false;
-    private static boolean       isSetTimeout = false;
+    private static final long ACTIVE_TICK_MILLIS = 1000L;
+    private static final int ACTIVE_WHEEL_SIZE = 512;
+    private static final int IN_DOUBT_WHEEL_SIZE = 64;
+    private static final int DEFAULT_TIMEOUT_INTERVAL = 10000;
+
+    private static final Map<Long, TimeoutInfo> pendingTimeouts = new ConcurrentHashMap<>();
+    private static final Map<Long, TimeoutInfo> indoubtTimeouts = new ConcurrentHashMap<>();
+    private static volatile TimeoutWheel activeWheel;
+    private static volatile TimeoutWheel indoubtWheel;
+    /** Interval in milliseconds after which a still existing timed out transaction is checked again. */
+    private static volatile int timeoutInterval = DEFAULT_TIMEOUT_INTERVAL;
+    private static volatile boolean timeoutActive = false;
+    private static volatile boolean quiescing = false;
+    private static volatile boolean isSetTimeout = false;
 
     /*
         Logger to log transaction messages
@@ -105,11 +119,9 @@ class TimeoutManager {
 
         initialised = true;
 
-        // Start the timeout thread.
+        // Timeout threads are started with the first timeout.
 
-        if (!timeoutActive && timeoutThread == null) {
-            //  timeoutThread = new TimeoutThread();
-            //  timeoutThread.start();
+        if (!timeoutActive && activeWheel == null) {
             timeoutActive = true;
         }
     }
@@ -119,9 +131,24 @@ class TimeoutManager {
         if (isSetTimeout) {
             return;
         }
+        timeoutInterval = getTimeoutInterval();
+        activeWheel = new TimeoutWheel("JTS Timeout Thread"/* #Frozen */, Thread.NORM_PRIORITY, ACTIVE_TICK_MILLIS,
+            ACTIVE_WHEEL_SIZE, TimeoutManager::processTimeout);
+        indoubtWheel = new TimeoutWheel("JTS In-Doubt Timeout Thread", Thread.MIN_PRIORITY, timeoutInterval,
+            IN_DOUBT_WHEEL_SIZE, TimeoutManager::processTimeout);
         isSetTimeout = true;
-        timeoutThread = new TimeoutThread();
-        timeoutThread.start();
+    }
+
+    private static int getTimeoutInterval() {
+        try {
+            String interval = Configuration.getPropertyValue(Configuration.TIMEOUT_INTERVAL);
+            if (interval == null) {
+                return DEFAULT_TIMEOUT_INTERVAL;
+            }
+            return Math.max(DEFAULT_TIMEOUT_INTERVAL, Integer.parseInt(interval) * 1000);
+        } catch (Exception e) {
+            return DEFAULT_TIMEOUT_INTERVAL;
+        }
     }
 
     /**
@@ -162,7 +189,7 @@ class TimeoutManager {
                     timeoutInfo.expireTime = new Date().getTime() + seconds * 1000L;
                     timeoutInfo.localTID = localTID;
                     timeoutInfo.timeoutType = timeoutType;
-                    pendingTimeouts.put(localTID, timeoutInfo);
+                    schedule(pendingTimeouts, activeWheel, timeoutInfo, seconds * 1000L);
                     break;
                 case TimeoutManager.IN_DOUBT_TIMEOUT:
                     if (!isSetTimeout) {
@@ -173,7 +200,7 @@ class TimeoutManager {
                     timeoutInfo.expireTime = new Date().getTime() + seconds * 1000L;
                     timeoutInfo.localTID = localTID;
                     timeoutInfo.timeoutType = timeoutType;
-                    indoubtTimeouts.put(localTID, timeoutInfo);
+                    schedule(indoubtTimeouts, indoubtWheel, timeoutInfo, seconds * 1000L);
                     break;
 
                 // For any other type, remove the timeout if there is one.
@@ -182,19 +209,18 @@ class TimeoutManager {
                     if (!isSetTimeout) {
                         break;
                     }
-                    result = (pendingTimeouts.remove(localTID) != null);
+                    result = cancel(pendingTimeouts, activeWheel, localTID);
                     if (!result) {
-                        result = (indoubtTimeouts.remove(localTID) != null);
+                        result = cancel(indoubtTimeouts, indoubtWheel, localTID);
                     }
 
                     // If the transaction service is quiescing and
                     // there are no more pending timeouts,
-                    // deactivate timeout and stop the timeout thread.
+                    // deactivate timeout and stop the timeout threads.
 
                     if (quiescing && pendingTimeouts.isEmpty() && indoubtTimeouts.isEmpty()) {
-                        timeoutThread.stop();
                         timeoutActive = false;
-                        // pendingTimeouts = null;
+                        stopWheels();
                     }
                     break;
             }
@@ -206,6 +232,50 @@ class TimeoutManager {
         return result;
     }
 
+    private static void schedule(Map<Long, TimeoutInfo> timeouts, TimeoutWheel wheel, TimeoutInfo timeoutInfo,
+        long delayMillis) {
+        TimeoutInfo previous = timeouts.put(timeoutInfo.localTID, timeoutInfo);
+        // The wheel is null if it was stopped by a concurrent shutdown.
+        if (wheel == null) {
+            return;
+        }
+        if (previous != null) {
+            wheel.remove(previous);
+        }
+        wheel.add(timeoutInfo, delayMillis);
+    }
+
+    private static boolean cancel(Map<Long, TimeoutInfo> timeouts, TimeoutWheel wheel, Long localTID) {
+        TimeoutInfo timeoutInfo = timeouts.remove(localTID);
+        if (timeoutInfo == null) {
+            return false;
+        }
+        if (wheel != null) {
+            wheel.remove(timeoutInfo);
+        }
+        return true;
+    }
+
+    /**
+     * Called by the wheel's thread for an expired timeout.
+     * <p>
+     * The Coordinator is expected to call removeCoordinator when it has finished,
+     * which cancels the timeout. Until then the transaction is checked again
+     * after the timeout interval.
+     */
+    private static void processTimeout(TimeoutInfo timeoutInfo) {
+        try {
+            timeoutCoordinator(timeoutInfo.localTID, timeoutInfo.timeoutType);
+        } finally {
+            boolean inDoubt = timeoutInfo.timeoutType == IN_DOUBT_TIMEOUT;
+            Map<Long, TimeoutInfo> timeouts = inDoubt ? indoubtTimeouts : pendingTimeouts;
+            TimeoutWheel wheel = inDoubt ? indoubtWheel : activeWheel;
+            if (wheel != null && timeouts.get(timeoutInfo.localTID) == timeoutInfo) {
+                wheel.add(timeoutInfo, timeoutInterval);
+            }
+        }
+    }
+
     /**
      * Takes appropriate action for a timeout.
      * <p>
@@ -323,133 +393,83 @@ class TimeoutManager {
     }
 
     /**
-     * Periodically checks the existing timeouts.
-     * <p>
-     * This is done to discover if any transactions have overrun their allotted
-     * time.  Those which have are returned as an Enumeration.
-     * <p>
-     * Note that this method should not do anything that will cause a
-     * synchronized method in the RecoveryManager to be called, as this could
-     * cause a deadlock when RecoveryManager methods on other threads call
-     * setTimeout.
-     *
-     * @param
-     *
-     * @return  The information for transactions which have timed out.
-     *
-     * @see
+     * @return a set of in-doubt transaction ids.
      */
-     static Enumeration checkTimeouts() {
-        if (!isSetTimeout) {
-            return null;
-        }
-
-        Enumeration result = null;
-
-        // When woken up, go through all current timeouts and identify those
-        // which have expired.
-
-        if (timeoutActive && (pendingTimeouts.size() != 0 || indoubtTimeouts.size() != 0)) {
-            Vector timedOut = null;
-
-            Enumeration timeouts = null;
-
-            synchronized (pendingTimeouts) {
-                timeouts = pendingTimeouts.elements();
-
-                while (timeouts.hasMoreElements()) {
-
-                    TimeoutInfo timeoutInfo = (TimeoutInfo)timeouts.nextElement();
-
-                    // For each timeout in the list, check whether it has expired.
-                    // If so, look up the Coordinator and roll it back.
-
-                    if (new Date().getTime() > timeoutInfo.expireTime) {
-
-                       // Add the TimeoutInfo to the queue of
-                       //those that have timed out.
-
-                       if (timedOut == null) {
-                           timedOut = new Vector();
-                       }
-
-                       timedOut.addElement(timeoutInfo);
-                    }
-               }
-            }
-
-            synchronized (indoubtTimeouts) {
-
-                timeouts = indoubtTimeouts.elements();
-
-                while (timeouts.hasMoreElements()) {
-
-                    TimeoutInfo timeoutInfo = (TimeoutInfo)timeouts.nextElement();
-
-                    // For each timeout in the list, check whether it has expired.
-                    // If so, look up the Coordinator and roll it back.
-
-                    if (new Date().getTime() > timeoutInfo.expireTime) {
-
-                        // Add the TimeoutInfo to the queue of
-                        //those that have timed out.
+     static XID[] getInDoubtXids() {
+         List<XID> inDoubtList = new ArrayList<>();
+         for (Long localTID : indoubtTimeouts.keySet()) {
 
-                        if (timedOut == null) {
-                            timedOut = new Vector();
-                        }
+             // Look up the Coordinator for the transaction.
+             // If there is none, then the transaction has already gone.
+             // Otherwise do something with the transaction.
 
-                        timedOut.addElement(timeoutInfo);
-                    }
-                }
+             CoordinatorImpl coord = RecoveryManager.getLocalCoordinator(localTID);
 
-            }
-            // Enumerate the transactions which have timed out.
-
-            if (timedOut != null) {
-                result = timedOut.elements();
-            }
-        }
+             if (coord != null) {
+                 XID xid = new XID();
+                 xid.copy(coord.getGlobalTID());
+                 inDoubtList.add(xid);
+             }
+         }
 
-        // The remainder of the timeout processing is not carried out here
-        // because we would get deadlocked with addCoordinator or
-        // removeCoordinator that also update the timeout list.  Hence the
-        // returned enumeration, which may be processed with
-        // no concurrency control.
+         return inDoubtList.toArray(new XID[inDoubtList.size()]);
+     }
 
-        return result;
+    /**
+     * @return nanoseconds spent by collecting expired active timeouts in the last tick.
+     */
+    static long getLastScanDuration() {
+        TimeoutWheel wheel = activeWheel;
+        return wheel == null ? 0 : wheel.getLastScanDuration();
     }
 
     /**
-     * @return a set of in-doubt transaction ids.
+     * @return the longest time in nanoseconds spent by collecting expired active timeouts in one tick.
      */
-     static XID[] getInDoubtXids() {
-
-         synchronized (indoubtTimeouts) {
-             Vector inDoubtList = new Vector();
-
-             Enumeration timeouts = indoubtTimeouts.elements();
-
-             while (timeouts.hasMoreElements()) {
+    static long getMaxScanDuration() {
+        TimeoutWheel wheel = activeWheel;
+        return wheel == null ? 0 : wheel.getMaxScanDuration();
+    }
 
-                 TimeoutInfo timeoutInfo = (TimeoutInfo) timeouts.nextElement();
+    /**
+     * @return count of active transactions timed out in the last tick.
+     */
+    static int getLastExpiredCount() {
+        TimeoutWheel wheel = activeWheel;
+        return wheel == null ? 0 : wheel.getLastExpiredCount();
+    }
 
-                 // Look up the Coordinator for the transaction.
-                 // If there is none, then the transaction has already gone.
-                 // Otherwise do something with the transaction.
+    /**
+     * @return the highest count of active transactions timed out in one tick.
+     */
+    static int getMaxExpiredCount() {
+        TimeoutWheel wheel = activeWheel;
+        return wheel == null ? 0 : wheel.getMaxExpiredCount();
+    }
 
-                 CoordinatorImpl coord =
-                     RecoveryManager.getLocalCoordinator(timeoutInfo.localTID);
+    /**
+     * @return count of active transactions timed out since the timeouts were initialized.
+     */
+    static long getExpiredCount() {
+        TimeoutWheel wheel = activeWheel;
+        return wheel == null ? 0 : wheel.getExpiredCount();
+    }
 
-                 if (coord != null) {
-                     XID xid = new XID();
-                     xid.copy(coord.getGlobalTID());
-                     inDoubtList.addElement(xid);
-                 }
-             }
+    /**
+     * @return count of in-doubt transactions whose timeout expired in the last tick of the in-doubt wheel.
+     */
+    static int getLastInDoubtExpiredCount() {
+        TimeoutWheel wheel = indoubtWheel;
+        return wheel == null ? 0 : wheel.getLastExpiredCount();
+    }
 
-             return (XID[]) inDoubtList.toArray(new XID[] {});
-         }
-     }
+    /**
+     * @return count of in-doubt transactions whose timeout expired since the timeouts were initialized.
+     */
+    static long getInDoubtExpiredCount() {
+        TimeoutWheel wheel = indoubtWheel;
+        return wheel == null ? 0 : wheel.getExpiredCount();
+    }
 
     /**
      * Returns the amount of time left before the given transaction times out.
@@ -464,9 +484,9 @@ class TimeoutManager {
      */
     static long timeLeft(Long localTID) {
 
-        TimeoutInfo timeoutInfo = (TimeoutInfo) pendingTimeouts.get(localTID);
+        TimeoutInfo timeoutInfo = pendingTimeouts.get(localTID);
         if (timeoutInfo == null) {
-            timeoutInfo = (TimeoutInfo) indoubtTimeouts.get(localTID);
+            timeoutInfo = indoubtTimeouts.get(localTID);
         }
         long result = -1;
         if (timeoutInfo != null) {
@@ -481,10 +501,10 @@ class TimeoutManager {
 
     /**
      * Informs the TimeoutManager that the transaction service
-     * is being shut down. For immediate shutdown, the timeout thread is
+     * is being shut down. For immediate shutdown, the timeout threads are
      * stopped and all timeout information discarded.
      *
-     * For quiesce, the timeout thread is stopped when there are no running
+     * For quiesce, the timeout threads are stopped when there are no running
      * transactions left.
      *
      * @param immediate  Indicates whether to stop immediately.
@@ -495,29 +515,31 @@ class TimeoutManager {
      */
     static void shutdown(boolean immediate) {
 
-        // For immediate, kill the timeout thread and throw
+        // For immediate, stop the timeout threads and throw
         // away all information. Also, if there are no pending
         // timeouts, there is nothing to quiesce so
         // shutdown immediately regardless.
 
-        if (immediate ||
-            pendingTimeouts == null || pendingTimeouts.isEmpty()) {
-            if (timeoutThread != null) {
-                timeoutThread.stop();
-            }
-
-            if (pendingTimeouts != null) {
-                pendingTimeouts.clear();
-            }
-
-            pendingTimeouts = null;
-            timeoutThread = null;
+        if (immediate || pendingTimeouts.isEmpty()) {
             timeoutActive = false;
+            stopWheels();
+            pendingTimeouts.clear();
         } else {
             quiescing = true;
         }
     }
 
+    private static synchronized void stopWheels() {
+        if (activeWheel != null) {
+            activeWheel.stop();
+            activeWheel = null;
+        }
+        if (indoubtWheel != null) {
+            indoubtWheel.stop();
+            indoubtWheel = null;
+        }
+    }
+
     /**
      * Reports the contents of the TimeoutManager tables.
      *$Only required for debug.
@@ -583,101 +605,11 @@ class TimeoutInfo extends Object {
     Long localTID = null;
     long expireTime = 0;
     int  timeoutType = TimeoutManager.NO_TIMEOUT;
-}
-
-/**
- * This class represents a thread on which the TimeoutManager can perform
- * timeout checking.
- *
- * @version 0.01
- *
- * @author Simon Holdsworth, IBM Corporation
- *
- * @see
- */
-
-//----------------------------------------------------------------------------
-// CHANGE HISTORY
-//
-// Version By     Change Description
-//   0.01  SAJH   Initial implementation.
-//----------------------------------------------------------------------------
 
-class TimeoutThread extends Thread {
-
-    private int TIMEOUT_INTERVAL ;
-
-    static Logger _logger = LogDomains.getLogger(TimeoutThread.class, LogDomains.TRANSACTION_LOGGER);
-
-    /**
-     * TimeoutThread constructor.
-     * <p>
-     * This sets the thread name, and sets the thread to be a daemon thread so
-     * that it does not prevent the process from terminating.
-     *
-     * @param
-     * @return
-     * @see
-     */
-    TimeoutThread() {
-        setName("JTS Timeout Thread"/* #Frozen */);
-        setDaemon(true);
-        try {
-            String timeout_interval = Configuration.getPropertyValue(Configuration.TIMEOUT_INTERVAL);
-            if (timeout_interval != null) {
-                TIMEOUT_INTERVAL = Integer.parseInt(timeout_interval);
-                TIMEOUT_INTERVAL *= 1000;
-                if (TIMEOUT_INTERVAL < 10000)
-                    TIMEOUT_INTERVAL = 10000;
-            } else {
-                TIMEOUT_INTERVAL = 10000;
-            }
-        } catch (Exception e) {
-            TIMEOUT_INTERVAL = 10000;
-        }
-    }
-
-    /**
-     * Performs timeout checking on a regular basis (every ten seconds or so).
-     *
-     * @param
-     *
-     * @return
-     *
-     * @see
-     */
-    public void run() {
-        try {
-            while (true) {
-
-                // Sleep for a while between checks.
-
-                Thread.sleep(TIMEOUT_INTERVAL);
-
-                // Perform timeout checks, getting a list of timed-out
-                // transactions.
-
-                Enumeration timedOut = TimeoutManager.checkTimeouts();
-
-                // Now we must go through the list, telling each
-                // timed-out Coordinator to do something appropriate.
-
-                if (timedOut != null) {
-                    while (timedOut.hasMoreElements()) {
-                        TimeoutInfo timeoutInfo = (TimeoutInfo) timedOut.nextElement();
-
-                        // Look up the Coordinator and tell it to roll back
-                        // if it still exists. Note that we rely on the
-                        // Coordinator calling removeCoordinator when it
-                        // has finished, which will remove the timeout from
-                        // the list, and remove other associations as well.
-
-                        TimeoutManager.timeoutCoordinator(timeoutInfo.localTID, timeoutInfo.timeoutType);
-                    }
-                }
-            }
-        } catch (InterruptedException exc) {
-            _logger.log(Level.INFO,"jts.time_out_thread_stopped");
-        }
-    }
+    // Following fields are guarded by the shard of the TimeoutWheel.
+    boolean removed;
+    int bucket = -1;
+    long remainingRounds;
+    TimeoutInfo next;
+    TimeoutInfo previous;
 }
@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.jts.CosTransactions;
+
+import com.sun.logging.LogDomains;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Sharded hashed timing wheel used by the {@link TimeoutManager}.
+ * <p>
+ * Timeouts are distributed to shards by the local transaction id, every shard has its own lock
+ * and its own wheel of doubly linked buckets, so adding and removing a timeout is O(1)
+ * and concurrent callers rarely meet on the same lock. The worker thread visits just one
+ * bucket of every shard per tick and holds the shard's lock only while it unlinks expired
+ * timeouts; the handler is called without any lock held.
+ */
+class TimeoutWheel {
+
+    private static final Logger LOG = LogDomains.getLogger(TimeoutWheel.class, LogDomains.TRANSACTION_LOGGER);
+
+    private final long tickMillis;
+    private final Shard[] shards;
+    private final int wheelSize;
+    private final Consumer<TimeoutInfo> handler;
+    private final long startTime = System.nanoTime();
+    private final Thread worker;
+    private final AtomicLong expiredCount = new AtomicLong();
+
+    private volatile boolean stopped;
+    // Per tick statistics, written only by the worker thread.
+    private volatile long lastScanDuration;
+    private volatile long maxScanDuration;
+    private volatile int lastExpiredCount;
+    private volatile int maxExpiredCount;
+
+    /**
+     * Creates the wheel and starts its daemon worker thread.
+     *
+     * @param threadName name of the worker thread
+     * @param threadPriority priority of the worker thread
+     * @param tickMillis length of the tick in milliseconds
+     * @param wheelSize count of buckets in every shard, must be a power of two.
+     * @param handler called for every expired timeout by the worker thread.
+     */
+    TimeoutWheel(String threadName, int threadPriority, long tickMillis, int wheelSize, Consumer<TimeoutInfo> handler) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.handler = handler;
+        int shardCount = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(wheelSize);
+        }
+        worker = new Thread(this::work, threadName);
+        worker.setDaemon(true);
+        worker.setPriority(threadPriority);
+        worker.start();
+    }
+
+    /**
+     * Schedules the timeout. If the timeout is already scheduled, it is moved to the new time.
+     * Nothing is done if the timeout was removed before.
+     *
+     * @param timeoutInfo the timeout
+     * @param delayMillis delay in milliseconds after which the timeout expires.
+     */
+    void add(TimeoutInfo timeoutInfo, long delayMillis) {
+        long expirationTick = (currentTime() + delayMillis + tickMillis - 1) / tickMillis;
+        getShard(timeoutInfo).add(timeoutInfo, expirationTick);
+    }
+
+    /**
+     * Removes the timeout, so it will never expire, even if it is added again.
+     *
+     * @param timeoutInfo the timeout
+     */
+    void remove(TimeoutInfo timeoutInfo) {
+        getShard(timeoutInfo).remove(timeoutInfo);
+    }
+
+    /**
+     * Stops the worker thread, remaining timeouts never expire.
+     */
+    void stop() {
+        stopped = true;
+        worker.interrupt();
+    }
+
+    /**
+     * @return count of all timeouts expired since the wheel was created.
+     */
+    long getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    /**
+     * @return nanoseconds spent by collecting the expired timeouts during the last tick.
+     */
+    long getLastScanDuration() {
+        return lastScanDuration;
+    }
+
+    /**
+     * @return the longest time in nanoseconds spent by collecting the expired timeouts during one tick.
+     */
+    long getMaxScanDuration() {
+        return maxScanDuration;
+    }
+
+    /**
+     * @return count of timeouts expired in the last tick.
+     */
+    int getLastExpiredCount() {
+        return lastExpiredCount;
+    }
+
+    /**
+     * @return the highest count of timeouts expired in one tick.
+     */
+    int getMaxExpiredCount() {
+        return maxExpiredCount;
+    }
+
+    private Shard getShard(TimeoutInfo timeoutInfo) {
+        return shards[Long.hashCode(timeoutInfo.localTID) & (shards.length - 1)];
+    }
+
+    private long currentTime() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
+
+    private void work() {
+        long tick = 0;
+        while (!stopped) {
+            long deadline = tickMillis * (tick + 1);
+            long now = currentTime();
+            if (now < deadline) {
+                try {
+                    Thread.sleep(deadline - now);
+                } catch (InterruptedException e) {
+                    LOG.log(Level.FINE, "Interrupted, checking if the wheel was stopped.", e);
+                }
+                continue;
+            }
+            tick++;
+
+            long scanStart = System.nanoTime();
+            List<TimeoutInfo> expired = new ArrayList<>();
+            for (Shard shard : shards) {
+                shard.expireTimeouts(tick, expired);
+            }
+            long scanDuration = System.nanoTime() - scanStart;
+            lastScanDuration = scanDuration;
+            if (scanDuration > maxScanDuration) {
+                maxScanDuration = scanDuration;
+            }
+            lastExpiredCount = expired.size();
+            if (expired.isEmpty()) {
+                continue;
+            }
+            if (expired.size() > maxExpiredCount) {
+                maxExpiredCount = expired.size();
+            }
+            expiredCount.addAndGet(expired.size());
+            if (LOG.isLoggable(Level.FINE)) {
+                LOG.log(Level.FINE, "{0}: {1} timeouts expired in tick {2}, scan took {3} ns.",
+                    new Object[] {worker.getName(), expired.size(), tick, scanDuration});
+            }
+            for (TimeoutInfo timeoutInfo : expired) {
+                try {
+                    handler.accept(timeoutInfo);
+                } catch (Exception e) {
+                    LOG.log(Level.WARNING, "Timeout handler failed for the transaction " + timeoutInfo.localTID, e);
+                }
+            }
+        }
+        LOG.log(Level.INFO, "jts.time_out_thread_stopped");
+    }
+
+    /**
+     * Part of the wheel guarded by its own lock.
+     */
+    private final class Shard {
+
+        private final TimeoutInfo[] buckets;
+        /** The last tick processed by the worker thread. */
+        private long processedTick;
+
+        Shard(int wheelSize) {
+            this.buckets = new TimeoutInfo[wheelSize];
+        }
+
+        synchronized void add(TimeoutInfo timeoutInfo, long expirationTick) {
+            if (timeoutInfo.removed) {
+                return;
+            }
+            unlink(timeoutInfo);
+            long targetTick = Math.max(expirationTick, processedTick + 1);
+            timeoutInfo.remainingRounds = (targetTick - processedTick - 1) / wheelSize;
+            int bucket = (int) (targetTick & (wheelSize - 1));
+            timeoutInfo.bucket = bucket;
+            timeoutInfo.previous = null;
+            timeoutInfo.next = buckets[bucket];
+            if (buckets[bucket] != null) {
+                buckets[bucket].previous = timeoutInfo;
+            }
+            buckets[bucket] = timeoutInfo;
+        }
+
+        synchronized void remove(TimeoutInfo timeoutInfo) {
+            timeoutInfo.removed = true;
+            unlink(timeoutInfo);
+        }
+
+        synchronized void expireTimeouts(long tick, List<TimeoutInfo> expired) {
+            processedTick = tick;
+            TimeoutInfo timeoutInfo = buckets[(int) (tick & (wheelSize - 1))];
+            while (timeoutInfo != null) {
+                TimeoutInfo next = timeoutInfo.next;
+                if (timeoutInfo.remainingRounds <= 0) {
+                    unlink(timeoutInfo);
+                    expired.add(timeoutInfo);
+                } else {
+                    timeoutInfo.remainingRounds--;
+                }
+                timeoutInfo = next;
+            }
+        }
+
+        private void unlink(TimeoutInfo timeoutInfo) {
+            if (timeoutInfo.bucket < 0) {
+                return;
+            }
+            if (timeoutInfo.previous == null) {
+                buckets[timeoutInfo.bucket] = timeoutInfo.next;
+            } else {
+                timeoutInfo.previous.next = timeoutInfo.next;
+            }
+            if (timeoutInfo.next != null) {
+                timeoutInfo.next.previous = timeoutInfo.previous;
+            }
+            timeoutInfo.previous = null;
+            timeoutInfo.next = null;
+            timeoutInfo.bucket = -1;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.jts.CosTransactions;
+
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.anEmptyMap;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogDBHelperBatchTest {
+
+    private static final int THREAD_COUNT = 8;
+    private static final int RECORDS_PER_THREAD = 20;
+
+    private final AtomicLong localTIDs = new AtomicLong();
+
+    @TempDir
+    Path databaseDirectory;
+
+    private DerbyDataSource dataSource;
+
+    @Test
+    public void separateInsertsAndDeletes() throws Exception {
+        LogDBHelper helper = createHelper(-1L, true, "separate");
+        addRecordsConcurrently(helper);
+        assertThat(getRecords(helper), aMapWithSize(THREAD_COUNT * RECORDS_PER_THREAD));
+
+        for (Long localTID : getRecords(helper).values()) {
+            assertTrue(helper.deleteRecord(localTID));
+        }
+        assertThat(getRecords(helper), anEmptyMap());
+    }
+
+    @Test
+    public void batchedInsertsAndPrunedDeletes() throws Exception {
+        LogDBHelper helper = createHelper(2L, true, "batched");
+        try {
+            addRecordsConcurrently(helper);
+            Map<GlobalTID, Long> records = getRecords(helper);
+            assertThat(records, aMapWithSize(THREAD_COUNT * RECORDS_PER_THREAD));
+
+            for (Long localTID : records.values()) {
+                assertTrue(helper.deleteRecord(localTID));
+            }
+            // Deletes are just queued until the pruning.
+            assertThat(getRecords(helper), aMapWithSize(THREAD_COUNT * RECORDS_PER_THREAD));
+            helper.pruneCompletedRecords();
+            assertThat(getRecords(helper), anEmptyMap());
+        } finally {
+            helper.shutdown();
+        }
+    }
+
+    @Test
+    public void shutdownDeletesQueuedRecordsAndStopsThread() throws Exception {
+        LogDBHelper helper = createHelper(2L, true, "shutdown");
+        addRecordsConcurrently(helper);
+        for (Long localTID : getRecords(helper).values()) {
+            helper.deleteRecord(localTID);
+        }
+
+        helper.shutdown();
+        assertThat(getRecords(helper), anEmptyMap());
+        assertFalse(isPrunerAlive(), "Pruning thread is still alive");
+
+        long localTID = localTIDs.incrementAndGet();
+        assertTrue(helper.addRecord(localTID, ByteBuffer.allocate(Long.BYTES).putLong(localTID).array()));
+        assertTrue(helper.deleteRecord(localTID));
+        assertThat("Deleted immediately after the shutdown", getRecords(helper), anEmptyMap());
+    }
+
+    @Test
+    public void transactionalConnectionsInsertRecordsOfTheirCallers() throws Exception {
+        LogDBHelper helper = createHelper(2L, false, "transactional");
+        try {
+            int connections = dataSource.connections.get();
+            addRecordsConcurrently(helper);
+            assertThat(getRecords(helper), aMapWithSize(THREAD_COUNT * RECORDS_PER_THREAD));
+            assertThat(dataSource.connections.get() - connections, equalTo(THREAD_COUNT * RECORDS_PER_THREAD));
+        } finally {
+            helper.shutdown();
+        }
+    }
+
+    private LogDBHelper createHelper(long batchInterval, boolean nonTxConnectionForAddRecord, String databaseName)
+        throws Exception {
+        System.setProperty("derby.stream.error.file", databaseDirectory.resolve("derby.log").toString());
+        dataSource = new DerbyDataSource(databaseDirectory.resolve(databaseName));
+        // The pruning thread does not interfere, tests prune explicitly.
+        LogDBHelper helper = new LogDBHelper(dataSource, batchInterval, 3_600_000L, nonTxConnectionForAddRecord);
+        Configuration.setServerName(getClass().getSimpleName(), true);
+        helper.setServerName();
+        return helper;
+    }
+
+    private void addRecordsConcurrently(LogDBHelper helper) throws Exception {
+        List<Callable<Void>> tasks = new ArrayList<>(THREAD_COUNT);
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            tasks.add(() -> {
+                for (int j = 0; j < RECORDS_PER_THREAD; j++) {
+                    long localTID = localTIDs.incrementAndGet();
+                    if (!helper.addRecord(localTID, ByteBuffer.allocate(Long.BYTES).putLong(localTID).array())) {
+                        throw new IllegalStateException("Record not stored: " + localTID);
+                    }
+                }
+                return null;
+            });
+        }
+
+        ExecutorService threadPool = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            for (Future<Void> future : threadPool.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            threadPool.shutdownNow();
+        }
+    }
+
+    private static boolean isPrunerAlive() {
+        return Thread.getAllStackTraces().keySet().stream()
+            .anyMatch(thread -> thread.getName().equals("jts-db-log-pruner") && thread.isAlive());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<GlobalTID, Long> getRecords(LogDBHelper helper) {
+        return helper.getGlobalTIDMap();
+    }
+
+    /**
+     * Mimics the data source of the server, which provides also non-transactional connections.
+     */
+    public static final class DerbyDataSource implements DataSource {
+
+        private final String url;
+        /** Count of connections which may be enlisted in a transaction. */
+        final AtomicInteger connections = new AtomicInteger();
+
+        DerbyDataSource(Path directory) {
+            this.url = "jdbc:derby:" + directory + ";create=true";
+        }
+
+        public Connection getNonTxConnection() throws SQLException {
+            return DriverManager.getConnection(url);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            connections.incrementAndGet();
+            return DriverManager.getConnection(url);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return DriverManager.getConnection(url, username, password);
+        }
+
+        @Override
+        public PrintWriter getLogWriter() {
+            return null;
+        }
+
+        @Override
+        public void setLogWriter(PrintWriter out) {
+        }
+
+        @Override
+        public void setLoginTimeout(int seconds) {
+        }
+
+        @Override
+        public int getLoginTimeout() {
+            return 0;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            throw new SQLException("Not a wrapper.");
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) {
+            return false;
+        }
+    }
+}
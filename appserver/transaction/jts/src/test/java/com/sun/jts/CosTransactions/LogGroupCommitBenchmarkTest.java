@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.jts.CosTransactions;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Compares commits per second of forced log writes from concurrent transactions
+ * with a separate force per commit and with the group commit on the same disk.
+ */
+public class LogGroupCommitBenchmarkTest {
+
+    private static final int RECORD_SIZE = 256;
+
+    @Test
+    public void compareCommitsPerSecond() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(500L))
+            .measurementIterations(1).measurementTime(TimeValue.seconds(1L))
+            .forks(1).threads(32).timeout(TimeValue.seconds(30L))
+            .mode(Mode.Throughput).timeUnit(TimeUnit.SECONDS)
+            .shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(2));
+    }
+
+
+    @Benchmark
+    public boolean commit(LogState state) throws Exception {
+        return state.logFile.write(LogFile.FORCED, new byte[RECORD_SIZE], LogFile.NORMAL, null);
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class LogState {
+
+        /** Flush window of the group commit in milliseconds, -1 forces every write separately. */
+        @Param({"-1", "2"})
+        public long groupCommitWindow;
+
+        Path logDirectory;
+        LogFile logFile;
+
+        @Setup
+        public void openLog() throws Exception {
+            logDirectory = Files.createTempDirectory("jts-group-commit");
+            LogControl logControl = new LogControl();
+            logControl.initLog(true, false, logDirectory.toString());
+            LogHandle handle = logControl.openFile("bench", null, null, new boolean[] {true});
+            logFile = new LogFile(handle, groupCommitWindow);
+        }
+
+        @TearDown
+        public void closeLog() throws Exception {
+            // Deletes the log files and their directory
+            logFile.close(true);
+            if (!Files.exists(logDirectory)) {
+                return;
+            }
+            try (Stream<Path> files = Files.walk(logDirectory)) {
+                files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+}
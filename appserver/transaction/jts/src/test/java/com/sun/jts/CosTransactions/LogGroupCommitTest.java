@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.jts.CosTransactions;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogGroupCommitTest {
+
+    private static final int THREAD_COUNT = 8;
+    private static final int COMMITS_PER_THREAD = 20;
+
+    @TempDir
+    Path logDirectory;
+
+    @Test
+    public void concurrentForcedWritesAreAllLogged() throws Exception {
+        LogControl logControl = new LogControl();
+        logControl.initLog(true, false, logDirectory.toString());
+        LogHandle handle = logControl.openFile("group", null, null, new boolean[] {true});
+        LogFile logFile = new LogFile(handle, 2L);
+
+        List<Callable<Void>> tasks = new ArrayList<>(THREAD_COUNT);
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            tasks.add(() -> {
+                for (int j = 0; j < COMMITS_PER_THREAD; j++) {
+                    assertTrue(logFile.write(LogFile.FORCED, new byte[64], LogFile.NORMAL, null));
+                }
+                return null;
+            });
+        }
+        ExecutorService threadPool = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            for (Future<Void> future : threadPool.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            threadPool.shutdownNow();
+        }
+
+        assertThat(logFile.getLogRecords().size(), equalTo(THREAD_COUNT * COMMITS_PER_THREAD));
+        logFile.close(true);
+    }
+
+    @Test
+    public void failedForceFailsOnlyRecordsOfItsBatch() throws Exception {
+        CountDownLatch firstForceStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstForce = new CountDownLatch(1);
+        AtomicInteger forces = new AtomicInteger();
+        LogFile logFile = new LogFile(null, -1L) {
+
+            @Override
+            void force() throws LogException {
+                int force = forces.incrementAndGet();
+                if (force == 1) {
+                    firstForceStarted.countDown();
+                    try {
+                        releaseFirstForce.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                if (force <= 2) {
+                    throw new LogException(LogException.LOG_ERROR_FORCING_LOG, force, "Force " + force + " failed", null);
+                }
+            }
+        };
+        LogGroupCommit groupCommit = new LogGroupCommit(logFile, 0L);
+        ExecutorService threadPool = Executors.newFixedThreadPool(3);
+        try {
+            LogGroupCommit.Batch first = groupCommit.register();
+            Future<Void> firstResult = threadPool.submit(() -> await(groupCommit, first));
+            assertTrue(firstForceStarted.await(10, TimeUnit.SECONDS));
+
+            // Both records are registered during the first force, so they form the second batch.
+            LogGroupCommit.Batch second = groupCommit.register();
+            LogGroupCommit.Batch third = groupCommit.register();
+            Future<Void> secondResult = threadPool.submit(() -> await(groupCommit, second));
+            Future<Void> thirdResult = threadPool.submit(() -> await(groupCommit, third));
+            releaseFirstForce.countDown();
+
+            assertForceFailed(firstResult);
+            assertForceFailed(secondResult);
+            assertForceFailed(thirdResult);
+
+            groupCommit.awaitForce(groupCommit.register());
+            assertThat(forces.get(), equalTo(3));
+        } finally {
+            threadPool.shutdownNow();
+        }
+    }
+
+    private static Void await(LogGroupCommit groupCommit, LogGroupCommit.Batch batch) throws LogException {
+        groupCommit.awaitForce(batch);
+        return null;
+    }
+
+    private static void assertForceFailed(Future<Void> result) {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+        assertThat(e.getCause(), instanceOf(LogException.class));
+    }
+}
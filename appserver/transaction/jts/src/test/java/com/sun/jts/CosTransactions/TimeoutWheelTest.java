@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.jts.CosTransactions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimeoutWheelTest {
+
+    private final Set<Long> expired = ConcurrentHashMap.newKeySet();
+    private TimeoutWheel wheel;
+
+    @AfterEach
+    public void stop() {
+        if (wheel != null) {
+            wheel.stop();
+        }
+    }
+
+    @Test
+    public void expiresJustTimeoutsNotRemoved() throws Exception {
+        CountDownLatch latch = new CountDownLatch(50);
+        wheel = new TimeoutWheel("test-wheel", Thread.NORM_PRIORITY, 10L, 8, timeoutInfo -> {
+            expired.add(timeoutInfo.localTID);
+            latch.countDown();
+        });
+        List<TimeoutInfo> timeouts = new ArrayList<>();
+        List<Long> expected = new ArrayList<>();
+        for (long i = 0; i < 100; i++) {
+            TimeoutInfo timeoutInfo = createTimeout(i);
+            timeouts.add(timeoutInfo);
+            // Longer than the wheel's round, so some timeouts need more rounds.
+            wheel.add(timeoutInfo, i * 3);
+            if (i % 2 == 0) {
+                expected.add(i);
+            }
+        }
+        for (int i = 1; i < 100; i += 2) {
+            wheel.remove(timeouts.get(i));
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS), "Timeouts did not expire");
+        Thread.sleep(50L);
+        assertThat(expired, containsInAnyOrder(expected.toArray()));
+        assertThat(wheel.getExpiredCount(), equalTo(50L));
+        assertThat(wheel.getMaxExpiredCount(), both(greaterThan(0)).and(lessThanOrEqualTo(50)));
+        assertThat(wheel.getMaxScanDuration(), greaterThan(0L));
+        assertThat(wheel.getMaxScanDuration(), greaterThanOrEqualTo(wheel.getLastScanDuration()));
+    }
+
+    @Test
+    public void doesNotExpireBeforeDeadline() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        long[] expiredAt = new long[1];
+        wheel = new TimeoutWheel("test-wheel", Thread.NORM_PRIORITY, 10L, 4, timeoutInfo -> {
+            expiredAt[0] = System.nanoTime();
+            latch.countDown();
+        });
+        long start = System.nanoTime();
+        wheel.add(createTimeout(1L), 200L);
+        assertTrue(latch.await(10, TimeUnit.SECONDS), "Timeout did not expire");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(expiredAt[0] - start), greaterThanOrEqualTo(200L));
+    }
+
+    @Test
+    public void removedTimeoutIsNotAddedAgain() throws Exception {
+        wheel = new TimeoutWheel("test-wheel", Thread.NORM_PRIORITY, 10L, 4, timeoutInfo -> expired.add(timeoutInfo.localTID));
+        TimeoutInfo timeoutInfo = createTimeout(1L);
+        wheel.add(timeoutInfo, 20L);
+        wheel.remove(timeoutInfo);
+        wheel.add(timeoutInfo, 20L);
+        Thread.sleep(200L);
+        assertThat(expired, empty());
+    }
+
+    private static TimeoutInfo createTimeout(long localTID) {
+        TimeoutInfo timeoutInfo = new TimeoutInfo();
+        timeoutInfo.localTID = localTID;
+        timeoutInfo.timeoutType = TimeoutManager.ACTIVE_TIMEOUT;
+        return timeoutInfo;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2023, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -28,6 +28,7 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadFactory;
@@ -76,9 +77,10 @@ class JarFileManager implements Closeable {
 
 
     void addJarFile(File file) {
+        final JarResource jarResource = new JarResource(file);
         writeLock.lock();
         try {
-            files.add(new JarResource(file));
+            files.add(jarResource);
         } finally {
             writeLock.unlock();
         }
@@ -120,6 +122,10 @@ class JarFileManager implements Closeable {
     ResourceEntry findResource(String name, String path, File loaderDir, boolean antiJARLocking) {
         LOG.log(TRACE, "findResource(name={0}, path={1}, loaderDir={2}, antiJARLocking={3})",
             name, path, loaderDir, antiJARLocking);
+        final String packageName = JarPackageIndex.getPackageName(path);
+        if (!hasPackage(packageName)) {
+            return null;
+        }
         if (!isJarsOpen() && !openJARs()) {
             return null;
         }
@@ -127,6 +133,9 @@ class JarFileManager implements Closeable {
         try {
             lastJarFileAccess = System.currentTimeMillis();
             for (JarResource jarResource : files) {
+                if (!jarResource.hasPackage(packageName)) {
+                    continue;
+                }
                 final JarFile jarFile = jarResource.jarFile;
                 final JarEntry jarEntry = jarFile.getJarEntry(path);
                 if (jarEntry == null) {
@@ -231,6 +240,25 @@ class JarFileManager implements Closeable {
     }
 
 
+    /**
+     * @return true if any jar file may contain entries in the package, so jar files don't have to
+     *         be opened to find out that they don't contain the resource.
+     */
+    private boolean hasPackage(String packageName) {
+        readLock.lock();
+        try {
+            for (JarResource jarResource : files) {
+                if (jarResource.hasPackage(packageName)) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+
     private boolean isJarsOpen() {
         return lastJarFileAccess > 0L;
     }
@@ -338,10 +366,17 @@ class JarFileManager implements Closeable {
     private static class JarResource {
 
         final File file;
+        /** Directories of entries in the jar file, null if unknown. */
+        final Set<String> packages;
         JarFile jarFile;
 
         JarResource(File file) {
             this.file = file;
+            this.packages = JarPackageIndex.getPackages(file);
+        }
+
+        boolean hasPackage(String packageName) {
+            return packages == null || packages.contains(packageName);
         }
     }
 
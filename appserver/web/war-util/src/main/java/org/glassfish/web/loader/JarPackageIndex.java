@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.web.loader;
+
+import com.sun.enterprise.loader.JarPackages;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.System.Logger;
+import java.lang.ref.SoftReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipFile;
+
+import static java.lang.System.Logger.Level.DEBUG;
+
+/**
+ * Directories of entries in jar files, so class loaders don't have to open and search jar files
+ * which cannot contain the class or resource.
+ * <p>
+ * Indexes are shared by all class loaders using the same jar file, ie. web modules of an
+ * application using the same library, and they are kept while the jar file is not changed.
+ * Unlike the jar handles, they stay available after the unused jar files are closed.
+ */
+final class JarPackageIndex {
+
+    private static final Logger LOG = System.getLogger(JarPackageIndex.class.getName());
+
+    private static final Map<String, JarPackageIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private final long length;
+    private final long lastModified;
+    private final SoftReference<Set<String>> packages;
+
+    private JarPackageIndex(long length, long lastModified, Set<String> packages) {
+        this.length = length;
+        this.lastModified = lastModified;
+        this.packages = new SoftReference<>(packages);
+    }
+
+
+    /**
+     * @param file the jar file
+     * @return directories containing entries of the jar file or null if the jar file cannot be read.
+     */
+    static Set<String> getPackages(File file) {
+        final String path = file.getAbsolutePath();
+        final long length = file.length();
+        final long lastModified = file.lastModified();
+        final JarPackageIndex index = INDEXES.get(path);
+        if (index != null && index.length == length && index.lastModified == lastModified) {
+            Set<String> packages = index.packages.get();
+            if (packages != null) {
+                return packages;
+            }
+        }
+        final Set<String> packages;
+        try {
+            packages = readPackages(file);
+        } catch (IOException e) {
+            LOG.log(DEBUG, "Could not index the jar file " + file, e);
+            return null;
+        }
+        INDEXES.put(path, new JarPackageIndex(length, lastModified, packages));
+        return packages;
+    }
+
+
+    /**
+     * @param path path of the class file or resource
+     * @return directory of the class file or resource.
+     */
+    static String getPackageName(String path) {
+        return JarPackages.getPackageName(path);
+    }
+
+
+    private static Set<String> readPackages(File file) throws IOException {
+        try (ZipFile zipFile = new ZipFile(file)) {
+            return Collections.unmodifiableSet(JarPackages.getPackages(zipFile));
+        }
+    }
+}
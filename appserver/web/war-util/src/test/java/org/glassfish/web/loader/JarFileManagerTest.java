@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.web.loader;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JarFileManagerTest {
+
+    @TempDir
+    private File tempDir;
+
+    @Test
+    void findsResourcesInIndexedJars() throws Exception {
+        File first = writeJar("first.jar", "org/first/First.txt", "root.txt");
+        File second = writeJar("second.jar", "org/second/Second.txt", "org/first/Other.txt");
+        try (JarFileManager manager = new JarFileManager()) {
+            manager.addJarFile(first);
+            manager.addJarFile(second);
+            assertAll(
+                () -> assertThat(find(manager, "org/first/First.txt").source.toString(),
+                    endsWith("first.jar!/org/first/First.txt")),
+                () -> assertThat(find(manager, "org/first/Other.txt").source.toString(),
+                    endsWith("second.jar!/org/first/Other.txt")),
+                () -> assertThat(find(manager, "org/second/Second.txt"), notNullValue()),
+                () -> assertThat(find(manager, "root.txt"), notNullValue()),
+                () -> assertThat(find(manager, "org/second/Missing.txt"), nullValue()),
+                () -> assertThat(find(manager, "org/missing/Missing.txt"), nullValue())
+            );
+            manager.closeJarFiles();
+            assertThat(find(manager, "org/first/First.txt"), notNullValue());
+        }
+    }
+
+
+    @Test
+    void sharesIndexOfUnchangedJar() throws Exception {
+        File jar = writeJar("library.jar", "org/library/Library.txt", "META-INF/versions/11/org/versioned/V.txt");
+        Set<String> packages = JarPackageIndex.getPackages(jar);
+        assertAll(
+            () -> assertThat(packages, containsInAnyOrder("", "org", "org/library", "META-INF", "META-INF/versions",
+                "META-INF/versions/11", "META-INF/versions/11/org", "META-INF/versions/11/org/versioned",
+                "org/versioned")),
+            () -> assertThat(JarPackageIndex.getPackages(jar), sameInstance(packages))
+        );
+
+        long lastModified = jar.lastModified();
+        writeJar("library.jar", "org/changed/Changed.txt");
+        assertTrue(jar.setLastModified(lastModified + 10_000L));
+        Set<String> changed = JarPackageIndex.getPackages(jar);
+        assertAll(
+            () -> assertThat(changed, hasItem("org/changed")),
+            () -> assertThat(changed, not(hasItem("org/library")))
+        );
+    }
+
+
+    private static ResourceEntry find(JarFileManager manager, String path) {
+        return manager.findResource(path, path, null, false);
+    }
+
+
+    private File writeJar(String name, String... entries) throws IOException {
+        File file = new File(tempDir, name);
+        try (JarOutputStream output = new JarOutputStream(new FileOutputStream(file))) {
+            for (String entry : entries) {
+                output.putNextEntry(new JarEntry(entry));
+                output.write(entry.getBytes(StandardCharsets.UTF_8));
+                output.closeEntry();
+            }
+        }
+        return file;
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -20,7 +21,9 @@ package org.apache.catalina.connector;
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.WriteListener;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ResourceBundle;
 
 import org.apache.catalina.LogFacade;
@@ -115,6 +118,49 @@ public class CoyoteOutputStream
     }
 
 
+    /**
+     * Writes the remaining content of the buffer without copying it.
+     * The buffer must not be changed later.
+     */
+    public void write(ByteBuffer buffer)
+        throws IOException {
+        // Disallow operation if the object has gone out of scope
+        if (ob == null) {
+            throw new IllegalStateException(rb.getString(LogFacade.OBJECT_INVALID_SCOPE_EXCEPTION));
+        }
+
+        ob.writeByteBuffer(buffer);
+    }
+
+
+    /**
+     * @return true if a file can be sent by {@link #sendfile(File, long, long)}.
+     */
+    public boolean isSendfileEnabled() {
+        // Disallow operation if the object has gone out of scope
+        if (ob == null) {
+            throw new IllegalStateException(rb.getString(LogFacade.OBJECT_INVALID_SCOPE_EXCEPTION));
+        }
+
+        return ob.isSendfileEnabled();
+    }
+
+
+    /**
+     * Sends the part of the file directly from the file system and commits
+     * the response.
+     */
+    public void sendfile(File file, long offset, long length)
+        throws IOException {
+        // Disallow operation if the object has gone out of scope
+        if (ob == null) {
+            throw new IllegalStateException(rb.getString(LogFacade.OBJECT_INVALID_SCOPE_EXCEPTION));
+        }
+
+        ob.sendfile(file, offset, length);
+    }
+
+
     /**
      * Will send the buffer to the client.
      */
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -21,8 +22,10 @@ import jakarta.servlet.WriteListener;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.nio.channels.InterruptedByTimeoutException;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
@@ -40,8 +43,13 @@ import org.apache.catalina.core.StandardContext;
 import org.apache.catalina.core.StandardHost;
 import org.apache.catalina.util.RequestUtil;
 import org.glassfish.common.util.InputValidationUtil;
+import org.glassfish.grizzly.FileTransfer;
 import org.glassfish.grizzly.WriteHandler;
+import org.glassfish.grizzly.filterchain.FilterChainContext;
+import org.glassfish.grizzly.http.Protocol;
 import org.glassfish.grizzly.http.util.ByteChunk;
+import org.glassfish.grizzly.http.util.Header;
+import org.glassfish.grizzly.http.util.HeaderValue;
 
 /**
  * The buffer used by Tomcat response. This is a derivative of the Tomcat 3.3
@@ -286,6 +294,77 @@ public class OutputBuffer extends Writer
     }
 
 
+    /**
+     * Writes the remaining content of the buffer. The buffer is passed to
+     * the connector without copying, so it must not be changed later.
+     */
+    public void writeByteBuffer(ByteBuffer buffer) throws IOException {
+
+        if (suspended || grizzlyOutputBuffer.isClosed())
+            return;
+        if (log.isLoggable(Level.FINE))
+            log.log(Level.FINE, "writeByteBuffer(buffer)");
+
+        int len = buffer.remaining();
+        grizzlyOutputBuffer.writeByteBuffer(buffer);
+        bytesWritten += len;
+
+    }
+
+
+    /**
+     * @return true if the connector can transfer a file directly from the
+     * file system, which is possible just for plain HTTP/1.x connections and
+     * only while nothing was written to the response.
+     */
+    public boolean isSendfileEnabled() {
+        return !suspended && grizzlyResponse.isSendFileEnabled()
+            && !grizzlyResponse.isCommitted()
+            && !grizzlyResponse.getRequest().isSecure()
+            && grizzlyResponse.getRequest().getProtocol() != Protocol.HTTP_2_0
+            && bytesWritten == 0 && charsWritten == 0;
+    }
+
+
+    /**
+     * Sends the part of the file to the client without copying it through
+     * the heap. Sets the content length of the response and commits it, so
+     * nothing else can be written to the response body.
+     *
+     * @see #isSendfileEnabled()
+     */
+    public void sendfile(File file, long offset, long length) throws IOException {
+
+        if (suspended || grizzlyOutputBuffer.isClosed())
+            return;
+        if (log.isLoggable(Level.FINE))
+            log.log(Level.FINE, "sendfile(file,offset,length)");
+
+        // The file is not passed through the content encoders, the same
+        // as when Grizzly sends files itself
+        if (!grizzlyResponse.containsHeader(Header.ContentEncoding)) {
+            grizzlyResponse.setHeader(Header.ContentEncoding, HeaderValue.IDENTITY);
+        }
+        grizzlyResponse.setContentLengthLong(length);
+        // Commits the response
+        grizzlyOutputBuffer.flush();
+
+        // The transfer is queued after the headers and it is written
+        // directly by the transport, without suspending the response
+        FilterChainContext ctx = grizzlyResponse.getRequest().getContext();
+        long position = offset;
+        long remaining = length;
+        while (remaining > 0) {
+            long count = Math.min(remaining, Integer.MAX_VALUE);
+            ctx.write(new FileTransfer(file, position, count));
+            position += count;
+            remaining -= count;
+        }
+        bytesWritten = (int) Math.min(Integer.MAX_VALUE, bytesWritten + length);
+
+    }
+
+
     private void writeBytes(byte b[], int off, int len)
         throws IOException {
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2024 Contributors to Eclipse Foundation.
+ * Copyright (c) 2021, 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -643,6 +643,11 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
      */
     protected int cacheMaxSize = 10_240; // 10 MB
 
+    /**
+     * Min size in KB of resources cached out of the heap, -1 if disabled.
+     */
+    protected int cacheDirectMinSize = -1;
+
     /**
      * Cache TTL in ms.
      */
@@ -914,6 +919,21 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
         this.cacheMaxSize = cacheMaxSize;
     }
 
+    /**
+     * @return the min size of resources in KB which will have their content cached in direct buffers.
+     */
+    public int getCacheDirectMinSize() {
+        return cacheDirectMinSize;
+    }
+
+    /**
+     * Set the min size of resources in KB which will have their content cached in direct buffers,
+     * -1 to keep all cached content on the heap.
+     */
+    public void setCacheDirectMinSize(int cacheDirectMinSize) {
+        this.cacheDirectMinSize = cacheDirectMinSize;
+    }
+
     /**
      * @return the "follow standard delegation model" flag used to configure our ClassLoader.
      */
@@ -1607,6 +1627,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
             baseDirContext.setCached(isCachingAllowed());
             baseDirContext.setCacheTTL(getCacheTTL());
             baseDirContext.setCacheMaxSize(getCacheMaxSize());
+            baseDirContext.setCacheDirectMinSize(getCacheDirectMinSize());
         }
 
         if (resources instanceof FileDirContext) {
@@ -1638,6 +1659,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
             ((BaseDirContext) resources).setCached(isCachingAllowed());
             ((BaseDirContext) resources).setCacheTTL(getCacheTTL());
             ((BaseDirContext) resources).setCacheMaxSize(getCacheMaxSize());
+            ((BaseDirContext) resources).setCacheDirectMinSize(getCacheDirectMinSize());
         }
 
         if (resources instanceof FileDirContext) {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -46,6 +46,7 @@ import java.io.RandomAccessFile;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.ByteBuffer;
 import java.security.AccessController;
 import java.text.MessageFormat;
 import java.util.ArrayList;
@@ -74,6 +75,8 @@ import javax.xml.transform.stream.StreamSource;
 
 import org.apache.catalina.Globals;
 import org.apache.catalina.LogFacade;
+import org.apache.catalina.connector.CoyoteOutputStream;
+import org.apache.catalina.connector.ResponseFacade;
 import org.apache.catalina.core.ContextsAdapterUtility;
 import org.apache.catalina.util.ServerInfo;
 import org.apache.catalina.util.URLEncoder;
@@ -1016,7 +1019,8 @@ public class DefaultServlet
                     // Silent catch
                 }
                 if (ostream != null) {
-                    if (!checkSendfile(request, response, cacheEntry, contentLength, null)) {
+                    if (!checkSendfile(request, response, cacheEntry, contentLength, null)
+                        && !sendfile(response, cacheEntry, ostream, 0, contentLength)) {
                         copy(cacheEntry, renderResult, ostream);
                     }
                 } else {
@@ -1069,7 +1073,8 @@ public class DefaultServlet
                         // Silent catch
                     }
                     if (ostream != null) {
-                        if (!checkSendfile(request, response, cacheEntry, range.end - range.start + 1, range)) {
+                        if (!checkSendfile(request, response, cacheEntry, length, range)
+                            && !sendfile(response, cacheEntry, ostream, range.start, length)) {
                             copy(cacheEntry, ostream, range);
                         }
                     } else {
@@ -1957,6 +1962,109 @@ public class DefaultServlet
     }
 
 
+    /**
+     * Send the range of the resource directly from the file system, if the
+     * resource is a file and the connector supports it. Like with
+     * {@link #checkSendfile}, small files cached in the memory are copied.
+     *
+     * @param response The response, must not be wrapped
+     * @param cacheEntry The CacheEntry object
+     * @param ostream The output stream to write to
+     * @param start Start of the range
+     * @param length Length of the range
+     * @return true if the content was sent, false if it must be copied
+     * @exception IOException if an input/output error occurs
+     */
+    protected boolean sendfile(HttpServletResponse response,
+                               CacheEntry cacheEntry,
+                               ServletOutputStream ostream,
+                               long start, long length)
+        throws IOException {
+        if ((sendfileSize <= 0)
+            || (cacheEntry.resource == null)
+            || ((length <= sendfileSize) && (cacheEntry.resource.getContent() != null))
+            || !(response instanceof ResponseFacade)
+            || !(ostream instanceof CoyoteOutputStream)
+            || !((CoyoteOutputStream) ostream).isSendfileEnabled()) {
+            return false;
+        }
+        File file = getFile(cacheEntry);
+        // The file may have been changed since its attributes were cached
+        if ((file == null) || (file.length() < start + length)) {
+            return false;
+        }
+        if (debug > 10) {
+            log("DefaultServlet.sendfile:  " + file + " " + start + "+" + length);
+        }
+        ((CoyoteOutputStream) ostream).sendfile(file, start, length);
+        return true;
+    }
+
+
+    /**
+     * @return the file of the resource or null if the resource is not
+     * a plain file in the file system
+     */
+    private File getFile(CacheEntry cacheEntry) {
+        String canonicalPath = cacheEntry.attributes.getCanonicalPath();
+        if (canonicalPath == null) {
+            return null;
+        }
+        return new File(canonicalPath);
+    }
+
+
+    /**
+     * Return the content of the resource as a buffer which can be written
+     * to the output stream without copying. Only the buffer cached by the
+     * resources is used, other files are streamed, so that no direct buffer
+     * is allocated per request.
+     *
+     * @return null if the content must be copied from the resource stream
+     */
+    private static ByteBuffer getContentBuffer(CacheEntry cacheEntry,
+                                               ServletOutputStream ostream) {
+        if (!(ostream instanceof CoyoteOutputStream)) {
+            return null;
+        }
+        return cacheEntry.resource.getContentBuffer();
+    }
+
+
+    /**
+     * Write the range of the content without copying it.
+     *
+     * @return false if the content doesn't contain the range
+     */
+    private static boolean write(ByteBuffer content,
+                                 ServletOutputStream ostream, Range range)
+        throws IOException {
+        if (range.end >= content.limit()) {
+            return false;
+        }
+        ByteBuffer buffer = content.duplicate();
+        buffer.limit((int) range.end + 1).position((int) range.start);
+        ((CoyoteOutputStream) ostream).write(buffer);
+        return true;
+    }
+
+
+    /**
+     * Write the range of the content loaded in the memory.
+     *
+     * @return false if the content doesn't contain the range
+     */
+    private static boolean write(byte[] content,
+                                 ServletOutputStream ostream, Range range)
+        throws IOException {
+        if (range.end >= content.length) {
+            return false;
+        }
+        ostream.write(content, (int) range.start, (int) (range.end - range.start + 1));
+        return true;
+    }
+
+
     /**
      * Check if the if-match condition is satisfied.
      *
@@ -2160,6 +2268,12 @@ public class DefaultServlet
                 ostream.write(buffer, 0, buffer.length);
                 return;
             }
+            // The content cached in a direct buffer is not copied
+            ByteBuffer contentBuffer = cacheEntry.resource.getContentBuffer();
+            if (contentBuffer != null && ostream instanceof CoyoteOutputStream) {
+                ((CoyoteOutputStream) ostream).write(contentBuffer);
+                return;
+            }
             resourceInputStream = cacheEntry.resource.streamContent();
         } else {
             resourceInputStream = is;
@@ -2246,6 +2360,20 @@ public class DefaultServlet
 
         IOException exception = null;
 
+        // Optimization: If the content has already been loaded, send the
+        // range directly
+        byte[] content = cacheEntry.resource.getContent();
+        if (content != null) {
+            if (write(content, ostream, range)) {
+                return;
+            }
+        } else {
+            ByteBuffer contentBuffer = getContentBuffer(cacheEntry, ostream);
+            if (contentBuffer != null && write(contentBuffer, ostream, range)) {
+                return;
+            }
+        }
+
         InputStream resourceInputStream = cacheEntry.resource.streamContent();
         InputStream istream =
             new BufferedInputStream(resourceInputStream, input);
@@ -2320,28 +2448,43 @@ public class DefaultServlet
 
         IOException exception = null;
 
+        // Optimization: All ranges are written from the same content, if it
+        // has already been loaded
+        byte[] content = cacheEntry.resource.getContent();
+        ByteBuffer contentBuffer = null;
+        if (content == null) {
+            contentBuffer = getContentBuffer(cacheEntry, ostream);
+        }
+
         while ( (exception == null) && (ranges.hasNext()) ) {
 
+            Range currentRange = ranges.next();
+
+            // Writing MIME header.
+            ostream.println();
+            ostream.println("--" + mimeSeparation);
+            if (contentType != null) {
+                ostream.println("Content-Type: " + contentType);
+            }
+            ostream.println("Content-Range: bytes " + currentRange.start
+                           + "-" + currentRange.end + "/"
+                           + currentRange.length);
+            ostream.println();
+
+            // Printing content
+            if (content != null && write(content, ostream, currentRange)) {
+                continue;
+            }
+            if (contentBuffer != null && write(contentBuffer, ostream, currentRange)) {
+                continue;
+            }
+
             InputStream resourceInputStream = cacheEntry.resource.streamContent();
             InputStream istream = null;
             try {
                 istream =
                     new BufferedInputStream(resourceInputStream, input);
 
-                Range currentRange = ranges.next();
-
-                // Writing MIME header.
-                ostream.println();
-                ostream.println("--" + mimeSeparation);
-                if (contentType != null) {
-                    ostream.println("Content-Type: " + contentType);
-                }
-                ostream.println("Content-Range: bytes " + currentRange.start
-                               + "-" + currentRange.end + "/"
-                               + currentRange.length);
-                ostream.println();
-
-                // Printing content
                 exception = copyRange(istream, ostream, currentRange.start,
                                       currentRange.end);
 
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -35,6 +36,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.security.SecureRandom;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -60,6 +62,7 @@ import org.apache.catalina.Session;
 import org.apache.catalina.SessionLocker;
 import org.apache.catalina.core.StandardContext;
 import org.apache.catalina.core.StandardHost;
+import org.apache.catalina.util.HexUtils;
 
 import static com.sun.logging.LogCleanerUtil.neutralizeForLog;
 
@@ -162,6 +165,31 @@ public abstract class ManagerBase implements Manager {
     protected String randomClass = "java.security.SecureRandom";
 
 
+    /**
+     * If true, default session identifiers are generated by per-thread random
+     * number generators and sessions are expired using the expiry index
+     * instead of checking all of them.
+     */
+    protected boolean scalableSessions;
+
+
+    /**
+     * Count of session identifiers generated by one per-thread random number
+     * generator before it is replaced by a newly seeded one.
+     */
+    private static final int SESSION_ID_RESEED_INTERVAL = 100_000;
+
+    private static final ThreadLocal<SessionIdRandom> SESSION_ID_RANDOM =
+        ThreadLocal.withInitial(SessionIdRandom::new);
+
+    /**
+     * Length of the time buckets of the expiry index in milliseconds.
+     */
+    private static final long EXPIRY_BUCKET_MILLIS = 1000L;
+
+    private final SessionExpiryIndex expiryIndex = new SessionExpiryIndex(EXPIRY_BUCKET_MILLIS);
+
+
     /**
      * The longest time (in seconds) that an expired session had been alive.
      */
@@ -580,6 +608,39 @@ public abstract class ManagerBase implements Manager {
     }
 
 
+    /**
+     * Return true if the session identifiers are generated by per-thread
+     * random number generators and sessions are expired using the expiry index.
+     */
+    public boolean isScalableSessions() {
+        return scalableSessions;
+    }
+
+
+    /**
+     * Set whether the session identifiers should be generated by per-thread
+     * random number generators and sessions expired using the expiry index.
+     * A custom {@link UuidGenerator} is still used, but it is not called
+     * concurrently.
+     *
+     * @param scalableSessions true to enable the scalable mode
+     */
+    public void setScalableSessions(boolean scalableSessions) {
+        boolean oldScalableSessions = this.scalableSessions;
+        this.scalableSessions = scalableSessions;
+        if (scalableSessions && !oldScalableSessions) {
+            for (Session session : sessions.values()) {
+                if (session instanceof StandardSession) {
+                    expiryIndex.add((StandardSession) session);
+                }
+            }
+        } else if (!scalableSessions) {
+            expiryIndex.clear();
+        }
+        support.firePropertyChange("scalableSessions", oldScalableSessions, this.scalableSessions);
+    }
+
+
     /**
      * Gets the number of sessions that have expired.
      *
@@ -658,6 +719,9 @@ public abstract class ManagerBase implements Manager {
      */
     public void add(Session session) {
         sessions.put(session.getIdInternal(), session);
+        if (scalableSessions && session instanceof StandardSession) {
+            expiryIndex.add((StandardSession) session);
+        }
         int size = sessions.size();
         if (size > maxActive) {
             synchronized(maxActiveUpdateLock) {
@@ -838,6 +902,7 @@ public abstract class ManagerBase implements Manager {
      */
     public void clearSessions() {
         sessions.clear();
+        expiryIndex.clear();
     }
 
 
@@ -863,6 +928,9 @@ public abstract class ManagerBase implements Manager {
      */
     public void remove(Session session) {
         sessions.remove(session.getIdInternal());
+        if (scalableSessions && session instanceof StandardSession) {
+            expiryIndex.remove((StandardSession) session);
+        }
     }
 
     @Override
@@ -930,19 +998,46 @@ public abstract class ManagerBase implements Manager {
      * Generate and return a new session identifier.
      * Hercules:added
      */
-    protected synchronized String generateSessionId(Object obj) {
-        return uuidGenerator.generateUuid(obj);
+    protected String generateSessionId(Object obj) {
+        if (scalableSessions && uuidGenerator instanceof UuidGeneratorImpl) {
+            return SESSION_ID_RANDOM.get().nextSessionId(sessionIdLength);
+        }
+        synchronized (this) {
+            return uuidGenerator.generateUuid(obj);
+        }
     }
 
     /**
      * Generate and return a new session identifier.
      * Hercules:modified
      */
-    protected synchronized String generateSessionId() {
+    protected String generateSessionId() {
         return generateSessionId(new Object());
     }
 
 
+    /**
+     * Move the session in the expiry index after its timeout changed.
+     *
+     * @param session the session
+     */
+    void updateExpiration(StandardSession session) {
+        String id = session.getIdInternal();
+        if (scalableSessions && id != null && sessions.get(id) == session) {
+            expiryIndex.add(session);
+        }
+    }
+
+
+    /**
+     * Return the index of sessions by their expiration time, maintained
+     * just in the scalable mode.
+     */
+    SessionExpiryIndex getExpiryIndex() {
+        return expiryIndex;
+    }
+
+
     // ------------------------------------------------------ Protected Methods
 
 
@@ -1275,4 +1370,26 @@ public abstract class ManagerBase implements Manager {
     public void release() {
         clearSessions();
     }
+
+
+    /**
+     * Random number generator used by one thread to generate session
+     * identifiers, replaced by a newly seeded one after
+     * {@link #SESSION_ID_RESEED_INTERVAL} identifiers.
+     */
+    private static final class SessionIdRandom {
+
+        private SecureRandom random = new SecureRandom();
+        private int generated;
+
+        String nextSessionId(int length) {
+            if (++generated > SESSION_ID_RESEED_INTERVAL) {
+                random = new SecureRandom();
+                generated = 1;
+            }
+            byte[] bytes = new byte[length];
+            random.nextBytes(bytes);
+            return new String(HexUtils.convert(bytes));
+        }
+    }
 }
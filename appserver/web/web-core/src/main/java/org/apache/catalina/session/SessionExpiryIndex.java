@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Index of sessions by the time when they may expire, so the background thread does not have
+ * to visit all sessions of the manager.
+ * <p>
+ * Sessions are kept in buckets by their expected expiration time rounded up to the bucket
+ * length. The request processing does not move sessions between buckets: when the bucket
+ * is due, its sessions are checked and the ones which were accessed meanwhile have to be
+ * added again with their new expiration time.
+ * <p>
+ * Buckets are changed only by the atomic compute methods of the {@link ConcurrentHashMap},
+ * so a session added concurrently with the removal of its bucket ends up either in the
+ * removed sessions or in a new bucket.
+ */
+class SessionExpiryIndex {
+
+    /** Sessions which never expire are checked once per this time in case their timeout changed. */
+    private static final long NEVER_EXPIRES_CHECK_MILLIS = TimeUnit.MINUTES.toMillis(10L);
+
+    private final long bucketMillis;
+    private final Map<Long, Set<StandardSession>> buckets = new ConcurrentHashMap<>();
+    /** Keys of the buckets ordered by time, a key is always added after its bucket. */
+    private final ConcurrentSkipListSet<Long> bucketKeys = new ConcurrentSkipListSet<>();
+    private final Map<StandardSession, Long> bucketsBySession = new ConcurrentHashMap<>();
+
+    /**
+     * @param bucketMillis length of the bucket in milliseconds.
+     */
+    SessionExpiryIndex(long bucketMillis) {
+        this.bucketMillis = bucketMillis;
+    }
+
+
+    /**
+     * Adds the session to the bucket of its current expiration time. If the session is already
+     * in another bucket, it is moved.
+     *
+     * @param session the session
+     */
+    void add(StandardSession session) {
+        long expirationTime;
+        int maxInactiveInterval = session.getMaxInactiveInterval();
+        if (maxInactiveInterval < 0) {
+            expirationTime = System.currentTimeMillis() + NEVER_EXPIRES_CHECK_MILLIS;
+        } else {
+            expirationTime = session.thisAccessedTime + maxInactiveInterval * 1000L;
+        }
+        Long bucket = (expirationTime + bucketMillis - 1) / bucketMillis;
+        Long previousBucket = bucketsBySession.put(session, bucket);
+        if (bucket.equals(previousBucket)) {
+            return;
+        }
+        if (previousBucket != null) {
+            removeFromBucket(previousBucket, session);
+        }
+        buckets.compute(bucket, (key, sessions) -> {
+            Set<StandardSession> bucketSessions = sessions == null ? ConcurrentHashMap.newKeySet() : sessions;
+            bucketSessions.add(session);
+            return bucketSessions;
+        });
+        bucketKeys.add(bucket);
+    }
+
+
+    /**
+     * Removes the session from the index.
+     *
+     * @param session the session
+     */
+    void remove(StandardSession session) {
+        Long bucket = bucketsBySession.remove(session);
+        if (bucket != null) {
+            removeFromBucket(bucket, session);
+        }
+    }
+
+
+    /**
+     * Removes sessions which may have expired before the given time from the index.
+     *
+     * @param timeNow current time in milliseconds
+     * @return sessions, which may have expired, never null.
+     */
+    List<StandardSession> removeDue(long timeNow) {
+        List<StandardSession> due = new ArrayList<>();
+        for (Long bucket : bucketKeys.headSet(timeNow / bucketMillis, true)) {
+            // The key first, so a bucket created again by the add is found by the next call.
+            bucketKeys.remove(bucket);
+            buckets.computeIfPresent(bucket, (key, sessions) -> {
+                for (StandardSession session : sessions) {
+                    if (bucketsBySession.remove(session, bucket)) {
+                        due.add(session);
+                    }
+                }
+                return null;
+            });
+        }
+        return due;
+    }
+
+
+    /**
+     * @return count of indexed sessions.
+     */
+    int size() {
+        return bucketsBySession.size();
+    }
+
+
+    /**
+     * Removes all sessions from the index.
+     */
+    void clear() {
+        bucketsBySession.clear();
+        buckets.clear();
+        bucketKeys.clear();
+    }
+
+
+    private void removeFromBucket(Long bucket, StandardSession session) {
+        buckets.computeIfPresent(bucket, (key, sessions) -> {
+            sessions.remove(session);
+            return sessions;
+        });
+    }
+}
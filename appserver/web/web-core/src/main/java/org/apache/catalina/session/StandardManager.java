@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -934,6 +935,12 @@ public class StandardManager
 
         long timeNow = System.currentTimeMillis();
 
+        if (scalableSessions) {
+            processExpiresFromIndex(timeNow);
+            processingTime += System.currentTimeMillis() - timeNow;
+            return;
+        }
+
         Session[] sessions = findSessions();
         if (sessions != null) {
             for (Session session : sessions) {
@@ -952,4 +959,31 @@ public class StandardManager
         processingTime += ( timeEnd - timeNow );
     }
 
+
+    /**
+     * Invalidates expired sessions among those due in the expiry index.
+     * Sessions accessed meanwhile are indexed again by their new
+     * expiration time.
+     */
+    private void processExpiresFromIndex(long timeNow) {
+        SessionExpiryIndex expiryIndex = getExpiryIndex();
+        for (StandardSession session : expiryIndex.removeDue(timeNow)) {
+            if (sessions.get(session.getIdInternal()) != session) {
+                // Already removed from this manager
+                continue;
+            }
+            boolean valid = true;
+            if (session.lockBackground()) {
+                try {
+                    valid = session.isValid();
+                } finally {
+                    session.unlockBackground();
+                }
+            }
+            if (valid) {
+                expiryIndex.add(session);
+            }
+        }
+    }
+
 }
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.connector;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.glassfish.grizzly.http.server.HttpHandler;
+import org.glassfish.grizzly.http.server.HttpServer;
+import org.glassfish.grizzly.http.server.NetworkListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Sends files by {@link OutputBuffer#sendfile(File, long, long)} through the Grizzly server
+ * and by copying the file through the output stream.
+ */
+public class OutputBufferTest {
+
+    private static final int FILE_SIZE = 4 * 1024 * 1024;
+
+    @TempDir
+    Path directory;
+
+    private File file;
+    private byte[] content;
+    private HttpServer server;
+    private int port;
+
+    @BeforeEach
+    public void startServer() throws Exception {
+        content = new byte[FILE_SIZE];
+        ThreadLocalRandom.current().nextBytes(content);
+        file = Files.write(directory.resolve("download.bin"), content).toFile();
+
+        server = new HttpServer();
+        NetworkListener listener = new NetworkListener("test", "localhost", 0);
+        server.addListener(listener);
+        server.getServerConfiguration().setSendFileEnabled(true);
+        server.getServerConfiguration().addHttpHandler(new HttpHandler() {
+
+            @Override
+            public void service(org.glassfish.grizzly.http.server.Request grizzlyRequest,
+                org.glassfish.grizzly.http.server.Response grizzlyResponse) throws Exception {
+                Request request = new Request();
+                Response response = new Response();
+                request.setGrizzlyRequest(grizzlyRequest);
+                request.setResponse(response);
+                response.setRequest(request);
+                response.setCoyoteResponse(grizzlyResponse);
+                try {
+                    serve(grizzlyRequest.getRequestURI(), response);
+                } finally {
+                    response.finishResponse();
+                }
+            }
+        }, "/");
+        server.start();
+        port = listener.getPort();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.shutdownNow();
+    }
+
+    @Test
+    public void sendsFileRange() throws Exception {
+        assertThat(download("/range"), equalTo(Arrays.copyOfRange(content, 1000, 1000 + 100_000)));
+    }
+
+    @Test
+    public void copiesWhenResponseWasWritten() throws Exception {
+        byte[] expected = new byte[FILE_SIZE + 1];
+        expected[0] = 'x';
+        System.arraycopy(content, 0, expected, 1, FILE_SIZE);
+        assertThat(download("/written"), equalTo(expected));
+    }
+
+    @Test
+    public void sendsWholeFile() throws Exception {
+        assertThat(download("/sendfile"), equalTo(content));
+    }
+
+    @Test
+    public void copiesFile() throws Exception {
+        assertThat(download("/copy"), equalTo(content));
+    }
+
+    private void serve(String uri, Response response) throws IOException {
+        CoyoteOutputStream ostream = (CoyoteOutputStream) response.getOutputStream();
+        switch (uri) {
+            case "/sendfile":
+                assertThat(ostream.isSendfileEnabled(), equalTo(true));
+                ostream.sendfile(file, 0, file.length());
+                break;
+            case "/range":
+                assertThat(ostream.isSendfileEnabled(), equalTo(true));
+                ostream.sendfile(file, 1000, 100_000);
+                break;
+            case "/written":
+                ostream.write('x');
+                assertThat(ostream.isSendfileEnabled(), equalTo(false));
+                copy(ostream);
+                break;
+            default:
+                copy(ostream);
+        }
+    }
+
+    private void copy(CoyoteOutputStream ostream) throws IOException {
+        try (InputStream istream = new FileInputStream(file)) {
+            byte[] buffer = new byte[2048];
+            int len;
+            while ((len = istream.read(buffer)) >= 0) {
+                ostream.write(buffer, 0, len);
+            }
+        }
+    }
+
+    private byte[] download(String uri) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port + uri).openConnection();
+        try (InputStream istream = connection.getInputStream()) {
+            assertThat(connection.getResponseCode(), equalTo(200));
+            return istream.readAllBytes();
+        }
+    }
+}
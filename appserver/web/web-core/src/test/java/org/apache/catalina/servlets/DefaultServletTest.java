@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.apache.catalina.servlets;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.servlets.DefaultServlet.Range;
+import org.apache.naming.resources.CacheEntry;
+import org.apache.naming.resources.Resource;
+import org.apache.naming.resources.ResourceAttributes;
+import org.glassfish.grizzly.http.server.HttpHandler;
+import org.glassfish.grizzly.http.server.HttpServer;
+import org.glassfish.grizzly.http.server.NetworkListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Sends ranges of static files by {@link DefaultServlet} through the Grizzly server.
+ */
+public class DefaultServletTest {
+
+    private static final int FILE_SIZE = 1024 * 1024;
+
+    @TempDir
+    Path directory;
+
+    private final DefaultServlet servlet = new DefaultServlet();
+    private File file;
+    private byte[] content;
+    private HttpServer server;
+    private int port;
+    private Handler handler;
+
+    @BeforeEach
+    public void startServer() throws Exception {
+        content = new byte[FILE_SIZE];
+        ThreadLocalRandom.current().nextBytes(content);
+        file = Files.write(directory.resolve("download.bin"), content).toFile();
+        servlet.sendfileSize = 4 * 1024;
+
+        server = new HttpServer();
+        NetworkListener listener = new NetworkListener("test", "localhost", 0);
+        server.addListener(listener);
+        server.getServerConfiguration().setSendFileEnabled(true);
+        server.getServerConfiguration().addHttpHandler(new HttpHandler() {
+
+            @Override
+            public void service(org.glassfish.grizzly.http.server.Request grizzlyRequest,
+                org.glassfish.grizzly.http.server.Response grizzlyResponse) throws Exception {
+                Request request = new Request();
+                Response response = new Response();
+                request.setGrizzlyRequest(grizzlyRequest);
+                request.setResponse(response);
+                response.setRequest(request);
+                response.setCoyoteResponse(grizzlyResponse);
+                try {
+                    handler.handle(response);
+                } finally {
+                    response.finishResponse();
+                }
+            }
+        }, "/");
+        server.start();
+        port = listener.getPort();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.shutdownNow();
+    }
+
+    @Test
+    public void sendsRangeOfBigFile() throws Exception {
+        handler = response -> {
+            ServletOutputStream ostream = response.getOutputStream();
+            assertThat(servlet.sendfile(response.getResponse(), fileEntry(), ostream, 1000, 100_000), equalTo(true));
+        };
+        assertThat(download(), equalTo(Arrays.copyOfRange(content, 1000, 1000 + 100_000)));
+    }
+
+    @Test
+    public void streamsRangeOfBigFileWhenResponseIsWrapped() throws Exception {
+        handler = response -> {
+            CacheEntry entry = fileEntry();
+            ServletOutputStream ostream = response.getOutputStream();
+            HttpServletResponseWrapper wrapper = new HttpServletResponseWrapper(response.getResponse());
+            assertThat(servlet.sendfile(wrapper, entry, ostream, 1000, 100_000), equalTo(false));
+            servlet.copy(entry, ostream, range(1000, 1000 + 100_000 - 1));
+        };
+        assertThat(download(), equalTo(Arrays.copyOfRange(content, 1000, 1000 + 100_000)));
+    }
+
+    @Test
+    public void streamsRangeOfBigFileWhenResponseWasWritten() throws Exception {
+        handler = response -> {
+            CacheEntry entry = fileEntry();
+            ServletOutputStream ostream = response.getOutputStream();
+            ostream.write('x');
+            assertThat(servlet.sendfile(response.getResponse(), entry, ostream, 0, FILE_SIZE), equalTo(false));
+            servlet.copy(entry, ostream, range(0, FILE_SIZE - 1));
+        };
+        byte[] expected = new byte[FILE_SIZE + 1];
+        expected[0] = 'x';
+        System.arraycopy(content, 0, expected, 1, FILE_SIZE);
+        assertThat(download(), equalTo(expected));
+    }
+
+    @Test
+    public void copiesSmallFileCachedInMemory() throws Exception {
+        byte[] small = Arrays.copyOf(content, 1000);
+        handler = response -> {
+            CacheEntry entry = fileEntry();
+            entry.resource.setContent(small);
+            ServletOutputStream ostream = response.getOutputStream();
+            assertThat(servlet.sendfile(response.getResponse(), entry, ostream, 0, small.length), equalTo(false));
+            servlet.copy(entry, ostream, range(100, 199));
+        };
+        assertThat(download(), equalTo(Arrays.copyOfRange(content, 100, 200)));
+    }
+
+    @Test
+    public void writesRangeOfContentBuffer() throws Exception {
+        handler = response -> {
+            CacheEntry entry = fileEntry();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(FILE_SIZE);
+            buffer.put(content).flip();
+            entry.resource.setContent(buffer);
+            servlet.copy(entry, response.getOutputStream(), range(5000, 500_000));
+        };
+        assertThat(download(), equalTo(Arrays.copyOfRange(content, 5000, 500_001)));
+    }
+
+    @Test
+    public void streamsMultipleRangesOfBigFile() throws Exception {
+        List<Range> ranges = List.of(range(0, 9), range(100_000, 299_999), range(FILE_SIZE - 10, FILE_SIZE - 1));
+        handler = response -> servlet.copy(fileEntry(), response.getOutputStream(), ranges.iterator(), "application/octet-stream");
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        for (Range range : ranges) {
+            expected.writeBytes(("\r\n--" + DefaultServlet.mimeSeparation + "\r\n"
+                + "Content-Type: application/octet-stream\r\n"
+                + "Content-Range: bytes " + range.start + "-" + range.end + "/" + FILE_SIZE + "\r\n\r\n")
+                .getBytes(StandardCharsets.ISO_8859_1));
+            expected.write(content, (int) range.start, (int) (range.end - range.start + 1));
+        }
+        expected.writeBytes(("\r\n--" + DefaultServlet.mimeSeparation + "--").getBytes(StandardCharsets.ISO_8859_1));
+        assertThat(download(), equalTo(expected.toByteArray()));
+    }
+
+    private CacheEntry fileEntry() {
+        CacheEntry entry = new CacheEntry();
+        entry.name = "/download.bin";
+        entry.resource = new Resource() {
+
+            @Override
+            public InputStream streamContent() throws IOException {
+                if (getContent() == null && getContentBuffer() == null) {
+                    return new FileInputStream(file);
+                }
+                return super.streamContent();
+            }
+        };
+        entry.attributes = new ResourceAttributes() {
+
+            @Override
+            public String getCanonicalPath() {
+                return file.getAbsolutePath();
+            }
+        };
+        entry.attributes.setContentLength(file.length());
+        return entry;
+    }
+
+    private static Range range(long start, long end) {
+        Range range = new Range();
+        range.start = start;
+        range.end = end;
+        range.length = FILE_SIZE;
+        return range;
+    }
+
+    private byte[] download() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port + "/").openConnection();
+        try (InputStream istream = connection.getInputStream()) {
+            assertThat(connection.getResponseCode(), equalTo(200));
+            return istream.readAllBytes();
+        }
+    }
+
+    private interface Handler {
+
+        void handle(Response response) throws IOException;
+    }
+}
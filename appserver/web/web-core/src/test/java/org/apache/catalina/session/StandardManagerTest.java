@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.catalina.Session;
+import org.apache.catalina.core.StandardContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+public class StandardManagerTest {
+
+    private static final int THREAD_COUNT = 8;
+    private static final int SESSIONS_PER_THREAD = 1000;
+
+    private StandardManager manager;
+
+    @BeforeEach
+    public void createManager() {
+        StandardContext context = new StandardContext();
+        context.setName("test");
+        manager = new StandardManager();
+        manager.setContainer(context);
+        manager.setScalableSessions(true);
+    }
+
+    @Test
+    public void generatesUniqueSessionIdsConcurrently() throws Exception {
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        List<Callable<Void>> tasks = new ArrayList<>(THREAD_COUNT);
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            tasks.add(() -> {
+                for (int j = 0; j < SESSIONS_PER_THREAD; j++) {
+                    Session session = manager.createSession();
+                    assertThat(session.getIdInternal(), matchesPattern("[0-9a-f]{32}"));
+                    ids.add(session.getIdInternal());
+                    ((StandardSession) session).unlockForeground();
+                }
+                return null;
+            });
+        }
+        ExecutorService threadPool = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            for (Future<Void> future : threadPool.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            threadPool.shutdownNow();
+        }
+        assertThat(ids, hasSize(THREAD_COUNT * SESSIONS_PER_THREAD));
+        assertThat(manager.getActiveSessions(), equalTo(THREAD_COUNT * SESSIONS_PER_THREAD));
+        assertThat(manager.getExpiryIndex().size(), equalTo(THREAD_COUNT * SESSIONS_PER_THREAD));
+    }
+
+    @Test
+    public void expiresJustDueSessions() throws Exception {
+        StandardSession expired = createSession(1);
+        StandardSession accessed = createSession(1);
+        StandardSession active = createSession(3600);
+        long past = System.currentTimeMillis() - 5000L;
+        expired.thisAccessedTime = past;
+        accessed.thisAccessedTime = past;
+        manager.getExpiryIndex().add(expired);
+        manager.getExpiryIndex().add(accessed);
+        accessed.access();
+
+        manager.processExpires();
+
+        assertThat(manager.findSession(expired.getIdInternal()), nullValue());
+        assertThat(manager.findSession(accessed.getIdInternal()), notNullValue());
+        assertThat(manager.findSession(active.getIdInternal()), notNullValue());
+        assertThat(manager.getExpiryIndex().size(), equalTo(2));
+
+        manager.remove(active);
+        assertThat(manager.getExpiryIndex().size(), equalTo(1));
+    }
+
+    @Test
+    public void concurrentAddAndRemoveDueLoseNoSession() throws Exception {
+        SessionExpiryIndex index = new SessionExpiryIndex(1L);
+        long past = System.currentTimeMillis() - 5000L;
+        List<StandardSession> sessions = new ArrayList<>();
+        for (int i = 0; i < THREAD_COUNT * SESSIONS_PER_THREAD; i++) {
+            StandardSession session = createSession(1);
+            // All sessions in the same due bucket
+            session.thisAccessedTime = past;
+            sessions.add(session);
+        }
+        Set<StandardSession> due = ConcurrentHashMap.newKeySet();
+        AtomicBoolean adding = new AtomicBoolean(true);
+        ExecutorService threadPool = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> remover = threadPool.submit(() -> {
+                while (adding.get()) {
+                    due.addAll(index.removeDue(System.currentTimeMillis()));
+                }
+            });
+            Future<?> adder = threadPool.submit(() -> {
+                sessions.forEach(index::add);
+                adding.set(false);
+            });
+            adder.get();
+            remover.get();
+        } finally {
+            threadPool.shutdownNow();
+        }
+        due.addAll(index.removeDue(System.currentTimeMillis()));
+
+        assertThat(due, hasSize(sessions.size()));
+        assertThat(index.size(), equalTo(0));
+    }
+
+    private StandardSession createSession(int maxInactiveInterval) {
+        StandardSession session = (StandardSession) manager.createSession();
+        session.setMaxInactiveInterval(maxInactiveInterval);
+        session.unlockForeground();
+        return session;
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -61,6 +62,7 @@ public abstract class BasePersistenceStrategyBuilder
     protected int sessionMaxInactiveInterval = DEFAULT_SESSION_TIMEOUT;
     protected String persistentCookieName = "GLASSFISHCOOKIE";
     protected boolean relaxCacheVersionSemantics;
+    protected boolean scalableSessions;
 
     // Special constant for Java Server Faces
     protected static final String JSF_HA_ENABLED = "com.sun.appserver.enableHighAvailability";
@@ -278,6 +280,8 @@ public abstract class BasePersistenceStrategyBuilder
                         }
                     } */else if (name.equalsIgnoreCase("relaxCacheVersionSemantics")) {
                         relaxCacheVersionSemantics = Boolean.parseBoolean(value);
+                    } else if (name.equalsIgnoreCase("scalableSessions")) {
+                        scalableSessions = Boolean.parseBoolean(value);
                     } else if (name.equalsIgnoreCase("sessionFilename")) {
                         sessionFilename = value;
                     } else if (name.equalsIgnoreCase("persistenceFrequency")) {
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -57,6 +58,7 @@ public class MemoryStrategyBuilder extends BasePersistenceStrategyBuilder {
         }
 
         mgr.setMaxActiveSessions(maxSessions);
+        mgr.setScalableSessions(scalableSessions);
 
         // START OF 6364900
         mgr.setSessionLocker(new PESessionLocker(ctx));
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2024 Contributors to Eclipse Foundation.
+ * Copyright (c) 2021, 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -1334,6 +1334,12 @@ public class WebModule extends PwcWebModule implements Context {
                     setCrossContext(crossContext);
                 } else if ("allowLinking".equalsIgnoreCase(name)) {
                     allowLinking = ConfigBeansUtilities.toBoolean(value);
+                } else if ("cacheDirectMinSize".equalsIgnoreCase(name)) {
+                    try {
+                        setCacheDirectMinSize(Integer.parseInt(value));
+                    } catch (NumberFormatException e) {
+                        logger.log(WARNING, LogFacade.INVALID_PROPERTY, new Object[] { name, value });
+                    }
                     // START S1AS8PE 4817642
                 } else if ("reuseSessionID".equalsIgnoreCase(name)) {
                     boolean reuse = ConfigBeansUtilities.toBoolean(value);
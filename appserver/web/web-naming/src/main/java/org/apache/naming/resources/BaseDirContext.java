@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -105,6 +106,14 @@ public abstract class BaseDirContext implements DirContext {
     protected int cacheMaxSize = 10240; // 10 MB
 
 
+    /**
+     * Min size of resources in KB which will have their content cached
+     * in direct buffers, or -1 to keep all cached content
+     * on the heap.
+     */
+    protected int cacheDirectMinSize = -1;
+
+
     // ------------------------------------------------------------- Properties
 
     /**
@@ -201,6 +210,24 @@ public abstract class BaseDirContext implements DirContext {
     }
 
 
+    /**
+     * Return the min size of resources in KB which will have their content
+     * cached in direct buffers.
+     */
+    public int getCacheDirectMinSize() {
+        return cacheDirectMinSize;
+    }
+
+
+    /**
+     * Set the min size of resources in KB which will have their content
+     * cached in direct buffers, -1 to disable it.
+     */
+    public void setCacheDirectMinSize(int cacheDirectMinSize) {
+        this.cacheDirectMinSize = cacheDirectMinSize;
+    }
+
+
     // --------------------------------------------------------- Public Methods
 
 
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -20,7 +21,14 @@ package org.apache.naming.resources;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Hashtable;
 
 import javax.naming.Binding;
@@ -74,6 +82,7 @@ public class ProxyDirContext implements DirContext {
                 cache.setCacheMaxSize(baseDirContext.getCacheMaxSize());
                 cacheTTL = baseDirContext.getCacheTTL();
                 cacheObjectMaxSize = baseDirContext.getCacheMaxSize() / 20;
+                cacheDirectMinSize = baseDirContext.getCacheDirectMinSize();
             }
         }
         hostName = env.get(HOST);
@@ -127,6 +136,13 @@ public class ProxyDirContext implements DirContext {
     protected int cacheObjectMaxSize = 512; // 512 KB
 
 
+    /**
+     * Min size of resources which will have their content cached in
+     * direct buffers, or -1 if disabled.
+     */
+    protected int cacheDirectMinSize = -1;
+
+
     /**
      * Immutable name not found exception.
      */
@@ -1436,7 +1452,8 @@ public class ProxyDirContext implements DirContext {
         if (((!entry.exists)
              || (entry.context != null)
              || ((entry.resource != null)
-                 && (entry.resource.getContent() != null)))
+                 && ((entry.resource.getContent() != null)
+                     || (entry.resource.getContentBuffer() != null))))
             && (System.currentTimeMillis() < entry.timestamp)) {
             return true;
         }
@@ -1520,12 +1537,23 @@ public class ProxyDirContext implements DirContext {
             }
         }
 
-        // Load object content
+        // Load object content, every big resource may take up to half of
+        // the cache out of the heap
+        long contentLength = exists ? entry.attributes.getContentLength() : -1;
         if ((exists) && (entry.resource != null)
             && (entry.resource.getContent() == null)
-            && (entry.attributes.getContentLength() >= 0)
-            && (entry.attributes.getContentLength() <
-                (cacheObjectMaxSize * 1024L))) {
+            && (entry.resource.getContentBuffer() == null)
+            && (cacheDirectMinSize >= 0)
+            && (contentLength >= cacheDirectMinSize * 1024L)
+            && (contentLength < cache.getCacheMaxSize() * 512L)
+            && (contentLength <= Integer.MAX_VALUE)) {
+            entry.size += (contentLength / 1024);
+            loadContentBuffer(entry.resource, (int) contentLength);
+        } else if ((exists) && (entry.resource != null)
+            && (entry.resource.getContent() == null)
+            && (entry.resource.getContentBuffer() == null)
+            && (contentLength >= 0)
+            && (contentLength < (cacheObjectMaxSize * 1024L))) {
             int length = (int) entry.attributes.getContentLength();
             // The entry size is 1 + the resource size in KB, if it will be
             // cached
@@ -1560,14 +1588,70 @@ public class ProxyDirContext implements DirContext {
         // Set timestamp
         entry.timestamp = System.currentTimeMillis() + cacheTTL;
 
-        // Add new entry to cache
-        synchronized (cache) {
-            // Check cache size, and remove elements if too big
-            if ((cache.lookup(name) == null) && cache.allocate(entry.size)) {
-                cache.load(entry);
+        // Add new entry to cache, least recently used entries are removed
+        // if the cache is too big
+        cache.load(entry);
+
+    }
+
+
+    /**
+     * Loads the content to a direct buffer. A file is read, not mapped to the
+     * memory, so the cached content doesn't change and reads of it don't fail
+     * if the file is changed or truncated.
+     */
+    private void loadContentBuffer(Resource resource, int length) {
+        try {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(length);
+            Path file = getFile(resource);
+            if (file != null) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    // The file may have changed since we read its attributes
+                    if (channel.size() != length) {
+                        return;
+                    }
+                    while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                        // read until the buffer is full
+                    }
+                }
+            } else {
+                try (InputStream is = resource.streamContent()) {
+                    byte[] b = new byte[Math.min(length, 8192)];
+                    int n = 0;
+                    while (buffer.hasRemaining() && n >= 0) {
+                        n = is.read(b, 0, Math.min(b.length, buffer.remaining()));
+                        if (n > 0) {
+                            buffer.put(b, 0, n);
+                        }
+                    }
+                }
+            }
+            if (!buffer.hasRemaining()) {
+                buffer.flip();
+                resource.setContent(buffer);
             }
+        } catch (IOException e) {
+            // Ignore
         }
+    }
+
 
+    /**
+     * Return the file of the resource or null if the resource is not a file.
+     */
+    private static Path getFile(Resource resource) {
+        if (!(resource instanceof UrlResource)) {
+            return null;
+        }
+        try {
+            URL url = ((UrlResource) resource).getUrl();
+            if ("file".equals(url.getProtocol())) {
+                return Paths.get(url.toURI());
+            }
+        } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+            // Not a file
+        }
+        return null;
     }
 
 
@@ -1577,9 +1661,7 @@ public class ProxyDirContext implements DirContext {
     protected boolean cacheUnload(String name) {
         if (cache == null)
             return false;
-        synchronized (cache) {
-            return cache.unload(name);
-        }
+        return cache.unload(name);
     }
 
 
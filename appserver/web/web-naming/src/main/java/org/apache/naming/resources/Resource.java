@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -20,6 +21,7 @@ package org.apache.naming.resources;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 /**
  * Encapsultes the contents of a resource.
@@ -56,6 +58,12 @@ public class Resource {
     protected byte[] binaryContent = null;
 
 
+    /**
+     * Binary content kept in a read-only direct buffer.
+     */
+    protected ByteBuffer bufferContent = null;
+
+
     /**
      * Input stream.
      */
@@ -75,6 +83,9 @@ public class Resource {
         if (binaryContent != null) {
             return new ByteArrayInputStream(binaryContent);
         }
+        if (bufferContent != null) {
+            return new ByteBufferInputStream(bufferContent.duplicate());
+        }
         return inputStream;
     }
 
@@ -89,6 +100,17 @@ public class Resource {
     }
 
 
+    /**
+     * Content accessor.
+     *
+     * @return read-only buffer with the content or null if the content
+     *         is not kept in a buffer. The position of the buffer is 0.
+     */
+    public ByteBuffer getContentBuffer() {
+        return bufferContent == null ? null : bufferContent.duplicate();
+    }
+
+
     /**
      * Content mutator.
      *
@@ -109,4 +131,57 @@ public class Resource {
     }
 
 
+    /**
+     * Content mutator.
+     *
+     * @param bufferContent New buffer content, from the position to the limit
+     */
+    public void setContent(ByteBuffer bufferContent) {
+        this.bufferContent = bufferContent == null ? null : bufferContent.slice().asReadOnlyBuffer();
+    }
+
+
+    /**
+     * Reads the content of the buffer.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+
 }
@@ -1,7 +1,7 @@
 /*
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,10 +18,28 @@
 
 package org.apache.naming.resources;
 
-import java.security.SecureRandom;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
 /**
  * Implements a special purpose cache.
+ * <p>
+ * Entries are distributed to shards by the hash of their name. Lookups don't
+ * take any lock, they only record the access time in the entry. Every shard
+ * has its own lock for changes and keeps its existing and not found entries in
+ * the order of their access times known at the last eviction, so inserting an
+ * entry never copies the whole cache. When the cache is full, not found entries
+ * are removed first, then the least recently used entries of the whole cache:
+ * the victim is the eldest entry of the shard whose eldest entry was accessed
+ * first. If the eldest entry of a shard was accessed since, the shard is
+ * ordered by the access times again before anything is removed. The count of
+ * not found entries is bounded by the {@link #getSpareNotFoundEntries()}.
  *
  * @author <a href="mailto:remm@apache.org">Remy Maucherat</a>
  * @version $Revision: 1.3 $
@@ -33,30 +51,25 @@ public class ResourceCache {
 
 
     public ResourceCache() {
+        int shardCount = Integer.highestOneBit(
+            Math.max(1, Runtime.getRuntime().availableProcessors()) * 4 - 1) * 2;
+        shards = new Shard[Math.max(MIN_SHARD_COUNT, shardCount)];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard();
+        }
     }
 
 
     // ----------------------------------------------------- Instance Variables
 
 
-    /**
-     * Random generator used to determine elements to free.
-     */
-    protected SecureRandom random = new SecureRandom();
-
-
-    /**
-     * Cache.
-     * Path -> Cache entry.
-     */
-    protected CacheEntry[] cache = new CacheEntry[0];
+    private static final int MIN_SHARD_COUNT = 16;
 
 
     /**
-     * Not found cache.
+     * Cache shards.
      */
-    protected HashMap<String, CacheEntry> notFoundCache =
-        new HashMap<String, CacheEntry>();
+    private final Shard[] shards;
 
 
     /**
@@ -67,39 +80,44 @@ public class ResourceCache {
 
     /**
      * Max amount of removals during a make space.
+     *
+     * @deprecated not used since the cache removes least recently used entries.
      */
+    @Deprecated
     protected int maxAllocateIterations = 20;
 
 
     /**
      * Entry hit ratio at which an entry will never be removed from the cache.
-     * Compared with entry.access / hitsCount
+     *
+     * @deprecated not used since the cache removes least recently used entries.
      */
+    @Deprecated
     protected long desiredEntryAccessRatio = 3;
 
 
     /**
-     * Spare amount of not found entries.
+     * Max amount of not found entries.
      */
-    protected int spareNotFoundEntries = 500;
+    protected volatile int spareNotFoundEntries = 500;
 
 
     /**
      * Current cache size in KB.
      */
-    protected int cacheSize = 0;
+    private final AtomicInteger cacheSize = new AtomicInteger();
 
 
     /**
      * Number of accesses to the cache.
      */
-    protected long accessCount = 0;
+    private final LongAdder accessCount = new LongAdder();
 
 
     /**
      * Number of cache hits.
      */
-    protected long hitsCount = 0;
+    private final LongAdder hitsCount = new LongAdder();
 
 
     // ------------------------------------------------------------- Properties
@@ -107,11 +125,9 @@ public class ResourceCache {
 
     /**
      * Return the access count.
-     * Note: Update is not synced, so the number may not be completely
-     * accurate.
      */
     public long getAccessCount() {
-        return accessCount;
+        return accessCount.sum();
     }
 
 
@@ -135,13 +151,16 @@ public class ResourceCache {
      * Return the current cache size in KB.
      */
     public int getCacheSize() {
-        return cacheSize;
+        return cacheSize.get();
     }
 
 
     /**
      * Return desired entry access ratio.
+     *
+     * @deprecated not used since the cache removes least recently used entries.
      */
+    @Deprecated
     public long getDesiredEntryAccessRatio() {
         return desiredEntryAccessRatio;
     }
@@ -149,7 +168,10 @@ public class ResourceCache {
 
     /**
      * Set the desired entry access ratio.
+     *
+     * @deprecated not used since the cache removes least recently used entries.
      */
+    @Deprecated
     public void setDesiredEntryAccessRatio(long desiredEntryAccessRatio) {
         this.desiredEntryAccessRatio = desiredEntryAccessRatio;
     }
@@ -157,17 +179,18 @@ public class ResourceCache {
 
     /**
      * Return the number of cache hits.
-     * Note: Update is not synced, so the number may not be completely
-     * accurate.
      */
     public long getHitsCount() {
-        return hitsCount;
+        return hitsCount.sum();
     }
 
 
     /**
      * Return the maximum amount of iterations during a space allocation.
+     *
+     * @deprecated not used since the cache removes least recently used entries.
      */
+    @Deprecated
     public int getMaxAllocateIterations() {
         return maxAllocateIterations;
     }
@@ -175,14 +198,17 @@ public class ResourceCache {
 
     /**
      * Set the maximum amount of iterations during a space allocation.
+     *
+     * @deprecated not used since the cache removes least recently used entries.
      */
+    @Deprecated
     public void setMaxAllocateIterations(int maxAllocateIterations) {
         this.maxAllocateIterations = maxAllocateIterations;
     }
 
 
     /**
-     * Return the amount of spare not found entries.
+     * Return the maximal amount of not found entries.
      */
     public int getSpareNotFoundEntries() {
         return spareNotFoundEntries;
@@ -190,7 +216,7 @@ public class ResourceCache {
 
 
     /**
-     * Set the amount of spare not found entries.
+     * Set the maximal amount of not found entries.
      */
     public void setSpareNotFoundEntries(int spareNotFoundEntries) {
         this.spareNotFoundEntries = spareNotFoundEntries;
@@ -200,225 +226,262 @@ public class ResourceCache {
     // --------------------------------------------------------- Public Methods
 
 
+    /**
+     * Removes least recently used entries until the given space is free.
+     *
+     * @param space space in KB
+     * @return false if the space is bigger than the cache.
+     */
     public boolean allocate(int space) {
-
-        int toFree = space - (cacheMaxSize - cacheSize);
-
-        if (toFree <= 0) {
-            return true;
-        }
-
-        // Increase the amount to free so that allocate won't have to run right
-        // away again
-        toFree += (cacheMaxSize / 20);
-
-        int size = notFoundCache.size();
-        if (size > spareNotFoundEntries) {
-            notFoundCache.clear();
-            cacheSize -= size;
-            toFree -= size;
-        }
-
-        if (toFree <= 0) {
-            return true;
-        }
-
-        int attempts = 0;
-        int entriesFound = 0;
-        long totalSpace = 0;
-        int[] toRemove = new int[maxAllocateIterations];
-        while (toFree > 0) {
-            if (attempts == maxAllocateIterations) {
-                // Give up, no changes are made to the current cache
-                return false;
-            }
-            if (toFree > 0) {
-                // Randomly select an entry in the array
-                int entryPos = -1;
-                boolean unique = false;
-                int count = 0;
-                while (!unique) {
-                    unique = true;
-                    entryPos = random.nextInt(cache.length) ;
-                    // Guarantee uniqueness
-                    for (int i = 0; i < entriesFound; i++) {
-                        if (toRemove[i] == entryPos) {
-                            unique = false;
-                        }
-                    }
-                }
-                long entryAccessRatio =
-                    ((cache[entryPos].accessCount * 100) / accessCount);
-                if (entryAccessRatio < desiredEntryAccessRatio) {
-                    toRemove[entriesFound] = entryPos;
-                    totalSpace += cache[entryPos].size;
-                    toFree -= cache[entryPos].size;
-                    entriesFound++;
-                }
-            }
-            attempts++;
-        }
-
-        // Now remove the selected entries
-        java.util.Arrays.sort(toRemove, 0, entriesFound);
-        CacheEntry[] newCache = new CacheEntry[cache.length - entriesFound];
-        int pos = 0;
-        int n = -1;
-        if (entriesFound > 0) {
-            n = toRemove[0];
-            for (int i = 0; i < cache.length; i++) {
-                if (i == n) {
-                    if ((pos + 1) < entriesFound) {
-                        n = toRemove[pos + 1];
-                        pos++;
-                    } else {
-                        pos++;
-                        n = -1;
-                    }
-                } else {
-                    newCache[i - pos] = cache[i];
-                }
-            }
+        if (space > cacheMaxSize) {
+            return false;
         }
-        cache = newCache;
-        cacheSize -= totalSpace;
-
+        evict(space);
         return true;
-
     }
 
 
     public CacheEntry lookup(String name) {
-
-        CacheEntry cacheEntry = null;
-        CacheEntry[] currentCache = cache;
-        accessCount++;
-        int pos = find(currentCache, name);
-        if ((pos != -1) && (name.equals(currentCache[pos].name))) {
-            cacheEntry = currentCache[pos];
-        }
-        if (cacheEntry == null) {
-            try {
-                cacheEntry = notFoundCache.get(name);
-            } catch (Exception e) {
-                // Ignore: the reliability of this lookup is not critical
-            }
-        }
+        accessCount.increment();
+        CacheEntry cacheEntry = getShard(name).get(name);
         if (cacheEntry != null) {
-            hitsCount++;
+            hitsCount.increment();
         }
         return cacheEntry;
-
     }
 
 
+    /**
+     * Adds the entry to the cache, unless there already is an entry with the
+     * same name or the entry is bigger than the cache. Least recently used
+     * entries are removed if the cache is full.
+     */
     public void load(CacheEntry entry) {
-        if (entry.exists) {
-            if (insertCache(entry)) {
-                cacheSize += entry.size;
-            }
-        } else {
-            int sizeIncrement = (notFoundCache.get(entry.name) == null) ? 1 : 0;
-            notFoundCache.put(entry.name, entry);
-            cacheSize += sizeIncrement;
+        if (entry.exists && entry.size > cacheMaxSize) {
+            return;
+        }
+        if (!getShard(entry.name).putIfAbsent(entry)) {
+            return;
         }
+        cacheSize.addAndGet(entry.size);
+        evict(0);
     }
 
 
     public boolean unload(String name) {
-        CacheEntry removedEntry = removeCache(name);
+        CacheEntry removedEntry = getShard(name).remove(name);
         if (removedEntry != null) {
-            cacheSize -= removedEntry.size;
-            return true;
-        } else if (notFoundCache.remove(name) != null) {
-
-            cacheSize--;
+            cacheSize.addAndGet(-removedEntry.size);
             return true;
         }
         return false;
     }
 
 
+    // -------------------------------------------------------- Private Methods
+
+
+    private Shard getShard(String name) {
+        int hash = name.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & (shards.length - 1)];
+    }
+
+
     /**
-     * Find a map elemnt given its name in a sorted array of map elements.
-     * This will return the index for the closest inferior or equal item in the
-     * given array.
+     * Removes least recently used entries until the cache has the requested
+     * free space.
      */
-    private static final int find(CacheEntry[] map, String name) {
+    private void evict(int space) {
+        while (cacheSize.get() + space > cacheMaxSize) {
+            Shard victim = null;
+            long victimAccess = Long.MAX_VALUE;
+            long nextAccess = Long.MAX_VALUE;
+            for (Shard shard : shards) {
+                long eldestAccess = shard.eldestAccess;
+                if (eldestAccess < victimAccess) {
+                    nextAccess = victimAccess;
+                    victim = shard;
+                    victimAccess = eldestAccess;
+                } else if (eldestAccess < nextAccess) {
+                    nextAccess = eldestAccess;
+                }
+            }
+            if (victim == null) {
+                return;
+            }
+            int freed = victim.removeEldest(nextAccess);
+            if (freed > 0) {
+                cacheSize.addAndGet(-freed);
+            }
+        }
+    }
 
-        int a = 0;
-        int b = map.length - 1;
 
-        // Special cases: -1 and 0
-        if (b == -1) {
-            return -1;
-        }
-        if (name.compareTo(map[0].name) < 0) {
-            return -1;
+    /**
+     * Part of the cache guarded by its own lock. Lookups read the concurrent
+     * map without the lock.
+     */
+    private final class Shard {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ConcurrentHashMap<String, Node> nodes = new ConcurrentHashMap<>();
+        private final LinkedHashMap<String, Node> entries = new LinkedHashMap<>();
+        private final LinkedHashMap<String, Node> notFound = new LinkedHashMap<>();
+
+        /**
+         * Ordered access time of the eldest entry, {@link Long#MIN_VALUE} if
+         * there is any not found entry, {@link Long#MAX_VALUE} if the shard is
+         * empty. The eldest entry might have been accessed since.
+         */
+        volatile long eldestAccess = Long.MAX_VALUE;
+
+        CacheEntry get(String name) {
+            Node node = nodes.get(name);
+            if (node == null) {
+                return null;
+            }
+            node.accessTime = System.nanoTime();
+            return node.entry;
         }
-        if (b == 0) {
-            return 0;
+
+        /**
+         * @return false if there already is an entry of the same name.
+         */
+        boolean putIfAbsent(CacheEntry entry) {
+            int removedNotFound = 0;
+            lock.lock();
+            try {
+                if (nodes.containsKey(entry.name)) {
+                    return false;
+                }
+                Node node = new Node(entry);
+                nodes.put(entry.name, node);
+                if (entry.exists) {
+                    entries.put(entry.name, node);
+                } else {
+                    notFound.put(entry.name, node);
+                    int maxNotFound = Math.max(1, spareNotFoundEntries / shards.length);
+                    while (notFound.size() > maxNotFound) {
+                        removedNotFound += remove(getEldest(notFound)).entry.size;
+                    }
+                }
+                updateEldestAccess();
+            } finally {
+                lock.unlock();
+            }
+            if (removedNotFound > 0) {
+                cacheSize.addAndGet(-removedNotFound);
+            }
+            return true;
         }
 
-        int i = 0;
-        while (true) {
-            i = (b + a) >>> 1;
-            int result = name.compareTo(map[i].name);
-            if (result > 0) {
-                a = i;
-            } else if (result == 0) {
-                return i;
-            } else {
-                b = i;
+        CacheEntry remove(String name) {
+            lock.lock();
+            try {
+                Node node = nodes.get(name);
+                if (node == null) {
+                    return null;
+                }
+                remove(node);
+                updateEldestAccess();
+                return node.entry;
+            } finally {
+                lock.unlock();
             }
-            if ((b - a) == 1) {
-                int result2 = name.compareTo(map[b].name);
-                if (result2 < 0) {
-                    return a;
-                } else {
-                    return b;
+        }
+
+        /**
+         * Removes the least recently used entry, not found entries first.
+         *
+         * @param limit access time of the eldest entry of other shards
+         * @return size of the removed entry, 0 if the shard is empty, -1 if
+         *         the eldest entry turned out to be accessed after the limit
+         *         and nothing was removed.
+         */
+        int removeEldest(long limit) {
+            lock.lock();
+            try {
+                LinkedHashMap<String, Node> map = notFound.isEmpty() ? entries : notFound;
+                if (map.isEmpty()) {
+                    updateEldestAccess();
+                    return 0;
                 }
+                Node eldest = getEldest(map);
+                if (map == entries && eldest.orderedAccess > limit) {
+                    updateEldestAccess();
+                    return -1;
+                }
+                remove(eldest);
+                updateEldestAccess();
+                return eldest.entry.size;
+            } finally {
+                lock.unlock();
             }
         }
 
-    }
+        /**
+         * Must be called under the lock. If the eldest entry was accessed
+         * since the last ordering, orders all entries by their access time.
+         */
+        private Node getEldest(LinkedHashMap<String, Node> map) {
+            Node eldest = map.values().iterator().next();
+            if (eldest.accessTime == eldest.orderedAccess) {
+                return eldest;
+            }
+            List<Node> ordered = new ArrayList<>(map.values());
+            for (Node node : ordered) {
+                node.orderedAccess = node.accessTime;
+            }
+            ordered.sort(Comparator.comparingLong(node -> node.orderedAccess));
+            map.clear();
+            for (Node node : ordered) {
+                map.put(node.entry.name, node);
+            }
+            return ordered.get(0);
+        }
 
+        /**
+         * Must be called under the lock.
+         */
+        private Node remove(Node node) {
+            nodes.remove(node.entry.name);
+            if (entries.remove(node.entry.name) == null) {
+                notFound.remove(node.entry.name);
+            }
+            return node;
+        }
 
-    /**
-     * Insert into the right place in a sorted MapElement array, and prevent
-     * duplicates.
-     */
-    private final boolean insertCache(CacheEntry newElement) {
-        CacheEntry[] oldCache = cache;
-        int pos = find(oldCache, newElement.name);
-        if ((pos != -1) && (newElement.name.equals(oldCache[pos].name))) {
-            return false;
+        /**
+         * Must be called under the lock after every change of the order.
+         */
+        private void updateEldestAccess() {
+            if (!notFound.isEmpty()) {
+                eldestAccess = Long.MIN_VALUE;
+            } else if (entries.isEmpty()) {
+                eldestAccess = Long.MAX_VALUE;
+            } else {
+                eldestAccess = entries.values().iterator().next().orderedAccess;
+            }
         }
-        CacheEntry[] newCache = new CacheEntry[cache.length + 1];
-        System.arraycopy(oldCache, 0, newCache, 0, pos + 1);
-        newCache[pos + 1] = newElement;
-        System.arraycopy
-            (oldCache, pos + 1, newCache, pos + 2, oldCache.length - pos - 1);
-        cache = newCache;
-        return true;
     }
 
 
     /**
-     * Insert into the right place in a sorted MapElement array.
+     * Cached entry with the time of its last access.
      */
-    private final CacheEntry removeCache(String name) {
-        CacheEntry[] oldCache = cache;
-        int pos = find(oldCache, name);
-        if ((pos != -1) && (name.equals(oldCache[pos].name))) {
-            CacheEntry[] newCache = new CacheEntry[cache.length - 1];
-            System.arraycopy(oldCache, 0, newCache, 0, pos);
-            System.arraycopy(oldCache, pos + 1, newCache, pos,
-                             oldCache.length - pos - 1);
-            cache = newCache;
-            return oldCache[pos];
+    private static final class Node {
+
+        final CacheEntry entry;
+        volatile long accessTime = System.nanoTime();
+
+        /**
+         * Access time when the entry was ordered, guarded by the lock of its shard.
+         */
+        long orderedAccess = accessTime;
+
+        Node(CacheEntry entry) {
+            this.entry = entry;
         }
-        return null;
     }
 
 
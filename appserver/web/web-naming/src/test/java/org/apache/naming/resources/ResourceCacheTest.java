@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.naming.resources;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+public class ResourceCacheTest {
+
+    private static final int THREAD_COUNT = 8;
+
+    @TempDir
+    Path docBase;
+
+    @Test
+    public void removesLeastRecentlyUsedEntries() {
+        ResourceCache cache = new ResourceCache();
+        cache.setCacheMaxSize(100);
+        for (int i = 0; i < 1000; i++) {
+            cache.load(createEntry("/resource" + i, true, 1));
+            assertThat(cache.lookup("/resource0"), notNullValue());
+        }
+        assertThat(cache.getCacheSize(), lessThanOrEqualTo(100));
+        assertThat(cache.lookup("/resource1"), nullValue());
+        assertThat(cache.lookup("/resource999"), notNullValue());
+        assertThat(cache.allocate(101), equalTo(false));
+    }
+
+    @Test
+    public void removesLeastRecentlyUsedEntriesOfAllShards() {
+        ResourceCache cache = new ResourceCache();
+        cache.setCacheMaxSize(100);
+        for (int i = 0; i < 100; i++) {
+            cache.load(createEntry("/resource" + i, true, 1));
+        }
+        for (int i = 50; i < 150; i++) {
+            assertThat(cache.lookup("/resource" + (i % 100)), notNullValue());
+        }
+        for (int i = 100; i < 110; i++) {
+            cache.load(createEntry("/resource" + i, true, 1));
+        }
+
+        assertThat(cache.getCacheSize(), equalTo(100));
+        for (int i = 0; i < 110; i++) {
+            if (i >= 50 && i < 60) {
+                assertThat("/resource" + i, cache.lookup("/resource" + i), nullValue());
+            } else {
+                assertThat("/resource" + i, cache.lookup("/resource" + i), notNullValue());
+            }
+        }
+    }
+
+    @Test
+    public void boundsNotFoundEntries() {
+        ResourceCache cache = new ResourceCache();
+        cache.setSpareNotFoundEntries(512);
+        for (int i = 0; i < 10_000; i++) {
+            cache.load(createEntry("/missing" + i, false, 1));
+        }
+        assertThat(cache.getCacheSize(), lessThanOrEqualTo(512));
+        assertThat(cache.lookup("/missing9999"), notNullValue());
+    }
+
+    @Test
+    public void keepsSizeConsistentUnderConcurrentAccess() throws Exception {
+        ResourceCache cache = new ResourceCache();
+        cache.setCacheMaxSize(1000);
+        List<Callable<Void>> tasks = new ArrayList<>(THREAD_COUNT);
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            tasks.add(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int j = 0; j < 100_000; j++) {
+                    String name = "/resource" + random.nextInt(5000);
+                    if (cache.lookup(name) == null) {
+                        cache.load(createEntry(name, random.nextInt(10) > 0, 1 + random.nextInt(10)));
+                    } else if (random.nextInt(100) == 0) {
+                        cache.unload(name);
+                    }
+                }
+                return null;
+            });
+        }
+        ExecutorService threadPool = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            for (Future<Void> future : threadPool.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            threadPool.shutdownNow();
+        }
+
+        assertThat(cache.getCacheSize(), lessThanOrEqualTo(1000));
+        assertThat(cache.getHitsCount(), greaterThan(0L));
+        for (int i = 0; i < 5000; i++) {
+            cache.unload("/resource" + i);
+        }
+        assertThat(cache.getCacheSize(), equalTo(0));
+    }
+
+    @Test
+    public void cachesBigFilesInDirectBuffers() throws Exception {
+        byte[] big = new byte[64 * 1024];
+        ThreadLocalRandom.current().nextBytes(big);
+        Files.write(docBase.resolve("big.bin"), big);
+        Files.write(docBase.resolve("small.txt"), new byte[100]);
+        FileDirContext dirContext = new FileDirContext();
+        dirContext.setDocBase(docBase.toString());
+        dirContext.setCacheDirectMinSize(16);
+        ProxyDirContext proxyDirContext = new ProxyDirContext(new Hashtable<>(), dirContext);
+
+        CacheEntry bigEntry = proxyDirContext.lookupCache("/big.bin");
+        assertThat(bigEntry.resource.getContent(), nullValue());
+        ByteBuffer content = bigEntry.resource.getContentBuffer();
+        assertThat(content.isDirect(), equalTo(true));
+        assertThat(content, equalTo(ByteBuffer.wrap(big)));
+        assertThat(bigEntry.resource.streamContent().readAllBytes(), equalTo(big));
+        assertThat(proxyDirContext.lookupCache("/big.bin"), equalTo(bigEntry));
+        // The cached content is not mapped to the file.
+        Files.write(docBase.resolve("big.bin"), new byte[0]);
+        assertThat(bigEntry.resource.getContentBuffer(), equalTo(ByteBuffer.wrap(big)));
+
+        CacheEntry smallEntry = proxyDirContext.lookupCache("/small.txt");
+        assertThat(smallEntry.resource.getContent(), notNullValue());
+        assertThat(smallEntry.resource.getContentBuffer(), nullValue());
+    }
+
+    private static CacheEntry createEntry(String name, boolean exists, int size) {
+        CacheEntry entry = new CacheEntry();
+        entry.name = name;
+        entry.exists = exists;
+        entry.size = size;
+        return entry;
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -44,43 +45,51 @@ public class BoundedMultiLruCache extends MultiLruCache {
         currentSize = 0;
 
         if (props != null) {
-            String strMaxSize = props.getProperty("MaxSize");
-            int multiplier = 1;
-            long size = -1;
-
-            String prop = strMaxSize;
-            if (prop != null) {
-                int index;
-
-                // upper case the string
-                prop = prop.toUpperCase(Locale.ENGLISH);
-
-                // look for 200KB or 80Kb or 1MB or 2Mb like suffixes
-                if ((index = prop.indexOf("KB")) != -1) {
-                    multiplier = Constants.KB;
-                    prop = prop.substring(0, index);
-                } else if ((index = prop.indexOf("MB")) != -1) {
-                    multiplier = Constants.MB;
-                    prop = prop.substring(0, index);
-                }
-
-                try {
-                    size = Long.parseLong(prop.trim());
-                } catch (NumberFormatException nfe) {}
+            maxSize = parseMaxSize(props.getProperty("MaxSize"));
+        }
+    }
+
+    /**
+     * parse the MaxSize property
+     * @param strMaxSize size in bytes, optionally with KB or MB suffix
+     * @return size in bytes
+     * @throws IllegalArgumentException if the value is not a positive size
+     */
+    static long parseMaxSize(String strMaxSize) {
+        int multiplier = 1;
+        long size = -1;
+
+        String prop = strMaxSize;
+        if (prop != null) {
+            int index;
+
+            // upper case the string
+            prop = prop.toUpperCase(Locale.ENGLISH);
+
+            // look for 200KB or 80Kb or 1MB or 2Mb like suffixes
+            if ((index = prop.indexOf("KB")) != -1) {
+                multiplier = Constants.KB;
+                prop = prop.substring(0, index);
+            } else if ((index = prop.indexOf("MB")) != -1) {
+                multiplier = Constants.MB;
+                prop = prop.substring(0, index);
             }
 
-            // sanity check and convert
-            if (size > 0)
-                maxSize = (size * multiplier);
-            else  {
-                String msg = CULoggerInfo.getString(CULoggerInfo.boundedMultiLruCacheIllegalMaxSize);
+            try {
+                size = Long.parseLong(prop.trim());
+            } catch (NumberFormatException nfe) {}
+        }
 
-                Object[] params = { strMaxSize };
-                msg = MessageFormat.format(msg, params);
+        // sanity check and convert
+        if (size > 0)
+            return (size * multiplier);
 
-                throw new IllegalArgumentException(msg);
-            }
-        }
+        String msg = CULoggerInfo.getString(CULoggerInfo.boundedMultiLruCacheIllegalMaxSize);
+
+        Object[] params = { strMaxSize };
+        msg = MessageFormat.format(msg, params);
+
+        throw new IllegalArgumentException(msg);
     }
 
     /**
@@ -0,0 +1,670 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.appserv.util.cache;
+
+import com.sun.enterprise.util.CULoggerInfo;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ConcurrentClockCache
+ * in-memory bounded cache backed by a {@link ConcurrentHashMap} with the CLOCK
+ * (second chance) replacement.
+ * <p>
+ * A hit just marks the entry as referenced, it doesn't take any lock and doesn't
+ * reorder any list. When the cache reaches its threshold or the MaxSize property
+ * (bytes, KB or MB as in {@link BoundedMultiLruCache}), the clock hand walks the
+ * entries in the insertion order, clears the referenced flag of recently used
+ * entries and trims the first entry which was not used since the last round.
+ * Trimmed entries are reported to {@link CacheListener}s.
+ * <p>
+ * The statistics use the same keys as the {@link BaseCache}, the {@link LruCache}
+ * and the {@link BoundedMultiLruCache}, so the cache can be monitored by the
+ * {@link com.sun.appserv.util.cache.mbeans.JmxBaseCache}.
+ */
+public class ConcurrentClockCache implements Cache {
+
+    // the item never expires
+    public static final long NO_TIMEOUT = -1;
+
+    private static final int MAX_REFRESH_LOCKS = 1 << 16;
+
+    private final ConcurrentHashMap<Object, Entry> entries = new ConcurrentHashMap<>();
+    // the clock; contains also removed entries until the hand or the cleanup reaches them
+    private final Queue<Entry> clock = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger entryCount = new AtomicInteger();
+    private final AtomicLong currentSize = new AtomicLong();
+    private final AtomicInteger removedInClock = new AtomicInteger();
+    private final List<CacheListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder removalCount = new LongAdder();
+    private final LongAdder refreshCount = new LongAdder();
+    private final LongAdder addCount = new LongAdder();
+    private final LongAdder trimCount = new LongAdder();
+
+    private int maxEntries;
+    private int threshold;
+    private long maxSize = Constants.DEFAULT_MAX_CACHE_SIZE;
+    private volatile long timeout = NO_TIMEOUT;
+
+    // locks and flags for item thread-safe refreshes
+    private Object[] refreshLocks;
+    private boolean[] refreshFlags;
+
+    /**
+     * default constructor
+     */
+    public ConcurrentClockCache() { }
+
+    /**
+     * initialize the cache with the default load factor (0.75)
+     * @param maxEntries maximum number of entries expected in the cache
+     * @param props opaque list of properties for a given cache implementation
+     */
+    @Override
+    public void init(int maxEntries, Properties props) {
+        init(maxEntries, BaseCache.DEFAULT_LOAD_FACTOR, props);
+    }
+
+    /**
+     * initialize the cache
+     * @param maxEntries maximum number of entries expected in the cache
+     * @param loadFactor the load factor
+     * @param props opaque list of properties; MaxSize limits the total size of the values
+     */
+    @Override
+    public void init(int maxEntries, float loadFactor, Properties props) {
+        if (maxEntries <= 0) {
+            String msg = CULoggerInfo.getString(CULoggerInfo.illegalMaxEntries);
+            Object[] params = { Integer.valueOf(maxEntries) };
+            throw new IllegalArgumentException(MessageFormat.format(msg, params));
+        }
+
+        this.maxEntries = Math.min(maxEntries, BaseCache.MAX_ENTRIES);
+        this.threshold = (int) (this.maxEntries * Math.max(0, loadFactor)) + 1;
+        if (props != null && props.getProperty("MaxSize") != null) {
+            this.maxSize = BoundedMultiLruCache.parseMaxSize(props.getProperty("MaxSize"));
+        }
+
+        int lockCount = 1;
+        while (lockCount < this.maxEntries && lockCount < MAX_REFRESH_LOCKS) {
+            lockCount <<= 1;
+        }
+        refreshLocks = new Object[lockCount];
+        refreshFlags = new boolean[lockCount];
+        for (int i = 0; i < lockCount; i++) {
+            refreshLocks[i] = new Object();
+        }
+    }
+
+    /**
+     * sets the timeout value
+     * @param timeout to be used to trim the expired entries
+     */
+    public void setTimeout(long timeout) {
+        // accept a positive timeout
+        if (timeout > 0)
+            this.timeout = timeout;
+    }
+
+    /**
+     * add the cache module listener
+     * @param listener <code>CacheListener</code> implementation
+     */
+    @Override
+    public void addCacheListener(CacheListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * get the index of the refresh lock given a key
+     * @param key of the entry
+     * @return the index to be used in waitRefresh and notifyRefresh
+     */
+    @Override
+    public int getIndex(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (refreshLocks.length - 1);
+    }
+
+    /**
+     * get the item stored at the key.
+     * @param key lookup key
+     * @return the item stored at the key; null if not found.
+     */
+    @Override
+    public Object get(Object key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            missCount.increment();
+            return null;
+        }
+        entry.accessed(timeout);
+        hitCount.increment();
+        return entry.value;
+    }
+
+    /**
+     * get all the items stored at the key.
+     * @param key lookup key
+     * @return an Iterator over the items with the given key.
+     */
+    @Override
+    public Iterator getAll(Object key) {
+        List<Object> valueList = new ArrayList<>();
+        for (Entry entry = entries.get(key); entry != null; entry = entry.next) {
+            entry.accessed(timeout);
+            hitCount.increment();
+            valueList.add(entry.value);
+        }
+        return valueList.iterator();
+    }
+
+    /**
+     * check if the cache contains the item at the key
+     * @param key lookup key
+     * @return true if there is an item stored at the key; false if not.
+     */
+    @Override
+    public boolean contains(Object key) {
+        return get(key) != null;
+    }
+
+    /**
+     * get an Iterator for the keys stored in the cache
+     * @return an Iterator
+     */
+    @Override
+    public Iterator keys() {
+        List<Object> keyList = new ArrayList<>(entryCount.get());
+        for (Entry head : entries.values()) {
+            for (Entry entry = head; entry != null; entry = entry.next) {
+                keyList.add(entry.key);
+            }
+        }
+        return keyList.iterator();
+    }
+
+    /**
+     * get an Enumeration for the keys stored in the cache
+     * @return an Enumeration
+     */
+    @Override
+    public Enumeration elements() {
+        Vector<Object> keyList = new Vector<>(entryCount.get());
+        for (Entry head : entries.values()) {
+            for (Entry entry = head; entry != null; entry = entry.next) {
+                keyList.addElement(entry.key);
+            }
+        }
+        return keyList.elements();
+    }
+
+    /**
+     * get an Iterator for the values stored in the cache
+     * @return an Iterator
+     */
+    @Override
+    public Iterator values() {
+        List<Object> valueList = new ArrayList<>(entryCount.get());
+        for (Entry head : entries.values()) {
+            for (Entry entry = head; entry != null; entry = entry.next) {
+                valueList.add(entry.value);
+            }
+        }
+        return valueList.iterator();
+    }
+
+    @Override
+    public Object put(Object key, Object value) {
+        return put(key, value, -1);
+    }
+
+    /**
+     * cache the given value at the specified key and return previous value
+     * @param key lookup key
+     * @param value item value to be stored
+     * @param size in bytes of the value being cached
+     * @return the previous item stored at the key; null if not found.
+     */
+    @Override
+    public Object put(Object key, Object value, int size) {
+        final Entry[] added = new Entry[1];
+        final Object[] oldValue = new Object[1];
+        entries.compute(key, (k, head) -> {
+            if (head == null) {
+                added[0] = new Entry(k, value, size, null);
+                return added[0];
+            }
+            oldValue[0] = head.value;
+            currentSize.addAndGet(weight(size) - weight(head.size));
+            head.value = value;
+            head.size = size;
+            head.accessed(timeout);
+            return head;
+        });
+        if (added[0] == null) {
+            refreshCount.increment();
+            trimIfNeeded();
+        } else {
+            entryAdded(added[0]);
+        }
+        return oldValue[0];
+    }
+
+    @Override
+    public void add(Object key, Object value) {
+        add(key, value, -1);
+    }
+
+    /**
+     * add the given value with specified size to the cache at specified key
+     * @param key lookup key
+     * @param value item value to be stored
+     * @param size in bytes of the value being added
+     */
+    @Override
+    public void add(Object key, Object value, int size) {
+        final Entry[] added = new Entry[1];
+        entries.compute(key, (k, head) -> {
+            added[0] = new Entry(k, value, size, head);
+            return added[0];
+        });
+        entryAdded(added[0]);
+    }
+
+    /**
+     * remove the item stored at the key.
+     * @param key lookup key
+     * @return the item stored at the key; null if not found.
+     */
+    @Override
+    public Object remove(Object key) {
+        return remove(key, null);
+    }
+
+    /**
+     * remove the given value stored at the key; value-specific removals.
+     * @param key lookup key
+     * @param value to match (for a multi-valued keys); null matches any value
+     * @return the item stored at the key; null if not found.
+     */
+    @Override
+    public Object remove(Object key, Object value) {
+        final Entry[] removed = new Entry[1];
+        entries.computeIfPresent(key, (k, head) -> {
+            Entry previous = null;
+            for (Entry entry = head; entry != null; entry = entry.next) {
+                if (value == null || value == entry.value) {
+                    removed[0] = entry;
+                    return unlink(head, previous, entry);
+                }
+                previous = entry;
+            }
+            return head;
+        });
+        if (removed[0] == null) {
+            missCount.increment();
+            return null;
+        }
+        entryRemoved(removed[0], true);
+        removalCount.increment();
+        hitCount.increment();
+        return removed[0].value;
+    }
+
+    /**
+     * remove all the item with the given key.
+     * @param key lookup key
+     */
+    @Override
+    public void removeAll(Object key) {
+        Entry head = entries.remove(key);
+        for (Entry entry = head; entry != null; entry = entry.next) {
+            entry.removed = true;
+            entryRemoved(entry, true);
+            removalCount.increment();
+        }
+    }
+
+    /**
+     * wait for a refresh on the object associated with the key
+     * @param index index of the entry obtained by getIndex
+     * @return true on successful notification, or false if there is
+     *  no thread refreshing this entry.
+     */
+    @Override
+    public boolean waitRefresh(int index) {
+        synchronized (refreshLocks[index]) {
+            if (!refreshFlags[index]) {
+                refreshFlags[index] = true;
+                return false;
+            }
+
+            // wait till refresh is finished
+            try {
+                while (refreshFlags[index]) {
+                    refreshLocks[index].wait();
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * notify threads waiting for a refresh on the object associated with the key
+     * @param index index of the entry obtained by getIndex
+     */
+    @Override
+    public void notifyRefresh(int index) {
+        synchronized (refreshLocks[index]) {
+            refreshFlags[index] = false;
+            refreshLocks[index].notifyAll();
+        }
+    }
+
+    /**
+     * clear all the entries from the cache.
+     * @return the number of entries cleared from the cache
+     */
+    @Override
+    public int clear() {
+        int count = 0;
+        for (Object key : entries.keySet()) {
+            Entry head = entries.remove(key);
+            for (Entry entry = head; entry != null; entry = entry.next) {
+                entry.removed = true;
+                entryRemoved(entry, true);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * trim the expired entries from the cache.
+     * @param maxCount maximum number of invalid entries to trim
+     *        specify Integer.MAX_VALUE to trim all timedout entries
+     *
+     * This call is to be scheduled by a thread managed by the container.
+     */
+    @Override
+    public void trimExpiredEntries(int maxCount) {
+        if (timeout == NO_TIMEOUT) {
+            return;
+        }
+        long expiredBefore = System.currentTimeMillis() - timeout;
+        int count = 0;
+        for (Entry entry : clock) {
+            if (count >= maxCount) {
+                break;
+            }
+            if (!entry.removed && entry.lastAccessed <= expiredBefore && trim(entry, true)) {
+                count++;
+            }
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return entryCount.get() == 0;
+    }
+
+    @Override
+    public int getEntryCount() {
+        return entryCount.get();
+    }
+
+    /**
+     * get the desired statistic counter
+     * @param key to corresponding stat
+     * @return an Object corresponding to the stat
+     * See also: Constant.java for the key
+     */
+    @Override
+    public Object getStatByName(String key) {
+        if (key == null) {
+            return null;
+        }
+        switch (key) {
+            case Constants.STAT_BASECACHE_MAX_ENTRIES:
+                return Integer.valueOf(maxEntries);
+            case Constants.STAT_BASECACHE_THRESHOLD:
+                return Integer.valueOf(threshold);
+            case Constants.STAT_BASECACHE_TABLE_SIZE:
+                return Integer.valueOf(refreshLocks == null ? 0 : refreshLocks.length);
+            case Constants.STAT_BASECACHE_ENTRY_COUNT:
+                return Integer.valueOf(entryCount.get());
+            case Constants.STAT_BASECACHE_HIT_COUNT:
+                return Integer.valueOf(hitCount.intValue());
+            case Constants.STAT_BASECACHE_MISS_COUNT:
+                return Integer.valueOf(missCount.intValue());
+            case Constants.STAT_BASECACHE_REMOVAL_COUNT:
+                return Integer.valueOf(removalCount.intValue());
+            case Constants.STAT_BASECACHE_REFRESH_COUNT:
+                return Integer.valueOf(refreshCount.intValue());
+            case Constants.STAT_BASECACHE_OVERFLOW_COUNT:
+                // the threshold never grows
+                return Integer.valueOf(0);
+            case Constants.STAT_BASECACHE_ADD_COUNT:
+                return Integer.valueOf(addCount.intValue());
+            case Constants.STAT_LRUCACHE_LIST_LENGTH:
+                return Integer.valueOf(entryCount.get());
+            case Constants.STAT_LRUCACHE_TRIM_COUNT:
+                return Integer.valueOf(trimCount.intValue());
+            case Constants.STAT_BOUNDEDMULTILRUCACHE_CURRENT_SIZE:
+                return Long.valueOf(currentSize.get());
+            case Constants.STAT_BOUNDEDMULTILRUCACHE_MAX_SIZE:
+                return maxSize == Constants.DEFAULT_MAX_CACHE_SIZE ? Constants.STAT_DEFAULT : Long.valueOf(maxSize);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * get the stats snapshot
+     * @return a Map of stats
+     * See also: Constant.java for the keys
+     */
+    @Override
+    public Map getStats() {
+        String[] keys = {Constants.STAT_BASECACHE_MAX_ENTRIES, Constants.STAT_BASECACHE_THRESHOLD,
+            Constants.STAT_BASECACHE_TABLE_SIZE, Constants.STAT_BASECACHE_ENTRY_COUNT,
+            Constants.STAT_BASECACHE_HIT_COUNT, Constants.STAT_BASECACHE_MISS_COUNT,
+            Constants.STAT_BASECACHE_REMOVAL_COUNT, Constants.STAT_BASECACHE_REFRESH_COUNT,
+            Constants.STAT_BASECACHE_OVERFLOW_COUNT, Constants.STAT_BASECACHE_ADD_COUNT,
+            Constants.STAT_LRUCACHE_LIST_LENGTH, Constants.STAT_LRUCACHE_TRIM_COUNT,
+            Constants.STAT_BOUNDEDMULTILRUCACHE_CURRENT_SIZE, Constants.STAT_BOUNDEDMULTILRUCACHE_MAX_SIZE};
+        Map<String, Object> stats = new HashMap<>();
+        for (String key : keys) {
+            stats.put(key, getStatByName(key));
+        }
+        return stats;
+    }
+
+    /**
+     * clear the stats
+     */
+    @Override
+    public void clearStats() {
+        hitCount.reset();
+        missCount.reset();
+        removalCount.reset();
+        refreshCount.reset();
+        addCount.reset();
+        trimCount.reset();
+    }
+
+    /**
+     * Removes all entries and listeners.
+     */
+    @Override
+    public void destroy() {
+        clear();
+        clock.clear();
+        removedInClock.set(0);
+        listeners.clear();
+    }
+
+    private void entryAdded(Entry entry) {
+        entryCount.incrementAndGet();
+        currentSize.addAndGet(weight(entry.size));
+        addCount.increment();
+        clock.offer(entry);
+        trimIfNeeded();
+    }
+
+    private void entryRemoved(Entry entry, boolean inClock) {
+        entryCount.decrementAndGet();
+        currentSize.addAndGet(-weight(entry.size));
+        // the clock is cleaned when there are more removed entries than the live ones
+        if (inClock && removedInClock.incrementAndGet() > Math.max(threshold, entryCount.get())) {
+            removedInClock.set(0);
+            clock.removeIf(e -> e.removed);
+        }
+    }
+
+    private void trimIfNeeded() {
+        while (entryCount.get() > threshold || currentSize.get() > maxSize) {
+            Entry victim = nextVictim();
+            if (victim == null) {
+                return;
+            }
+            trim(victim, false);
+        }
+    }
+
+    /**
+     * Moves the clock hand to the first entry not used since the last round.
+     * Recently used entries get the second chance.
+     */
+    private Entry nextVictim() {
+        int secondChances = entryCount.get();
+        while (true) {
+            Entry entry = clock.poll();
+            if (entry == null) {
+                return null;
+            }
+            if (entry.removed) {
+                continue;
+            }
+            if (entry.referenced && secondChances-- > 0) {
+                entry.referenced = false;
+                clock.offer(entry);
+                continue;
+            }
+            return entry;
+        }
+    }
+
+    /**
+     * Removes the entry and notifies listeners.
+     *
+     * @param inClock false if the clock hand already took the entry from the clock
+     * @return false if the entry was already removed by another thread
+     */
+    private boolean trim(Entry victim, boolean inClock) {
+        final boolean[] trimmed = new boolean[1];
+        entries.computeIfPresent(victim.key, (k, head) -> {
+            Entry previous = null;
+            for (Entry entry = head; entry != null; entry = entry.next) {
+                if (entry == victim) {
+                    trimmed[0] = true;
+                    return unlink(head, previous, entry);
+                }
+                previous = entry;
+            }
+            return head;
+        });
+        if (!trimmed[0]) {
+            return false;
+        }
+        entryRemoved(victim, inClock);
+        trimCount.increment();
+        for (CacheListener listener : listeners) {
+            listener.trimEvent(victim.key, victim.value);
+        }
+        return true;
+    }
+
+    /**
+     * Must be called in the map's compute function.
+     * @return the new head of the list of values of the key, null if it is empty
+     */
+    private static Entry unlink(Entry head, Entry previous, Entry entry) {
+        entry.removed = true;
+        if (previous == null) {
+            return entry.next;
+        }
+        previous.next = entry.next;
+        return head;
+    }
+
+    private static long weight(int size) {
+        return Math.max(0, size);
+    }
+
+    private static final class Entry {
+
+        final Object key;
+        volatile Object value;
+        volatile int size;
+        // next value of the same key, changed only in the map's compute functions
+        volatile Entry next;
+        volatile boolean referenced;
+        volatile boolean removed;
+        volatile long lastAccessed;
+
+        Entry(Object key, Object value, int size, Entry next) {
+            this.key = key;
+            this.value = value;
+            this.size = size;
+            this.next = next;
+            this.lastAccessed = System.currentTimeMillis();
+        }
+
+        void accessed(long timeout) {
+            // don't write to the shared cache line if not needed
+            if (!referenced) {
+                referenced = true;
+            }
+            if (timeout != NO_TIMEOUT) {
+                lastAccessed = System.currentTimeMillis();
+            }
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2024 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2006, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -101,6 +101,12 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
     /** cache of not found classes */
     private final Map<String, String> notFoundClasses = new ConcurrentHashMap<>();
 
+    /**
+     * url entries which may contain classes and resources of a package, in the search order.
+     * Guarded by this class loader.
+     */
+    private final Map<String, List<URLEntry>> packageIndex = new HashMap<>();
+
     /**
      * State flag to track whether this instance has been shut off.
      * Note: 'volatile' *does not by itself eliminate a race condition* similar
@@ -218,6 +224,7 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
             this.urlSet.clear();
             this.notFoundResources.clear();
             this.notFoundClasses.clear();
+            this.packageIndex.clear();
         }
 
         super.close();
@@ -272,6 +279,7 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
             if (!urlSet.contains(entry)) {
                 // adds the url entry to the list
                 this.urlSet.add(entry);
+                this.packageIndex.clear();
                 if (entry.isJar) {
                     // checks the manifest if a jar
                     checkManifest(entry.zip, entry.file);
@@ -356,6 +364,7 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
      */
     public synchronized void refresh() throws IOException {
         clearNotFoundCaches();
+        packageIndex.clear();
     }
 
 
@@ -389,6 +398,26 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
     }
 
 
+    /**
+     * Returns url entries which may contain the class or resource, in the search order.
+     * The caller must hold the lock of this class loader.
+     *
+     * @param name name of the class file or resource
+     * @return url entries
+     */
+    private List<URLEntry> getURLEntries(String name) {
+        return packageIndex.computeIfAbsent(URLEntry.getPackageName(name), packageName -> {
+            List<URLEntry> entries = new ArrayList<>();
+            for (URLEntry u : this.urlSet) {
+                if (u.hasPackage(packageName)) {
+                    entries.add(u);
+                }
+            }
+            return entries.isEmpty() ? Collections.emptyList() : entries;
+        });
+    }
+
+
     /**
      * Internal implementation of find resource.
      *
@@ -467,7 +496,7 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
         }
 
         synchronized(this) {
-            for (final URLEntry u : this.urlSet) {
+            for (final URLEntry u : getURLEntries(name)) {
 
                 if (!u.hasItem(name)) {
                     continue;
@@ -510,7 +539,7 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
             return Collections.emptyEnumeration();
         }
 
-        for (URLEntry urlEntry : this.urlSet) {
+        for (URLEntry urlEntry : getURLEntries(name)) {
             final URL url = findResource0(urlEntry, name);
             if (url != null) {
                 resourcesList.add(url);
@@ -748,7 +777,7 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
         // search through the JARs for a file of the form java/lang/Object.class
         String entryName = name.replace('.', '/') + ".class";
 
-        for (URLEntry u : this.urlSet) {
+        for (URLEntry u : getURLEntries(entryName)) {
             if (!u.hasItem(entryName)) {
                 continue;
             }
@@ -928,6 +957,12 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
         /** ensure thread visibility by making it 'volatile' */
         volatile HashMap<String, String> table = null;
 
+        /**
+         * directories containing entries of the jar, null if url is a directory,
+         * ensure thread visibility by making it 'volatile'
+         */
+        volatile Set<String> packages = null;
+
         /**
          * ProtectionDomain with signers if jar is signed,
          * ensure thread visibility by making it 'volatile'
@@ -950,11 +985,28 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
 
             if (isJar) {
                 zip = new ProtectedJarFile(file);
+                packages = JarPackages.getPackages(zip);
             }
 
             table = new HashMap<>();
         }
 
+        /**
+         * @param name name of the class file or resource
+         * @return directory of the class file or resource.
+         */
+        static String getPackageName(String name) {
+            return JarPackages.getPackageName(name.startsWith("./") ? name.substring(2) : name);
+        }
+
+        /**
+         * @param packageName directory of the class file or resource
+         * @return false if the url is a jar without any entry in the directory.
+         */
+        private boolean hasPackage(String packageName) {
+            return packages == null || packages.contains(packageName);
+        }
+
         private void fillTable(File f, HashMap<String, String> t, String parent) throws IOException {
             String localName = parent.isEmpty() ? "" : parent + "/";
             File[] children = f.listFiles();
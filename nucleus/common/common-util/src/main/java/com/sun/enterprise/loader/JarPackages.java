@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.loader;
+
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Directories of entries in jar files, so class loaders don't have to search jar files
+ * which cannot contain the class or resource.
+ */
+public final class JarPackages {
+
+    private static final String VERSIONS_DIR = "META-INF/versions/";
+
+    private JarPackages() {
+        // utility class
+    }
+
+
+    /**
+     * Reads names of all entries of the jar file. Entries of multi-release jar files are found
+     * by their unversioned names too.
+     *
+     * @param jar the jar file
+     * @return directories containing entries of the jar file and all their parent directories,
+     *         including the empty name of the root.
+     */
+    public static Set<String> getPackages(ZipFile jar) {
+        final Set<String> packages = new HashSet<>();
+        packages.add("");
+        Enumeration<? extends ZipEntry> entries = jar.entries();
+        while (entries.hasMoreElements()) {
+            String name = entries.nextElement().getName();
+            if (name.startsWith(VERSIONS_DIR)) {
+                int versionEnd = name.indexOf('/', VERSIONS_DIR.length());
+                if (versionEnd != -1) {
+                    addPackage(packages, name.substring(versionEnd + 1));
+                }
+            }
+            addPackage(packages, name);
+        }
+        return packages;
+    }
+
+
+    /**
+     * @param path path of the class file or resource
+     * @return directory of the class file or resource.
+     */
+    public static String getPackageName(String path) {
+        int separator = path.lastIndexOf('/');
+        return separator == -1 ? "" : path.substring(0, separator);
+    }
+
+
+    /**
+     * Adds the directory of the entry and all its parent directories.
+     */
+    private static void addPackage(Set<String> packages, String name) {
+        int separator = name.lastIndexOf('/');
+        while (separator > 0 && packages.add(name.substring(0, separator))) {
+            separator = name.lastIndexOf('/', separator - 1);
+        }
+    }
+}
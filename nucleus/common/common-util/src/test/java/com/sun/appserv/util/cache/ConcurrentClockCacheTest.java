@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.appserv.util.cache;
+
+import com.sun.appserv.util.cache.mbeans.JmxBaseCache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentClockCacheTest {
+
+    @Test
+    public void trimsOverflowAndNotifiesListeners() {
+        ConcurrentClockCache cache = new ConcurrentClockCache();
+        cache.init(100, 1.0f, null);
+        AtomicInteger trimmed = new AtomicInteger();
+        cache.addCacheListener((key, value) -> trimmed.incrementAndGet());
+        for (int i = 0; i < 500; i++) {
+            cache.put(i, "value" + i);
+        }
+
+        JmxBaseCache mbean = new JmxBaseCache(cache, "test");
+        assertThat(mbean.getEntryCount(), equalTo(101));
+        assertThat(mbean.getAddCount(), equalTo(500));
+        assertThat(mbean.getThreshold(), equalTo(101));
+        assertThat(trimmed.get(), equalTo(399));
+        assertThat(cache.getStatByName(Constants.STAT_LRUCACHE_TRIM_COUNT), equalTo(399));
+    }
+
+    @Test
+    public void referencedEntriesGetSecondChance() {
+        ConcurrentClockCache cache = new ConcurrentClockCache();
+        cache.init(100, 1.0f, null);
+        for (int i = 0; i <= 100; i++) {
+            cache.put(i, "value" + i);
+        }
+        for (int i = 0; i < 10; i++) {
+            assertEquals("value" + i, cache.get(i));
+        }
+        for (int i = 101; i < 150; i++) {
+            cache.put(i, "value" + i);
+        }
+        for (int i = 0; i < 10; i++) {
+            assertTrue(cache.contains(i), "Recently used entry was trimmed: " + i);
+        }
+        assertFalse(cache.contains(10));
+    }
+
+    @Test
+    public void maxSizeLimitsSizeOfValues() {
+        ConcurrentClockCache cache = new ConcurrentClockCache();
+        Properties props = new Properties();
+        props.setProperty("MaxSize", "10KB");
+        cache.init(1000, props);
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, new byte[1024], 1024);
+        }
+        assertThat(cache.getEntryCount(), equalTo(10));
+        assertThat(cache.getStatByName(Constants.STAT_BOUNDEDMULTILRUCACHE_CURRENT_SIZE), equalTo(10240L));
+        assertThat(cache.getStatByName(Constants.STAT_BOUNDEDMULTILRUCACHE_MAX_SIZE), equalTo(10240L));
+    }
+
+    @Test
+    public void multipleValuesOfKey() {
+        ConcurrentClockCache cache = new ConcurrentClockCache();
+        cache.init(100, null);
+        cache.add("key", "value1");
+        cache.add("key", "value2");
+        cache.add("key", "value3");
+        assertThat(toList(cache.getAll("key")), contains("value3", "value2", "value1"));
+
+        assertEquals("value2", cache.remove("key", "value2"));
+        assertThat(toList(cache.getAll("key")), contains("value3", "value1"));
+        assertEquals("value3", cache.put("key", "value4"));
+        assertThat(toList(cache.getAll("key")), contains("value4", "value1"));
+
+        cache.removeAll("key");
+        assertNull(cache.get("key"));
+        assertTrue(cache.isEmpty());
+    }
+
+    @Test
+    public void trimsExpiredEntries() throws Exception {
+        ConcurrentClockCache cache = new ConcurrentClockCache();
+        cache.init(100, null);
+        cache.setTimeout(50L);
+        List<Object> trimmed = Collections.synchronizedList(new ArrayList<>());
+        cache.addCacheListener((key, value) -> trimmed.add(key));
+        cache.put("expired", "value");
+        Thread.sleep(100L);
+        cache.put("valid", "value");
+
+        cache.trimExpiredEntries(Integer.MAX_VALUE);
+        assertThat(trimmed, contains("expired"));
+        assertThat(toList(cache.keys()), contains("valid"));
+    }
+
+    @Test
+    public void concurrentAccessKeepsCacheConsistent() throws Exception {
+        ConcurrentClockCache cache = new ConcurrentClockCache();
+        cache.init(1000, null);
+        int operations = 20_000;
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            tasks.add(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < operations; i++) {
+                    // mostly hits of a hot set, sometimes a miss
+                    Integer key = random.nextInt(10) == 0 ? random.nextInt(5000) : random.nextInt(500);
+                    if (cache.get(key) == null) {
+                        cache.put(key, key);
+                    } else if (i % 100 == 0) {
+                        cache.remove(key);
+                    }
+                }
+                return null;
+            });
+        }
+        ExecutorService threadPool = Executors.newFixedThreadPool(8);
+        try {
+            for (Future<Void> future : threadPool.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            threadPool.shutdownNow();
+        }
+
+        assertThat(cache.getEntryCount(), lessThanOrEqualTo(751));
+        List<Object> keys = toList(cache.keys());
+        assertThat(keys.size(), equalTo(cache.getEntryCount()));
+        assertThat(toList(cache.values()).size(), equalTo(cache.getEntryCount()));
+        for (Object key : keys) {
+            assertEquals(key, cache.get(key));
+        }
+    }
+
+    private static List<Object> toList(Iterator<?> iterator) {
+        List<Object> list = new ArrayList<>();
+        iterator.forEachRemaining(list::add);
+        return list;
+    }
+}
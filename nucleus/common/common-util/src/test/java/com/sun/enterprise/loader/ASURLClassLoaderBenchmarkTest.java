@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.loader;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Compares the time of loading all classes of an application with 20000 classes in 300 jars
+ * by a new {@link ASURLClassLoader} and by a new {@link URLClassLoader}, including appending
+ * the jars to the class loader.
+ */
+public class ASURLClassLoaderBenchmarkTest {
+
+    private static final int JARS = 300;
+    private static final int CLASSES = 20_000;
+
+    @Test
+    public void compareClassLoading() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(2)
+            .measurementIterations(3)
+            .forks(1).threads(1).timeout(TimeValue.minutes(1L))
+            .mode(Mode.SingleShotTime).timeUnit(TimeUnit.MILLISECONDS)
+            .shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(2));
+    }
+
+
+    @Benchmark
+    public void loadClasses(JarsState state, Blackhole blackhole) throws Exception {
+        try (URLClassLoader loader = state.createClassLoader()) {
+            for (String className : state.classNames) {
+                blackhole.consume(loader.loadClass(className));
+            }
+        }
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class JarsState {
+
+        @Param({"ASURLClassLoader", "URLClassLoader"})
+        public String classLoader;
+
+        final List<String> classNames = new ArrayList<>(CLASSES);
+        Path tempDir;
+        List<File> jars;
+
+        @Setup
+        public void writeJars() throws Exception {
+            tempDir = Files.createTempDirectory("class-loader");
+            jars = ASURLClassLoaderTest.writeJars(tempDir.toFile(), JARS, CLASSES, classNames);
+        }
+
+        @TearDown
+        public void deleteJars() throws Exception {
+            try (Stream<Path> files = Files.walk(tempDir)) {
+                files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+
+        URLClassLoader createClassLoader() throws Exception {
+            if ("ASURLClassLoader".equals(classLoader)) {
+                ASURLClassLoader loader = new ASURLClassLoader(ClassLoader.getPlatformClassLoader());
+                for (File jar : jars) {
+                    loader.appendURL(jar);
+                }
+                return loader;
+            }
+            URL[] urls = new URL[jars.size()];
+            for (int i = 0; i < urls.length; i++) {
+                urls[i] = jars.get(i).toURI().toURL();
+            }
+            return new URLClassLoader(urls, ClassLoader.getPlatformClassLoader());
+        }
+    }
+}
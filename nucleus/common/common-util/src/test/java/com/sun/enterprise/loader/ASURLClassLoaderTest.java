@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.loader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ASURLClassLoaderTest {
+
+    private static final int JARS = 5;
+    private static final int CLASSES = 50;
+
+    @TempDir
+    private File tempDir;
+
+    @Test
+    public void findsClassesAndResourcesInPackagesSplitAcrossJars() throws Exception {
+        File first = new File(tempDir, "first.jar");
+        writeJar(first, List.of("split/First"), "META-INF/first.txt");
+        File second = new File(tempDir, "second.jar");
+        writeJar(second, List.of("split/Second", "other/Other"), "META-INF/versions/11/versioned/data.txt");
+        File classes = new File(tempDir, "classes");
+        classes.mkdirs();
+
+        try (ASURLClassLoader loader = new ASURLClassLoader(ClassLoader.getPlatformClassLoader())) {
+            loader.appendURL(first);
+            loader.appendURL(second);
+            loader.appendURL(classes);
+
+            assertThat(loader.loadClass("split.First").getClassLoader(), sameInstance(loader));
+            assertThat(loader.loadClass("split.Second").getClassLoader(), sameInstance(loader));
+            assertThat(loader.loadClass("other.Other").getClassLoader(), sameInstance(loader));
+            assertThat(loader.findResource("META-INF/first.txt"), notNullValue());
+            assertThat(loader.findResource("versioned/data.txt"), notNullValue());
+            assertThat(loader.findResource("split/Missing.txt"), nullValue());
+            assertThat(loader.findResource("split/Second.class").toString(), endsWith("second.jar!/split/Second.class"));
+            assertThat(loader.findResources("split/Second.class").hasMoreElements(), equalTo(true));
+            assertThrows(ClassNotFoundException.class, () -> loader.loadClass("added.Added"));
+
+            // entries added later are found after refresh
+            File added = new File(classes, "added");
+            added.mkdirs();
+            Files.write(new File(added, "Added.class").toPath(), createClass("added/Added"));
+            loader.refresh();
+            assertThat(loader.loadClass("added.Added").getClassLoader(), sameInstance(loader));
+
+            File third = new File(tempDir, "third.jar");
+            writeJar(third, List.of("appended/Appended"), "appended/data.txt");
+            assertThat(loader.findResource("appended/data.txt"), nullValue());
+            loader.appendURL(third);
+            assertThat(loader.findResource("appended/data.txt"), notNullValue());
+            assertThat(loader.loadClass("appended.Appended").getClassLoader(), sameInstance(loader));
+        }
+    }
+
+    @Test
+    public void loadsClassesFromManyJars() throws Exception {
+        List<String> classNames = new ArrayList<>();
+        List<File> jars = writeJars(tempDir, JARS, CLASSES, classNames);
+
+        try (ASURLClassLoader loader = new ASURLClassLoader(ClassLoader.getPlatformClassLoader())) {
+            for (File jar : jars) {
+                loader.appendURL(jar);
+            }
+            assertThat(loadClasses(loader, classNames), hasSize(CLASSES));
+            for (int i = 0; i < JARS; i++) {
+                assertThat(loader.findResource("test/lib" + i + "/resource.txt").toString(),
+                    endsWith("lib-" + i + ".jar!/test/lib" + i + "/resource.txt"));
+            }
+        }
+    }
+
+    /**
+     * Writes jars with classes spread over them, every jar has its own resource too.
+     *
+     * @param classNames filled with binary names of all classes
+     * @return the jar files
+     */
+    static List<File> writeJars(File directory, int jarCount, int classCount, List<String> classNames)
+        throws IOException {
+        List<File> jars = new ArrayList<>(jarCount);
+        for (int i = 0; i < jarCount; i++) {
+            List<String> jarClasses = new ArrayList<>();
+            for (int j = i; j < classCount; j += jarCount) {
+                jarClasses.add("test/lib" + i + "/Service" + j);
+                classNames.add("test.lib" + i + ".Service" + j);
+            }
+            File jar = new File(directory, "lib-" + i + ".jar");
+            writeJar(jar, jarClasses, "test/lib" + i + "/resource.txt");
+            jars.add(jar);
+        }
+        return jars;
+    }
+
+    private static List<Class<?>> loadClasses(ClassLoader loader, List<String> classNames) throws ClassNotFoundException {
+        List<Class<?>> classes = new ArrayList<>(classNames.size());
+        for (String className : classNames) {
+            Class<?> loaded = loader.loadClass(className);
+            assertThat(loaded.getClassLoader(), sameInstance(loader));
+            classes.add(loaded);
+        }
+        return classes;
+    }
+
+    private static void writeJar(File file, List<String> classNames, String resourceName) throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().put(Attributes.Name.MULTI_RELEASE, "true");
+        try (JarOutputStream output = new JarOutputStream(new FileOutputStream(file), manifest)) {
+            for (String className : classNames) {
+                output.putNextEntry(new JarEntry(className + ".class"));
+                output.write(createClass(className));
+                output.closeEntry();
+            }
+            output.putNextEntry(new JarEntry(resourceName));
+            output.write(resourceName.getBytes(StandardCharsets.UTF_8));
+            output.closeEntry();
+        }
+    }
+
+    /**
+     * @return class file of an empty public class
+     */
+    private static byte[] createClass(String internalName) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeInt(0xCAFEBABE);
+            output.writeShort(0);
+            output.writeShort(55);
+            // constant pool
+            output.writeShort(5);
+            output.writeByte(1);
+            output.writeUTF(internalName);
+            output.writeByte(7);
+            output.writeShort(1);
+            output.writeByte(1);
+            output.writeUTF("java/lang/Object");
+            output.writeByte(7);
+            output.writeShort(3);
+            // ACC_PUBLIC | ACC_SUPER, this class, super class
+            output.writeShort(0x21);
+            output.writeShort(2);
+            output.writeShort(4);
+            // interfaces, fields, methods, attributes
+            output.writeShort(0);
+            output.writeShort(0);
+            output.writeShort(0);
+            output.writeShort(0);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2006, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -20,7 +21,9 @@ import com.sun.enterprise.module.HK2Module;
 import com.sun.enterprise.module.ModuleState;
 import com.sun.enterprise.module.ModulesRegistry;
 
+import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
@@ -157,6 +160,23 @@ public class DeploymentTracing {
 
     }
 
+    /**
+     * Prints all events at once, so traces of applications deployed concurrently don't
+     * interleave.
+     *
+     * @param appName name of the traced application
+     * @param ps the stream to print to
+     */
+    public void print(String appName, PrintStream ps) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (PrintStream bufferStream = new PrintStream(buffer, false, StandardCharsets.UTF_8)) {
+            bufferStream.println("Deployment tracing of " + appName + " in thread " + Thread.currentThread().getName());
+            print(bufferStream);
+        }
+        ps.print(buffer.toString(StandardCharsets.UTF_8));
+        ps.flush();
+    }
+
     public static void printModuleStatus(ModulesRegistry registry, Level level, Logger logger)
     {
         if (!logger.isLoggable(level)) {
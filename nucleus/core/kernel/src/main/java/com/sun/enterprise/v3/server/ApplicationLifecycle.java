@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2024 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2008, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -88,6 +88,7 @@ import org.glassfish.api.event.Events;
 import org.glassfish.api.virtualization.VirtualizationEnv;
 import org.glassfish.common.util.admin.ParameterMapExtractor;
 import org.glassfish.deployment.common.ApplicationConfigInfo;
+import org.glassfish.deployment.common.ClassScanIndex;
 import org.glassfish.deployment.common.ClientJarWriter;
 import org.glassfish.deployment.common.DeploymentContextImpl;
 import org.glassfish.deployment.common.DeploymentProperties;
@@ -584,14 +585,15 @@ public class ApplicationLifecycle implements Deployment, PostConstruct {
                                       .executorService(executorService)
                                       .locator(getResourceLocator())
                                       .build());
+                ClassScanIndex index = serviceLocator.getService(ClassScanIndex.class);
 
-                try (ReadableArchiveScannerAdapter scannerAdapter = new ReadableArchiveScannerAdapter(parser, context.getSource())) {
+                try (ReadableArchiveScannerAdapter scannerAdapter = new ReadableArchiveScannerAdapter(parser, context.getSource(), index)) {
                     parser.parse(scannerAdapter, null);
 
                     List<ReadableArchive> externalLibraries = getExternalLibraries(context);
 
                     for (ReadableArchive externalLibrary : externalLibraries) {
-                        parser.parse(new ReadableArchiveScannerAdapter(parser, externalLibrary), null);
+                        parser.parse(new ReadableArchiveScannerAdapter(parser, externalLibrary, index), null);
                     }
 
                     parser.awaitTermination();
@@ -1156,6 +1158,10 @@ public class ApplicationLifecycle implements Deployment, PostConstruct {
         if (report.getActionExitCode().equals(ActionReport.ExitCode.SUCCESS)) {
             events.send(new Event<>(Deployment.UNDEPLOYMENT_SUCCESS, context));
             deploymentLifecycleProbeProvider.applicationUndeployedEvent(appName, getApplicationType(info));
+            if (!Boolean.TRUE.equals(params.isRedeploy())) {
+                // Redeployment reuses the class index of unchanged libraries
+                serviceLocator.getService(ClassScanIndex.class).remove(context.getSourceDir());
+            }
         } else {
             events.send(new Event<>(Deployment.UNDEPLOYMENT_FAILURE, context));
         }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2024 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2006, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -44,7 +44,13 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -77,6 +83,7 @@ import org.glassfish.internal.deployment.ApplicationOrderInfo;
 import org.glassfish.internal.deployment.Deployment;
 import org.glassfish.internal.deployment.DeploymentOrder;
 import org.glassfish.internal.deployment.DeploymentTracing;
+import org.glassfish.internal.deployment.DeploymentType;
 import org.glassfish.internal.deployment.ExtendedDeploymentContext;
 import org.glassfish.internal.deployment.SnifferManager;
 import org.glassfish.kernel.KernelLoggerInfo;
@@ -144,6 +151,12 @@ public class ApplicationLoaderService implements org.glassfish.hk2.api.PreDestro
 
     private String deploymentTracingEnabled = null;
 
+    /**
+     * Number of threads loading applications with the same deployment order at startup.
+     * Applications are loaded one after another by default.
+     */
+    public static final String STARTUP_THREADS_PROPERTY = "org.glassfish.deployment.startup.threads";
+
     private final Map<String,Integer> appOrderInfoMap = new HashMap<>();
     private int appOrder = 0;
 
@@ -236,11 +249,19 @@ public class ApplicationLoaderService implements org.glassfish.hk2.api.PreDestro
             }
         }
 
+        List<Application> orderedApplications = new ArrayList<>();
         Iterator iter = DeploymentOrder.getApplicationDeployments();
         while (iter.hasNext()) {
-          Application app = (Application)iter.next();
-          ApplicationRef appRef = server.getApplicationRef(app.getName());
-          processApplication(app, appRef);
+          orderedApplications.add((Application)iter.next());
+        }
+        int startupThreads = Integer.getInteger(STARTUP_THREADS_PROPERTY, 1);
+        if (startupThreads > 1) {
+            processApplications(groupByDeploymentOrder(orderedApplications), startupThreads);
+        } else {
+            for (Application app : orderedApplications) {
+                ApplicationRef appRef = server.getApplicationRef(app.getName());
+                processApplication(app, appRef);
+            }
         }
 
         // does the user want us to run a particular application
@@ -325,6 +346,92 @@ public class ApplicationLoaderService implements org.glassfish.hk2.api.PreDestro
 
     }
 
+    /**
+     * Groups the applications sorted by {@link DeploymentOrder}, so each group contains either
+     * a single application or user applications with the same deployment order, which don't
+     * depend on each other and can be loaded concurrently.
+     *
+     * @param applications applications in the deployment order
+     * @return groups of applications in the deployment order
+     */
+    static List<List<Application>> groupByDeploymentOrder(List<Application> applications) {
+        List<List<Application>> groups = new ArrayList<>();
+        List<Application> group = null;
+        for (Application app : applications) {
+            if (group != null && isConcurrentlyLoadable(app)
+                && Objects.equals(app.getDeploymentOrder(), group.get(0).getDeploymentOrder())) {
+                group.add(app);
+                continue;
+            }
+            group = new ArrayList<>();
+            group.add(app);
+            groups.add(group);
+            if (!isConcurrentlyLoadable(app)) {
+                group = null;
+            }
+        }
+        return groups;
+    }
+
+    private static boolean isConcurrentlyLoadable(Application app) {
+        return DeploymentType.USER.equals(app.getObjectType())
+            && !(app.isStandaloneModule() && app.containsSnifferType(ServerTags.CONNECTOR));
+    }
+
+    /**
+     * Loads applications of each group concurrently, the next group is loaded after all
+     * applications of the previous group were loaded.
+     */
+    private void processApplications(List<List<Application>> groups, int threads) {
+        initializeRuntimeDependencies();
+        final AtomicInteger threadCount = new AtomicInteger();
+        // Threads inherit the context class loader of the startup thread
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "deployment-startup-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            for (List<Application> group : groups) {
+                if (group.size() == 1) {
+                    Application app = group.get(0);
+                    processApplication(app, server.getApplicationRef(app.getName()));
+                    continue;
+                }
+                logger.log(Level.FINE, "Loading {0} applications with deployment order {1} concurrently",
+                    new Object[] {group.size(), group.get(0).getDeploymentOrder()});
+                List<Future<?>> loads = new ArrayList<>(group.size());
+                for (Application app : group) {
+                    ApplicationRef appRef = server.getApplicationRef(app.getName());
+                    loads.add(executor.submit(() -> processApplication(app, appRef)));
+                }
+                RuntimeException failure = null;
+                for (Future<?> load : loads) {
+                    try {
+                        load.get();
+                    } catch (ExecutionException e) {
+                        if (e.getCause() instanceof Error) {
+                            throw (Error) e.getCause();
+                        }
+                        if (failure == null) {
+                            failure = (RuntimeException) e.getCause();
+                        } else {
+                            failure.addSuppressed(e.getCause());
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted while loading applications", e);
+                    }
+                }
+                if (failure != null) {
+                    throw failure;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private void initializeRuntimeDependencies() {
         // ApplicationLoaderService needs to be initialized after
         // ManagedBeanManagerImpl. By injecting ManagedBeanManagerImpl,
@@ -406,7 +513,7 @@ public class ApplicationLoaderService implements org.glassfish.hk2.api.PreDestro
                     loadApplicationForTenants(app, appRef, report);
                     if (report.getActionExitCode().equals(ActionReport.ExitCode.SUCCESS)) {
                         if (tracing!=null) {
-                            tracing.print(System.out);
+                            tracing.print(appName, System.out);
                         }
                         logger.log(Level.INFO, KernelLoggerInfo.loadingApplicationTime, new Object[] {
                                 appName, (Calendar.getInstance().getTimeInMillis() - operationStartTime)});
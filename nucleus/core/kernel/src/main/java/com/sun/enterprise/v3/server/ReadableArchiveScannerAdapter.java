@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2022 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,10 +17,13 @@
 
 package com.sun.enterprise.v3.server;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.util.Enumeration;
+import java.util.Map;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.jar.Manifest;
@@ -28,6 +31,7 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.glassfish.api.deployment.archive.ReadableArchive;
+import org.glassfish.deployment.common.ClassScanIndex;
 import org.glassfish.hk2.classmodel.reflect.ArchiveAdapter;
 import org.glassfish.hk2.classmodel.reflect.Parser;
 import org.glassfish.hk2.classmodel.reflect.Parser.Result;
@@ -49,6 +53,11 @@ public class ReadableArchiveScannerAdapter extends AbstractAdapter implements Au
     final Parser parser;
     final URI uri;
 
+    /**
+     * Can be null, then jars are always parsed.
+     */
+    final ClassScanIndex index;
+
     /**
      * Can be null or can be pointing to the archive adapter in which we are embedded.
      */
@@ -67,10 +76,20 @@ public class ReadableArchiveScannerAdapter extends AbstractAdapter implements Au
     final private static Logger alogger = KernelLoggerInfo.getLogger();
 
     public ReadableArchiveScannerAdapter(Parser parser, ReadableArchive archive) {
+        this(parser, archive, null);
+    }
+
+    /**
+     * @param parser the class model parser
+     * @param archive the archive to parse
+     * @param index index of jar files parsed before, can be null.
+     */
+    public ReadableArchiveScannerAdapter(Parser parser, ReadableArchive archive, ClassScanIndex index) {
         this.archive = archive;
         this.parser = parser;
         this.uri = archive.getURI();
         this.parent = null;
+        this.index = index;
     }
 
     private ReadableArchiveScannerAdapter(ReadableArchiveScannerAdapter parent, ReadableArchive archive, URI uri) {
@@ -78,6 +97,7 @@ public class ReadableArchiveScannerAdapter extends AbstractAdapter implements Au
         this.archive = archive;
         this.parser = parent.parser;
         this.uri = uri == null ? archive.getURI() : uri;
+        this.index = parent.index;
     }
 
     @Override
@@ -92,21 +112,100 @@ public class ReadableArchiveScannerAdapter extends AbstractAdapter implements Au
 
     @Override
     public void onSelectedEntries(ArchiveAdapter.Selector selector, EntryTask entryTask, final Logger logger) throws IOException {
+        File jar = index == null ? null : index.getJarFile(uri);
+        if (jar == null) {
+            scanEntries(selector, entryTask, null, logger);
+        } else {
+            ClassScanIndex.JarIndex jarIndex = index.get(jar);
+            if (jarIndex == null) {
+                ClassScanIndex.Builder builder = index.builder(jar);
+                if (scanEntries(selector, entryTask, builder, logger)) {
+                    builder.store();
+                }
+            } else {
+                replayEntries(jarIndex, selector, entryTask, logger);
+            }
+        }
+
+        logger.log(level, () -> "Finished parsing " + uri);
+    }
+
+    /**
+     * Parses entries of the archive.
+     *
+     * @return true if all selected entries were added to the builder.
+     */
+    private boolean scanEntries(ArchiveAdapter.Selector selector, EntryTask entryTask, ClassScanIndex.Builder builder,
+        Logger logger) throws IOException {
+        boolean indexed = builder != null;
         Enumeration<String> entries = archive.entries();
         while (entries.hasMoreElements()) {
             final String name = entries.nextElement();
             Entry entry = new Entry(name, archive.getEntrySize(name), false);
             if (selector.isSelected(entry)) {
-                handleEntry(name, entry, logger, entryTask);
+                if (indexed && name.endsWith(".class")) {
+                    indexed = handleIndexedEntry(name, entry, entryTask, builder);
+                } else {
+                    indexed = false;
+                    handleEntry(name, entry, logger, entryTask);
+                }
             }
 
             // Check for non exploded jars.
             if (name.endsWith(".jar")) {
+                if (indexed) {
+                    builder.addJar(name);
+                }
                 handleJar(name, logger);
             }
         }
+        return indexed;
+    }
 
-        logger.log(level, () -> "Finished parsing " + uri);
+    /**
+     * Parses class files stored in the index instead of reading the archive.
+     */
+    private void replayEntries(ClassScanIndex.JarIndex jarIndex, ArchiveAdapter.Selector selector, EntryTask entryTask,
+        Logger logger) throws IOException {
+        logger.log(level, () -> "Using class index of " + uri);
+        for (Map.Entry<String, byte[]> indexed : jarIndex.getClasses().entrySet()) {
+            Entry entry = new Entry(indexed.getKey(), indexed.getValue().length, false);
+            if (selector.isSelected(entry)) {
+                try {
+                    entryTask.on(entry, new ByteArrayInputStream(indexed.getValue()));
+                } catch (Exception e) {
+                    alogger.log(SEVERE, exceptionWhileParsing, new Object[] { entry.name, uri, entry.size, e });
+                }
+            }
+        }
+        for (String name : jarIndex.getJars()) {
+            handleJar(name, logger);
+        }
+    }
+
+    /**
+     * Reads the class file, adds it to the index and parses the reduced class file.
+     *
+     * @return false if the entry could not be read.
+     */
+    private boolean handleIndexedEntry(String name, Entry entry, EntryTask entryTask, ClassScanIndex.Builder builder) {
+        final byte[] content;
+        try (InputStream is = archive.getEntry(name)) {
+            if (is == null) {
+                alogger.log(SEVERE, invalidInputStream, name);
+                return false;
+            }
+            content = is.readAllBytes();
+        } catch (Exception e) {
+            alogger.log(SEVERE, exceptionWhileParsing, new Object[] { entry.name, archive.getURI(), entry.size, e });
+            return false;
+        }
+        try {
+            entryTask.on(entry, new ByteArrayInputStream(builder.addClass(name, content)));
+        } catch (Exception e) {
+            alogger.log(SEVERE, exceptionWhileParsing, new Object[] { entry.name, archive.getURI(), entry.size, e });
+        }
+        return true;
     }
 
     /**
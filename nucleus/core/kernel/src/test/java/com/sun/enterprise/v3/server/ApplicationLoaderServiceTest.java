@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.v3.server;
+
+import com.sun.enterprise.config.serverbeans.Application;
+import com.sun.enterprise.config.serverbeans.ServerTags;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.easymock.EasyMock.anyString;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.eq;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+public class ApplicationLoaderServiceTest {
+
+    @Test
+    public void groupsUserApplicationsWithSameDeploymentOrder() {
+        Application admin = application("__admingui", "system-admin", "100", false);
+        Application adapter1 = application("adapter1", "user", "100", true);
+        Application adapter2 = application("adapter2", "user", "100", true);
+        Application app1 = application("app1", "user", "100", false);
+        Application app2 = application("app2", "user", "100", false);
+        Application app3 = application("app3", "user", "100", false);
+        Application app4 = application("app4", "user", "200", false);
+        Application app5 = application("app5", "user", "300", false);
+        Application app6 = application("app6", "user", "300", false);
+
+        List<List<Application>> groups = ApplicationLoaderService.groupByDeploymentOrder(
+            List.of(admin, adapter1, adapter2, app1, app2, app3, app4, app5, app6));
+
+        List<List<String>> names = new ArrayList<>();
+        for (List<Application> group : groups) {
+            List<String> groupNames = new ArrayList<>();
+            for (Application app : group) {
+                groupNames.add(app.getName());
+            }
+            names.add(groupNames);
+        }
+        assertThat(names, contains(List.of("__admingui"), List.of("adapter1"), List.of("adapter2"),
+            List.of("app1", "app2", "app3"), List.of("app4"), List.of("app5", "app6")));
+    }
+
+    private static Application application(String name, String objectType, String deploymentOrder, boolean connector) {
+        Application app = createNiceMock(Application.class);
+        expect(app.getName()).andStubReturn(name);
+        expect(app.getObjectType()).andStubReturn(objectType);
+        expect(app.getDeploymentOrder()).andStubReturn(deploymentOrder);
+        expect(app.isStandaloneModule()).andStubReturn(connector);
+        expect(app.containsSnifferType(eq(ServerTags.CONNECTOR))).andStubReturn(connector);
+        expect(app.containsSnifferType(anyString())).andStubReturn(false);
+        replay(app);
+        return app;
+    }
+}
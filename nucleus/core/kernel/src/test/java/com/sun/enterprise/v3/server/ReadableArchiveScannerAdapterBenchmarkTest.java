@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.v3.server;
+
+import com.sun.enterprise.deploy.shared.ArchiveFactory;
+import com.sun.enterprise.module.ModulesRegistry;
+import com.sun.enterprise.module.single.StaticModulesRegistry;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.glassfish.deployment.common.ClassScanIndex;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.classmodel.reflect.Parser;
+import org.glassfish.hk2.classmodel.reflect.ParsingContext;
+import org.glassfish.hk2.classmodel.reflect.Types;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Compares the time of the class scan of a large application on the server start, when all
+ * jars are parsed and when they are replayed from the {@link ClassScanIndex}.
+ * <p>
+ * The application has 40 jars with 250 classes annotated by {@code @jakarta.inject.Singleton}.
+ */
+public class ReadableArchiveScannerAdapterBenchmarkTest {
+
+    private static final int JARS = 40;
+    private static final int CLASSES_PER_JAR = 250;
+
+    @Test
+    public void compareStartupScan() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(2)
+            .measurementIterations(3)
+            .forks(1).threads(1).timeout(TimeValue.minutes(1L))
+            .mode(Mode.SingleShotTime).timeUnit(TimeUnit.MILLISECONDS)
+            .shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(2));
+    }
+
+
+    @Benchmark
+    public Types scan(ApplicationState state) throws Exception {
+        return state.parse();
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class ApplicationState {
+
+        @Param({"parse", "index"})
+        public String scanMode;
+
+        Path tempDir;
+        File application;
+        ClassScanIndex index;
+        ModulesRegistry registry;
+        ServiceLocator locator;
+        ArchiveFactory archiveFactory;
+
+        @Setup
+        public void createApplication() throws Exception {
+            registry = new StaticModulesRegistry(ReadableArchiveScannerAdapterBenchmarkTest.class.getClassLoader());
+            locator = registry.createServiceLocator("default");
+            archiveFactory = locator.getService(ArchiveFactory.class);
+
+            tempDir = Files.createTempDirectory("class-scan");
+            application = tempDir.resolve("app_ear").toFile();
+            ReadableArchiveScannerAdapterTest.writeApplication(application, JARS, CLASSES_PER_JAR);
+            if ("index".equals(scanMode)) {
+                index = new ClassScanIndex(tempDir.resolve(ClassScanIndex.INDEX_DIR_NAME).toFile());
+                // The index is created by the first deployment
+                parse();
+            }
+        }
+
+        @TearDown
+        public void deleteApplication() throws Exception {
+            locator.shutdown();
+            registry.shutdown();
+            try (Stream<Path> files = Files.walk(tempDir)) {
+                files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+
+        Types parse() throws Exception {
+            Parser parser = new Parser(new ParsingContext.Builder().build());
+            try (ReadableArchiveScannerAdapter adapter = new ReadableArchiveScannerAdapter(parser,
+                archiveFactory.openArchive(application), index)) {
+                parser.parse(adapter, null);
+                parser.awaitTermination();
+            }
+            return parser.getContext().getTypes();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.v3.server;
+
+import com.sun.enterprise.deploy.shared.ArchiveFactory;
+import com.sun.enterprise.module.ModulesRegistry;
+import com.sun.enterprise.module.single.StaticModulesRegistry;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.glassfish.deployment.common.ClassScanIndex;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.classmodel.reflect.Parser;
+import org.glassfish.hk2.classmodel.reflect.ParsingContext;
+import org.glassfish.hk2.classmodel.reflect.Type;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ARETURN;
+import static org.objectweb.asm.Opcodes.DUP;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.NEW;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.V11;
+
+public class ReadableArchiveScannerAdapterTest {
+
+    private static final int JARS = 4;
+    private static final int CLASSES_PER_JAR = 20;
+
+    private static ModulesRegistry registry;
+    private static ServiceLocator locator;
+    private static ArchiveFactory archiveFactory;
+
+    @TempDir
+    private static File tempDir;
+    private static File ear;
+
+    @BeforeAll
+    public static void createApplication() throws IOException {
+        registry = new StaticModulesRegistry(ReadableArchiveScannerAdapterTest.class.getClassLoader());
+        locator = registry.createServiceLocator("default");
+        archiveFactory = locator.getService(ArchiveFactory.class);
+
+        ear = new File(tempDir, "app_ear");
+        writeApplication(ear, JARS, CLASSES_PER_JAR);
+    }
+
+    @AfterAll
+    public static void shutdownLocator() {
+        if (locator != null) {
+            locator.shutdown();
+        }
+        if (registry != null) {
+            registry.shutdown();
+        }
+    }
+
+    @Test
+    public void parsesUnchangedJarsFromIndex() throws Exception {
+        ClassScanIndex index = new ClassScanIndex(new File(tempDir, ClassScanIndex.INDEX_DIR_NAME));
+
+        Set<String> parsed = parse(null);
+
+        Set<String> indexed = parse(index);
+        assertThat(indexed, equalTo(parsed));
+        assertThat(new File(tempDir, ClassScanIndex.INDEX_DIR_NAME).list(), arrayWithSize(JARS));
+
+        Set<String> replayed = parse(index);
+
+        assertThat(replayed, equalTo(parsed));
+        assertThat(replayed, hasSize(JARS * CLASSES_PER_JAR));
+        assertThat(replayed, hasItem("test.lib0.Service0"));
+    }
+
+    private static Set<String> parse(ClassScanIndex index) throws Exception {
+        Parser parser = new Parser(new ParsingContext.Builder().build());
+        try (ReadableArchiveScannerAdapter adapter = new ReadableArchiveScannerAdapter(parser,
+            archiveFactory.openArchive(ear), index)) {
+            parser.parse(adapter, null);
+            parser.awaitTermination();
+        }
+        Set<String> names = new TreeSet<>();
+        for (Type type : parser.getContext().getTypes().getAllTypes()) {
+            if (type.getName().startsWith("test.")) {
+                names.add(type.getName());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Writes an exploded application with jars in its lib directory. Every class is annotated
+     * by {@code @jakarta.inject.Singleton}.
+     */
+    static void writeApplication(File application, int jars, int classesPerJar) throws IOException {
+        File lib = new File(application, "lib");
+        lib.mkdirs();
+        for (int i = 0; i < jars; i++) {
+            try (JarOutputStream output = new JarOutputStream(new FileOutputStream(new File(lib, "lib-" + i + ".jar")))) {
+                for (int j = 0; j < classesPerJar; j++) {
+                    String name = "test/lib" + i + "/Service" + j;
+                    output.putNextEntry(new JarEntry(name + ".class"));
+                    output.write(createClass(name));
+                    output.closeEntry();
+                }
+            }
+        }
+    }
+
+    private static byte[] createClass(String name) {
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        writer.visit(V11, ACC_PUBLIC, name, null, "java/lang/Object", null);
+        writer.visitSource(name + ".java", null);
+        writer.visitAnnotation("Ljakarta/inject/Singleton;", true).visitEnd();
+        MethodVisitor constructor = writer.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(ALOAD, 0);
+        constructor.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        constructor.visitInsn(RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+        for (int i = 0; i < 10; i++) {
+            MethodVisitor method = writer.visitMethod(ACC_PUBLIC, "describe" + i, "()Ljava/lang/String;", null, null);
+            method.visitCode();
+            method.visitTypeInsn(NEW, "java/lang/StringBuilder");
+            method.visitInsn(DUP);
+            method.visitMethodInsn(INVOKESPECIAL, "java/lang/StringBuilder", "<init>", "()V", false);
+            method.visitLdcInsn(name + i);
+            method.visitMethodInsn(INVOKEVIRTUAL, "java/lang/StringBuilder", "append",
+                "(Ljava/lang/String;)Ljava/lang/StringBuilder;", false);
+            method.visitMethodInsn(INVOKEVIRTUAL, "java/lang/StringBuilder", "toString", "()Ljava/lang/String;", false);
+            method.visitInsn(ARETURN);
+            method.visitMaxs(0, 0);
+            method.visitEnd();
+        }
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+}
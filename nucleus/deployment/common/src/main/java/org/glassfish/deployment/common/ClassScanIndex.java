@@ -0,0 +1,368 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.deployment.common;
+
+import com.sun.enterprise.util.io.FileUtils;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import org.glassfish.api.admin.ServerEnvironment;
+import org.glassfish.hk2.api.PostConstruct;
+import org.glassfish.server.ServerEnvironmentImpl;
+import org.jvnet.hk2.annotations.Service;
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+
+import static java.util.logging.Level.FINE;
+import static org.objectweb.asm.Opcodes.ASM9;
+
+/**
+ * Persistent index of class files in jar files, so unchanged libraries of applications don't
+ * have to be read and parsed again on every server start and redeployment.
+ * <p>
+ * Every jar has its own index file in the {@value #INDEX_DIR_NAME} directory under the generated
+ * directory of the domain. The index file contains the class files of the jar without the code
+ * and the debug information, which is all what the class model parser and annotation detectors
+ * read, and the class level annotations found in the jar. The index is used while the size and
+ * the last modification time of the jar are the same as when the index was created.
+ */
+@Service
+@Singleton
+public class ClassScanIndex implements PostConstruct {
+
+    private static final Logger LOG = DeploymentContextImpl.deplLogger;
+
+    /** Name of the directory with index files. */
+    public static final String INDEX_DIR_NAME = "class-index";
+
+    /** If set to true, jars are always parsed again. */
+    public static final String DISABLED_PROPERTY = "org.glassfish.deployment.classIndex.disabled";
+
+    private static final String INDEX_FILE_SUFFIX = ".idx";
+    private static final int MAGIC = 0x47464349;
+    private static final int VERSION = 1;
+    private static final int STRIP_FLAGS = ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES;
+
+    @Inject
+    private ServerEnvironment serverEnvironment;
+
+    private File directory;
+    private boolean disabled;
+
+    /**
+     * Constructor used by HK2, the index is stored in the generated directory of the domain.
+     */
+    public ClassScanIndex() {
+    }
+
+    /**
+     * @param directory directory with index files
+     */
+    public ClassScanIndex(File directory) {
+        this.directory = directory;
+        this.disabled = Boolean.getBoolean(DISABLED_PROPERTY);
+    }
+
+    @Override
+    public void postConstruct() {
+        File generated = new File(serverEnvironment.getInstanceRoot(), ServerEnvironmentImpl.kGeneratedDirName);
+        directory = new File(generated, INDEX_DIR_NAME);
+        disabled = Boolean.getBoolean(DISABLED_PROPERTY);
+    }
+
+    /**
+     * @param uri URI of an archive
+     * @return the jar file or null if the archive is not a jar file which can be indexed.
+     */
+    public File getJarFile(URI uri) {
+        if (disabled || uri == null || !"file".equals(uri.getScheme())) {
+            return null;
+        }
+        final File file;
+        try {
+            file = new File(uri);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return file.getName().endsWith(".jar") && file.isFile() ? file : null;
+    }
+
+    /**
+     * @param jar the jar file
+     * @return the index of the jar or null if the jar was not indexed yet or it has changed.
+     */
+    public JarIndex get(File jar) {
+        File indexFile = getIndexFile(jar);
+        if (!indexFile.isFile()) {
+            return null;
+        }
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(indexFile.toPath())))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION || !jar.getPath().equals(input.readUTF())
+                || jar.length() != input.readLong() || jar.lastModified() != input.readLong()) {
+                LOG.log(FINE, "Class index of {0} is outdated.", jar);
+                return null;
+            }
+            Set<String> classAnnotations = new HashSet<>();
+            for (int i = input.readInt(); i > 0; i--) {
+                classAnnotations.add(input.readUTF());
+            }
+            List<String> jars = new ArrayList<>();
+            for (int i = input.readInt(); i > 0; i--) {
+                jars.add(input.readUTF());
+            }
+            Map<String, byte[]> classes = new LinkedHashMap<>();
+            for (int i = input.readInt(); i > 0; i--) {
+                String name = input.readUTF();
+                byte[] content = new byte[input.readInt()];
+                input.readFully(content);
+                classes.put(name, content);
+            }
+            return new JarIndex(classes, jars, classAnnotations);
+        } catch (IOException | RuntimeException e) {
+            LOG.log(FINE, "Class index " + indexFile + " cannot be read.", e);
+            return null;
+        }
+    }
+
+    /**
+     * @param jar the jar file
+     * @return builder of the index of the jar, which is filled by the scanner of the jar.
+     */
+    public Builder builder(File jar) {
+        return new Builder(jar, jar.length(), jar.lastModified());
+    }
+
+    /**
+     * Deletes index files of all jars in the directory, usually of an undeployed application.
+     * Index files which cannot be read are deleted too.
+     *
+     * @param archiveDirectory the directory with jars
+     */
+    public void remove(File archiveDirectory) {
+        if (directory == null || archiveDirectory == null) {
+            return;
+        }
+        File[] indexFiles = directory.listFiles((dir, name) -> name.endsWith(INDEX_FILE_SUFFIX));
+        if (indexFiles == null) {
+            return;
+        }
+        String prefix = archiveDirectory.getAbsolutePath() + File.separator;
+        for (File indexFile : indexFiles) {
+            String jarPath = readJarPath(indexFile);
+            if (jarPath == null || jarPath.startsWith(prefix)) {
+                LOG.log(FINE, "Removing class index {0} of {1}.", new Object[] {indexFile, jarPath});
+                FileUtils.deleteFileMaybe(indexFile);
+            }
+        }
+    }
+
+    private static String readJarPath(File indexFile) {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                return null;
+            }
+            return input.readUTF();
+        } catch (IOException e) {
+            LOG.log(FINE, "Class index " + indexFile + " cannot be read.", e);
+            return null;
+        }
+    }
+
+    private File getIndexFile(File jar) {
+        return new File(directory, jar.getName() + '-' + Integer.toHexString(jar.getPath().hashCode()) + INDEX_FILE_SUFFIX);
+    }
+
+    /**
+     * Indexed content of a jar file.
+     */
+    public static final class JarIndex {
+
+        private final Map<String, byte[]> classes;
+        private final List<String> jars;
+        private final Set<String> classAnnotations;
+
+        JarIndex(Map<String, byte[]> classes, List<String> jars, Set<String> classAnnotations) {
+            this.classes = classes;
+            this.jars = jars;
+            this.classAnnotations = classAnnotations;
+        }
+
+        /**
+         * @return names of class file entries mapped to the class files without code and debug
+         *         information.
+         */
+        public Map<String, byte[]> getClasses() {
+            return Collections.unmodifiableMap(classes);
+        }
+
+        /**
+         * @return names of jar entries in the jar.
+         */
+        public List<String> getJars() {
+            return Collections.unmodifiableList(jars);
+        }
+
+        /**
+         * @param annotationDescriptors descriptors of annotation types
+         * @return true if any class in the jar is annotated with any of given annotations.
+         */
+        public boolean hasClassAnnotation(Collection<String> annotationDescriptors) {
+            for (String descriptor : annotationDescriptors) {
+                if (classAnnotations.contains(descriptor)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Collects the content of the jar while it is scanned and stores the index.
+     * The index is not stored if any class file could not be read.
+     */
+    public final class Builder {
+
+        private final File jar;
+        private final long length;
+        private final long lastModified;
+        private final Map<String, byte[]> classes = new LinkedHashMap<>();
+        private final List<String> jars = new ArrayList<>();
+        private final Set<String> classAnnotations = new HashSet<>();
+        private boolean failed;
+
+        private Builder(File jar, long length, long lastModified) {
+            this.jar = jar;
+            this.length = length;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * Adds the class file to the index.
+         *
+         * @param name name of the class file entry
+         * @param content the class file
+         * @return the class file without code and debug information or the original content if it
+         *         cannot be read.
+         */
+        public byte[] addClass(String name, byte[] content) {
+            try {
+                ClassWriter writer = new ClassWriter(0);
+                new ClassReader(content).accept(new ClassAnnotationCollector(writer), STRIP_FLAGS);
+                byte[] stripped = writer.toByteArray();
+                classes.put(name, stripped);
+                return stripped;
+            } catch (RuntimeException e) {
+                LOG.log(FINE, "Class " + name + " in " + jar + " cannot be indexed.", e);
+                failed = true;
+                return content;
+            }
+        }
+
+        /**
+         * Adds the name of the jar entry to the index.
+         *
+         * @param name name of the jar entry
+         */
+        public void addJar(String name) {
+            jars.add(name);
+        }
+
+        /**
+         * Writes the index file, if the jar was not changed while it was scanned.
+         */
+        public void store() {
+            if (failed || jar.length() != length || jar.lastModified() != lastModified) {
+                return;
+            }
+            File indexFile = getIndexFile(jar);
+            File tempFile = null;
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (DataOutputStream output = new DataOutputStream(bytes)) {
+                    output.writeInt(MAGIC);
+                    output.writeInt(VERSION);
+                    output.writeUTF(jar.getPath());
+                    output.writeLong(length);
+                    output.writeLong(lastModified);
+                    output.writeInt(classAnnotations.size());
+                    for (String descriptor : classAnnotations) {
+                        output.writeUTF(descriptor);
+                    }
+                    output.writeInt(jars.size());
+                    for (String name : jars) {
+                        output.writeUTF(name);
+                    }
+                    output.writeInt(classes.size());
+                    for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+                        output.writeUTF(entry.getKey());
+                        output.writeInt(entry.getValue().length);
+                        output.write(entry.getValue());
+                    }
+                }
+                FileUtils.mkdirsMaybe(directory);
+                // Concurrent deployments can index the same library
+                tempFile = File.createTempFile(indexFile.getName(), ".tmp", directory);
+                Files.write(tempFile.toPath(), bytes.toByteArray());
+                Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+                LOG.log(FINE, "Stored class index {0} of {1} classes.", new Object[] {indexFile, classes.size()});
+            } catch (IOException e) {
+                LOG.log(FINE, "Class index " + indexFile + " cannot be stored.", e);
+                if (tempFile != null) {
+                    FileUtils.deleteFileMaybe(tempFile);
+                }
+            }
+        }
+
+        private final class ClassAnnotationCollector extends ClassVisitor {
+
+            ClassAnnotationCollector(ClassVisitor classVisitor) {
+                super(ASM9, classVisitor);
+            }
+
+            @Override
+            public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+                classAnnotations.add(descriptor);
+                return super.visitAnnotation(descriptor, visible);
+            }
+        }
+    }
+}
@@ -1,6 +1,6 @@
 /*
  * Copyright (c) 2009, 2018 Oracle and/or its affiliates. All rights reserved.
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -58,6 +58,9 @@ public class GenericAnnotationDetector extends AnnotationScanner {
 
     @LogMessageInfo(message = "Failed to scan archive for annotations: {0}", level="WARNING")
     private static final String FAILED_ANNOTATION_SCAN = "NCLS-DEPLOYMENT-00009";
+
+    private static final int CR_FLAGS = ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES;
+
     boolean found = false;
     List<String> annotations = new ArrayList<>();
 
@@ -111,7 +114,19 @@ public class GenericAnnotationDetector extends AnnotationScanner {
     @Override
     public void scanArchive(ReadableArchive archive) {
         try {
-            int crFlags = ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES;
+            ClassScanIndex.JarIndex jarIndex = getJarIndex(archive);
+            if (jarIndex != null) {
+                found = jarIndex.hasClassAnnotation(annotations);
+                for (String entryName : jarIndex.getJars()) {
+                    if (found) {
+                        return;
+                    }
+                    if (entryName.indexOf('/') == -1) {
+                        scanJar(archive, entryName);
+                    }
+                }
+                return;
+            }
             Enumeration<String> entries = archive.entries();
             while (entries.hasMoreElements()) {
                 String entryName = entries.nextElement();
@@ -119,30 +134,15 @@ public class GenericAnnotationDetector extends AnnotationScanner {
                     // scan class files
                     try (InputStream is = archive.getEntry(entryName)) {
                         ClassReader cr = new ClassReader(is);
-                        cr.accept(this, crFlags);
+                        cr.accept(this, CR_FLAGS);
                         if (found) {
                             return;
                         }
                     }
                 } else if (entryName.endsWith(".jar") && entryName.indexOf('/') == -1) {
-                    // scan class files inside top level jar
-                    try (ReadableArchive jarSubArchive = archive.getSubArchive(entryName)) {
-                        Enumeration<String> jarEntries = jarSubArchive.entries();
-                        while (jarEntries.hasMoreElements()) {
-                            String jarEntryName = jarEntries.nextElement();
-                            if (jarEntryName.endsWith(".class")) {
-                                try (InputStream is = jarSubArchive.getEntry(jarEntryName)) {
-                                    ClassReader cr = new ClassReader(is);
-                                    cr.accept(this, crFlags);
-                                    if (found) {
-                                        return;
-                                    }
-                                }
-                            }
-                        }
-                    } catch (IOException ioe) {
-                        Object args[] = {entryName, ioe.getMessage()};
-                        deplLogger.log(Level.WARNING, JAR_ENTRY_ERROR, args);
+                    scanJar(archive, entryName);
+                    if (found) {
+                        return;
                     }
                 }
             }
@@ -150,4 +150,48 @@ public class GenericAnnotationDetector extends AnnotationScanner {
           deplLogger.log(Level.WARNING, FAILED_ANNOTATION_SCAN, e.getMessage());
         }
     }
+
+    /**
+     * Scans class files inside top level jar
+     */
+    private void scanJar(ReadableArchive archive, String entryName) throws IOException {
+        try (ReadableArchive jarSubArchive = archive.getSubArchive(entryName)) {
+            ClassScanIndex.JarIndex jarIndex = getJarIndex(jarSubArchive);
+            if (jarIndex != null) {
+                found = jarIndex.hasClassAnnotation(annotations);
+                return;
+            }
+            Enumeration<String> jarEntries = jarSubArchive.entries();
+            while (jarEntries.hasMoreElements()) {
+                String jarEntryName = jarEntries.nextElement();
+                if (jarEntryName.endsWith(".class")) {
+                    try (InputStream is = jarSubArchive.getEntry(jarEntryName)) {
+                        ClassReader cr = new ClassReader(is);
+                        cr.accept(this, CR_FLAGS);
+                        if (found) {
+                            return;
+                        }
+                    }
+                }
+            }
+        } catch (IOException ioe) {
+            Object args[] = {entryName, ioe.getMessage()};
+            deplLogger.log(Level.WARNING, JAR_ENTRY_ERROR, args);
+        }
+    }
+
+    /**
+     * @return the class index of the jar created when the jar was parsed before, or null.
+     */
+    private static ClassScanIndex.JarIndex getJarIndex(ReadableArchive archive) {
+        if (Globals.getDefaultHabitat() == null) {
+            return null;
+        }
+        ClassScanIndex index = Globals.getDefaultHabitat().getService(ClassScanIndex.class);
+        if (index == null) {
+            return null;
+        }
+        File jar = index.getJarFile(archive.getURI());
+        return jar == null ? null : index.get(jar);
+    }
 }
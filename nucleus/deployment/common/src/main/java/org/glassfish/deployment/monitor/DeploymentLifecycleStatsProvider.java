@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -18,6 +19,7 @@ package org.glassfish.deployment.monitor;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -67,8 +69,9 @@ public class DeploymentLifecycleStatsProvider {
         "ApplicationsInformation", "List",
         APPLICATIONS_INFORMATION_DESCRIPTION);
 
+    // Applications can be loaded concurrently at startup
     private Map<String, Map<String, String>> appsInfoMap =
-        new HashMap<String, Map<String, String>>();
+        new ConcurrentHashMap<String, Map<String, String>>();
 
     public DeploymentLifecycleStatsProvider() {
         long curTime = System.currentTimeMillis();
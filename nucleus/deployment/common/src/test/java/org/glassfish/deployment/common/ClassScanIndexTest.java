@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.deployment.common;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.glassfish.deployment.common.ClassScanIndex.Builder;
+import org.glassfish.deployment.common.ClassScanIndex.JarIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.V11;
+
+public class ClassScanIndexTest {
+
+    private static final String ANNOTATION = "Ljakarta/ejb/Stateless;";
+
+    @TempDir
+    private File tempDir;
+    private ClassScanIndex index;
+    private File jar;
+
+    @BeforeEach
+    public void createJar() throws IOException {
+        index = new ClassScanIndex(new File(tempDir, ClassScanIndex.INDEX_DIR_NAME));
+        jar = new File(tempDir, "library.jar");
+        writeJar(jar, "test/Bean");
+    }
+
+    @Test
+    public void storesAndReadsIndex() throws IOException {
+        assertThat(index.getJarFile(jar.toURI()), notNullValue());
+        assertThat(index.get(jar), nullValue());
+
+        byte[] content = createClass("test/Bean", ANNOTATION);
+        Builder builder = index.builder(jar);
+        byte[] stripped = builder.addClass("test/Bean.class", content);
+        builder.addJar("nested.jar");
+        builder.store();
+
+        JarIndex jarIndex = index.get(jar);
+        assertThat(jarIndex, notNullValue());
+        assertAll(
+            () -> assertThat(stripped.length, lessThan(content.length)),
+            () -> assertThat(jarIndex.getClasses().keySet(), contains("test/Bean.class")),
+            () -> assertThat(jarIndex.getJars(), contains("nested.jar")),
+            () -> assertTrue(jarIndex.hasClassAnnotation(List.of("Ljava/lang/Deprecated;", ANNOTATION))),
+            () -> assertFalse(jarIndex.hasClassAnnotation(List.of("Ljava/lang/Deprecated;"))),
+            () -> assertThat(new ClassReader(jarIndex.getClasses().get("test/Bean.class")).getClassName(),
+                equalTo("test/Bean"))
+        );
+    }
+
+    @Test
+    public void ignoresIndexOfChangedJar() throws IOException {
+        Builder builder = index.builder(jar);
+        builder.addClass("test/Bean.class", createClass("test/Bean", null));
+        builder.store();
+        assertThat(index.get(jar), notNullValue());
+
+        writeJar(jar, "test/Bean", "test/Other");
+        assertTrue(jar.setLastModified(jar.lastModified() - 10_000L));
+        assertThat(index.get(jar), nullValue());
+    }
+
+    @Test
+    public void doesNotStoreIncompleteIndex() {
+        Builder builder = index.builder(jar);
+        byte[] invalid = {1, 2, 3};
+        assertThat(builder.addClass("test/Broken.class", invalid), sameInstance(invalid));
+        builder.store();
+        assertThat(index.get(jar), nullValue());
+    }
+
+    @Test
+    public void removesIndexesOfJarsInDirectory() throws IOException {
+        File applicationDir = new File(tempDir, "app");
+        assertTrue(applicationDir.mkdir());
+        File applicationJar = new File(applicationDir, "library.jar");
+        writeJar(applicationJar, "test/Bean");
+        for (File file : List.of(jar, applicationJar)) {
+            Builder builder = index.builder(file);
+            builder.addClass("test/Bean.class", createClass("test/Bean", null));
+            builder.store();
+        }
+
+        // Only the prefix of the name matches
+        index.remove(new File(tempDir, "ap"));
+        assertThat(index.get(applicationJar), notNullValue());
+
+        index.remove(applicationDir);
+        assertAll(
+            () -> assertThat(index.get(applicationJar), nullValue()),
+            () -> assertThat(index.get(jar), notNullValue()),
+            () -> assertThat(new File(tempDir, ClassScanIndex.INDEX_DIR_NAME).list(), arrayWithSize(1))
+        );
+    }
+
+    @Test
+    public void indexesOnlyJarFiles() {
+        assertAll(
+            () -> assertThat(index.getJarFile(tempDir.toURI()), nullValue()),
+            () -> assertThat(index.getJarFile(new File(tempDir, "missing.jar").toURI()), nullValue()),
+            () -> assertThat(index.getJarFile(URI.create("jar:file:/tmp/app.ear!/lib/a.jar")), nullValue())
+        );
+    }
+
+    private static void writeJar(File file, String... classNames) throws IOException {
+        try (JarOutputStream output = new JarOutputStream(new FileOutputStream(file))) {
+            for (String className : classNames) {
+                output.putNextEntry(new JarEntry(className + ".class"));
+                output.write(createClass(className, null));
+                output.closeEntry();
+            }
+        }
+    }
+
+    private static byte[] createClass(String name, String annotation) {
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        writer.visit(V11, ACC_PUBLIC, name, null, "java/lang/Object", null);
+        writer.visitSource(name + ".java", null);
+        if (annotation != null) {
+            writer.visitAnnotation(annotation, true).visitEnd();
+        }
+        MethodVisitor constructor = writer.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(ALOAD, 0);
+        constructor.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        constructor.visitInsn(RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.main.jul.formatter;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+import org.glassfish.main.jul.record.GlassFishLogRecord;
+
+/**
+ * Prints timestamps of log records using the {@link DateTimeFormatter}, but the formatter is used
+ * at most once per millisecond.
+ * <p>
+ * The formatted text of the last millisecond is cached. If the format contains digits of
+ * a fraction smaller than millisecond, these are printed directly from the record's time.
+ * If the format cannot be split to the cached text and the sub-millisecond digits, ie. because
+ * it prints a fraction with variable length, the cache is not used.
+ */
+final class CachedTimestampFormatter {
+
+    private static final int NANOS_PER_MILLI = 1_000_000;
+    private static final int MAX_SUB_MILLI_DIGITS = 6;
+    private static final int[] DIVISORS = {1_000_000, 100_000, 10_000, 1_000, 100, 10, 1};
+
+    private final DateTimeFormatter formatter;
+    private final boolean cacheable;
+    private volatile CachedTimestamp cached;
+
+    /**
+     * @param formatter formatter used to print timestamps
+     */
+    CachedTimestampFormatter(final DateTimeFormatter formatter) {
+        this(formatter, isCacheable(formatter));
+    }
+
+
+    private CachedTimestampFormatter(final DateTimeFormatter formatter, final boolean cacheable) {
+        this.formatter = formatter;
+        this.cacheable = cacheable;
+    }
+
+
+    /**
+     * @return the formatter used to print timestamps
+     */
+    DateTimeFormatter getFormatter() {
+        return formatter;
+    }
+
+
+    /**
+     * Appends the formatted timestamp of the record to the output.
+     *
+     * @param record the log record
+     * @param output target
+     */
+    void format(final GlassFishLogRecord record, final StringBuilder output) {
+        if (!cacheable) {
+            formatter.formatTo(record.getTime(), output);
+            return;
+        }
+        final Instant instant = record.getInstant();
+        final long millis = instant.toEpochMilli();
+        CachedTimestamp timestamp = cached;
+        if (timestamp == null || timestamp.millis != millis) {
+            timestamp = createCachedTimestamp(millis, record.getTime());
+            if (timestamp == null) {
+                formatter.formatTo(record.getTime(), output);
+                return;
+            }
+            cached = timestamp;
+        }
+        output.append(timestamp.prefix);
+        appendSubMilliDigits(instant.getNano() % NANOS_PER_MILLI, timestamp.subMilliDigits, output);
+        output.append(timestamp.suffix);
+    }
+
+
+    private CachedTimestamp createCachedTimestamp(final long millis, final OffsetDateTime time) {
+        final OffsetDateTime truncated = time.truncatedTo(ChronoUnit.MILLIS);
+        final String zeros = formatter.format(truncated);
+        final String nines = formatter.format(truncated.plusNanos(NANOS_PER_MILLI - 1));
+        if (zeros.length() != nines.length()) {
+            return null;
+        }
+        int start = 0;
+        while (start < zeros.length() && zeros.charAt(start) == nines.charAt(start)) {
+            start++;
+        }
+        if (start == zeros.length()) {
+            return new CachedTimestamp(millis, zeros, 0, "");
+        }
+        int end = zeros.length();
+        while (zeros.charAt(end - 1) == nines.charAt(end - 1)) {
+            end--;
+        }
+        final int digits = end - start;
+        if (digits > MAX_SUB_MILLI_DIGITS) {
+            return null;
+        }
+        for (int i = start; i < end; i++) {
+            if (zeros.charAt(i) != '0' || nines.charAt(i) != '9') {
+                return null;
+            }
+        }
+        return new CachedTimestamp(millis, zeros.substring(0, start), digits, zeros.substring(end));
+    }
+
+
+    private static void appendSubMilliDigits(final int nanos, final int digits, final StringBuilder output) {
+        final int value = nanos / DIVISORS[digits];
+        for (int i = digits - 1; i >= 0; i--) {
+            output.append((char) ('0' + value / DIVISORS[MAX_SUB_MILLI_DIGITS - i] % 10));
+        }
+    }
+
+
+    /**
+     * Checks that the formatter prints sub-millisecond digits as expected by this class,
+     * so the result is always same as if the formatter would be used directly.
+     */
+    private static boolean isCacheable(final DateTimeFormatter formatter) {
+        final CachedTimestampFormatter probe = new CachedTimestampFormatter(formatter, false);
+        final OffsetDateTime[] times = {
+            OffsetDateTime.of(2001, 9, 9, 1, 46, 40, 123_456_789, ZoneOffset.UTC),
+            OffsetDateTime.of(2024, 12, 31, 23, 59, 59, 999_999_999, ZoneOffset.ofHours(-5)),
+            OffsetDateTime.of(2026, 2, 1, 7, 5, 3, 4_050, ZoneOffset.ofHoursMinutes(5, 30)),
+        };
+        try {
+            for (final OffsetDateTime time : times) {
+                final CachedTimestamp timestamp = probe.createCachedTimestamp(0L, time);
+                if (timestamp == null) {
+                    return false;
+                }
+                final StringBuilder output = new StringBuilder();
+                output.append(timestamp.prefix);
+                appendSubMilliDigits(time.getNano() % NANOS_PER_MILLI, timestamp.subMilliDigits, output);
+                output.append(timestamp.suffix);
+                if (!output.toString().equals(formatter.format(time))) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (final RuntimeException e) {
+            // unsupported fields etc. The formatter will fail the same way when used directly.
+            return false;
+        }
+    }
+
+
+    /**
+     * Immutable timestamp formatted for one millisecond.
+     */
+    private static final class CachedTimestamp {
+
+        private final long millis;
+        private final String prefix;
+        private final int subMilliDigits;
+        private final String suffix;
+
+        CachedTimestamp(final long millis, final String prefix, final int subMilliDigits, final String suffix) {
+            this.millis = millis;
+            this.prefix = prefix;
+            this.subMilliDigits = subMilliDigits;
+            this.suffix = suffix;
+        }
+    }
+}
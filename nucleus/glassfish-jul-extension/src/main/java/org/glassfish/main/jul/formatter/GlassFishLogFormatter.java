@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2024 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2022, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -32,6 +32,7 @@ import static java.time.temporal.ChronoField.MINUTE_OF_HOUR;
 import static java.time.temporal.ChronoField.NANO_OF_SECOND;
 import static java.time.temporal.ChronoField.SECOND_OF_MINUTE;
 import static org.glassfish.main.jul.cfg.GlassFishLoggingConstants.KEY_FORMATTER_PRINT_SOURCE_SUFFIX;
+import static org.glassfish.main.jul.formatter.GlassFishLogFormatter.GlassFishLogFormatterProperty.GARBAGE_FREE;
 import static org.glassfish.main.jul.formatter.GlassFishLogFormatter.GlassFishLogFormatterProperty.PRINT_SEQUENCE_NUMBER;
 import static org.glassfish.main.jul.formatter.GlassFishLogFormatter.GlassFishLogFormatterProperty.PRINT_SOURCE;
 import static org.glassfish.main.jul.formatter.GlassFishLogFormatter.GlassFishLogFormatterProperty.TIMESTAMP_FORMAT;
@@ -45,6 +46,12 @@ import static org.glassfish.main.jul.formatter.GlassFishLogFormatter.GlassFishLo
 public abstract class GlassFishLogFormatter extends Formatter {
     /** Resolves {@link LogRecord} to {@link GlassFishLogRecord} */
     protected static final MessageResolver MSG_RESOLVER = new MessageResolver();
+    /** Initial capacity of buffers for formatted records */
+    protected static final int REC_BUFFER_CAPACITY = 512;
+    /** Larger buffers are not reused, so rare huge records don't block the memory */
+    private static final int MAX_REUSED_BUFFER_CAPACITY = 64 * 1024;
+    private static final ThreadLocal<StringBuilder> REUSED_BUFFER = ThreadLocal
+        .withInitial(() -> new StringBuilder(REC_BUFFER_CAPACITY));
 
 
     // This was required, because we need 3 decimal numbers of the second fraction
@@ -79,7 +86,9 @@ public abstract class GlassFishLogFormatter extends Formatter {
 
     private boolean printSequenceNumber;
     private boolean printSource;
+    private boolean garbageFree;
     private DateTimeFormatter timestampFormatter = DEFAULT_DATETIME_FORMATTER;
+    private CachedTimestampFormatter cachedTimestampFormatter;
 
 
     /**
@@ -133,6 +142,7 @@ public abstract class GlassFishLogFormatter extends Formatter {
     private static void configure(final GlassFishLogFormatter formatter, final FormatterConfigurationHelper helper) {
         formatter.printSequenceNumber = helper.getBoolean(PRINT_SEQUENCE_NUMBER, formatter.printSequenceNumber);
         formatter.printSource = helper.getBoolean(PRINT_SOURCE, formatter.printSource);
+        formatter.garbageFree = helper.getBoolean(GARBAGE_FREE, formatter.garbageFree);
         formatter.timestampFormatter = helper.getDateTimeFormatter(TIMESTAMP_FORMAT, formatter.timestampFormatter);
     }
 
@@ -146,6 +156,66 @@ public abstract class GlassFishLogFormatter extends Formatter {
     protected abstract String formatRecord(LogRecord record);
 
 
+    /**
+     * Formats the record and appends it to the output.
+     * <p>
+     * The default implementation appends the result of the {@link #formatRecord(LogRecord)},
+     * subclasses should override it to avoid creating intermediate strings.
+     *
+     * @param record
+     * @param output target of the formatted record
+     */
+    protected void formatRecord(final LogRecord record, final StringBuilder output) {
+        output.append(formatRecord(record));
+    }
+
+
+    /**
+     * Formats the record using the {@link #formatRecord(LogRecord, StringBuilder)}.
+     * If the {@link #isGarbageFree()} is true, uses a buffer reused by the current thread,
+     * so the only new object is the returned string.
+     *
+     * @param record
+     * @return formatted record
+     */
+    protected final String formatRecordToString(final LogRecord record) {
+        if (!garbageFree) {
+            final StringBuilder output = new StringBuilder(REC_BUFFER_CAPACITY);
+            formatRecord(record, output);
+            return output.toString();
+        }
+        final StringBuilder reused = REUSED_BUFFER.get();
+        // Not empty if some formatting on this thread is in progress (ie. toString() of a parameter logs).
+        final StringBuilder output = reused.length() == 0 ? reused : new StringBuilder(REC_BUFFER_CAPACITY);
+        try {
+            formatRecord(record, output);
+            return output.toString();
+        } finally {
+            output.setLength(0);
+            if (output.capacity() > MAX_REUSED_BUFFER_CAPACITY && output == reused) {
+                REUSED_BUFFER.remove();
+            }
+        }
+    }
+
+
+    /**
+     * Appends the record's timestamp formatted by the {@link #getTimestampFormatter()}.
+     * The formatter is called at most once per millisecond.
+     *
+     * @param record
+     * @param output
+     */
+    protected final void printTimestamp(final GlassFishLogRecord record, final StringBuilder output) {
+        CachedTimestampFormatter cache = cachedTimestampFormatter;
+        if (cache == null || cache.getFormatter() != timestampFormatter) {
+            cache = new CachedTimestampFormatter(timestampFormatter);
+            cachedTimestampFormatter = cache;
+        }
+        cache.format(record, output);
+    }
+
+
     /**
      * @param printSequenceNumber true enables printing the log record sequence number
      */
@@ -180,6 +250,24 @@ public abstract class GlassFishLogFormatter extends Formatter {
     }
 
 
+    /**
+     * @param garbageFree if true, formatting reuses buffers of the current thread instead of
+     *            creating new for every record.
+     */
+    public void setGarbageFree(final boolean garbageFree) {
+        this.garbageFree = garbageFree;
+    }
+
+
+    /**
+     * @return if true, formatting reuses buffers of the current thread instead of creating new
+     *         for every record.
+     */
+    public boolean isGarbageFree() {
+        return garbageFree;
+    }
+
+
     /**
      * @return {@link DateTimeFormatter} used for timestamps
      */
@@ -217,6 +305,18 @@ public abstract class GlassFishLogFormatter extends Formatter {
     }
 
 
+    /**
+     * Formats the record and appends it to the output without creating any intermediate string
+     * if the formatter supports it.
+     *
+     * @param record
+     * @param output target of the formatted record
+     */
+    public final void format(final LogRecord record, final StringBuilder output) {
+        formatRecord(record, output);
+    }
+
+
     /**
      * @param record if null, this method returns null too
      * @return a record's message plus printed stacktrace if some throwable is present.
@@ -251,6 +351,8 @@ public abstract class GlassFishLogFormatter extends Formatter {
          * See {@link LogRecord#getSourceClassName()} and {@link LogRecord#getSourceMethodName()}
          */
         PRINT_SOURCE(KEY_FORMATTER_PRINT_SOURCE_SUFFIX),
+        /** Reuse buffers of the logging thread instead of creating new for every record. */
+        GARBAGE_FREE("garbageFree"),
         ;
 
         private final String propertyName;
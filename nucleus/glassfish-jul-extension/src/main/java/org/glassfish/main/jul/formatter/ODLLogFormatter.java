@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2022, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  * Copyright (c) 2011, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,7 +17,6 @@
 
 package org.glassfish.main.jul.formatter;
 
-import java.time.OffsetDateTime;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
 
@@ -47,8 +46,6 @@ import static org.glassfish.main.jul.tracing.GlassFishLoggingTracer.error;
  */
 public class ODLLogFormatter extends GlassFishLogFormatter {
 
-    private static final int REC_BUFFER_CAPACITY = 512;
-
     private static final String FIELD_BEGIN_MARKER = "[";
     private static final String FIELD_END_MARKER = "]";
     private static final String DEFAULT_FIELD_SEPARATOR = " ";
@@ -86,7 +83,13 @@ public class ODLLogFormatter extends GlassFishLogFormatter {
 
     @Override
     public String formatRecord(final LogRecord record) {
-        return formatGlassFishLogRecord(MSG_RESOLVER.resolve(record));
+        return formatRecordToString(record);
+    }
+
+
+    @Override
+    protected void formatRecord(final LogRecord record, final StringBuilder output) {
+        formatGlassFishLogRecord(MSG_RESOLVER.resolve(record), output);
     }
 
 
@@ -106,19 +109,19 @@ public class ODLLogFormatter extends GlassFishLogFormatter {
     }
 
 
-    private String formatGlassFishLogRecord(final GlassFishLogRecord record) {
+    private void formatGlassFishLogRecord(final GlassFishLogRecord record, final StringBuilder output) {
+        final int start = output.length();
         try {
             final String message = getPrintedMessage(record);
             if (message == null) {
-                return "";
+                return;
             }
             final boolean forceMultiline = multiline || message.indexOf('\n') >= 0;
             final Level logLevel = record.getLevel();
             final String msgId = record.getMessageKey();
             final String loggerName = record.getLoggerName();
             final String threadName = record.getThreadName();
-            final StringBuilder output = new StringBuilder(REC_BUFFER_CAPACITY);
-            appendTimestamp(output, record.getTime());
+            appendTimestamp(output, record);
             appendProductId(output);
             appendLogLevel(output, logLevel);
             appendMessageKey(output, msgId);
@@ -138,16 +141,18 @@ public class ODLLogFormatter extends GlassFishLogFormatter {
                 output.append(FIELD_END_MARKER).append(FIELD_END_MARKER);
             }
             output.append(lineSeparator()).append(lineSeparator());
-            return output.toString();
         } catch (final Exception e) {
             error(getClass(), "Error in formatting Logrecord", e);
-            return record.getMessage();
+            output.setLength(start);
+            if (record.getMessage() != null) {
+                output.append(record.getMessage());
+            }
         }
     }
 
-    private void appendTimestamp(final StringBuilder output, final OffsetDateTime timestamp) {
+    private void appendTimestamp(final StringBuilder output, final GlassFishLogRecord record) {
         output.append(FIELD_BEGIN_MARKER);
-        output.append(getTimestampFormatter().format(timestamp));
+        printTimestamp(record, output);
         output.append(FIELD_END_MARKER).append(fieldSeparator);
     }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2024 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2022, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,7 +16,6 @@
 
 package org.glassfish.main.jul.formatter;
 
-import java.util.Arrays;
 import java.util.logging.Formatter;
 import java.util.logging.LogRecord;
 import java.util.logging.Logger;
@@ -81,7 +80,13 @@ public class OneLineFormatter extends GlassFishLogFormatter {
 
     @Override
     public String formatRecord(final LogRecord record) {
-        return formatEnhancedLogRecord(MSG_RESOLVER.resolve(record));
+        return formatRecordToString(record);
+    }
+
+
+    @Override
+    protected void formatRecord(final LogRecord record, final StringBuilder output) {
+        formatEnhancedLogRecord(MSG_RESOLVER.resolve(record), output);
     }
 
 
@@ -91,12 +96,11 @@ public class OneLineFormatter extends GlassFishLogFormatter {
     }
 
 
-    private String formatEnhancedLogRecord(final GlassFishLogRecord record) {
+    private void formatEnhancedLogRecord(final GlassFishLogRecord record, final StringBuilder sb) {
         if (record.getMessage() == null) {
-            return "";
+            return;
         }
-        final StringBuilder sb = new StringBuilder(256);
-        sb.append(getTimestampFormatter().format(record.getTime()));
+        printTimestamp(record, sb);
         addPadded(record.getLevel(), this.sizeOfLevel, sb);
         addPadded(record.getThreadName(), this.sizeOfThread, sb);
         if (isPrintSource()) {
@@ -115,26 +119,21 @@ public class OneLineFormatter extends GlassFishLogFormatter {
             sb.append(record.getThrownStackTrace());
         }
 
-        return sb.append(LINE_SEPARATOR).toString();
+        sb.append(LINE_SEPARATOR);
     }
 
 
     private void addPadded(final Object value, final int size, final StringBuilder sb) {
         final String text = value == null ? "" : String.valueOf(value);
         sb.append(' ');
-        sb.append(getPad(text, size));
-        sb.append(text.length() <= size ? text : text.substring(text.length() - size));
-    }
-
-
-    private char[] getPad(final String text, final int size) {
-        final int countOfSpaces = size - text.length();
-        if (countOfSpaces <= 0) {
-            return new char[0];
+        for (int i = text.length(); i < size; i++) {
+            sb.append(' ');
+        }
+        if (text.length() <= size) {
+            sb.append(text);
+        } else {
+            sb.append(text, text.length() - size, text.length());
         }
-        final char[] spaces = new char[countOfSpaces];
-        Arrays.fill(spaces, ' ');
-        return spaces;
     }
 
     /**
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2022, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  * Copyright (c) 2006, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -44,8 +44,6 @@ import static org.glassfish.main.jul.formatter.UniformLogFormatter.UniformFormat
  */
 public class UniformLogFormatter extends GlassFishLogFormatter {
 
-    private static final int REC_BUFFER_CAPACITY = 512;
-
     private static final String MULTILINE_INDENTATION = "  ";
     private static final char FIELD_SEPARATOR = '|';
     private static final String RECORD_BEGIN_MARKER = "[#|";
@@ -90,7 +88,13 @@ public class UniformLogFormatter extends GlassFishLogFormatter {
 
     @Override
     public String formatRecord(final LogRecord record) {
-        return formatGlassFishLogRecord(MSG_RESOLVER.resolve(record));
+        return formatRecordToString(record);
+    }
+
+
+    @Override
+    protected void formatRecord(final LogRecord record, final StringBuilder output) {
+        formatGlassFishLogRecord(MSG_RESOLVER.resolve(record), output);
     }
 
 
@@ -136,17 +140,17 @@ public class UniformLogFormatter extends GlassFishLogFormatter {
     }
 
 
-    private String formatGlassFishLogRecord(final GlassFishLogRecord record) {
+    private void formatGlassFishLogRecord(final GlassFishLogRecord record, final StringBuilder output) {
+        final int start = output.length();
         try {
             final String message = getPrintedMessage(record);
             if (message == null) {
-                return "";
+                return;
             }
 
-            final String timestamp = getTimestampFormatter().format(record.getTime());
             final Level logLevel = record.getLevel();
-            final StringBuilder output = new StringBuilder(REC_BUFFER_CAPACITY).append(recordBeginMarker);
-            appendTimestamp(output, timestamp);
+            output.append(recordBeginMarker);
+            appendTimestamp(output, record);
             appendLogLevel(output, logLevel);
             appendProductId(output);
             appendLoggerName(output, record.getLoggerName());
@@ -159,16 +163,18 @@ public class UniformLogFormatter extends GlassFishLogFormatter {
             output.append(message);
             output.append(recordEndMarker);
             output.append(lineSeparator()).append(lineSeparator());
-            return output.toString();
         } catch (final Exception e) {
             new ErrorManager().error("Error in formatting Logrecord", e, ErrorManager.FORMAT_FAILURE);
-            return record.getMessage();
+            output.setLength(start);
+            if (record.getMessage() != null) {
+                output.append(record.getMessage());
+            }
         }
     }
 
 
-    private void appendTimestamp(final StringBuilder output, final String timestamp) {
-        output.append(timestamp);
+    private void appendTimestamp(final StringBuilder output, final GlassFishLogRecord record) {
+        printTimestamp(record, output);
         output.append(recordFieldSeparator);
     }
 
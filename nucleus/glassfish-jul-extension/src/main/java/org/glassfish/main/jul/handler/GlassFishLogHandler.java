@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2024 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2022, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  * Copyright (c) 2009, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -32,6 +32,7 @@ import java.util.logging.Logger;
 
 import org.glassfish.main.jul.cfg.GlassFishLoggingConstants;
 import org.glassfish.main.jul.env.LoggingSystemEnvironment;
+import org.glassfish.main.jul.formatter.GlassFishLogFormatter;
 import org.glassfish.main.jul.formatter.LogFormatDetector;
 import org.glassfish.main.jul.formatter.UniformLogFormatter;
 import org.glassfish.main.jul.record.GlassFishLogRecord;
@@ -47,6 +48,9 @@ import static java.util.logging.Level.INFO;
 import static java.util.logging.Level.SEVERE;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.BUFFER_CAPACITY;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.BUFFER_TIMEOUT;
+import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.BUFFER_TYPE;
+import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.BUFFER_TYPE_QUEUE;
+import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.BUFFER_TYPE_RING;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.DEFAULT_BUFFER_CAPACITY;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.DEFAULT_BUFFER_TIMEOUT;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.DEFAULT_ROTATION_LIMIT_MB;
@@ -58,6 +62,7 @@ import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.MINIMUM
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.OUTPUT_FILE;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.REDIRECT_STANDARD_STREAMS;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.ROTATION_COMPRESS;
+import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.ROTATION_COMPRESS_PARALLEL;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.ROTATION_LIMIT_SIZE;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.ROTATION_LIMIT_TIME;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.ROTATION_MAX_HISTORY;
@@ -85,6 +90,8 @@ public class GlassFishLogHandler extends Handler implements ExternallyManagedLog
     private static final Logger STDOUT_LOGGER = Logger.getLogger(LOGGER_NAME_STDOUT);
     private static final Logger STDERR_LOGGER = Logger.getLogger(LOGGER_NAME_STDERR);
     private static final MessageResolver MSG_RESOLVER = new MessageResolver();
+    /** Larger batch buffers are not kept for the next batch. */
+    private static final int MAX_RETAINED_BATCH_CHARS = 1024 * 1024;
 
     private final ReentrantLock lock = new ReentrantLock();
 
@@ -103,6 +110,8 @@ public class GlassFishLogHandler extends Handler implements ExternallyManagedLog
     private LogFileManager logFileManager;
 
     private boolean doneHeader;
+    /** Used just by the pump thread. */
+    private char[] batchChars = new char[0];
 
     /**
      * Creates the configuration object for this class or it's descendants.
@@ -124,12 +133,14 @@ public class GlassFishLogHandler extends Handler implements ExternallyManagedLog
         configuration.setFlushFrequency(helper.getNonNegativeInteger(FLUSH_FREQUENCY, 1));
         configuration.setBufferCapacity(helper.getInteger(BUFFER_CAPACITY, DEFAULT_BUFFER_CAPACITY));
         configuration.setBufferTimeout(helper.getInteger(BUFFER_TIMEOUT, DEFAULT_BUFFER_TIMEOUT));
+        configuration.setBufferType(helper.getString(BUFFER_TYPE, BUFFER_TYPE_QUEUE));
 
         final Integer rotationLimitMB = helper.getInteger(ROTATION_LIMIT_SIZE, DEFAULT_ROTATION_LIMIT_MB);
         final long rotationLimitB = GlassFishLoggingConstants.BYTES_PER_MEGABYTES
             * (rotationLimitMB >= MINIMUM_ROTATION_LIMIT_MB ? rotationLimitMB : DEFAULT_ROTATION_LIMIT_MB);
         configuration.setRotationSizeLimitBytes(rotationLimitB);
         configuration.setCompressionOnRotation(helper.getBoolean(ROTATION_COMPRESS, Boolean.FALSE));
+        configuration.setParallelCompressionOnRotation(helper.getBoolean(ROTATION_COMPRESS_PARALLEL, Boolean.FALSE));
         configuration.setRotationOnDateChange(helper.getBoolean(ROTATION_ON_DATE_CHANGE, Boolean.FALSE));
         configuration.setRotationTimeLimitMinutes(helper.getNonNegativeInteger(ROTATION_LIMIT_TIME, 0));
         configuration.setMaxArchiveFiles(helper.getNonNegativeInteger(ROTATION_MAX_HISTORY, 10));
@@ -150,12 +161,20 @@ public class GlassFishLogHandler extends Handler implements ExternallyManagedLog
         // parent StreamHandler already set level, filter, encoding and formatter.
         setLevel(configuration.getLevel());
         setEncoding(configuration.getEncoding());
-        this.logRecordBuffer = new LogRecordBuffer(configuration.getBufferCapacity(), configuration.getBufferTimeout());
+        this.logRecordBuffer = createLogRecordBuffer(configuration);
 
         reconfigure(configuration);
     }
 
 
+    private static LogRecordBuffer createLogRecordBuffer(final GlassFishLogHandlerConfiguration configuration) {
+        if (BUFFER_TYPE_RING.equalsIgnoreCase(configuration.getBufferType())) {
+            return new RingLogRecordBuffer(configuration.getBufferCapacity(), configuration.getBufferTimeout());
+        }
+        return new BlockingLogRecordBuffer(configuration.getBufferCapacity(), configuration.getBufferTimeout());
+    }
+
+
     @Override
     public boolean isReady() {
         return status == GlassFishLogHandlerStatus.ON || !this.configuration.isEnabled();
@@ -336,7 +355,7 @@ public class GlassFishLogHandler extends Handler implements ExternallyManagedLog
 
         this.logFileManager = new LogFileManager(this.configuration.getLogFile(), this.configuration.getEncoding(),
             this.configuration.getRotationSizeLimitBytes(), this.configuration.isCompressionOnRotation(),
-            this.configuration.getMaxArchiveFiles());
+            this.configuration.isParallelCompressionOnRotation(), this.configuration.getMaxArchiveFiles());
 
         final Formatter formatter = configuration.getFormatterConfiguration();
         setFormatter(formatter);
@@ -356,6 +375,8 @@ public class GlassFishLogHandler extends Handler implements ExternallyManagedLog
         }
 
         this.pump = new LoggingPump("GlassFishLogHandler log pump", this.logRecordBuffer);
+        // The pump stops immediately if the handler is not ready yet.
+        this.status = GlassFishLogHandlerStatus.ON;
         this.pump.start();
         return GlassFishLogHandlerStatus.ON;
     }
@@ -467,6 +488,59 @@ public class GlassFishLogHandler extends Handler implements ExternallyManagedLog
     }
 
 
+    /**
+     * Formats all records into one character buffer and writes it to the file at once.
+     *
+     * @param records array with records
+     * @param count count of records in the array
+     * @param batchText reusable buffer for formatted records
+     * @return the buffer which can be reused for the next batch
+     */
+    private StringBuilder publishRecords(final GlassFishLogRecord[] records, final int count,
+        final StringBuilder batchText) {
+        for (int i = 0; i < count; i++) {
+            final GlassFishLogRecord record = records[i];
+            if (!isLoggable(record)) {
+                continue;
+            }
+            final int recordStart = batchText.length();
+            try {
+                final Formatter formatter = getFormatter();
+                if (formatter instanceof GlassFishLogFormatter) {
+                    ((GlassFishLogFormatter) formatter).format(record, batchText);
+                } else {
+                    batchText.append(formatter.format(record));
+                }
+            } catch (Exception ex) {
+                batchText.setLength(recordStart);
+                // We don't want to throw an exception here, but we
+                // report the exception to any registered ErrorManager.
+                reportError(null, ex, ErrorManager.FORMAT_FAILURE);
+            }
+        }
+        if (batchText.length() == 0) {
+            return batchText;
+        }
+
+        if (!doneHeader) {
+            logFileManager.write(getFormatter().getHead(this));
+            doneHeader = true;
+        }
+        final int length = batchText.length();
+        if (batchChars.length < length) {
+            batchChars = new char[Math.max(length, batchChars.length * 2)];
+        }
+        batchText.getChars(0, length, batchChars, 0);
+        logFileManager.write(batchChars, 0, length);
+        if (batchText.capacity() > MAX_RETAINED_BATCH_CHARS) {
+            batchChars = new char[0];
+            return new StringBuilder();
+        }
+        batchText.setLength(0);
+        return batchText;
+    }
+
+
     private static boolean isRollRequired(final File logFile, final Formatter formatter, final Charset expectedCharset) {
         if (logFile.length() == 0) {
             return false;
@@ -477,6 +551,8 @@ public class GlassFishLogHandler extends Handler implements ExternallyManagedLog
 
     private final class LoggingPump extends LoggingPumpThread {
 
+        private StringBuilder batchText = new StringBuilder();
+
         private LoggingPump(String threadName, LogRecordBuffer buffer) {
             super(threadName, buffer);
         }
@@ -498,6 +574,15 @@ public class GlassFishLogHandler extends Handler implements ExternallyManagedLog
             return publishRecord(record);
         }
 
+        @Override
+        protected void logRecords(final GlassFishLogRecord[] records, final int count) {
+            if (count == 1) {
+                publishRecord(records[0]);
+                return;
+            }
+            batchText = publishRecords(records, count, batchText);
+        }
+
         @Override
         protected void flushOutput() {
             flush();
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2022, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -24,6 +24,7 @@ import java.util.logging.Level;
 
 import org.glassfish.main.jul.cfg.GlassFishLoggingConstants;
 
+import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.BUFFER_TYPE_QUEUE;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.DEFAULT_BUFFER_CAPACITY;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.DEFAULT_BUFFER_TIMEOUT;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.DEFAULT_ROTATION_LIMIT_MB;
@@ -45,11 +46,13 @@ public class GlassFishLogHandlerConfiguration implements Cloneable {
 
     private int bufferCapacity = DEFAULT_BUFFER_CAPACITY;
     private int bufferTimeout = DEFAULT_BUFFER_TIMEOUT;
+    private String bufferType = BUFFER_TYPE_QUEUE;
 
     private boolean rotationOnDateChange;
     private int rotationTimeLimitMinutes;
     private long rotationSizeLimitBytes = DEFAULT_ROTATION_LIMIT_MB * GlassFishLoggingConstants.BYTES_PER_MEGABYTES;
     private boolean compressionOnRotation;
+    private boolean parallelCompressionOnRotation;
 
     private boolean redirectStandardStreams;
 
@@ -148,6 +151,24 @@ public class GlassFishLogHandlerConfiguration implements Cloneable {
     }
 
 
+    /**
+     * @return {@link GlassFishLogHandlerProperty#BUFFER_TYPE_QUEUE} or
+     *         {@link GlassFishLogHandlerProperty#BUFFER_TYPE_RING}
+     */
+    public String getBufferType() {
+        return bufferType;
+    }
+
+
+    /**
+     * @param bufferType {@link GlassFishLogHandlerProperty#BUFFER_TYPE_QUEUE} or
+     *            {@link GlassFishLogHandlerProperty#BUFFER_TYPE_RING}
+     */
+    public void setBufferType(final String bufferType) {
+        this.bufferType = bufferType;
+    }
+
+
     public long getRotationSizeLimitBytes() {
         return rotationSizeLimitBytes;
     }
@@ -173,6 +194,22 @@ public class GlassFishLogHandlerConfiguration implements Cloneable {
     }
 
 
+    /**
+     * @return true if blocks of the rolled file are compressed in parallel.
+     */
+    public boolean isParallelCompressionOnRotation() {
+        return parallelCompressionOnRotation;
+    }
+
+
+    /**
+     * @param parallelCompressionOnRotation true to compress blocks of the rolled file in parallel.
+     */
+    public void setParallelCompressionOnRotation(final boolean parallelCompressionOnRotation) {
+        this.parallelCompressionOnRotation = parallelCompressionOnRotation;
+    }
+
+
     public boolean isRotationOnDateChange() {
         return rotationOnDateChange;
     }
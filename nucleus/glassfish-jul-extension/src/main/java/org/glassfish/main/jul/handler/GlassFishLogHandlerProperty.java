@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2022, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -51,12 +51,27 @@ public enum GlassFishLogHandlerProperty implements LogProperty {
      * 0 means wait forever.
      */
     BUFFER_TIMEOUT("buffer.timeoutInSeconds"),
+    /**
+     * Implementation of the LogRecord buffer, applied when the handler is created:
+     * <ul>
+     * <li>{@value #BUFFER_TYPE_QUEUE} - blocking queue, allocates a node for every record.
+     * <li>{@value #BUFFER_TYPE_RING} - preallocated lock-free ring buffer, the pump processes all
+     * available records, up to the {@link #FLUSH_FREQUENCY}, as one batch with one write to the file.
+     * Its capacity cannot grow by the reconfiguration.
+     * </ul>
+     */
+    BUFFER_TYPE("buffer.type"),
     /** Count of records processed until handler flushes the output */
     FLUSH_FREQUENCY("flushFrequency"),
     /** Log STDOUT and STDERR to the log file too */
     REDIRECT_STANDARD_STREAMS("redirectStandardStreams"),
     /** Compress rolled file to a zio file */
     ROTATION_COMPRESS("rotation.compress"),
+    /**
+     * Compress blocks of the rolled file in parallel, the result is still a standard GZIP file.
+     * Useful for big files, but it uses all processors for a moment.
+     */
+    ROTATION_COMPRESS_PARALLEL("rotation.compress.parallel"),
     /** File will be rotated after mignight */
     ROTATION_ON_DATE_CHANGE("rotation.rollOnDateChange"),
     /** File containing more megabytes (1 000 000 B) will be rotated */
@@ -70,6 +85,8 @@ public enum GlassFishLogHandlerProperty implements LogProperty {
     public static final int DEFAULT_ROTATION_LIMIT_MB = 100;
     public static final int DEFAULT_BUFFER_CAPACITY = 10_000;
     public static final int DEFAULT_BUFFER_TIMEOUT = 0;
+    public static final String BUFFER_TYPE_QUEUE = "queue";
+    public static final String BUFFER_TYPE_RING = "ring";
 
     private final String propertyName;
 
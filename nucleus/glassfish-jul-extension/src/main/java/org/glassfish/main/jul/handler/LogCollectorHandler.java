@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2024 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2022, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -45,7 +45,7 @@ public class LogCollectorHandler extends Handler {
      * wait time 5 seconds.
      *
      * @param loggerToFollow this handler will be added to this logger.
-     * @see LogRecordBuffer
+     * @see BlockingLogRecordBuffer
      */
     public LogCollectorHandler(final Logger loggerToFollow) {
         this(loggerToFollow, 100, 5);
@@ -56,10 +56,10 @@ public class LogCollectorHandler extends Handler {
      * @param capacity capacity of the buffer.
      * @param maxWait maximal time in seconds to wait for the free capacity. If &lt; 1, can wait
      *            forever.
-     * @see LogRecordBuffer
+     * @see BlockingLogRecordBuffer
      */
     public LogCollectorHandler(final Logger loggerToFollow, int capacity, int maxWait) {
-        buffer = new LogRecordBuffer(capacity, maxWait);
+        buffer = new BlockingLogRecordBuffer(capacity, maxWait);
         logger = loggerToFollow;
         logger.addHandler(this);
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2024 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2022, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -60,7 +60,7 @@ final class LoggingOutputStream extends ByteArrayOutputStream {
         this.loggerName = logger.getName();
         this.logRecordLevel = logRecordLevel;
         this.charset = charset;
-        this.logRecordBuffer = new LogRecordBuffer(bufferCapacity);
+        this.logRecordBuffer = new BlockingLogRecordBuffer(bufferCapacity);
         this.pump = new Pump(logger, this.logRecordBuffer);
     }
 
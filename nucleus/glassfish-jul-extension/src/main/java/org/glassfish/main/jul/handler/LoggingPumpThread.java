@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2022, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,6 +16,7 @@
 
 package org.glassfish.main.jul.handler;
 
+import java.util.Arrays;
 import java.util.logging.Handler;
 
 import org.glassfish.main.jul.record.GlassFishLogRecord;
@@ -32,6 +33,7 @@ import static org.glassfish.main.jul.tracing.GlassFishLoggingTracer.trace;
 abstract class LoggingPumpThread extends Thread {
 
     private final LogRecordBuffer buffer;
+    private GlassFishLogRecord[] batch;
 
 
     protected LoggingPumpThread(final String threadName, final LogRecordBuffer buffer) {
@@ -59,6 +61,19 @@ abstract class LoggingPumpThread extends Thread {
      */
     protected abstract boolean logRecord(final GlassFishLogRecord record);
 
+    /**
+     * Processes records of the batch, by default calls {@link #logRecord(GlassFishLogRecord)}
+     * for each of them.
+     *
+     * @param records array with records
+     * @param count count of records in the array, starting from the index 0.
+     */
+    protected void logRecords(final GlassFishLogRecord[] records, final int count) {
+        for (int i = 0; i < count; i++) {
+            logRecord(records[i]);
+        }
+    }
+
     /**
      * Unconditionally flushes the output
      */
@@ -83,16 +98,19 @@ abstract class LoggingPumpThread extends Thread {
      * Retrieves the LogRecord from our Queue and store them in the file
      */
     private void publishBatchFromBuffer() {
-        if (!logRecord(buffer.pollOrWait())) {
+        final int batchSize = Math.max(1, getFlushFrequency());
+        if (batch == null || batch.length != batchSize) {
+            batch = new GlassFishLogRecord[batchSize];
+        }
+        final int count = buffer.pollBatchOrWait(batch);
+        if (count == 0) {
             return;
         }
-        if (getFlushFrequency() > 1) {
-            // starting from 1, one record was already published
-            for (int i = 1; i < getFlushFrequency(); i++) {
-                if (!logRecord(buffer.poll())) {
-                    break;
-                }
-            }
+        try {
+            logRecords(batch, count);
+        } finally {
+            // Don't hold processed records until the next batch.
+            Arrays.fill(batch, 0, count, null);
         }
         flushOutput();
     }
@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.main.jul.handler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+
+import org.glassfish.main.jul.record.GlassFishLogRecord;
+
+import static org.glassfish.main.jul.tracing.GlassFishLoggingTracer.error;
+
+/**
+ * Preallocated multi-producer ring buffer for log records.
+ * <p>
+ * Logging threads claim a slot by a single CAS operation on the tail sequence and don't allocate
+ * anything, the consumer takes all available records in one batch. If the buffer is full, logging
+ * threads wait as with the {@link BlockingLogRecordBuffer}: for a maxWait seconds, then the buffer
+ * is cleared and the loss is reported by a severe record; if the maxWait is lower than 1, they may
+ * wait forever.
+ * <p>
+ * The capacity is rounded up to the power of two when the buffer is created and it cannot grow
+ * by the reconfiguration.
+ */
+class RingLogRecordBuffer implements LogRecordBuffer {
+
+    /** The consumer checks the buffer at least this often even if it missed the signal. */
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int MAX_SPINS = 100;
+
+    private final AtomicReferenceArray<GlassFishLogRecord> slots;
+    private final int mask;
+    /** Sequence of the next slot to be claimed by a producer. */
+    private final AtomicLong tail = new AtomicLong();
+    /** Guards consuming, so the consumer side is single threaded even if the pump is just stopping. */
+    private final ReentrantLock consumerLock = new ReentrantLock();
+    /** Used just when the buffer is full, so the consumer can wake up waiting producers. */
+    private final ReentrantLock fullLock = new ReentrantLock();
+    private final Condition notFull = fullLock.newCondition();
+    private final AtomicInteger waitingProducers = new AtomicInteger();
+
+    /** Sequence of the next slot to be consumed, changed under the consumerLock. */
+    private volatile long head;
+    private volatile Thread waitingConsumer;
+    private volatile int capacity;
+    private volatile int maxWait;
+
+
+    /**
+     * @param capacity capacity of the buffer.
+     * @param maxWait maximal time in seconds to wait for the free capacity. If &lt; 1, can wait
+     *            forever.
+     */
+    RingLogRecordBuffer(final int capacity, final int maxWait) {
+        final int size = Math.max(2, Integer.highestOneBit(Math.max(1, capacity - 1)) << 1);
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.capacity = Math.max(1, capacity);
+        this.maxWait = maxWait;
+    }
+
+
+    @Override
+    public void reconfigure(final int newCapacity, final int newMaxWait) {
+        maxWait = newMaxWait;
+        if (newCapacity > slots.length()) {
+            error(getClass(), "The capacity of the ring buffer cannot grow over " + slots.length()
+                + ", requested: " + newCapacity);
+        }
+        capacity = Math.max(1, Math.min(newCapacity, slots.length()));
+    }
+
+
+    @Override
+    public boolean isEmpty() {
+        return tail.get() == head;
+    }
+
+
+    @Override
+    public int getSize() {
+        final long consumed = head;
+        return (int) (tail.get() - consumed);
+    }
+
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+
+    @Override
+    public GlassFishLogRecord pollOrWait() {
+        while (true) {
+            final GlassFishLogRecord logRecord = poll();
+            if (logRecord != null) {
+                return logRecord;
+            }
+            if (!awaitRecords()) {
+                return null;
+            }
+        }
+    }
+
+
+    @Override
+    public GlassFishLogRecord poll() {
+        final GlassFishLogRecord logRecord;
+        consumerLock.lock();
+        try {
+            logRecord = take();
+        } finally {
+            consumerLock.unlock();
+        }
+        if (logRecord != null) {
+            signalProducers();
+        }
+        return logRecord;
+    }
+
+
+    @Override
+    public int pollBatchOrWait(final GlassFishLogRecord[] batch) {
+        while (true) {
+            int count = 0;
+            consumerLock.lock();
+            try {
+                GlassFishLogRecord logRecord;
+                while (count < batch.length && (logRecord = take()) != null) {
+                    batch[count++] = logRecord;
+                }
+            } finally {
+                consumerLock.unlock();
+            }
+            if (count > 0) {
+                signalProducers();
+                return count;
+            }
+            if (!awaitRecords()) {
+                return 0;
+            }
+        }
+    }
+
+
+    @Override
+    public void add(final GlassFishLogRecord record) {
+        for (int spins = 0; spins < MAX_SPINS; spins++) {
+            if (tryAdd(record)) {
+                return;
+            }
+            Thread.onSpinWait();
+        }
+        long timeout = maxWait > 0 ? System.nanoTime() + TimeUnit.SECONDS.toNanos(maxWait) : 0L;
+        while (!tryAdd(record)) {
+            if (timeout != 0L && System.nanoTime() - timeout > 0) {
+                clearAfterTimeout();
+                timeout = maxWait > 0 ? System.nanoTime() + TimeUnit.SECONDS.toNanos(maxWait) : 0L;
+                continue;
+            }
+            if (!awaitFreeCapacity()) {
+                // Same as the blocking buffer, the record is lost.
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+
+    /**
+     * Returns simple name of this class and size/capacity
+     *
+     * @return ie.: RingLogRecordBuffer@2b488078[usage=5/10000, maxWaitTime=60 s]
+     */
+    @Override
+    public String toString() {
+        return super.toString() + "[usage=" + getSize() + "/" + getCapacity() + ", maxWaitTime=" + maxWait + " s]";
+    }
+
+
+    private boolean tryAdd(final GlassFishLogRecord record) {
+        while (true) {
+            final long sequence = tail.get();
+            if (sequence - head >= capacity) {
+                return false;
+            }
+            if (tail.compareAndSet(sequence, sequence + 1)) {
+                slots.set((int) (sequence & mask), record);
+                final Thread consumer = waitingConsumer;
+                if (consumer != null) {
+                    LockSupport.unpark(consumer);
+                }
+                return true;
+            }
+        }
+    }
+
+
+    /**
+     * Must be called under the consumerLock.
+     *
+     * @return null if the buffer is empty
+     */
+    private GlassFishLogRecord take() {
+        final long sequence = head;
+        if (sequence == tail.get()) {
+            return null;
+        }
+        final int index = (int) (sequence & mask);
+        GlassFishLogRecord logRecord;
+        // The slot is already claimed by a producer, which is just storing the record.
+        while ((logRecord = slots.get(index)) == null) {
+            Thread.onSpinWait();
+        }
+        slots.set(index, null);
+        head = sequence + 1;
+        return logRecord;
+    }
+
+
+    /**
+     * Parks the consumer until some producer adds a record.
+     *
+     * @return false if the consumer was interrupted.
+     */
+    private boolean awaitRecords() {
+        if (Thread.interrupted()) {
+            return false;
+        }
+        waitingConsumer = Thread.currentThread();
+        try {
+            if (isEmpty()) {
+                LockSupport.parkNanos(this, MAX_PARK_NANOS);
+            }
+        } finally {
+            waitingConsumer = null;
+        }
+        return !Thread.interrupted();
+    }
+
+
+    /**
+     * Waits until the consumer takes some records or for a while if the signal was missed.
+     *
+     * @return false if the producer was interrupted.
+     */
+    private boolean awaitFreeCapacity() {
+        waitingProducers.incrementAndGet();
+        fullLock.lock();
+        try {
+            if (tail.get() - head >= capacity) {
+                notFull.awaitNanos(MAX_PARK_NANOS);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            return false;
+        } finally {
+            fullLock.unlock();
+            waitingProducers.decrementAndGet();
+        }
+    }
+
+
+    private void signalProducers() {
+        if (waitingProducers.get() == 0) {
+            return;
+        }
+        fullLock.lock();
+        try {
+            notFull.signalAll();
+        } finally {
+            fullLock.unlock();
+        }
+    }
+
+
+    /**
+     * This prevents deadlock - when the waiting is not successful, it forcibly drops all waiting records.
+     */
+    private void clearAfterTimeout() {
+        consumerLock.lock();
+        try {
+            while (take() != null) {
+                // dropping records
+            }
+        } finally {
+            consumerLock.unlock();
+        }
+        signalProducers();
+        // Note: the record is not meaningful for the message. The cause is in another place.
+        tryAdd(new GlassFishLogRecord(Level.SEVERE, //
+            this + ": The buffer was forcibly cleared after " + maxWait + " s timeout for adding another log record." //
+                + " Log records were lost." //
+                + " It might be caused by a recursive deadlock," //
+                + " you can increase the capacity or the timeout to avoid this.", false));
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2022, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  * Copyright (c) 2006, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -64,7 +64,7 @@ public class SyslogHandler extends Handler {
 
         final int bufferCapacity = helper.getInteger(BUFFER_CAPACITY, 5000);
         final int bufferTimeout = helper.getInteger(BUFFER_TIMEOUT, 300);
-        pendingRecords = new LogRecordBuffer(bufferCapacity, bufferTimeout);
+        pendingRecords = new BlockingLogRecordBuffer(bufferCapacity, bufferTimeout);
 
         final String host = helper.getString(HOST, getLocalHost());
         final int port = helper.getInteger(PORT, 514);
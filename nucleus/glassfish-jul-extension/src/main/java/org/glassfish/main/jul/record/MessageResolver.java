@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2022, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -37,6 +37,12 @@ import org.glassfish.main.jul.env.LoggingSystemEnvironment;
  */
 public final class MessageResolver {
 
+    private static final int MESSAGE_BUFFER_CAPACITY = 256;
+    /** Larger buffers are not reused, so rare huge messages don't block the memory */
+    private static final int MAX_REUSED_BUFFER_CAPACITY = 16 * 1024;
+    private static final ThreadLocal<StringBuilder> REUSED_BUFFER = ThreadLocal
+        .withInitial(() -> new StringBuilder(MESSAGE_BUFFER_CAPACITY));
+
     private final LogManager manager;
 
     /**
@@ -147,12 +153,34 @@ public final class MessageResolver {
 
     private String toMessage(final String template, final Object[] parameters) {
         try {
+            final String message = toMessageWithoutMessageFormat(template, parameters);
+            if (message != null) {
+                return message;
+            }
             return MessageFormat.format(template, parameters);
         } catch (final Exception e) {
             return template;
         }
     }
 
+
+    /**
+     * @return null if the template is not supported by the {@link SimpleMessageFormat}
+     */
+    private String toMessageWithoutMessageFormat(final String template, final Object[] parameters) {
+        final StringBuilder reused = REUSED_BUFFER.get();
+        // Not empty if toString() of some parameter logs another message.
+        final StringBuilder output = reused.length() == 0 ? reused : new StringBuilder(MESSAGE_BUFFER_CAPACITY);
+        try {
+            return SimpleMessageFormat.format(template, parameters, output) ? output.toString() : null;
+        } finally {
+            output.setLength(0);
+            if (output.capacity() > MAX_REUSED_BUFFER_CAPACITY && output == reused) {
+                REUSED_BUFFER.remove();
+            }
+        }
+    }
+
     /**
      * Bind the message and it's bundle key.
      */
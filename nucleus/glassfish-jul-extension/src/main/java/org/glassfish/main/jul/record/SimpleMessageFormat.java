@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.main.jul.record;
+
+import java.text.FieldPosition;
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Fast replacement of the {@link MessageFormat#format(String, Object...)} for the most common
+ * message templates, which contain just simple placeholders like <code>{0}</code>.
+ * <p>
+ * Parameters are written directly to the output without parsing the template to an intermediate
+ * structure. The output is the same as if the {@link MessageFormat} would be used. Templates
+ * with quotes, format types or styles and date parameters are not supported, the caller is
+ * expected to use the {@link MessageFormat} then.
+ */
+final class SimpleMessageFormat {
+
+    /** MessageFormat refuses larger indexes */
+    private static final int MAX_INDEX_DIGITS = 4;
+    private static final ThreadLocal<CachedNumberFormat> NUMBER_FORMAT = new ThreadLocal<>();
+
+    private SimpleMessageFormat() {
+        // utility class
+    }
+
+
+    /**
+     * Appends the template with resolved parameters to the output.
+     *
+     * @param template message template
+     * @param parameters message parameters
+     * @param output target
+     * @return false if the template or some parameter is not supported; the output is not changed
+     *         then.
+     */
+    static boolean format(final String template, final Object[] parameters, final StringBuilder output) {
+        final int start = output.length();
+        final int length = template.length();
+        int literalStart = 0;
+        int i = 0;
+        while (i < length) {
+            final char character = template.charAt(i);
+            if (character == '\'') {
+                output.setLength(start);
+                return false;
+            }
+            if (character != '{') {
+                i++;
+                continue;
+            }
+            output.append(template, literalStart, i);
+            int end = i + 1;
+            int index = 0;
+            while (end < length && end - i <= MAX_INDEX_DIGITS && isDigit(template.charAt(end))) {
+                index = index * 10 + template.charAt(end) - '0';
+                end++;
+            }
+            if (end == i + 1 || end == length || template.charAt(end) != '}'
+                || !appendParameter(index, parameters, output)) {
+                output.setLength(start);
+                return false;
+            }
+            i = end + 1;
+            literalStart = i;
+        }
+        output.append(template, literalStart, length);
+        return true;
+    }
+
+
+    private static boolean isDigit(final char character) {
+        return character >= '0' && character <= '9';
+    }
+
+
+    private static boolean appendParameter(final int index, final Object[] parameters, final StringBuilder output) {
+        if (index >= parameters.length) {
+            output.append('{').append(index).append('}');
+            return true;
+        }
+        final Object parameter = parameters[index];
+        if (parameter == null) {
+            output.append("null");
+        } else if (parameter instanceof String) {
+            output.append((String) parameter);
+        } else if (parameter instanceof Number) {
+            getNumberFormat().format(parameter, output);
+        } else if (parameter instanceof Date) {
+            return false;
+        } else {
+            final String text = parameter.toString();
+            output.append(text == null ? "null" : text);
+        }
+        return true;
+    }
+
+
+    private static CachedNumberFormat getNumberFormat() {
+        final Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        final CachedNumberFormat cached = NUMBER_FORMAT.get();
+        if (cached != null && cached.locale.equals(locale)) {
+            return cached;
+        }
+        final CachedNumberFormat numberFormat = new CachedNumberFormat(locale);
+        NUMBER_FORMAT.set(numberFormat);
+        return numberFormat;
+    }
+
+    /**
+     * Number format for the locale, used by a single thread.
+     */
+    private static final class CachedNumberFormat {
+
+        private final Locale locale;
+        private final NumberFormat format;
+        private final StringBuffer buffer = new StringBuffer();
+        private final FieldPosition position = new FieldPosition(0);
+
+        CachedNumberFormat(final Locale locale) {
+            this.locale = locale;
+            this.format = NumberFormat.getInstance(locale);
+        }
+
+
+        void format(final Object number, final StringBuilder output) {
+            buffer.setLength(0);
+            format.format(number, buffer, position);
+            output.append(buffer);
+        }
+    }
+}
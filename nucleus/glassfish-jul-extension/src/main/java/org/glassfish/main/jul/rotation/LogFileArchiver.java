@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ * Copyright (c) 2024, 2026 Contributors to the Eclipse Foundation
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -18,12 +18,17 @@ package org.glassfish.main.jul.rotation;
 
 import java.io.File;
 import java.io.FileFilter;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.lang.System.Logger;
+import java.nio.file.Files;
 import java.util.Arrays;
-import java.util.Comparator;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.zip.GZIPOutputStream;
 
 import org.glassfish.main.jul.tracing.GlassFishLoggingTracer;
@@ -33,19 +38,40 @@ import static java.lang.System.Logger.Level.INFO;
 
 /**
  * LogFileArchiver manages history of log files, compresses them into gz files, removes old files.
+ * <p>
+ * Archiving is done by a low priority thread shared by all archivers, see
+ * {@link LogFileArchivingExecutors}. Files rolled before the previous archiving finished
+ * are processed by the same task.
+ * <p>
+ * The archiver lists the directory just once, then it maintains the sorted index of archived files
+ * itself. Archived files added to the directory by someone else are noticed after the restart.
  */
 class LogFileArchiver {
     private static final Logger LOG = System.getLogger(LogFileArchiver.class.getName());
     private static final String GZIP_EXTENSION = ".gz";
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
 
     private final File mainLogFile;
     private final boolean compressOldLogFiles;
+    private final boolean parallelCompression;
     private final int maxCountOfOldLogFiles;
+    private final Queue<File> filesToArchive = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean archivingScheduled = new AtomicBoolean();
+
+    /** Names of archived files, accessed just by the archiving task. */
+    private NavigableSet<String> archivedFileNames;
 
 
     LogFileArchiver(File mainLogFile, boolean compressOldLogFiles, final int maxCountOfOldLogFiles) {
+        this(mainLogFile, compressOldLogFiles, false, maxCountOfOldLogFiles);
+    }
+
+
+    LogFileArchiver(File mainLogFile, boolean compressOldLogFiles, final boolean parallelCompression,
+        final int maxCountOfOldLogFiles) {
         this.mainLogFile = mainLogFile;
         this.compressOldLogFiles = compressOldLogFiles;
+        this.parallelCompression = parallelCompression;
         this.maxCountOfOldLogFiles = maxCountOfOldLogFiles;
     }
 
@@ -60,33 +86,69 @@ class LogFileArchiver {
 
     /**
      * There is no need to block processing of new log records with this time consuming action,
-     * so this starts a parallel thread.
-     * However the cleanup is done in synchronized method to avoid collisions in a case when
-     * there would be more parallel slow threads.
+     * so this just schedules the archiving to the shared executor.
+     * <p>
+     * If the executor's queue is full, the file stays in the queue of this archiver and it will be
+     * archived with the next rolled file.
      *
      * @param archivedFile
      */
     void archive(File archivedFile) {
-        final Runnable cleanup = () -> cleanUpHistoryLogFiles(archivedFile);
-        new Thread(cleanup, "old-log-files-cleanup-" + mainLogFile.getName()).start();
+        filesToArchive.add(archivedFile);
+        scheduleArchiving();
+    }
+
+
+    private void scheduleArchiving() {
+        if (!archivingScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            LogFileArchivingExecutors.getArchivingExecutor().execute(this::archiveWaitingFiles);
+        } catch (RejectedExecutionException e) {
+            archivingScheduled.set(false);
+            logError("Archiving of log files is overloaded, the file will be archived later: " + filesToArchive);
+        }
     }
 
 
-    private synchronized void cleanUpHistoryLogFiles(final File rotatedFile) {
-        if (this.compressOldLogFiles) {
-            compressFile(rotatedFile);
+    private void archiveWaitingFiles() {
+        try {
+            File rotatedFile;
+            while ((rotatedFile = filesToArchive.poll()) != null) {
+                cleanUpHistoryLogFiles(rotatedFile);
+            }
+        } finally {
+            archivingScheduled.set(false);
+        }
+        // Added after the loop ended, but before the flag was reset.
+        if (!filesToArchive.isEmpty()) {
+            scheduleArchiving();
+        }
+    }
+
+
+    private void cleanUpHistoryLogFiles(final File rotatedFile) {
+        final File archivedFile = this.compressOldLogFiles ? compressFile(rotatedFile) : rotatedFile;
+        if (archivedFileNames != null) {
+            // The index might have been created before the file was compressed.
+            archivedFileNames.remove(rotatedFile.getName());
+            archivedFileNames.add(archivedFile.getName());
         }
         deleteOldLogFiles();
     }
 
 
-    private void compressFile(final File rotatedFile) {
+    /**
+     * @return the compressed file or the rotated file if the compression failed.
+     */
+    private File compressFile(final File rotatedFile) {
         final long start = System.currentTimeMillis();
         final File outFile = getGzArchiveFile(rotatedFile);
         final boolean compressed = gzipFile(rotatedFile, outFile);
         if (!compressed) {
             logError("Could not compress log file: " + rotatedFile.getAbsolutePath());
-            return;
+            return rotatedFile;
         }
         final long time = System.currentTimeMillis() - start;
         LOG.log(INFO, "File {0} of size {1} has been archived to file {2} of size {3} in {4} ms",
@@ -94,22 +156,23 @@ class LogFileArchiver {
         final boolean deleted = rotatedFile.delete();
         if (!deleted) {
             logError("Could not delete uncompressed log file: " + rotatedFile.getAbsolutePath());
+            return rotatedFile;
         }
+        return outFile;
     }
 
 
     private boolean gzipFile(final File inputFile, final File outputFile) {
-        try (
-            FileInputStream fis = new FileInputStream(inputFile);
-            FileOutputStream fos = new FileOutputStream(outputFile);
-            GZIPOutputStream gzos = new GZIPOutputStream(fos)
-        ) {
-            byte[] buffer = new byte[1024];
-            int len;
-            while ((len = fis.read(buffer)) != -1) {
-                gzos.write(buffer, 0, len);
+        try {
+            if (parallelCompression) {
+                new ParallelGzipCompressor(LogFileArchivingExecutors.getCompressingExecutor(),
+                    LogFileArchivingExecutors.getCompressingParallelism()).compress(inputFile, outputFile);
+            } else {
+                try (GZIPOutputStream gzos = new GZIPOutputStream(new FileOutputStream(outputFile), GZIP_BUFFER_SIZE)) {
+                    Files.copy(inputFile.toPath(), gzos);
+                    gzos.finish();
+                }
             }
-            gzos.finish();
             return true;
         } catch (IOException e) {
             final String message = "Error gzipping log file " + inputFile;
@@ -126,20 +189,34 @@ class LogFileArchiver {
         }
 
         final File dir = this.mainLogFile.getParentFile();
-        final String logFileName = this.mainLogFile.getName();
         if (dir == null) {
             return;
         }
+        if (archivedFileNames == null) {
+            archivedFileNames = listArchivedFileNames(dir);
+        }
+        while (archivedFileNames.size() > this.maxCountOfOldLogFiles) {
+            deleteFile(new File(dir, archivedFileNames.pollFirst()));
+        }
+    }
+
+
+    private NavigableSet<String> listArchivedFileNames(final File dir) {
+        final String logFileName = this.mainLogFile.getName();
         final FileFilter filter = f -> f.isFile() && !f.getName().equals(logFileName)
             && f.getName().startsWith(logFileName);
-        Arrays.stream(dir.listFiles(filter)).sorted(Comparator.comparing(File::getName).reversed())
-            .skip(this.maxCountOfOldLogFiles).forEach(this::deleteFile);
+        final File[] files = dir.listFiles(filter);
+        final NavigableSet<String> names = new TreeSet<>();
+        if (files != null) {
+            Arrays.stream(files).map(File::getName).forEach(names::add);
+        }
+        return names;
     }
 
 
     private void deleteFile(final File file) {
         final boolean delFile = file.delete();
-        if (!delFile) {
+        if (!delFile && file.exists()) {
             logError("Could not delete the log file: " + file);
         }
     }
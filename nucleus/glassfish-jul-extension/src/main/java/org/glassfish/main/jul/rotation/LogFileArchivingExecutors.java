@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.main.jul.rotation;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread pools shared by all {@link LogFileArchiver} instances in the JVM.
+ * <p>
+ * Rotations of several log files often come at the same time, ie. after midnight, so they are
+ * archived one after another by a single low priority thread instead of a new thread for each
+ * rotation. The parallel compression uses its own pool of low priority threads, up to the count
+ * of processors.
+ * <p>
+ * Threads are daemons and they end after a minute of inactivity, so the pools don't need any
+ * shutdown.
+ */
+final class LogFileArchivingExecutors {
+
+    /** Every archiver has at most one waiting task, so this is the limit of concurrently rolled files. */
+    private static final int ARCHIVING_QUEUE_CAPACITY = 100;
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+
+    private LogFileArchivingExecutors() {
+        // utility class
+    }
+
+
+    /**
+     * @return single threaded executor with a bounded queue. Rejects tasks if the queue is full.
+     */
+    static ThreadPoolExecutor getArchivingExecutor() {
+        return ArchivingHolder.EXECUTOR;
+    }
+
+
+    /**
+     * @return executor for compression of blocks of a file. If its queue is full, the task is
+     *         executed by the caller.
+     */
+    static ThreadPoolExecutor getCompressingExecutor() {
+        return CompressingHolder.EXECUTOR;
+    }
+
+
+    /**
+     * @return count of threads of the compressing executor.
+     */
+    static int getCompressingParallelism() {
+        return CompressingHolder.EXECUTOR.getMaximumPoolSize();
+    }
+
+
+    private static ThreadPoolExecutor createExecutor(final String threadNamePrefix, final int threadCount,
+        final int queueCapacity) {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threadCount, threadCount, KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity), new LowPriorityThreadFactory(threadNamePrefix));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+
+    private static final class ArchivingHolder {
+        static final ThreadPoolExecutor EXECUTOR = createExecutor("log-file-archiver-", 1, ARCHIVING_QUEUE_CAPACITY);
+    }
+
+
+    private static final class CompressingHolder {
+        static final ThreadPoolExecutor EXECUTOR;
+        static {
+            final int threadCount = Runtime.getRuntime().availableProcessors();
+            EXECUTOR = createExecutor("log-file-compressor-", threadCount, threadCount * 2);
+            EXECUTOR.setRejectedExecutionHandler(new CallerRunsPolicy());
+        }
+    }
+
+
+    private static final class LowPriorityThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+        private final String threadNamePrefix;
+
+        LowPriorityThreadFactory(final String threadNamePrefix) {
+            this.threadNamePrefix = threadNamePrefix;
+        }
+
+
+        @Override
+        public Thread newThread(final Runnable task) {
+            final Thread thread = new Thread(task, threadNamePrefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            // Don't hold the class loader of the application which caused the rotation.
+            thread.setContextClassLoader(LogFileArchivingExecutors.class.getClassLoader());
+            return thread;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2024 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2022, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -77,11 +77,34 @@ public class LogFileManager {
      */
     public LogFileManager(final File logFile, Charset fileEncoding, //
         final long maxFileSize, final boolean compressOldLogFiles, final int maxCountOfOldLogFiles //
+    ) {
+        this(logFile, fileEncoding, maxFileSize, compressOldLogFiles, false, maxCountOfOldLogFiles);
+    }
+
+
+    /**
+     * Creates the manager and initializes it with given parameters. It only creates the manager but
+     * does not enable the output. Call {@link #enableOutput()} for that.
+     *
+     * @param logFile - output logging file path
+     * @param fileEncoding
+     * @param maxFileSize - if the size of the file crosses this value, the file is renamed to the
+     *            logFile name with added suffix ie. <code>server.log_2020-05-01T16-28-27</code>
+     * @param compressOldLogFiles - if true, rolled file is packed to GZIP (so the file will have a name
+     *            ie. <code>server.log_2020-05-01T21-50-09.gz</code>)
+     * @param parallelCompression - if true, blocks of the rolled file are compressed in parallel.
+     * @param maxCountOfOldLogFiles - if the count of rolled files with logFile's file name prefix
+     *            crosses this value, old files will be permanently deleted.
+     */
+    public LogFileManager(final File logFile, Charset fileEncoding, //
+        final long maxFileSize, final boolean compressOldLogFiles, final boolean parallelCompression,
+        final int maxCountOfOldLogFiles //
     ) {
         this.logFile = logFile;
         this.fileEncoding = fileEncoding;
         this.maxFileSize = maxFileSize;
-        this.archiver = new LogFileArchiver(logFile, compressOldLogFiles, maxCountOfOldLogFiles);
+        this.archiver = new LogFileArchiver(logFile, compressOldLogFiles, parallelCompression,
+            maxCountOfOldLogFiles);
     }
 
 
@@ -108,6 +131,31 @@ public class LogFileManager {
     }
 
 
+    /**
+     * Writes the characters to the log file.
+     *
+     * @param chars characters to write
+     * @param offset offset of the first character
+     * @param length count of characters to write
+     * @throws IllegalStateException if the output is disabled.
+     */
+    public void write(char[] chars, int offset, int length) throws IllegalStateException {
+        lock.lock();
+        try {
+            if (!isOutputEnabled()) {
+                throw new IllegalStateException("The file output is disabled!");
+            }
+            try {
+                writer.write(chars, offset, length);
+            } catch (Exception e) {
+                GlassFishLoggingTracer.error(getClass(), "Could not write to the output stream.", e);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
     /**
      * Flushed the file writer and if the file is too large, rolls the file.
      */
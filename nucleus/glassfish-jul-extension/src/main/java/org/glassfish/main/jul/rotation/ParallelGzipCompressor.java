@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.main.jul.rotation;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Block-parallel GZIP compression.
+ * <p>
+ * The file is split to blocks, which are compressed in parallel as raw deflate streams ended by
+ * the sync flush. Every block uses the end of the previous block as a dictionary, so the
+ * compression ratio is nearly the same as with the {@link java.util.zip.GZIPOutputStream}.
+ * Compressed blocks are written in the original order between the GZIP header and the trailer,
+ * the result is a standard single member GZIP file.
+ */
+class ParallelGzipCompressor {
+
+    private static final int DEFAULT_BLOCK_SIZE = 128 * 1024;
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+    private static final int GZIP_MAGIC = 0x8b1f;
+    /** OS identifier of the GZIP header, 255 means unknown */
+    private static final int OS_UNKNOWN = 255;
+
+    private final Executor executor;
+    private final int maxBlocksInProgress;
+    private final int blockSize;
+
+    /**
+     * @param executor executor of compression of blocks.
+     * @param parallelism count of threads of the executor.
+     */
+    ParallelGzipCompressor(final Executor executor, final int parallelism) {
+        this(executor, parallelism, DEFAULT_BLOCK_SIZE);
+    }
+
+
+    /**
+     * @param executor executor of compression of blocks.
+     * @param parallelism count of threads of the executor.
+     * @param blockSize size of uncompressed blocks in bytes.
+     */
+    ParallelGzipCompressor(final Executor executor, final int parallelism, final int blockSize) {
+        this.executor = executor;
+        // Keeps all threads busy while the caller writes finished blocks.
+        this.maxBlocksInProgress = Math.max(1, parallelism) * 2;
+        this.blockSize = blockSize;
+    }
+
+
+    /**
+     * Compresses the input file to the output file.
+     *
+     * @param inputFile
+     * @param outputFile
+     * @throws IOException
+     */
+    void compress(final File inputFile, final File outputFile) throws IOException {
+        final CRC32 crc = new CRC32();
+        long size = 0;
+        try (InputStream input = new FileInputStream(inputFile);
+            OutputStream output = new BufferedOutputStream(new FileOutputStream(outputFile), blockSize)) {
+            writeHeader(output);
+            final Deque<Future<byte[]>> blocksInProgress = new ArrayDeque<>(maxBlocksInProgress);
+            byte[] previousBlock = null;
+            byte[] block = readBlock(input);
+            do {
+                final byte[] nextBlock = readBlock(input);
+                crc.update(block);
+                size += block.length;
+                final FutureTask<byte[]> task = new FutureTask<>(
+                    new BlockCompression(block, previousBlock, nextBlock.length == 0));
+                executor.execute(task);
+                blocksInProgress.add(task);
+                if (blocksInProgress.size() >= maxBlocksInProgress) {
+                    output.write(getCompressedBlock(blocksInProgress.poll()));
+                }
+                previousBlock = block;
+                block = nextBlock;
+            } while (block.length > 0);
+            while (!blocksInProgress.isEmpty()) {
+                output.write(getCompressedBlock(blocksInProgress.poll()));
+            }
+            writeTrailer(output, crc.getValue(), size);
+        }
+    }
+
+
+    private byte[] readBlock(final InputStream input) throws IOException {
+        final byte[] block = new byte[blockSize];
+        final int count = input.readNBytes(block, 0, blockSize);
+        return count == blockSize ? block : Arrays.copyOf(block, count);
+    }
+
+
+    private static byte[] getCompressedBlock(final Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the compressed block.", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Compression of the block failed.", e.getCause());
+        }
+    }
+
+
+    private static void writeHeader(final OutputStream output) throws IOException {
+        output.write(new byte[] {
+            (byte) GZIP_MAGIC, (byte) (GZIP_MAGIC >> 8), Deflater.DEFLATED, // magic number, method
+            0, // flags
+            0, 0, 0, 0, // modification time
+            0, // extra flags
+            (byte) OS_UNKNOWN //
+        });
+    }
+
+
+    private static void writeTrailer(final OutputStream output, final long crc, final long size) throws IOException {
+        writeInt(output, (int) crc);
+        // GZIP stores the size modulo 2^32
+        writeInt(output, (int) size);
+    }
+
+
+    private static void writeInt(final OutputStream output, final int value) throws IOException {
+        output.write(value);
+        output.write(value >> 8);
+        output.write(value >> 16);
+        output.write(value >> 24);
+    }
+
+
+    private static final class BlockCompression implements Callable<byte[]> {
+
+        private final byte[] block;
+        private final byte[] previousBlock;
+        private final boolean last;
+
+        BlockCompression(final byte[] block, final byte[] previousBlock, final boolean last) {
+            this.block = block;
+            this.previousBlock = previousBlock;
+            this.last = last;
+        }
+
+
+        @Override
+        public byte[] call() {
+            final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+            try {
+                if (previousBlock != null) {
+                    final int length = Math.min(DICTIONARY_SIZE, previousBlock.length);
+                    deflater.setDictionary(previousBlock, previousBlock.length - length, length);
+                }
+                deflater.setInput(block);
+                final ByteArrayOutputStream output = new ByteArrayOutputStream(block.length / 2 + 64);
+                final byte[] buffer = new byte[8192];
+                if (last) {
+                    deflater.finish();
+                    while (!deflater.finished()) {
+                        final int count = deflater.deflate(buffer);
+                        output.write(buffer, 0, count);
+                    }
+                } else {
+                    // Sync flush aligns the block to bytes, so the next block can follow it.
+                    int count;
+                    do {
+                        count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                        output.write(buffer, 0, count);
+                    } while (count == buffer.length);
+                }
+                return output.toByteArray();
+            } finally {
+                deflater.end();
+            }
+        }
+    }
+}
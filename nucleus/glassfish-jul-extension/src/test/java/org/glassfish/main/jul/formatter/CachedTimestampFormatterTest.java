@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.main.jul.formatter;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+import java.util.logging.Level;
+
+import org.glassfish.main.jul.record.GlassFishLogRecord;
+import org.junit.jupiter.api.Test;
+
+import static org.glassfish.main.jul.formatter.GlassFishLogFormatter.DEFAULT_DATETIME_FORMATTER;
+import static org.glassfish.main.jul.formatter.GlassFishLogFormatter.ISO_LOCAL_TIME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CachedTimestampFormatterTest {
+
+    private static final Random RND = new Random();
+
+    @Test
+    public void defaultFormatters() {
+        check(ISO_LOCAL_TIME);
+        check(DEFAULT_DATETIME_FORMATTER);
+    }
+
+
+    @Test
+    public void customPatterns() {
+        check(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+        check(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss.SSS"));
+        check(DateTimeFormatter.ofPattern("HH:mm:ss.SSSSSSSSS Z"));
+        check(DateTimeFormatter.ofPattern("MMMM d, HH:mm:ss.SSSS"));
+    }
+
+
+    @Test
+    public void variableFractionLength() {
+        check(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+    }
+
+
+    private static void check(final DateTimeFormatter formatter) {
+        final CachedTimestampFormatter cachedFormatter = new CachedTimestampFormatter(formatter);
+        final GlassFishLogRecord record = new GlassFishLogRecord(Level.INFO, "message", false);
+        Instant instant = Instant.now();
+        for (int i = 0; i < 1000; i++) {
+            // Same millisecond, next millisecond or much later.
+            instant = instant.plusNanos(RND.nextInt(3) == 0 ? RND.nextInt(1000) : RND.nextInt(5_000_000));
+            record.setInstant(i % 100 == 0 ? instant.truncatedTo(ChronoUnit.SECONDS) : instant);
+            final StringBuilder output = new StringBuilder(">");
+            cachedFormatter.format(record, output);
+            assertEquals(">" + formatter.format(record.getTime()), output.toString(), "instant: " + instant);
+        }
+    }
+}
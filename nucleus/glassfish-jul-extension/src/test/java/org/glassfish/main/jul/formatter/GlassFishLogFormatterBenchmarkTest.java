@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.main.jul.formatter;
+
+import java.util.Collection;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Compares bytes allocated per formatted record by formatters with and without
+ * the garbage free mode.
+ */
+public class GlassFishLogFormatterBenchmarkTest {
+
+    @Test
+    public void compareAllocations() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(200L))
+            .measurementIterations(1).forks(1).measurementTime(TimeValue.milliseconds(500L))
+            .timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.NANOSECONDS)
+            .mode(Mode.AverageTime).shouldFailOnError(true)
+            .addProfiler(GCProfiler.class)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(12));
+        for (RunResult result : results) {
+            for (Entry<String, Result> secondary : result.getSecondaryResults().entrySet()) {
+                if (secondary.getKey().endsWith("gc.alloc.rate.norm")) {
+                    System.out.println(String.format("%s %s %s: %.0f bytes/op",
+                        result.getParams().getBenchmark(), result.getParams().getParam("formatterClass"),
+                        result.getParams().getParam("garbageFree"), secondary.getValue().getScore()));
+                }
+            }
+        }
+    }
+
+
+    @Benchmark
+    public String format(FormatterState state) {
+        return state.formatter.format(createRecord());
+    }
+
+
+    @Benchmark
+    public int formatToBuffer(FormatterState state) {
+        state.output.setLength(0);
+        state.formatter.format(createRecord(), state.output);
+        return state.output.length();
+    }
+
+
+    private static LogRecord createRecord() {
+        LogRecord record = new LogRecord(Level.INFO, "Request {0} processed in {1} ms.");
+        record.setLoggerName("jakarta.enterprise.web.access");
+        // Avoids the source detection, which would take most of allocations.
+        record.setSourceClassName("org.glassfish.acme.AccessLog");
+        record.setSourceMethodName("log");
+        record.setParameters(new Object[] {"GET /index.html", 42});
+        return record;
+    }
+
+
+    @State(Scope.Thread)
+    public static class FormatterState {
+
+        @Param({"org.glassfish.main.jul.formatter.OneLineFormatter",
+            "org.glassfish.main.jul.formatter.UniformLogFormatter",
+            "org.glassfish.main.jul.formatter.ODLLogFormatter"})
+        public String formatterClass;
+
+        @Param({"false", "true"})
+        public boolean garbageFree;
+
+        GlassFishLogFormatter formatter;
+        final StringBuilder output = new StringBuilder(1024);
+
+        @Setup
+        public void createFormatter() throws ReflectiveOperationException {
+            formatter = (GlassFishLogFormatter) Class.forName(formatterClass).getConstructor().newInstance();
+            formatter.setGarbageFree(garbageFree);
+        }
+    }
+}
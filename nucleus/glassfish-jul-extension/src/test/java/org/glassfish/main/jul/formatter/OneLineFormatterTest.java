@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2022, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -116,4 +116,23 @@ public class OneLineFormatterTest {
             () -> assertThat(lines[1], equalTo("java.lang.RuntimeException: Ooops!"))
         );
     }
+
+
+    @Test
+    public void garbageFreeModeProducesSameOutput() {
+        final GlassFishLogRecord record = new GlassFishLogRecord(Level.WARNING, "Result {0} of the {1}.", false);
+        record.setParameters(new Object[] {12345, "computation"});
+        record.setLoggerName("the.test.logger");
+        record.setThrown(new RuntimeException("Ooops!"));
+        final OneLineFormatter formatter = new OneLineFormatter();
+        final String log = formatter.format(record);
+        formatter.setGarbageFree(true);
+        final StringBuilder output = new StringBuilder();
+        formatter.format(record, output);
+        assertAll(
+            () -> assertEquals(log, formatter.format(record)),
+            () -> assertEquals(log, formatter.format(record)),
+            () -> assertEquals(log, output.toString())
+        );
+    }
 }
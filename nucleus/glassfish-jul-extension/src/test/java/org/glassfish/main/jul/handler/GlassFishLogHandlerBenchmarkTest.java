@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.main.jul.handler;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.glassfish.main.jul.formatter.OneLineFormatter;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.BUFFER_TYPE_QUEUE;
+import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.BUFFER_TYPE_RING;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Compares latency of logging threads publishing records to the {@link GlassFishLogHandler}
+ * with both buffer types when many threads log concurrently.
+ */
+public class GlassFishLogHandlerBenchmarkTest {
+
+    @Test
+    public void compareBuffers() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(200L))
+            .measurementIterations(1).forks(1).measurementTime(TimeValue.milliseconds(500L))
+            .threads(64).timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .mode(Mode.SampleTime).shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(2));
+    }
+
+
+    @Benchmark
+    public void publish(HandlerState state) {
+        state.handler.publish(new LogRecord(Level.INFO, "Ororok orebuh, producer latency benchmark."));
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class HandlerState {
+
+        @Param({BUFFER_TYPE_QUEUE, BUFFER_TYPE_RING})
+        public String bufferType;
+
+        GlassFishLogHandler handler;
+        private File logFile;
+
+        @Setup
+        public void createHandler() throws IOException {
+            logFile = File.createTempFile(GlassFishLogHandlerBenchmarkTest.class.getSimpleName(), ".log");
+            final GlassFishLogHandlerConfiguration cfg = new GlassFishLogHandlerConfiguration();
+            cfg.setLogFile(logFile);
+            cfg.setFormatterConfiguration(new OneLineFormatter());
+            cfg.setBufferType(bufferType);
+            cfg.setFlushFrequency(100);
+            handler = new GlassFishLogHandler(cfg);
+        }
+
+
+        @TearDown
+        public void close() {
+            handler.close();
+            logFile.delete();
+        }
+    }
+}
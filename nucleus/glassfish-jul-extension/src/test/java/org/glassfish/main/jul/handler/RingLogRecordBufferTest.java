@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.main.jul.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import org.glassfish.main.jul.record.GlassFishLogRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Timeout(value = 10, unit = TimeUnit.SECONDS)
+public class RingLogRecordBufferTest {
+
+    @Test
+    public void batchKeepsOrderAndLimit() {
+        final RingLogRecordBuffer buffer = new RingLogRecordBuffer(5, 0);
+        final GlassFishLogRecord[] records = new GlassFishLogRecord[5];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = new GlassFishLogRecord(Level.INFO, "message " + i, false);
+            buffer.add(records[i]);
+        }
+        final GlassFishLogRecord[] batch = new GlassFishLogRecord[3];
+        assertAll(
+            () -> assertEquals(5, buffer.getSize(), "size"),
+            () -> assertEquals(3, buffer.pollBatchOrWait(batch), "first batch"),
+            () -> assertThat(batch, arrayContaining(records[0], records[1], records[2])),
+            () -> assertEquals(2, buffer.pollBatchOrWait(batch), "second batch"),
+            () -> assertThat(batch[1], equalTo(records[4])),
+            () -> assertTrue(buffer.isEmpty(), "empty"),
+            () -> assertNull(buffer.poll(), "poll")
+        );
+    }
+
+
+    @Test
+    public void manyProducers() throws Exception {
+        final RingLogRecordBuffer buffer = new RingLogRecordBuffer(16, 0);
+        final int producerCount = 8;
+        final int recordsPerProducer = 1000;
+        final CountDownLatch done = new CountDownLatch(producerCount);
+        for (int i = 0; i < producerCount; i++) {
+            final Thread producer = new Thread(() -> {
+                for (int j = 0; j < recordsPerProducer; j++) {
+                    buffer.add(new GlassFishLogRecord(Level.INFO, "message", false));
+                }
+                done.countDown();
+            });
+            producer.setDaemon(true);
+            producer.start();
+        }
+        final List<GlassFishLogRecord> received = new ArrayList<>();
+        final GlassFishLogRecord[] batch = new GlassFishLogRecord[10];
+        while (received.size() < producerCount * recordsPerProducer) {
+            final int count = buffer.pollBatchOrWait(batch);
+            for (int i = 0; i < count; i++) {
+                received.add(batch[i]);
+            }
+        }
+        assertTrue(done.await(1, TimeUnit.SECONDS), "producers finished");
+        assertAll(
+            () -> assertThat(received, hasSize(producerCount * recordsPerProducer)),
+            () -> assertTrue(buffer.isEmpty(), "empty")
+        );
+    }
+
+
+    @Test
+    public void clearedAfterTimeout() {
+        final RingLogRecordBuffer buffer = new RingLogRecordBuffer(2, 1);
+        buffer.add(new GlassFishLogRecord(Level.INFO, "message 1", false));
+        buffer.add(new GlassFishLogRecord(Level.INFO, "message 2", false));
+        buffer.add(new GlassFishLogRecord(Level.INFO, "message 3", false));
+        assertAll(
+            () -> assertEquals(2, buffer.getSize(), "size"),
+            () -> assertThat(buffer.poll().getMessage(), containsString("The buffer was forcibly cleared")),
+            () -> assertThat(buffer.poll().getMessage(), equalTo("message 3"))
+        );
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2024 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2022, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,6 +16,8 @@
 
 package org.glassfish.main.jul.record;
 
+import java.text.MessageFormat;
+import java.util.Date;
 import java.util.logging.Level;
 
 import org.junit.jupiter.api.Test;
@@ -40,4 +42,33 @@ public class MessageResolverTest {
         assertAll(() -> assertNull(record.getMessageKey()),
             () -> assertEquals("This number 50 is greater than this one 33", record.getMessage()));
     }
+
+
+    @Test
+    public void simpleTemplatesSameAsMessageFormat() {
+        final Object[] parameters = {1234567, "text", null, 3.14159, new Date(0L), new StringBuilder("builder")};
+        final String[] templates = {
+            "No placeholders at all",
+            "Number {0}, text {1}, null {2}, double {3}, object {5}.",
+            "{1}{1}{0}",
+            "Missing parameter {6} and {99}, index with zeros {01}",
+            "Braces } are {not} {0,number,#} all {0",
+            "Quoted '{0}' and it''s {1}",
+            "Date {4}",
+        };
+        for (final String template : templates) {
+            final GlassFishLogRecord record = new GlassFishLogRecord(Level.INFO, template, false);
+            record.setParameters(parameters);
+            assertEquals(toMessageFormat(template, parameters), resolver.resolve(record).getMessage(), template);
+        }
+    }
+
+
+    private static String toMessageFormat(final String template, final Object[] parameters) {
+        try {
+            return MessageFormat.format(template, parameters);
+        } catch (final IllegalArgumentException e) {
+            return template;
+        }
+    }
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.main.jul.rotation;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class LogFileArchiverTest {
+
+    @TempDir
+    File dir;
+
+
+    @Test
+    public void parallelGzipIsReadableByGzipInputStream() throws Exception {
+        final ParallelGzipCompressor compressor = new ParallelGzipCompressor(ForkJoinPool.commonPool(), 4, 64 * 1024);
+        for (int size : new int[] {0, 1, 1000, 64 * 1024, 200_000, 1_000_000}) {
+            final byte[] content = createLogContent(size);
+            final File input = new File(dir, "input-" + size + ".log");
+            final File output = new File(dir, "input-" + size + ".log.gz");
+            Files.write(input.toPath(), content);
+
+            compressor.compress(input, output);
+
+            assertArrayEquals(content, gunzip(output), "size: " + size);
+            if (size > 1000) {
+                // Dictionaries keep the ratio close to the sequential compression.
+                assertThat("size: " + size, output.length(), lessThan(size / 5L));
+            }
+        }
+    }
+
+
+    @Test
+    public void archivesAndKeepsMaxCountOfFiles() throws Exception {
+        archiveFiles(false);
+    }
+
+
+    @Test
+    public void archivesAndKeepsMaxCountOfFilesWithParallelCompression() throws Exception {
+        archiveFiles(true);
+    }
+
+
+    private void archiveFiles(final boolean parallel) throws Exception {
+        final File logFile = new File(dir, "server.log");
+        // Archived file from the previous run of the server.
+        Files.writeString(new File(dir, "server.log_2024-01-01T00-00-00.gz").toPath(), "old", UTF_8);
+        final LogFileArchiver archiver = new LogFileArchiver(logFile, true, parallel, 3);
+        final byte[][] contents = new byte[5][];
+        for (int i = 0; i < contents.length; i++) {
+            final File rotatedFile = new File(dir, "server.log_2024-01-01T00-00-0" + (i + 1));
+            contents[i] = createLogContent(100_000 + i);
+            Files.write(rotatedFile.toPath(), contents[i]);
+            archiver.archive(rotatedFile);
+        }
+
+        final String[] expectedNames = {
+            "server.log_2024-01-01T00-00-03.gz",
+            "server.log_2024-01-01T00-00-04.gz",
+            "server.log_2024-01-01T00-00-05.gz",
+        };
+        final long start = System.currentTimeMillis();
+        while (!Arrays.equals(expectedNames, listSortedNames())) {
+            if (System.currentTimeMillis() > start + 10_000L) {
+                fail("Expected " + Arrays.toString(expectedNames) + ", but found " + Arrays.toString(listSortedNames()));
+            }
+            Thread.sleep(10L);
+        }
+        for (int i = 2; i < contents.length; i++) {
+            assertArrayEquals(contents[i], gunzip(new File(dir, expectedNames[i - 2])));
+        }
+    }
+
+
+    private String[] listSortedNames() {
+        return Arrays.stream(dir.listFiles(File::isFile)).map(File::getName).sorted().toArray(String[]::new);
+    }
+
+
+    private static byte[] createLogContent(final int size) {
+        final Random random = new Random(size);
+        final StringBuilder text = new StringBuilder(size + 100);
+        while (text.length() < size) {
+            text.append("[2024-01-01T00:00:00.000+0000] [INFO] [thread-").append(random.nextInt(16))
+                .append("] Request ").append(random.nextInt(1_000_000)).append(" processed.\n");
+        }
+        return text.substring(0, size).getBytes(UTF_8);
+    }
+
+
+    private static byte[] gunzip(final File file) throws IOException {
+        try (InputStream input = new GZIPInputStream(new FileInputStream(file))) {
+            return input.readAllBytes();
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2024 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2007, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -599,10 +599,20 @@ public class GenericGrizzlyListener implements GrizzlyListener {
             }
         }
 
+        if (Boolean.parseBoolean(threadPool.getVirtualThreads()) && !VirtualThreadPool.isSupported()) {
+            LOGGER.log(Level.WARNING,
+                    "Virtual threads are not supported by this JVM, thread-pool {0} will use platform threads",
+                    threadPool.getName());
+        }
+
         try {
-            // Use standard Grizzly thread pool
-            workerExecutorService = GrizzlyExecutorService.createInstance(
-                    configureThreadPoolConfig(networkListener, threadPool));
+            final ThreadPoolConfig poolConfig = configureThreadPoolConfig(networkListener, threadPool);
+            if (isVirtualThreadPool(threadPool)) {
+                workerExecutorService = new VirtualThreadPool(poolConfig);
+            } else {
+                // Use standard Grizzly thread pool
+                workerExecutorService = GrizzlyExecutorService.createInstance(poolConfig);
+            }
             transport.setWorkerThreadPool(workerExecutorService);
         } catch (NumberFormatException ex) {
             LOGGER.log(Level.WARNING, "Invalid thread-pool attribute", ex);
@@ -619,8 +629,15 @@ public class GenericGrizzlyListener implements GrizzlyListener {
         final int timeout = Integer.parseInt(threadPool.getIdleThreadTimeoutSeconds());
         final ThreadPoolConfig poolConfig = ThreadPoolConfig.defaultConfig();
         poolConfig.setPoolName(networkListener.getName());
-        poolConfig.setCorePoolSize(minThreads);
-        poolConfig.setMaxPoolSize(maxThreads);
+        if (isVirtualThreadPool(threadPool)) {
+            // Virtual threads are not pooled, the max pool size limits concurrently running tasks
+            final int maxConcurrentTasks = Integer.parseInt(threadPool.getMaxConcurrentTasks());
+            poolConfig.setCorePoolSize(0);
+            poolConfig.setMaxPoolSize(maxConcurrentTasks < 0 ? Integer.MAX_VALUE : maxConcurrentTasks);
+        } else {
+            poolConfig.setCorePoolSize(minThreads);
+            poolConfig.setMaxPoolSize(maxThreads);
+        }
         poolConfig.setQueueLimit(maxQueueSize);
 
         // we specify the classloader that loaded this class to ensure
@@ -638,6 +655,10 @@ public class GenericGrizzlyListener implements GrizzlyListener {
         return poolConfig;
     }
 
+    private static boolean isVirtualThreadPool(final ThreadPool threadPool) {
+        return Boolean.parseBoolean(threadPool.getVirtualThreads()) && VirtualThreadPool.isSupported();
+    }
+
     private DelayedExecutor obtainDelayedExecutor() {
         if (delayedExecutor != null) {
             return delayedExecutor;
@@ -947,6 +968,10 @@ public class GenericGrizzlyListener implements GrizzlyListener {
         }
         serverFilterConfiguration.setPassTraceRequest(true);
         serverFilterConfiguration.setTraceEnabled(Boolean.parseBoolean(http.getTraceEnabled()));
+        // The system property used by Grizzly takes precedence
+        if (System.getProperty(ServerFilterConfiguration.USE_SEND_FILE) == null) {
+            serverFilterConfiguration.setSendFileEnabled(Boolean.parseBoolean(http.getSendFileEnabled()));
+        }
         int maxRequestParameters;
         try {
             maxRequestParameters = Integer.parseInt(http.getMaxRequestParameters());
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.config;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.grizzly.Grizzly;
+import org.glassfish.grizzly.threadpool.AbstractThreadPool;
+import org.glassfish.grizzly.threadpool.ThreadPoolConfig;
+import org.glassfish.grizzly.threadpool.ThreadPoolProbe;
+
+/**
+ * Thread pool, which executes each task on a virtual thread.
+ * <p>
+ * Virtual threads are not pooled, a worker is started when a task is submitted and
+ * terminates as soon as there are no more queued tasks. The {@link ThreadPoolConfig#getMaxPoolSize()}
+ * limits the number of tasks running at the same time, further tasks are queued
+ * up to the {@link ThreadPoolConfig#getQueueLimit()}.
+ * <p>
+ * The pool notifies the same {@link ThreadPoolProbe} events as the platform thread pools,
+ * so the thread pool monitoring keeps working.
+ */
+public class VirtualThreadPool extends AbstractThreadPool {
+
+    private static final Logger LOGGER = Grizzly.logger(VirtualThreadPool.class);
+
+    private static final boolean SUPPORTED = newVirtualThreadFactory("probe-") != null;
+
+    /** Guarded by {@link #stateLock} */
+    private final Queue<Runnable> queue = new ArrayDeque<>();
+
+    /**
+     * Creates the thread pool and starts accepting tasks.
+     * The thread factory of the given configuration is replaced by a virtual thread factory.
+     *
+     * @param config the thread pool configuration
+     * @throws UnsupportedOperationException if the JVM does not support virtual threads
+     */
+    public VirtualThreadPool(ThreadPoolConfig config) {
+        this(config, newVirtualThreadFactory(config.getPoolName() + "-"));
+    }
+
+    /**
+     * Creates the thread pool running workers from the given thread factory.
+     */
+    VirtualThreadPool(ThreadPoolConfig config, ThreadFactory threadFactory) {
+        super(withThreadFactory(config, threadFactory));
+        // Workers are set up as by the default thread factory of Grizzly thread pools,
+        // they must not inherit the context class loader of the thread calling execute().
+        config.setThreadFactory(runnable -> {
+            final Thread thread = threadFactory.newThread(runnable);
+            thread.setContextClassLoader(config.getInitialClassLoader());
+            thread.setUncaughtExceptionHandler(this);
+            return thread;
+        });
+        final ThreadPoolProbe[] probes = monitoringConfig.getProbesUnsafe();
+        if (probes != null) {
+            for (ThreadPoolProbe probe : probes) {
+                probe.onThreadPoolStartEvent(this);
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if the JVM supports virtual threads
+     */
+    public static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        synchronized (stateLock) {
+            if (!running) {
+                throw new RejectedExecutionException("ThreadPool is not running");
+            }
+
+            final int maxConcurrentTasks = config.getMaxPoolSize();
+            if (workers.size() < maxConcurrentTasks) {
+                onTaskQueued(task);
+                startWorker(new VirtualWorker(task));
+                if (workers.size() == maxConcurrentTasks) {
+                    onMaxNumberOfThreadsReached();
+                }
+                return;
+            }
+
+            final int queueLimit = config.getQueueLimit();
+            if (queueLimit >= 0 && queue.size() >= queueLimit) {
+                onTaskQueueOverflow();
+                throw new RejectedExecutionException("The thread pool's task queue is full, limit: " + queueLimit);
+            }
+
+            queue.add(task);
+            onTaskQueued(task);
+        }
+    }
+
+    /**
+     * Returns the queue of tasks waiting for execution, any access must be synchronized
+     * on the {@link #stateLock}.
+     */
+    @Override
+    public Queue<Runnable> getQueue() {
+        return queue;
+    }
+
+    /**
+     * Workers never block waiting for tasks, they exit once the queue is drained,
+     * so there is no need to wake them up.
+     */
+    @Override
+    protected void poisonAll() {
+    }
+
+    private static ThreadPoolConfig withThreadFactory(ThreadPoolConfig config, ThreadFactory threadFactory) {
+        if (threadFactory == null) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by this JVM");
+        }
+        return config.setThreadFactory(threadFactory);
+    }
+
+    /**
+     * Virtual threads are available since Java 21, the build targets an older release,
+     * so the factory is obtained reflectively.
+     *
+     * @return the factory of virtual threads named {@code prefix1}, {@code prefix2}...
+     *         or {@code null} if the JVM does not support virtual threads
+     */
+    private static ThreadFactory newVirtualThreadFactory(String prefix) {
+        try {
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            final Method name = builderClass.getMethod("name", String.class, long.class);
+            final Method factory = builderClass.getMethod("factory");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = name.invoke(builder, prefix, 1L);
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.log(Level.FINEST, "Virtual threads are not supported", e);
+            return null;
+        }
+    }
+
+    private final class VirtualWorker extends Worker {
+
+        private Runnable firstTask;
+
+        VirtualWorker(Runnable firstTask) {
+            this.firstTask = firstTask;
+        }
+
+        @Override
+        protected Runnable getTask() {
+            synchronized (stateLock) {
+                if (firstTask != null) {
+                    final Runnable task = firstTask;
+                    firstTask = null;
+                    return task;
+                }
+
+                final Runnable task = queue.poll();
+                if (task == null) {
+                    // Leave the pool under the same lock as execute() checks the worker count,
+                    // so a task is never queued without a worker to run it.
+                    workers.remove(this);
+                }
+                return task;
+            }
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2009, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -48,6 +48,8 @@ public interface Http extends ConfigBeanProxy, PropertyBag {
 
     boolean RCM_SUPPORT_ENABLED = false;
 
+    boolean SEND_FILE_ENABLED = true;
+
     boolean TIMEOUT_ENABLED = true;
 
     boolean TRACE_ENABLED = false;
@@ -299,6 +301,15 @@ public interface Http extends ConfigBeanProxy, PropertyBag {
 
     void setSendBufferSizeBytes(String sendBufferSize);
 
+    /**
+     * Enables sending of static files directly from the file system without
+     * copying them through the heap. It is never used for secure connections.
+     */
+    @Attribute(defaultValue = "" + SEND_FILE_ENABLED, dataType = Boolean.class)
+    String getSendFileEnabled();
+
+    void setSendFileEnabled(String sendFileEnabled);
+
     /**
      * Tells the server what to put in the host name section of any URLs it sends
      * to the client. This affects URLs the server automatically generates; it doesn't
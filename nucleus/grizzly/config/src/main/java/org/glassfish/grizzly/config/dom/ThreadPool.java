@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2023, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2009, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -45,6 +45,8 @@ public interface ThreadPool extends ConfigBeanProxy, PropertyBag {
 
     int MIN_THREADPOOL_SIZE = 5;
 
+    int MAX_CONCURRENT_TASKS = -1;
+
     /**
      * The classname of a thread pool implementation.
      */
@@ -91,6 +93,29 @@ public interface ThreadPool extends ConfigBeanProxy, PropertyBag {
 
     void setMinThreadPoolSize(String minThreadPoolSize);
 
+    /**
+     * If {@code true}, tasks are executed on virtual threads instead of pooled platform threads.
+     * The min and max thread pool sizes and the idle timeout are ignored in this mode,
+     * the number of tasks running at the same time is limited by {@code max-concurrent-tasks}.
+     *
+     * <p>Falls back to the platform thread pool if the JVM does not support virtual threads.
+     */
+    @Attribute(defaultValue = "false", dataType = Boolean.class)
+    String getVirtualThreads();
+
+    void setVirtualThreads(String virtualThreads);
+
+    /**
+     * The maximum number of tasks executed at the same time, if {@code virtual-threads} are enabled.
+     * Other tasks wait in the queue, up to {@code max-queue-size}.
+     *
+     * <p>{@code -1} disables any maximum checks.
+     */
+    @Attribute(defaultValue = "" + MAX_CONCURRENT_TASKS, dataType = Integer.class)
+    String getMaxConcurrentTasks();
+
+    void setMaxConcurrentTasks(String maxConcurrentTasks);
+
     /**
      * This is an id for the work-queue e.g. {@code thread-pool-1}, {@code thread-pool-2} etc.
      */
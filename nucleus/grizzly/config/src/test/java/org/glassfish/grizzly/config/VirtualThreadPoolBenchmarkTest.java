@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.config;
+
+import java.net.URL;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.grizzly.config.test.GrizzlyConfigTestHelper;
+import org.glassfish.grizzly.http.server.HttpHandler;
+import org.glassfish.grizzly.http.server.Request;
+import org.glassfish.grizzly.http.server.Response;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Compares throughput and allocations of requests blocked in the handler, as servlets
+ * waiting for a database or a remote call, served by platform and by virtual worker threads.
+ * Without virtual threads support in the JVM both listeners use platform threads.
+ */
+public class VirtualThreadPoolBenchmarkTest {
+
+    private static final GrizzlyConfigTestHelper helper = new GrizzlyConfigTestHelper(VirtualThreadPoolBenchmarkTest.class);
+
+    private static final long BLOCKING_MILLIS = 20;
+
+    @Test
+    public void compareBlockingRequests() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(500L))
+            .measurementIterations(1).measurementTime(TimeValue.seconds(1L))
+            // more clients than the platform thread pool has threads
+            .forks(1).threads(100).timeout(TimeValue.seconds(30L))
+            .mode(Mode.Throughput).timeUnit(TimeUnit.SECONDS)
+            .addProfiler(GCProfiler.class)
+            .shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(2));
+    }
+
+
+    @Benchmark
+    public String blockingRequest(ServerState state) throws Exception {
+        String content = helper.getContent(state.url.openConnection());
+        assertThat(content, equalTo("OK"));
+        return content;
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class ServerState {
+
+        @Param({"http-listener-platform", "http-listener-virtual"})
+        public String listenerName;
+
+        GrizzlyConfig grizzlyConfig;
+        URL url;
+
+        @Setup
+        public void startServer() throws Exception {
+            grizzlyConfig = new GrizzlyConfig("grizzly-config-virtual-threads.xml");
+            grizzlyConfig.setupNetwork();
+            for (GrizzlyListener listener : grizzlyConfig.getListeners()) {
+                helper.setHttpHandler((GenericGrizzlyListener) listener, new HttpHandler() {
+
+                    @Override
+                    public void service(Request request, Response response) throws Exception {
+                        Thread.sleep(BLOCKING_MILLIS);
+                        response.getWriter().write("OK");
+                    }
+                });
+                if (listenerName.equals(((GenericGrizzlyListener) listener).getName())) {
+                    url = new URL("http://localhost:" + listener.getPort());
+                }
+            }
+        }
+
+        @TearDown
+        public void stopServer() throws Exception {
+            grizzlyConfig.shutdownNetwork();
+            grizzlyConfig.shutdown();
+        }
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.config;
+
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.glassfish.grizzly.threadpool.AbstractThreadPool;
+import org.glassfish.grizzly.threadpool.GrizzlyExecutorService;
+import org.glassfish.grizzly.threadpool.ThreadPoolConfig;
+import org.glassfish.grizzly.threadpool.ThreadPoolProbe;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VirtualThreadPoolTest {
+
+    @Test
+    public void limitsConcurrentTasks() throws Exception {
+        final CountingProbe probe = new CountingProbe();
+        final VirtualThreadPool pool = createPool(4, -1, probe);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final CountDownLatch completed = new CountDownLatch(40);
+        try {
+            for (int i = 0; i < 40; i++) {
+                pool.execute(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    sleep(5);
+                    running.decrementAndGet();
+                    completed.countDown();
+                });
+            }
+            assertTrue(completed.await(10, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdown();
+        }
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertThat(maxRunning.get(), lessThanOrEqualTo(4));
+        assertThat(probe.queued.get(), equalTo(40));
+        assertThat(probe.dequeued.get(), equalTo(40));
+        assertThat(probe.completed.get(), equalTo(40));
+        assertThat(probe.released.get(), equalTo(probe.allocated.get()));
+        assertThat(probe.started.get(), equalTo(1));
+        assertThat(probe.stopped.get(), equalTo(1));
+        assertTrue(probe.maxReached.get() > 0);
+    }
+
+    @Test
+    public void rejectsTasksOverQueueLimit() throws Exception {
+        final CountingProbe probe = new CountingProbe();
+        final VirtualThreadPool pool = createPool(1, 1, probe);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch completed = new CountDownLatch(2);
+        try {
+            pool.execute(() -> {
+                await(release);
+                completed.countDown();
+            });
+            pool.execute(completed::countDown);
+            assertThrows(RejectedExecutionException.class, () -> pool.execute(completed::countDown));
+            assertThat(probe.overflows.get(), equalTo(1));
+
+            release.countDown();
+            assertTrue(completed.await(10, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdown();
+        }
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertThrows(RejectedExecutionException.class, () -> pool.execute(completed::countDown));
+    }
+
+    @Test
+    public void workersUseInitialClassLoaderAndPoolExceptionHandler() throws Exception {
+        final ClassLoader initialClassLoader = new URLClassLoader(new URL[0], null);
+        final ThreadPoolConfig config = ThreadPoolConfig.defaultConfig()
+            .setPoolName("test")
+            .setCorePoolSize(0)
+            .setMaxPoolSize(1)
+            .setInitialClassLoader(initialClassLoader);
+        final VirtualThreadPool pool = new VirtualThreadPool(config, Thread::new);
+        final AtomicReference<ClassLoader> contextClassLoader = new AtomicReference<>();
+        final AtomicReference<UncaughtExceptionHandler> exceptionHandler = new AtomicReference<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+        final Thread caller = new Thread(() -> pool.execute(() -> {
+            contextClassLoader.set(Thread.currentThread().getContextClassLoader());
+            exceptionHandler.set(Thread.currentThread().getUncaughtExceptionHandler());
+            completed.countDown();
+        }));
+        caller.setContextClassLoader(new URLClassLoader(new URL[0], null));
+        try {
+            caller.start();
+            caller.join();
+            assertTrue(completed.await(10, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdown();
+        }
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertThat(contextClassLoader.get(), sameInstance(initialClassLoader));
+        assertThat(exceptionHandler.get(), sameInstance(pool));
+    }
+
+    @Test
+    public void listenerUsesConfiguredThreadPool() throws Exception {
+        GrizzlyConfig grizzlyConfig = null;
+        try {
+            grizzlyConfig = new GrizzlyConfig("grizzly-config-virtual-threads.xml");
+            grizzlyConfig.setupNetwork();
+            final ExecutorService platform = getWorkerThreadPool(grizzlyConfig, "http-listener-platform");
+            final ExecutorService virtual = getWorkerThreadPool(grizzlyConfig, "http-listener-virtual");
+
+            assertThat(platform, instanceOf(GrizzlyExecutorService.class));
+            if (VirtualThreadPool.isSupported()) {
+                assertThat(virtual, instanceOf(VirtualThreadPool.class));
+                assertThat(((AbstractThreadPool) virtual).getConfig().getMaxPoolSize(), equalTo(200));
+            } else {
+                assertThat(virtual, instanceOf(GrizzlyExecutorService.class));
+            }
+        } finally {
+            if (grizzlyConfig != null) {
+                grizzlyConfig.shutdownNetwork();
+                grizzlyConfig.shutdown();
+            }
+        }
+    }
+
+    private static ExecutorService getWorkerThreadPool(GrizzlyConfig grizzlyConfig, String listenerName) {
+        for (GrizzlyListener listener : grizzlyConfig.getListeners()) {
+            final GenericGrizzlyListener genericGrizzlyListener = (GenericGrizzlyListener) listener;
+            if (listenerName.equals(genericGrizzlyListener.getName())) {
+                return genericGrizzlyListener.getTransport().getWorkerThreadPool();
+            }
+        }
+        throw new IllegalArgumentException("No listener " + listenerName);
+    }
+
+    /**
+     * Runs the pool on platform threads, so the scheduling is tested on any JVM.
+     */
+    private static VirtualThreadPool createPool(int maxConcurrentTasks, int queueLimit, ThreadPoolProbe probe) {
+        final ThreadPoolConfig config = ThreadPoolConfig.defaultConfig()
+            .setPoolName("test")
+            .setCorePoolSize(0)
+            .setMaxPoolSize(maxConcurrentTasks)
+            .setQueueLimit(queueLimit);
+        config.getInitialMonitoringConfig().addProbes(probe);
+        return new VirtualThreadPool(config, Thread::new);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class CountingProbe extends ThreadPoolProbe.Adapter {
+
+        final AtomicInteger started = new AtomicInteger();
+        final AtomicInteger stopped = new AtomicInteger();
+        final AtomicInteger allocated = new AtomicInteger();
+        final AtomicInteger released = new AtomicInteger();
+        final AtomicInteger maxReached = new AtomicInteger();
+        final AtomicInteger queued = new AtomicInteger();
+        final AtomicInteger dequeued = new AtomicInteger();
+        final AtomicInteger completed = new AtomicInteger();
+        final AtomicInteger overflows = new AtomicInteger();
+
+        @Override
+        public void onThreadPoolStartEvent(AbstractThreadPool threadPool) {
+            started.incrementAndGet();
+        }
+
+        @Override
+        public void onThreadPoolStopEvent(AbstractThreadPool threadPool) {
+            stopped.incrementAndGet();
+        }
+
+        @Override
+        public void onThreadAllocateEvent(AbstractThreadPool threadPool, Thread thread) {
+            allocated.incrementAndGet();
+        }
+
+        @Override
+        public void onThreadReleaseEvent(AbstractThreadPool threadPool, Thread thread) {
+            released.incrementAndGet();
+        }
+
+        @Override
+        public void onMaxNumberOfThreadsEvent(AbstractThreadPool threadPool, int maxNumberOfThreads) {
+            maxReached.incrementAndGet();
+        }
+
+        @Override
+        public void onTaskQueueEvent(AbstractThreadPool threadPool, Runnable task) {
+            queued.incrementAndGet();
+        }
+
+        @Override
+        public void onTaskDequeueEvent(AbstractThreadPool threadPool, Runnable task) {
+            dequeued.incrementAndGet();
+        }
+
+        @Override
+        public void onTaskCompleteEvent(AbstractThreadPool threadPool, Runnable task) {
+            completed.incrementAndGet();
+        }
+
+        @Override
+        public void onTaskQueueOverflowEvent(AbstractThreadPool threadPool) {
+            overflows.incrementAndGet();
+        }
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -35,9 +36,15 @@ import org.glassfish.gmbal.ManagedObject;
 public class RealmStatsProvider {
 
     private CountStatisticImpl realmCount;
+    private CountStatisticImpl cacheHitCount;
+    private CountStatisticImpl cacheMissCount;
 
     public RealmStatsProvider() {
         realmCount = new CountStatisticImpl("RealmCount", "realm", "No of Realms");
+        cacheHitCount = new CountStatisticImpl("CacheHitCount", CountStatisticImpl.UNIT_COUNT,
+            "No of users found in realm caches");
+        cacheMissCount = new CountStatisticImpl("CacheMissCount", CountStatisticImpl.UNIT_COUNT,
+            "No of users not found in realm caches");
     }
 
     @ManagedAttribute
@@ -46,6 +53,18 @@ public class RealmStatsProvider {
         return realmCount;
     }
 
+    @ManagedAttribute
+    @Description("Count of users found in realm caches")
+    public CountStatistic getCacheHitCount() {
+        return cacheHitCount;
+    }
+
+    @ManagedAttribute
+    @Description("Count of users not found in realm caches, so they were loaded from the user store")
+    public CountStatistic getCacheMissCount() {
+        return cacheMissCount;
+    }
+
     @ProbeListener("glassfish:security:realm:realmAddedEvent")
     public void realmAddedEvent(@ProbeParam("realmName") String realmName) {
         realmCount.increment();
@@ -56,4 +75,14 @@ public class RealmStatsProvider {
         realmCount.decrement();
     }
 
+    @ProbeListener("glassfish:security:realm:realmCacheHitEvent")
+    public void realmCacheHitEvent(@ProbeParam("realmName") String realmName) {
+        cacheHitCount.increment();
+    }
+
+    @ProbeListener("glassfish:security:realm:realmCacheMissEvent")
+    public void realmCacheMissEvent(@ProbeParam("realmName") String realmName) {
+        cacheMissCount.increment();
+    }
+
 }